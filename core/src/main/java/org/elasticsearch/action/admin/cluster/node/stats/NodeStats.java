@@ -20,6 +20,7 @@
 package org.elasticsearch.action.admin.cluster.node.stats;
 
 import org.elasticsearch.action.support.nodes.BaseNodeResponse;
+import org.elasticsearch.cache.recycler.PageCacheRecyclerStats;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -85,6 +86,9 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
     @Nullable
     private IngestStats ingestStats;
 
+    @Nullable
+    private PageCacheRecyclerStats pageCacheRecyclerStats;
+
     NodeStats() {
     }
 
@@ -94,7 +98,8 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
                      @Nullable AllCircuitBreakerStats breaker,
                      @Nullable ScriptStats scriptStats,
                      @Nullable DiscoveryStats discoveryStats,
-                     @Nullable IngestStats ingestStats) {
+                     @Nullable IngestStats ingestStats,
+                     @Nullable PageCacheRecyclerStats pageCacheRecyclerStats) {
         super(node);
         this.timestamp = timestamp;
         this.indices = indices;
@@ -109,6 +114,7 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
         this.scriptStats = scriptStats;
         this.discoveryStats = discoveryStats;
         this.ingestStats = ingestStats;
+        this.pageCacheRecyclerStats = pageCacheRecyclerStats;
     }
 
     public long getTimestamp() {
@@ -198,6 +204,11 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
         return ingestStats;
     }
 
+    @Nullable
+    public PageCacheRecyclerStats getPageCacheRecyclerStats() {
+        return pageCacheRecyclerStats;
+    }
+
     public static NodeStats readNodeStats(StreamInput in) throws IOException {
         NodeStats nodeInfo = new NodeStats();
         nodeInfo.readFrom(in);
@@ -236,6 +247,7 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
         scriptStats = in.readOptionalStreamable(ScriptStats::new);
         discoveryStats = in.readOptionalStreamable(() -> new DiscoveryStats(null));
         ingestStats = in.readOptionalWriteable(IngestStats::new);
+        pageCacheRecyclerStats = in.readOptionalWriteable(PageCacheRecyclerStats::new);
     }
 
     @Override
@@ -294,6 +306,7 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
         out.writeOptionalStreamable(scriptStats);
         out.writeOptionalStreamable(discoveryStats);
         out.writeOptionalWriteable(ingestStats);
+        out.writeOptionalWriteable(pageCacheRecyclerStats);
     }
 
     @Override
@@ -359,6 +372,10 @@ public class NodeStats extends BaseNodeResponse implements ToXContent {
             getIngestStats().toXContent(builder, params);
         }
 
+        if (getPageCacheRecyclerStats() != null) {
+            getPageCacheRecyclerStats().toXContent(builder, params);
+        }
+
         return builder;
     }
 }
@@ -43,6 +43,7 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
     private boolean script;
     private boolean discovery;
     private boolean ingest;
+    private boolean pageCacheRecycler;
 
     public NodesStatsRequest() {
     }
@@ -71,6 +72,7 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
         this.script = true;
         this.discovery = true;
         this.ingest = true;
+        this.pageCacheRecycler = true;
         return this;
     }
 
@@ -90,6 +92,7 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
         this.script = false;
         this.discovery = false;
         this.ingest = false;
+        this.pageCacheRecycler = false;
         return this;
     }
 
@@ -265,6 +268,18 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
         return this;
     }
 
+    public boolean pageCacheRecycler() {
+        return pageCacheRecycler;
+    }
+
+    /**
+     * Should page cache recycler statistics be returned.
+     */
+    public NodesStatsRequest pageCacheRecycler(boolean pageCacheRecycler) {
+        this.pageCacheRecycler = pageCacheRecycler;
+        return this;
+    }
+
     @Override
     public void readFrom(StreamInput in) throws IOException {
         super.readFrom(in);
@@ -280,6 +295,7 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
         script = in.readBoolean();
         discovery = in.readBoolean();
         ingest = in.readBoolean();
+        pageCacheRecycler = in.readBoolean();
     }
 
     @Override
@@ -297,6 +313,7 @@ public class NodesStatsRequest extends BaseNodesRequest<NodesStatsRequest> {
         out.writeBoolean(script);
         out.writeBoolean(discovery);
         out.writeBoolean(ingest);
+        out.writeBoolean(pageCacheRecycler);
     }
 
 }
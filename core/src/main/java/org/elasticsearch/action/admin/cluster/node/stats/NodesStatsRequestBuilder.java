@@ -145,4 +145,12 @@ public class NodesStatsRequestBuilder extends NodesOperationRequestBuilder<Nodes
         request.ingest(ingest);
         return this;
     }
+
+    /**
+     * Should page cache recycler statistics be returned.
+     */
+    public NodesStatsRequestBuilder setPageCacheRecycler(boolean pageCacheRecycler) {
+        request.pageCacheRecycler(pageCacheRecycler);
+        return this;
+    }
 }
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.action.admin.cluster.snapshots.status;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.support.broadcast.BroadcastShardResponse;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -42,6 +43,12 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
 
     private String failure;
 
+    private int activeUploads;
+
+    private int maxConcurrentUploads;
+
+    private long uploadThroughput;
+
     private SnapshotIndexShardStatus() {
     }
 
@@ -79,6 +86,13 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
         stats = new SnapshotStats(indexShardStatus);
         failure = indexShardStatus.failure();
         this.nodeId = nodeId;
+        activeUploads = indexShardStatus.activeUploads();
+        maxConcurrentUploads = indexShardStatus.maxConcurrentUploads();
+        if (indexShardStatus.startTime() > 0) {
+            // the time is only set once the snapshot of the shard is done
+            long time = indexShardStatus.time() > 0 ? indexShardStatus.time() : System.currentTimeMillis() - indexShardStatus.startTime();
+            uploadThroughput = time > 0 ? indexShardStatus.processedSize() * 1000 / time : 0;
+        }
     }
 
     /**
@@ -109,6 +123,27 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
         return failure;
     }
 
+    /**
+     * Returns the number of files that are being uploaded
+     */
+    public int getActiveUploads() {
+        return activeUploads;
+    }
+
+    /**
+     * Returns the maximum number of files that have been uploaded concurrently
+     */
+    public int getMaxConcurrentUploads() {
+        return maxConcurrentUploads;
+    }
+
+    /**
+     * Returns the average number of bytes that have been uploaded per second
+     */
+    public long getUploadThroughput() {
+        return uploadThroughput;
+    }
+
 
     public static SnapshotIndexShardStatus readShardSnapshotStatus(StreamInput in) throws IOException {
         SnapshotIndexShardStatus shardStatus = new SnapshotIndexShardStatus();
@@ -123,6 +158,11 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
         stats.writeTo(out);
         out.writeOptionalString(nodeId);
         out.writeOptionalString(failure);
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeVInt(activeUploads);
+            out.writeVInt(maxConcurrentUploads);
+            out.writeVLong(uploadThroughput);
+        }
     }
 
     @Override
@@ -132,12 +172,26 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
         stats = SnapshotStats.readSnapshotStats(in);
         nodeId = in.readOptionalString();
         failure = in.readOptionalString();
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            activeUploads = in.readVInt();
+            maxConcurrentUploads = in.readVInt();
+            uploadThroughput = in.readVLong();
+        } else {
+            activeUploads = 0;
+            maxConcurrentUploads = 0;
+            uploadThroughput = 0;
+        }
     }
 
     static final class Fields {
         static final XContentBuilderString STAGE = new XContentBuilderString("stage");
         static final XContentBuilderString REASON = new XContentBuilderString("reason");
         static final XContentBuilderString NODE = new XContentBuilderString("node");
+        static final XContentBuilderString UPLOADS = new XContentBuilderString("uploads");
+        static final XContentBuilderString ACTIVE = new XContentBuilderString("active");
+        static final XContentBuilderString MAX_CONCURRENT = new XContentBuilderString("max_concurrent");
+        static final XContentBuilderString THROUGHPUT_IN_BYTES_PER_SEC = new XContentBuilderString("throughput_in_bytes_per_sec");
+        static final XContentBuilderString THROUGHPUT_PER_SEC = new XContentBuilderString("throughput_per_sec");
     }
 
     @Override
@@ -145,6 +199,11 @@ public class SnapshotIndexShardStatus extends BroadcastShardResponse implements
         builder.startObject(Integer.toString(getShardId()));
         builder.field(Fields.STAGE, getStage());
         stats.toXContent(builder, params);
+        builder.startObject(Fields.UPLOADS);
+        builder.field(Fields.ACTIVE, getActiveUploads());
+        builder.field(Fields.MAX_CONCURRENT, getMaxConcurrentUploads());
+        builder.byteSizeField(Fields.THROUGHPUT_IN_BYTES_PER_SEC, Fields.THROUGHPUT_PER_SEC, getUploadThroughput());
+        builder.endObject();
         if (getNodeId() != null) {
             builder.field(Fields.NODE, getNodeId());
         }
@@ -41,16 +41,23 @@ import org.elasticsearch.cluster.metadata.IndexNameExpressionResolver;
 import org.elasticsearch.cluster.metadata.MappingMetaData;
 import org.elasticsearch.cluster.metadata.MetaData;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.collect.Tuple;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.logging.ESLogger;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.mapper.Mapping;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.translog.Translog;
@@ -60,6 +67,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportRequestOptions;
 import org.elasticsearch.transport.TransportService;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -72,9 +80,14 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
 
     public static final String ACTION_NAME = BulkAction.NAME + "[s]";
 
+    /** The maximum total size of the sources of the documents that are kept parsed while a bulk shard request is executed. */
+    public static final Setting<ByteSizeValue> MAX_PREPARED_SOURCE_SIZE_SETTING =
+        Setting.byteSizeSetting("action.bulk.max_prepared_source_size", new ByteSizeValue(10, ByteSizeUnit.MB), Property.NodeScope);
+
     private final UpdateHelper updateHelper;
     private final boolean allowIdGeneration;
     private final MappingUpdatedAction mappingUpdatedAction;
+    private final long maxPreparedSourceBytes;
 
     @Inject
     public TransportShardBulkAction(Settings settings, TransportService transportService, ClusterService clusterService,
@@ -87,6 +100,7 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
         this.updateHelper = updateHelper;
         this.allowIdGeneration = settings.getAsBoolean("action.allow_id_generation", true);
         this.mappingUpdatedAction = mappingUpdatedAction;
+        this.maxPreparedSourceBytes = MAX_PREPARED_SOURCE_SIZE_SETTING.get(settings).bytes();
     }
 
     @Override
@@ -112,10 +126,13 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
 
         long[] preVersions = new long[request.items().length];
         VersionType[] preVersionTypes = new VersionType[request.items().length];
+        Engine.Index[] preparedOperations = prepareIndexOperations(request, indexShard, mappingUpdatedAction,
+            maxPreparedSourceBytes, logger);
         Translog.Location location = null;
         for (int requestIndex = 0; requestIndex < request.items().length; requestIndex++) {
             BulkItemRequest item = request.items()[requestIndex];
-            location = handleItem(metaData, request, indexShard, preVersions, preVersionTypes, location, requestIndex, item);
+            location = handleItem(metaData, request, indexShard, preVersions, preVersionTypes, preparedOperations[requestIndex], location,
+                requestIndex, item);
         }
 
         processAfterWrite(request.refresh(), indexShard, location);
@@ -127,9 +144,69 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
         return new Tuple<>(new BulkShardResponse(request.shardId(), responses), request);
     }
 
-    private Translog.Location handleItem(MetaData metaData, BulkShardRequest request, IndexShard indexShard, long[] preVersions, VersionType[] preVersionTypes, Translog.Location location, int requestIndex, BulkItemRequest item) {
+    /**
+     * Parses all index items of the request upfront and sends the dynamic mapping updates they introduce to the master as a
+     * single merged update per type, so that a bulk introducing many new fields waits for the master once instead of once per
+     * document. The operations of items that did not require a mapping update are returned so that they don't need to be
+     * parsed again. All other slots are left <tt>null</tt> and those items go through the regular per document path, which
+     * also reports parsing failures and conflicting mapping updates on the item that caused them.
+     *
+     * Parsed documents are kept in memory until their item is executed, so only the operations of the first
+     * <tt>maxPreparedSourceBytes</tt> bytes of sources are kept (see {@link #MAX_PREPARED_SOURCE_SIZE_SETTING}). Items after
+     * that are parsed again when they are executed.
+     */
+    static Engine.Index[] prepareIndexOperations(BulkShardRequest request, IndexShard indexShard,
+                                                 MappingUpdatedAction mappingUpdatedAction, long maxPreparedSourceBytes,
+                                                 ESLogger logger) {
+        final BulkItemRequest[] items = request.items();
+        final Engine.Index[] operations = new Engine.Index[items.length];
+        final Map<String, Mapping> mappingUpdates = new HashMap<>();
+        long preparedSourceBytes = 0;
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].request() instanceof IndexRequest == false) {
+                continue;
+            }
+            final IndexRequest indexRequest = (IndexRequest) items[i].request();
+            final Engine.Index operation;
+            try {
+                operation = TransportIndexAction.prepareIndexOperationOnPrimary(indexRequest, indexShard);
+            } catch (Throwable t) {
+                // the item is parsed again when it is executed and fails there
+                continue;
+            }
+            final Mapping update = operation.parsedDoc().dynamicMappingsUpdate();
+            if (update == null) {
+                preparedSourceBytes += indexRequest.source().length();
+                if (preparedSourceBytes <= maxPreparedSourceBytes) {
+                    operations[i] = operation;
+                }
+                continue;
+            }
+            final Mapping pending = mappingUpdates.get(indexRequest.type());
+            if (pending == null) {
+                mappingUpdates.put(indexRequest.type(), update);
+            } else {
+                try {
+                    mappingUpdates.put(indexRequest.type(), pending.merge(update, false));
+                } catch (IllegalArgumentException e) {
+                    // conflicting dynamic updates within the bulk, the item sends its own update and fails on its own
+                }
+            }
+        }
+        for (Map.Entry<String, Mapping> entry : mappingUpdates.entrySet()) {
+            try {
+                mappingUpdatedAction.updateMappingOnMaster(request.shardId().getIndex(), entry.getKey(), entry.getValue());
+            } catch (Throwable t) {
+                // the items that need this update will retry it one by one and report the failure
+                logger.warn("{} failed to apply merged dynamic mapping update for type [{}]", t, request.shardId(), entry.getKey());
+            }
+        }
+        return operations;
+    }
+
+    private Translog.Location handleItem(MetaData metaData, BulkShardRequest request, IndexShard indexShard, long[] preVersions, VersionType[] preVersionTypes, @Nullable Engine.Index preparedOperation, Translog.Location location, int requestIndex, BulkItemRequest item) {
         if (item.request() instanceof IndexRequest) {
-            location = index(metaData, request, indexShard, preVersions, preVersionTypes, location, requestIndex, item);
+            location = index(metaData, request, indexShard, preVersions, preVersionTypes, preparedOperation, location, requestIndex, item);
         } else if (item.request() instanceof DeleteRequest) {
             location = delete(request, indexShard, preVersions, preVersionTypes, location, requestIndex, item);
         } else if (item.request() instanceof UpdateRequest) {
@@ -145,12 +222,12 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
         return location;
     }
 
-    private Translog.Location index(MetaData metaData, BulkShardRequest request, IndexShard indexShard, long[] preVersions, VersionType[] preVersionTypes, Translog.Location location, int requestIndex, BulkItemRequest item) {
+    private Translog.Location index(MetaData metaData, BulkShardRequest request, IndexShard indexShard, long[] preVersions, VersionType[] preVersionTypes, @Nullable Engine.Index preparedOperation, Translog.Location location, int requestIndex, BulkItemRequest item) {
         IndexRequest indexRequest = (IndexRequest) item.request();
         preVersions[requestIndex] = indexRequest.version();
         preVersionTypes[requestIndex] = indexRequest.versionType();
         try {
-            WriteResult<IndexResponse> result = shardIndexOperation(request, indexRequest, metaData, indexShard, true);
+            WriteResult<IndexResponse> result = shardIndexOperation(request, indexRequest, preparedOperation, metaData, indexShard, true);
             location = locationToSync(location, result.location);
             // add the response
             IndexResponse indexResponse = result.response();
@@ -257,7 +334,7 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
                         DeleteResponse response = writeResult.response();
                         DeleteRequest deleteRequest = updateResult.request();
                         updateResponse = new UpdateResponse(response.getShardInfo(), response.getShardId(), response.getType(), response.getId(), response.getVersion(), false);
-                        updateResponse.setGetResult(updateHelper.extractGetResult(updateRequest, request.index(), response.getVersion(), updateResult.result.updatedSourceAsMap(), updateResult.result.updateSourceContentType(), null));
+                        updateResponse.setGetResult(updateHelper.extractGetResult(updateRequest, request.index(), response.getVersion(), updateResult.result, null));
                         // Replace the update request to the translated delete request to execute on the replica.
                         item = request.items()[requestIndex] = new BulkItemRequest(request.items()[requestIndex].id(), deleteRequest);
                         setResponse(item, new BulkItemResponse(item.id(), OP_TYPE_UPDATE, updateResponse));
@@ -326,8 +403,8 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
         }
     }
 
-    private WriteResult shardIndexOperation(BulkShardRequest request, IndexRequest indexRequest, MetaData metaData,
-                                            IndexShard indexShard, boolean processed) throws Throwable {
+    private WriteResult shardIndexOperation(BulkShardRequest request, IndexRequest indexRequest, @Nullable Engine.Index preparedOperation,
+                                            MetaData metaData, IndexShard indexShard, boolean processed) throws Throwable {
 
         // validate, if routing is required, that we got routing
         MappingMetaData mappingMd = metaData.index(request.index()).mappingOrDefault(indexRequest.type());
@@ -340,6 +417,9 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
         if (!processed) {
             indexRequest.process(metaData, mappingMd, allowIdGeneration, request.index());
         }
+        if (preparedOperation != null) {
+            return TransportIndexAction.executeIndexRequestOnPrimary(indexRequest, preparedOperation, indexShard, mappingUpdatedAction);
+        }
         return TransportIndexAction.executeIndexRequestOnPrimary(indexRequest, indexShard, mappingUpdatedAction);
     }
 
@@ -403,7 +483,7 @@ public class TransportShardBulkAction extends TransportReplicationAction<BulkSha
             case INDEX:
                 IndexRequest indexRequest = translate.action();
                 try {
-                    WriteResult result = shardIndexOperation(bulkShardRequest, indexRequest, metaData, indexShard, false);
+                    WriteResult result = shardIndexOperation(bulkShardRequest, indexRequest, null, metaData, indexShard, false);
                     return new UpdateResult(translate, indexRequest, result);
                 } catch (Throwable t) {
                     t = ExceptionsHelper.unwrapCause(t);
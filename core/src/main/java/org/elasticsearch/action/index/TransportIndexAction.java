@@ -203,7 +203,16 @@ public class TransportIndexAction extends TransportReplicationAction<IndexReques
      * {@link RetryOnPrimaryException} if the operation needs to be re-tried.
      */
     public static WriteResult<IndexResponse> executeIndexRequestOnPrimary(IndexRequest request, IndexShard indexShard, MappingUpdatedAction mappingUpdatedAction) throws Exception {
-        Engine.Index operation = prepareIndexOperationOnPrimary(request, indexShard);
+        return executeIndexRequestOnPrimary(request, prepareIndexOperationOnPrimary(request, indexShard), indexShard, mappingUpdatedAction);
+    }
+
+    /**
+     * Same as {@link #executeIndexRequestOnPrimary(IndexRequest, IndexShard, MappingUpdatedAction)} but starts from an
+     * operation that has already been prepared for the request, which saves parsing the document twice when the caller
+     * had to parse it upfront anyway.
+     */
+    public static WriteResult<IndexResponse> executeIndexRequestOnPrimary(IndexRequest request, Engine.Index operation, IndexShard indexShard,
+                                                                          MappingUpdatedAction mappingUpdatedAction) throws Exception {
         Mapping update = operation.parsedDoc().dynamicMappingsUpdate();
         final ShardId shardId = indexShard.shardId();
         if (update != null) {
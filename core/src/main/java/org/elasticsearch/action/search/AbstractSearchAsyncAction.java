@@ -37,7 +37,9 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.logging.ESLogger;
 import org.elasticsearch.common.util.concurrent.AtomicArray;
+import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.search.SearchPhaseResult;
+import org.elasticsearch.search.SearchService;
 import org.elasticsearch.search.SearchShardTarget;
 import org.elasticsearch.search.action.SearchTransportService;
 import org.elasticsearch.search.controller.SearchPhaseController;
@@ -70,6 +72,8 @@ abstract class AbstractSearchAsyncAction<FirstResult extends SearchPhaseResult>
     protected final int expectedSuccessfulOps;
     private final int expectedTotalOps;
     protected final AtomicInteger successfulOps = new AtomicInteger();
+    private final int preFilterShardSize;
+    protected volatile int skippedOps;
     private final AtomicInteger totalOps = new AtomicInteger();
     protected final AtomicArray<FirstResult> firstResults;
     private volatile AtomicArray<ShardSearchFailure> shardFailures;
@@ -116,6 +120,7 @@ abstract class AbstractSearchAsyncAction<FirstResult extends SearchPhaseResult>
                     + "have a smaller number of larger shards. Update [" + TransportSearchAction.SHARD_COUNT_LIMIT_SETTING.getKey()
                     + "] to a greater value if you really want to query that many shards at the same time.");
         }
+        preFilterShardSize = clusterService.getClusterSettings().get(TransportSearchAction.PRE_FILTER_SHARD_SIZE_SETTING);
         expectedSuccessfulOps = shardCount;
         // we need to add 1 for non active partition, since we count it in the total!
         expectedTotalOps = shardsIts.totalSizeWith1ForEmpty();
@@ -131,9 +136,95 @@ abstract class AbstractSearchAsyncAction<FirstResult extends SearchPhaseResult>
                 ShardSearchFailure.EMPTY_ARRAY));
             return;
         }
+        if (shouldPreFilterShards()) {
+            preFilterShards();
+        } else {
+            performFirstPhase(null);
+        }
+    }
+
+    private boolean shouldPreFilterShards() {
+        return request.searchType() == SearchType.QUERY_THEN_FETCH && request.template() == null
+            && expectedSuccessfulOps > preFilterShardSize && SearchService.canRewriteToMatchNone(request.source());
+    }
+
+    /**
+     * Asks one copy of each shard whether the query can match any of its documents, and then runs the first phase on
+     * the shards that can. Shards that fail to answer are searched as usual.
+     */
+    private void preFilterShards() {
+        final boolean[] canMatch = new boolean[shardsIts.size()];
+        final CountDown countDown = new CountDown(canMatch.length);
+        int shardIndex = -1;
+        for (final ShardIterator shardIt : shardsIts) {
+            final int index = ++shardIndex;
+            final ShardRouting shard = shardIt.nextOrNull();
+            // the first phase starts over with the first copy of the shard
+            shardIt.reset();
+            final DiscoveryNode node = shard == null ? null : nodes.get(shard.currentNodeId());
+            if (node == null) {
+                canMatch[index] = true;
+                if (countDown.countDown()) {
+                    performFirstPhase(canMatch);
+                }
+                continue;
+            }
+            String[] filteringAliases = indexNameExpressionResolver.filteringAliases(clusterState,
+                shard.index().getName(), request.indices());
+            searchTransportService.sendCanMatch(node, internalSearchRequest(shard, shardsIts.size(), request, filteringAliases,
+                startTime()), new ActionListener<SearchTransportService.CanMatchResponse>() {
+                    @Override
+                    public void onResponse(SearchTransportService.CanMatchResponse response) {
+                        canMatch[index] = response.canMatch();
+                        if (countDown.countDown()) {
+                            performFirstPhase(canMatch);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        logger.trace("{}: failed to check whether [{}] can match, searching the shard", t, shard, request);
+                        canMatch[index] = true;
+                        if (countDown.countDown()) {
+                            performFirstPhase(canMatch);
+                        }
+                    }
+                });
+        }
+    }
+
+    /**
+     * Runs the first phase on every shard, or only on the shards that can match if <code>canMatch</code> is set. The
+     * other shards count as successful and skipped, except for one of them when no shard can match so that the search
+     * still produces results to reduce, like empty aggregations.
+     */
+    private void performFirstPhase(@Nullable boolean[] canMatch) {
+        if (canMatch != null) {
+            boolean noMatch = true;
+            for (boolean shardCanMatch : canMatch) {
+                noMatch &= shardCanMatch == false;
+            }
+            if (noMatch) {
+                canMatch[0] = true;
+            }
+            // account for all skipped shards before searching the others, the last first phase result must find them
+            int shardIndex = -1;
+            int skipped = 0;
+            for (final ShardIterator shardIt : shardsIts) {
+                if (canMatch[++shardIndex] == false) {
+                    skipped++;
+                    successfulOps.incrementAndGet();
+                    totalOps.addAndGet(shardIt.size());
+                }
+            }
+            skippedOps = skipped;
+        }
         int shardIndex = -1;
         for (final ShardIterator shardIt : shardsIts) {
             shardIndex++;
+            if (canMatch != null && canMatch[shardIndex] == false) {
+                continue;
+            }
             final ShardRouting shard = shardIt.nextOrNull();
             if (shard != null) {
                 performFirstPhase(shardIndex, shardIt, shard);
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.action.search;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -56,6 +57,8 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
 
     private int successfulShards;
 
+    private int skippedShards;
+
     private ShardSearchFailure[] shardFailures;
 
     private long tookInMillis;
@@ -64,10 +67,16 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
     }
 
     public SearchResponse(InternalSearchResponse internalResponse, String scrollId, int totalShards, int successfulShards, long tookInMillis, ShardSearchFailure[] shardFailures) {
+        this(internalResponse, scrollId, totalShards, successfulShards, 0, tookInMillis, shardFailures);
+    }
+
+    public SearchResponse(InternalSearchResponse internalResponse, String scrollId, int totalShards, int successfulShards,
+                          int skippedShards, long tookInMillis, ShardSearchFailure[] shardFailures) {
         this.internalResponse = internalResponse;
         this.scrollId = scrollId;
         this.totalShards = totalShards;
         this.successfulShards = successfulShards;
+        this.skippedShards = skippedShards;
         this.tookInMillis = tookInMillis;
         this.shardFailures = shardFailures;
     }
@@ -136,6 +145,14 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
         return successfulShards;
     }
 
+    /**
+     * The number of shards that were skipped because their query could not match any document. Skipped shards also
+     * count as successful.
+     */
+    public int getSkippedShards() {
+        return skippedShards;
+    }
+
     /**
      * The failed number of shards the search was executed on.
      */
@@ -191,7 +208,8 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
         if (isTerminatedEarly() != null) {
             builder.field(Fields.TERMINATED_EARLY, isTerminatedEarly());
         }
-        RestActions.buildBroadcastShardsHeader(builder, params, getTotalShards(), getSuccessfulShards(), getFailedShards(), getShardFailures());
+        RestActions.buildBroadcastShardsHeader(builder, params, getTotalShards(), getSuccessfulShards(), getSkippedShards(),
+            getFailedShards(), getShardFailures());
         internalResponse.toXContent(builder, params);
         return builder;
     }
@@ -202,6 +220,11 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
         internalResponse = readInternalSearchResponse(in);
         totalShards = in.readVInt();
         successfulShards = in.readVInt();
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            skippedShards = in.readVInt();
+        } else {
+            skippedShards = 0;
+        }
         int size = in.readVInt();
         if (size == 0) {
             shardFailures = ShardSearchFailure.EMPTY_ARRAY;
@@ -221,6 +244,9 @@ public class SearchResponse extends ActionResponse implements StatusToXContent {
         internalResponse.writeTo(out);
         out.writeVInt(totalShards);
         out.writeVInt(successfulShards);
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeVInt(skippedShards);
+        }
 
         out.writeVInt(shardFailures.length);
         for (ShardSearchFailure shardSearchFailure : shardFailures) {
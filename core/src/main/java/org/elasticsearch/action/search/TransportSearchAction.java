@@ -51,6 +51,13 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
     public static final Setting<Long> SHARD_COUNT_LIMIT_SETTING = Setting.longSetting(
             "action.search.shard_count.limit", 1000L, 1L, Property.Dynamic, Property.NodeScope);
 
+    /**
+     * The number of shards above which a query then fetch search first asks every shard whether its query can match any
+     * document, and only runs the query phase on the shards that can.
+     */
+    public static final Setting<Integer> PRE_FILTER_SHARD_SIZE_SETTING = Setting.intSetting(
+            "action.search.pre_filter_shard_size", 128, 1, Property.Dynamic, Property.NodeScope);
+
     private final ClusterService clusterService;
     private final SearchTransportService searchTransportService;
     private final SearchPhaseController searchPhaseController;
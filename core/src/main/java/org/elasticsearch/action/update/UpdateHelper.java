@@ -19,6 +19,7 @@
 
 package org.elasticsearch.action.update;
 
+import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.client.Requests;
@@ -30,7 +31,10 @@ import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.io.stream.Streamable;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentParser;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.engine.DocumentMissingException;
@@ -50,6 +54,7 @@ import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.search.fetch.source.FetchSourceContext;
 import org.elasticsearch.search.lookup.SourceLookup;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -150,18 +155,18 @@ public class UpdateHelper extends AbstractComponent {
             throw new DocumentSourceMissingException(shardId, request.type(), request.id());
         }
 
-        Tuple<XContentType, Map<String, Object>> sourceAndContent = XContentHelper.convertToMap(getResult.internalSourceRef(), true);
         String operation = null;
         String timestamp = null;
         TimeValue ttl = null;
         final Map<String, Object> updatedSourceAsMap;
-        final XContentType updateSourceContentType = sourceAndContent.v1();
+        final BytesReference updatedSource;
+        final XContentType updateSourceContentType;
         String routing = getResult.getFields().containsKey(RoutingFieldMapper.NAME) ? getResult.field(RoutingFieldMapper.NAME).getValue().toString() : null;
         String parent = getResult.getFields().containsKey(ParentFieldMapper.NAME) ? getResult.field(ParentFieldMapper.NAME).getValue().toString() : null;
 
         if (request.script() == null && request.doc() != null) {
             IndexRequest indexRequest = request.doc();
-            updatedSourceAsMap = sourceAndContent.v2();
+            updatedSourceAsMap = null;
             if (indexRequest.ttl() != null) {
                 ttl = indexRequest.ttl();
             }
@@ -172,7 +177,16 @@ public class UpdateHelper extends AbstractComponent {
             if (indexRequest.parent() != null) {
                 parent = indexRequest.parent();
             }
-            boolean noop = !XContentHelper.update(updatedSourceAsMap, indexRequest.sourceAsMap(), request.detectNoop());
+            // merge the partial document straight into the source bytes rather than going through a map of the whole document
+            final boolean noop;
+            try (XContentParser parser = XContentHelper.createParser(getResult.internalSourceRef())) {
+                updateSourceContentType = parser.contentType();
+                XContentBuilder builder = XContentFactory.contentBuilder(updateSourceContentType);
+                noop = !XContentHelper.update(parser, builder, indexRequest.sourceAsMap(), request.detectNoop());
+                updatedSource = builder.bytes();
+            } catch (IOException e) {
+                throw new ElasticsearchParseException("failed to apply partial document to [{}]/[{}]", e, request.type(), request.id());
+            }
             // noop could still be true even if detectNoop isn't because update detects empty maps as noops.  BUT we can only
             // actually turn the update into a noop if detectNoop is true to preserve backwards compatibility and to handle
             // cases where users repopulating multi-fields or adding synonyms, etc.
@@ -180,6 +194,8 @@ public class UpdateHelper extends AbstractComponent {
                 operation = "none";
             }
         } else {
+            Tuple<XContentType, Map<String, Object>> sourceAndContent = XContentHelper.convertToMap(getResult.internalSourceRef(), true);
+            updateSourceContentType = sourceAndContent.v1();
             Map<String, Object> ctx = new HashMap<>(16);
             Long originalTtl = getResult.getFields().containsKey(TTLFieldMapper.NAME) ? (Long) getResult.field(TTLFieldMapper.NAME).getValue() : null;
             Long originalTimestamp = getResult.getFields().containsKey(TimestampFieldMapper.NAME) ? (Long) getResult.field(TimestampFieldMapper.NAME).getValue() : null;
@@ -208,6 +224,7 @@ public class UpdateHelper extends AbstractComponent {
             ttl = getTTLFromScriptContext(ctx);
 
             updatedSourceAsMap = (Map<String, Object>) ctx.get("_source");
+            updatedSource = null;
         }
 
         // apply script to update the source
@@ -221,25 +238,30 @@ public class UpdateHelper extends AbstractComponent {
 
         if (operation == null || "index".equals(operation)) {
             final IndexRequest indexRequest = Requests.indexRequest(request.index()).type(request.type()).id(request.id()).routing(routing).parent(parent)
-                    .source(updatedSourceAsMap, updateSourceContentType)
                     .version(updateVersion).versionType(request.versionType())
                     .consistencyLevel(request.consistencyLevel())
                     .timestamp(timestamp).ttl(ttl)
                     .refresh(request.refresh());
-            return new Result(indexRequest, Operation.INDEX, updatedSourceAsMap, updateSourceContentType);
+            if (updatedSource != null) {
+                indexRequest.source(updatedSource);
+            } else {
+                indexRequest.source(updatedSourceAsMap, updateSourceContentType);
+            }
+            return new Result(indexRequest, Operation.INDEX, updatedSourceAsMap, updatedSource, updateSourceContentType);
         } else if ("delete".equals(operation)) {
             DeleteRequest deleteRequest = Requests.deleteRequest(request.index()).type(request.type()).id(request.id()).routing(routing).parent(parent)
                     .version(updateVersion).versionType(request.versionType())
                     .consistencyLevel(request.consistencyLevel());
-            return new Result(deleteRequest, Operation.DELETE, updatedSourceAsMap, updateSourceContentType);
+            return new Result(deleteRequest, Operation.DELETE, updatedSourceAsMap, updatedSource, updateSourceContentType);
         } else if ("none".equals(operation)) {
             UpdateResponse update = new UpdateResponse(shardId, getResult.getType(), getResult.getId(), getResult.getVersion(), false);
-            update.setGetResult(extractGetResult(request, request.index(), getResult.getVersion(), updatedSourceAsMap, updateSourceContentType, getResult.internalSourceRef()));
-            return new Result(update, Operation.NONE, updatedSourceAsMap, updateSourceContentType);
+            Result result = new Result(update, Operation.NONE, updatedSourceAsMap, updatedSource, updateSourceContentType);
+            update.setGetResult(extractGetResult(request, request.index(), getResult.getVersion(), result, getResult.internalSourceRef()));
+            return result;
         } else {
             logger.warn("Used update operation [{}] for script [{}], doing nothing...", operation, request.script.getScript());
             UpdateResponse update = new UpdateResponse(shardId, getResult.getType(), getResult.getId(), getResult.getVersion(), false);
-            return new Result(update, Operation.NONE, updatedSourceAsMap, updateSourceContentType);
+            return new Result(update, Operation.NONE, updatedSourceAsMap, updatedSource, updateSourceContentType);
         }
     }
 
@@ -269,6 +291,18 @@ public class UpdateHelper extends AbstractComponent {
         return null;
     }
 
+    /**
+     * Extracts the fields from the updated document of the given result to be returned in a update response. Unlike
+     * {@link #extractGetResult(UpdateRequest, String, long, Map, XContentType, BytesReference)} the updated source is only
+     * converted to a map if fields were requested.
+     */
+    public GetResult extractGetResult(final UpdateRequest request, String concreteIndex, long version, final Result result, @Nullable final BytesReference sourceAsBytes) {
+        if (request.fields() == null || request.fields().length == 0) {
+            return null;
+        }
+        return extractGetResult(request, concreteIndex, version, result.updatedSourceAsMap(), result.updateSourceContentType(), sourceAsBytes);
+    }
+
     /**
      * Extracts the fields from the updated document to be returned in a update response
      */
@@ -309,13 +343,24 @@ public class UpdateHelper extends AbstractComponent {
 
         private final Streamable action;
         private final Operation operation;
-        private final Map<String, Object> updatedSourceAsMap;
+        private Map<String, Object> updatedSourceAsMap;
+        private final BytesReference updatedSource;
         private final XContentType updateSourceContentType;
 
         public Result(Streamable action, Operation operation, Map<String, Object> updatedSourceAsMap, XContentType updateSourceContentType) {
+            this(action, operation, updatedSourceAsMap, null, updateSourceContentType);
+        }
+
+        /**
+         * Creates a result whose updated source may only be available as bytes, in which case it is converted to a map
+         * the first time {@link #updatedSourceAsMap()} is called.
+         */
+        public Result(Streamable action, Operation operation, @Nullable Map<String, Object> updatedSourceAsMap,
+                      @Nullable BytesReference updatedSource, XContentType updateSourceContentType) {
             this.action = action;
             this.operation = operation;
             this.updatedSourceAsMap = updatedSourceAsMap;
+            this.updatedSource = updatedSource;
             this.updateSourceContentType = updateSourceContentType;
         }
 
@@ -329,6 +374,9 @@ public class UpdateHelper extends AbstractComponent {
         }
 
         public Map<String, Object> updatedSourceAsMap() {
+            if (updatedSourceAsMap == null && updatedSource != null) {
+                updatedSourceAsMap = XContentHelper.convertToMap(updatedSource, true).v2();
+            }
             return updatedSourceAsMap;
         }
 
@@ -23,21 +23,25 @@ import org.elasticsearch.common.component.AbstractComponent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.lease.Releasable;
 import org.elasticsearch.common.recycler.AbstractRecyclerC;
+import org.elasticsearch.common.recycler.MagazineRecycler;
 import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static org.elasticsearch.common.recycler.Recyclers.concurrent;
 import static org.elasticsearch.common.recycler.Recyclers.concurrentDeque;
-import static org.elasticsearch.common.recycler.Recyclers.dequeFactory;
+import static org.elasticsearch.common.recycler.Recyclers.magazine;
 import static org.elasticsearch.common.recycler.Recyclers.none;
 
 /** A recycler of fixed-size pages. */
@@ -56,11 +60,22 @@ public class PageCacheRecycler extends AbstractComponent implements Releasable {
     // object pages are less useful to us so we give them a lower weight by default
     public static final Setting<Double> WEIGHT_OBJECTS_SETTING  =
         Setting.doubleSetting("cache.recycler.page.weight.objects", 0.1d, 0d, Property.NodeScope);
+    /** Whether big arrays of bytes, ints, longs and doubles should store their pages in direct memory. */
+    public static final Setting<Boolean> OFF_HEAP_SETTING =
+        Setting.boolSetting("cache.recycler.page.off_heap", false, Property.NodeScope);
+    /** Maximum amount of direct memory that may be allocated for off-heap pages, whether they are in use or cached. */
+    public static final Setting<ByteSizeValue> LIMIT_OFF_HEAP_SETTING =
+        Setting.byteSizeSetting("cache.recycler.page.limit.off_heap", new ByteSizeValue(256, ByteSizeUnit.MB), Property.NodeScope);
+
+    // maximum number of pages that a thread may exchange with the shared depot of the concurrent recycler at once
+    private static final int MAX_MAGAZINE_SIZE = 16;
 
     private final Recycler<byte[]> bytePage;
     private final Recycler<int[]> intPage;
     private final Recycler<long[]> longPage;
     private final Recycler<Object[]> objectPage;
+    private final Recycler<ByteBuffer> directPage;
+    private final AtomicLong directBytesAllocated = new AtomicLong();
 
     @Override
     public void close() {
@@ -68,6 +83,9 @@ public class PageCacheRecycler extends AbstractComponent implements Releasable {
         intPage.close();
         longPage.close();
         objectPage.close();
+        if (directPage != null) {
+            directPage.close();
+        }
     }
 
     private static int maximumSearchThreadPoolSize(ThreadPool threadPool, Settings settings) {
@@ -160,6 +178,74 @@ public class PageCacheRecycler extends AbstractComponent implements Releasable {
         });
 
         assert BigArrays.PAGE_SIZE_IN_BYTES * (maxBytePageCount + maxIntPageCount + maxLongPageCount + maxObjectPageCount) <= limit;
+
+        if (OFF_HEAP_SETTING.get(settings)) {
+            // Direct pages are not interchangeable with heap pages, so they get their own budget. The limit applies to all
+            // direct memory held by pages, not only to the cached ones: once it is reached, new pages are allocated on the
+            // heap instead, which keeps big arrays working while making sure we never reserve more native memory than allowed.
+            final long offHeapLimit = LIMIT_OFF_HEAP_SETTING.get(settings).bytes();
+            final int maxDirectPageCount = (int) Math.min(Integer.MAX_VALUE, offHeapLimit / BigArrays.PAGE_SIZE_IN_BYTES);
+            directPage = build(type, maxDirectPageCount, searchThreadPoolSize, availableProcessors, new AbstractRecyclerC<ByteBuffer>() {
+                @Override
+                public ByteBuffer newInstance(int sizing) {
+                    return allocateDirectPage(offHeapLimit);
+                }
+                @Override
+                public void recycle(ByteBuffer value) {
+                    // nothing to do
+                }
+                @Override
+                public void destroy(ByteBuffer value) {
+                    if (value.isDirect()) {
+                        // the native memory is freed once the buffer is garbage collected
+                        directBytesAllocated.addAndGet(-value.capacity());
+                    }
+                }
+            });
+        } else {
+            directPage = null;
+        }
+    }
+
+    private ByteBuffer allocateDirectPage(long offHeapLimit) {
+        final ByteBuffer page;
+        if (directBytesAllocated.addAndGet(BigArrays.PAGE_SIZE_IN_BYTES) <= offHeapLimit) {
+            page = ByteBuffer.allocateDirect(BigArrays.PAGE_SIZE_IN_BYTES);
+        } else {
+            directBytesAllocated.addAndGet(-BigArrays.PAGE_SIZE_IN_BYTES);
+            page = ByteBuffer.wrap(new byte[BigArrays.PAGE_SIZE_IN_BYTES]);
+        }
+        return page.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Return statistics about pages that have been obtained and released. Only recyclers of type
+     * {@link Type#CONCURRENT} keep track of statistics, other types report zeros.
+     */
+    public PageCacheRecyclerStats stats() {
+        long threadCacheHits = 0, depotHits = 0, misses = 0, evictions = 0, depotExchanges = 0, depotContentions = 0;
+        for (Recycler<?> recycler : Arrays.asList(bytePage, intPage, longPage, objectPage, directPage)) {
+            if (recycler instanceof MagazineRecycler) {
+                final MagazineRecycler.Stats stats = ((MagazineRecycler<?>) recycler).stats();
+                threadCacheHits += stats.getThreadCacheHits();
+                depotHits += stats.getDepotHits();
+                misses += stats.getMisses();
+                evictions += stats.getEvictions();
+                depotExchanges += stats.getDepotExchanges();
+                depotContentions += stats.getDepotContentions();
+            }
+        }
+        return new PageCacheRecyclerStats(threadCacheHits, depotHits, misses, evictions, depotExchanges, depotContentions);
+    }
+
+    /** Whether big arrays should use pages from {@link #directPage(boolean)} for primitive values. */
+    public boolean isOffHeap() {
+        return directPage != null;
+    }
+
+    /** Return the number of bytes of direct memory that are currently allocated for off-heap pages. */
+    public long directBytesAllocated() {
+        return directBytesAllocated.get();
     }
 
     public Recycler.V<byte[]> bytePage(boolean clear) {
@@ -191,6 +277,21 @@ public class PageCacheRecycler extends AbstractComponent implements Releasable {
         return objectPage.obtain();
     }
 
+    /**
+     * Return a page of {@link BigArrays#PAGE_SIZE_IN_BYTES} bytes that uses the platform's native byte order. The page
+     * is backed by direct memory unless the off-heap limit has been reached. Only available when {@link #isOffHeap()}.
+     */
+    public Recycler.V<ByteBuffer> directPage(boolean clear) {
+        final Recycler.V<ByteBuffer> v = directPage.obtain();
+        if (v.isRecycled() && clear) {
+            final ByteBuffer page = v.v();
+            for (int i = 0; i < page.capacity(); i += Long.BYTES) {
+                page.putLong(i, 0L);
+            }
+        }
+        return v;
+    }
+
     private static <T> Recycler<T> build(Type type, int limit, int estimatedThreadPoolSize, int availableProcessors, Recycler.C<T> c) {
         final Recycler<T> recycler;
         if (limit == 0) {
@@ -211,7 +312,10 @@ public class PageCacheRecycler extends AbstractComponent implements Releasable {
         CONCURRENT {
             @Override
             <T> Recycler<T> build(Recycler.C<T> c, int limit, int estimatedThreadPoolSize, int availableProcessors) {
-                return concurrent(dequeFactory(c, limit / availableProcessors), availableProcessors);
+                // every thread may hold up to two magazines, size them so that the search threads can't hold the
+                // whole cache on their own
+                final int magazineSize = Math.max(1, Math.min(MAX_MAGAZINE_SIZE, limit / (2 * estimatedThreadPoolSize)));
+                return magazine(c, limit, magazineSize);
             }
         },
         NONE {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.cache.recycler;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Statistics about how pages of the {@link PageCacheRecycler} were served: from the calling thread's cache, from the
+ * shared depot or by allocating a new page, and about how often threads had to go to the shared depot.
+ */
+public class PageCacheRecyclerStats implements Writeable<PageCacheRecyclerStats>, ToXContent {
+
+    private final long threadCacheHits;
+    private final long depotHits;
+    private final long misses;
+    private final long evictions;
+    private final long depotExchanges;
+    private final long depotContentions;
+
+    public PageCacheRecyclerStats(long threadCacheHits, long depotHits, long misses, long evictions,
+                                  long depotExchanges, long depotContentions) {
+        this.threadCacheHits = threadCacheHits;
+        this.depotHits = depotHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.depotExchanges = depotExchanges;
+        this.depotContentions = depotContentions;
+    }
+
+    public PageCacheRecyclerStats(StreamInput in) throws IOException {
+        threadCacheHits = in.readVLong();
+        depotHits = in.readVLong();
+        misses = in.readVLong();
+        evictions = in.readVLong();
+        depotExchanges = in.readVLong();
+        depotContentions = in.readVLong();
+    }
+
+    /**
+     * @return The number of pages that were served from the calling thread's cache.
+     */
+    public long getThreadCacheHits() {
+        return threadCacheHits;
+    }
+
+    /**
+     * @return The number of pages that were served from the shared depot.
+     */
+    public long getDepotHits() {
+        return depotHits;
+    }
+
+    /**
+     * @return The number of pages that had to be allocated because no cached page was available.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of released pages that were dropped because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of times a thread exchanged pages with the shared depot.
+     */
+    public long getDepotExchanges() {
+        return depotExchanges;
+    }
+
+    /**
+     * @return The number of times an exchange with the shared depot had to be retried due to concurrent access.
+     */
+    public long getDepotContentions() {
+        return depotContentions;
+    }
+
+    /**
+     * @return The ratio of obtained pages that were served from a cache, or 0 if no page was obtained.
+     */
+    public double getHitRatio() {
+        final long hits = threadCacheHits + depotHits;
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public PageCacheRecyclerStats readFrom(StreamInput in) throws IOException {
+        return new PageCacheRecyclerStats(in);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(threadCacheHits);
+        out.writeVLong(depotHits);
+        out.writeVLong(misses);
+        out.writeVLong(evictions);
+        out.writeVLong(depotExchanges);
+        out.writeVLong(depotContentions);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("page_cache_recycler");
+        builder.field("thread_cache_hits", threadCacheHits);
+        builder.field("depot_hits", depotHits);
+        builder.field("misses", misses);
+        builder.field("hit_ratio", getHitRatio());
+        builder.field("evictions", evictions);
+        builder.field("depot_exchanges", depotExchanges);
+        builder.field("depot_contentions", depotContentions);
+        builder.endObject();
+        return builder;
+    }
+}
@@ -334,6 +334,14 @@ public class MetaDataCreateIndexService extends AbstractComponent {
                                 }
                             }
 
+                            try {
+                                // the index sort needs the mappings of its fields
+                                indexService.getIndexSettings().getIndexSortConfig().buildIndexSort(mapperService::fullName);
+                            } catch (IllegalArgumentException e) {
+                                removalReason = "failed on building the index sort";
+                                throw e;
+                            }
+
                             final QueryShardContext queryShardContext = indexService.newQueryShardContext();
                             for (Alias alias : request.aliases()) {
                                 if (Strings.hasLength(alias.filter())) {
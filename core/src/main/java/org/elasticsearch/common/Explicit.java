@@ -19,6 +19,8 @@
 
 package org.elasticsearch.common;
 
+import java.util.Objects;
+
 /**
  * Holds a value that is either:
  * a) set implicitly e.g. through some default value
@@ -54,4 +56,17 @@ public class Explicit<T> {
     public boolean explicit() {
         return this.explicit;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Explicit<?> that = (Explicit<?>) o;
+        return explicit == that.explicit && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, explicit);
+    }
 }
@@ -125,7 +125,7 @@ public class ChildMemoryCircuitBreaker implements CircuitBreaker {
 
         // Additionally, we need to check that we haven't exceeded the parent's limit
         try {
-            parent.checkParentLimit(label);
+            parent.checkParentLimit(this.name, bytes, label);
         } catch (CircuitBreakingException e) {
             // If the parent breaker is tripped, this breaker has to be
             // adjusted back down because the allocation is "blocked" but the
@@ -0,0 +1,379 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.common.recycler;
+
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe {@link Recycler} that keeps cached objects in small arrays called magazines. Every thread owns up to two
+ * magazines and only goes to a shared, lock-free depot of full and empty magazines when both of them are exhausted (on
+ * obtain) or full (on release), so that shared state is touched at most once per magazine's worth of operations and
+ * objects are handed over between threads by whole magazines.
+ *
+ * The total number of cached objects never exceeds the configured limit: capacity is assigned to magazines when they are
+ * created and moves with them between threads and the depot.
+ */
+public class MagazineRecycler<T> extends AbstractRecycler<T> {
+
+    private final int magazineSize;
+    // capacity that has not been assigned to a magazine yet
+    private final AtomicInteger unassignedCapacity;
+    private final Depot<T> fullMagazines = new Depot<>();
+    private final Depot<T> emptyMagazines = new Depot<>();
+    private final Set<ThreadCache> threadCaches = ConcurrentCollections.newConcurrentSet();
+    private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+
+    private final LongAdder threadCacheHits = new LongAdder();
+    private final LongAdder depotHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder depotExchanges = new LongAdder();
+    private final LongAdder depotContentions = new LongAdder();
+
+    public MagazineRecycler(C<T> c, int limit, int magazineSize) {
+        super(c);
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0");
+        }
+        if (magazineSize < 1) {
+            throw new IllegalArgumentException("magazineSize must be >= 1");
+        }
+        this.magazineSize = magazineSize;
+        this.unassignedCapacity = new AtomicInteger(limit);
+    }
+
+    @Override
+    public V<T> obtain(int sizing) {
+        final T v = threadCache.get().pop();
+        if (v == null) {
+            misses.increment();
+            return new MV(c.newInstance(sizing), false);
+        }
+        return new MV(v, true);
+    }
+
+    @Override
+    public void close() {
+        for (Magazine<T> magazine = fullMagazines.pop(); magazine != null; magazine = fullMagazines.pop()) {
+            destroyAll(magazine);
+            emptyMagazines.push(magazine);
+        }
+        for (ThreadCache cache : threadCaches) {
+            cache.destroyAll();
+        }
+    }
+
+    /** Return a snapshot of the statistics of this recycler. */
+    public Stats stats() {
+        return new Stats(threadCacheHits.sum(), depotHits.sum(), misses.sum(), evictions.sum(), depotExchanges.sum(),
+                depotContentions.sum());
+    }
+
+    private ThreadCache newThreadCache() {
+        // give the objects cached by threads that are gone back to the depot so that other threads can use them
+        for (ThreadCache cache : threadCaches) {
+            if (cache.owner.isAlive() == false) {
+                cache.flush();
+                threadCaches.remove(cache);
+            }
+        }
+        final ThreadCache cache = new ThreadCache(Thread.currentThread());
+        threadCaches.add(cache);
+        return cache;
+    }
+
+    /** Create an empty magazine with as much of the remaining capacity as possible, or return null if there is none left. */
+    private Magazine<T> newMagazine() {
+        int capacity;
+        int remaining;
+        do {
+            remaining = unassignedCapacity.get();
+            if (remaining == 0) {
+                return null;
+            }
+            capacity = Math.min(remaining, magazineSize);
+        } while (unassignedCapacity.compareAndSet(remaining, remaining - capacity) == false);
+        return new Magazine<>(capacity);
+    }
+
+    private void destroyAll(Magazine<T> magazine) {
+        while (magazine.size > 0) {
+            c.destroy(magazine.pop());
+        }
+    }
+
+    private final class ThreadCache {
+
+        final Thread owner;
+        // the magazine that objects are taken from and given to, and a backup one
+        Magazine<T> loaded;
+        Magazine<T> previous;
+
+        ThreadCache(Thread owner) {
+            this.owner = owner;
+        }
+
+        /** Take an object from this cache or the depot, or return null if none is available. */
+        synchronized T pop() {
+            if (loaded != null && loaded.size > 0) {
+                threadCacheHits.increment();
+                return loaded.pop();
+            }
+            if (previous != null && previous.size > 0) {
+                swap();
+                threadCacheHits.increment();
+                return loaded.pop();
+            }
+            final Magazine<T> full = exchange(fullMagazines);
+            if (full == null) {
+                return null;
+            }
+            if (previous != null) {
+                exchange(emptyMagazines, previous);
+            }
+            previous = loaded;
+            loaded = full;
+            depotHits.increment();
+            return loaded.pop();
+        }
+
+        /** Give an object to this cache, returns false if there is no capacity left to cache it. */
+        synchronized boolean push(T value) {
+            if (loaded != null && loaded.size < loaded.capacity()) {
+                loaded.push(value);
+                return true;
+            }
+            if (previous != null && previous.size < previous.capacity()) {
+                swap();
+                loaded.push(value);
+                return true;
+            }
+            Magazine<T> empty = exchange(emptyMagazines);
+            if (empty == null) {
+                empty = newMagazine();
+                if (empty == null) {
+                    return false;
+                }
+            }
+            if (previous != null) {
+                exchange(fullMagazines, previous);
+            }
+            previous = loaded;
+            loaded = empty;
+            loaded.push(value);
+            return true;
+        }
+
+        private void swap() {
+            final Magazine<T> tmp = loaded;
+            loaded = previous;
+            previous = tmp;
+        }
+
+        /** Move the magazines of this cache to the depot. */
+        synchronized void flush() {
+            for (Magazine<T> magazine : new Magazine[] {loaded, previous}) {
+                if (magazine != null) {
+                    exchange(magazine.size == 0 ? emptyMagazines : fullMagazines, magazine);
+                }
+            }
+            loaded = previous = null;
+        }
+
+        synchronized void destroyAll() {
+            for (Magazine<T> magazine : new Magazine[] {loaded, previous}) {
+                if (magazine != null) {
+                    MagazineRecycler.this.destroyAll(magazine);
+                }
+            }
+        }
+
+    }
+
+    private Magazine<T> exchange(Depot<T> depot) {
+        depotExchanges.increment();
+        return depot.pop();
+    }
+
+    private void exchange(Depot<T> depot, Magazine<T> magazine) {
+        depotExchanges.increment();
+        depot.push(magazine);
+    }
+
+    private static final class Magazine<T> {
+
+        final Object[] items;
+        int size;
+
+        Magazine(int capacity) {
+            items = new Object[capacity];
+        }
+
+        int capacity() {
+            return items.length;
+        }
+
+        void push(T value) {
+            items[size++] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        T pop() {
+            final T value = (T) items[--size];
+            items[size] = null;
+            return value;
+        }
+
+    }
+
+    private static final class Node<T> {
+
+        final Magazine<T> magazine;
+        Node<T> next;
+
+        Node(Magazine<T> magazine) {
+            this.magazine = magazine;
+        }
+
+    }
+
+    /**
+     * A lock-free stack of magazines. Every push creates a new node so that a node that is popped can never reappear
+     * at the head of the stack, which protects against the ABA problem.
+     */
+    private final class Depot<E> {
+
+        private final AtomicReference<Node<E>> head = new AtomicReference<>();
+
+        void push(Magazine<E> magazine) {
+            final Node<E> node = new Node<>(magazine);
+            while (true) {
+                node.next = head.get();
+                if (head.compareAndSet(node.next, node)) {
+                    return;
+                }
+                depotContentions.increment();
+            }
+        }
+
+        Magazine<E> pop() {
+            while (true) {
+                final Node<E> node = head.get();
+                if (node == null) {
+                    return null;
+                }
+                if (head.compareAndSet(node, node.next)) {
+                    return node.magazine;
+                }
+                depotContentions.increment();
+            }
+        }
+
+    }
+
+    private class MV implements Recycler.V<T> {
+
+        T value;
+        final boolean recycled;
+
+        MV(T value, boolean recycled) {
+            this.value = value;
+            this.recycled = recycled;
+        }
+
+        @Override
+        public T v() {
+            return value;
+        }
+
+        @Override
+        public boolean isRecycled() {
+            return recycled;
+        }
+
+        @Override
+        public void close() {
+            if (value == null) {
+                throw new IllegalStateException("recycler entry already released...");
+            }
+            c.recycle(value);
+            if (threadCache.get().push(value) == false) {
+                evictions.increment();
+                c.destroy(value);
+            }
+            value = null;
+        }
+    }
+
+    /** Statistics about how objects were served and how often threads had to go to the shared depot. */
+    public static class Stats {
+
+        private final long threadCacheHits;
+        private final long depotHits;
+        private final long misses;
+        private final long evictions;
+        private final long depotExchanges;
+        private final long depotContentions;
+
+        public Stats(long threadCacheHits, long depotHits, long misses, long evictions, long depotExchanges, long depotContentions) {
+            this.threadCacheHits = threadCacheHits;
+            this.depotHits = depotHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.depotExchanges = depotExchanges;
+            this.depotContentions = depotContentions;
+        }
+
+        /** Number of objects that were served from the magazines of the calling thread. */
+        public long getThreadCacheHits() {
+            return threadCacheHits;
+        }
+
+        /** Number of objects that were served from a full magazine taken from the depot. */
+        public long getDepotHits() {
+            return depotHits;
+        }
+
+        /** Number of objects that had to be created because no cached object was available. */
+        public long getMisses() {
+            return misses;
+        }
+
+        /** Number of released objects that were destroyed because the recycler was full. */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** Number of times that a thread gave a magazine to or took a magazine from the depot. */
+        public long getDepotExchanges() {
+            return depotExchanges;
+        }
+
+        /** Number of times that a depot operation had to be retried because another thread modified it concurrently. */
+        public long getDepotContentions() {
+            return depotContentions;
+        }
+
+    }
+}
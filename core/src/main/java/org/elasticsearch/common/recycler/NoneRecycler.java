@@ -30,7 +30,7 @@ public class NoneRecycler<T> extends AbstractRecycler<T> {
 
     @Override
     public V<T> obtain(int sizing) {
-        return new NV<>(c.newInstance(sizing));
+        return new NV<>(c, c.newInstance(sizing));
     }
 
     @Override
@@ -40,9 +40,11 @@ public class NoneRecycler<T> extends AbstractRecycler<T> {
 
     public static class NV<T> implements Recycler.V<T> {
 
+        final C<T> c;
         T value;
 
-        NV(T value) {
+        NV(C<T> c, T value) {
+            this.c = c;
             this.value = value;
         }
 
@@ -61,6 +63,8 @@ public class NoneRecycler<T> extends AbstractRecycler<T> {
             if (value == null) {
                 throw new IllegalStateException("recycler entry already released...");
             }
+            // nothing is cached, give the data structure a chance to release its resources
+            c.destroy(value);
             value = null;
         }
     }
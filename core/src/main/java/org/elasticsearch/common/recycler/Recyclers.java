@@ -40,6 +40,14 @@ public enum Recyclers {
         return new ConcurrentDequeRecycler<>(c, limit);
     }
 
+    /**
+     * Return a concurrent recycler that caches entries in per-thread magazines of <code>magazineSize</code> entries
+     * backed by a shared depot.
+     */
+    public static <T> MagazineRecycler<T> magazine(Recycler.C<T> c, int limit, int magazineSize) {
+        return new MagazineRecycler<>(c, limit, magazineSize);
+    }
+
     /**
      * Return a recycler based on a deque.
      */
@@ -366,6 +366,7 @@ public class BigArrays {
     final PageCacheRecycler recycler;
     final CircuitBreakerService breakerService;
     final boolean checkBreaker;
+    final boolean offHeap;
     private final BigArrays circuitBreakingInstance;
 
     @Inject
@@ -378,6 +379,8 @@ public class BigArrays {
         this.checkBreaker = checkBreaker;
         this.recycler = recycler;
         this.breakerService = breakerService;
+        // only arrays that span several pages go off-heap, small arrays are still backed by regular java arrays
+        this.offHeap = recycler != null && recycler.isOffHeap();
         if (checkBreaker) {
             this.circuitBreakingInstance = this;
         } else {
@@ -452,7 +455,9 @@ public class BigArrays {
      */
     public ByteArray newByteArray(long size, boolean clearOnResize) {
         final ByteArray array;
-        if (size > BYTE_PAGE_SIZE) {
+        if (size > BYTE_PAGE_SIZE && offHeap) {
+            array = new OffHeapBigByteArray(size, this, clearOnResize);
+        } else if (size > BYTE_PAGE_SIZE) {
             array = new BigByteArray(size, this, clearOnResize);
         } else if (size >= BYTE_PAGE_SIZE / 2 && recycler != null) {
             final Recycler.V<byte[]> page = recycler.bytePage(clearOnResize);
@@ -475,6 +480,8 @@ public class BigArrays {
     public ByteArray resize(ByteArray array, long size) {
         if (array instanceof BigByteArray) {
             return resizeInPlace((BigByteArray) array, size);
+        } else if (array instanceof OffHeapBigByteArray) {
+            return resizeInPlace((OffHeapBigByteArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final ByteArray newArray = newByteArray(size, arr.clearOnResize);
@@ -534,7 +541,9 @@ public class BigArrays {
      */
     public IntArray newIntArray(long size, boolean clearOnResize) {
         final IntArray array;
-        if (size > INT_PAGE_SIZE) {
+        if (size > INT_PAGE_SIZE && offHeap) {
+            array = new OffHeapBigIntArray(size, this, clearOnResize);
+        } else if (size > INT_PAGE_SIZE) {
             array = new BigIntArray(size, this, clearOnResize);
         } else if (size >= INT_PAGE_SIZE / 2 && recycler != null) {
             final Recycler.V<int[]> page = recycler.intPage(clearOnResize);
@@ -557,6 +566,8 @@ public class BigArrays {
     public IntArray resize(IntArray array, long size) {
         if (array instanceof BigIntArray) {
             return resizeInPlace((BigIntArray) array, size);
+        } else if (array instanceof OffHeapBigIntArray) {
+            return resizeInPlace((OffHeapBigIntArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final IntArray newArray = newIntArray(size, arr.clearOnResize);
@@ -584,7 +595,9 @@ public class BigArrays {
      */
     public LongArray newLongArray(long size, boolean clearOnResize) {
         final LongArray array;
-        if (size > LONG_PAGE_SIZE) {
+        if (size > LONG_PAGE_SIZE && offHeap) {
+            array = new OffHeapBigLongArray(size, this, clearOnResize);
+        } else if (size > LONG_PAGE_SIZE) {
             array = new BigLongArray(size, this, clearOnResize);
         } else if (size >= LONG_PAGE_SIZE / 2 && recycler != null) {
             final Recycler.V<long[]> page = recycler.longPage(clearOnResize);
@@ -607,6 +620,8 @@ public class BigArrays {
     public LongArray resize(LongArray array, long size) {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
+        } else if (array instanceof OffHeapBigLongArray) {
+            return resizeInPlace((OffHeapBigLongArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
@@ -634,7 +649,9 @@ public class BigArrays {
      */
     public DoubleArray newDoubleArray(long size, boolean clearOnResize) {
         final DoubleArray arr;
-        if (size > LONG_PAGE_SIZE) {
+        if (size > LONG_PAGE_SIZE && offHeap) {
+            arr = new OffHeapBigDoubleArray(size, this, clearOnResize);
+        } else if (size > LONG_PAGE_SIZE) {
             arr = new BigDoubleArray(size, this, clearOnResize);
         } else if (size >= LONG_PAGE_SIZE / 2 && recycler != null) {
             final Recycler.V<long[]> page = recycler.longPage(clearOnResize);
@@ -654,6 +671,8 @@ public class BigArrays {
     public DoubleArray resize(DoubleArray array, long size) {
         if (array instanceof BigDoubleArray) {
             return resizeInPlace((BigDoubleArray) array, size);
+        } else if (array instanceof OffHeapBigDoubleArray) {
+            return resizeInPlace((OffHeapBigDoubleArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final DoubleArray newArray = newDoubleArray(size, arr.clearOnResize);
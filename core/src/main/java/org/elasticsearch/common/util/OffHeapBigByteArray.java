@@ -0,0 +1,111 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.BytesRef;
+
+import java.nio.ByteBuffer;
+
+import static org.elasticsearch.common.util.BigArrays.BYTE_PAGE_SIZE;
+
+/**
+ * Byte array abstraction able to support more than 2B values. This implementation stores values in fixed-sized pages of
+ * direct memory. Since pages are not backed by a byte[], slices are always materialized.
+ */
+final class OffHeapBigByteArray extends OffHeapBigArray implements ByteArray {
+
+    /** Constructor. */
+    public OffHeapBigByteArray(long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(BYTE_PAGE_SIZE, size, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public byte get(long index) {
+        return pages[pageIndex(index)].get(indexInPage(index));
+    }
+
+    @Override
+    public byte set(long index, byte value) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int indexInPage = indexInPage(index);
+        final byte ret = page.get(indexInPage);
+        page.put(indexInPage, value);
+        return ret;
+    }
+
+    @Override
+    public boolean get(long index, int len, BytesRef ref) {
+        assert index + len <= size();
+        ref.bytes = new byte[len];
+        ref.offset = 0;
+        ref.length = 0;
+        int pageIndex = pageIndex(index);
+        int indexInPage = indexInPage(index);
+        while (ref.length < len) {
+            final int copyLength = Math.min(pageSize() - indexInPage, len - ref.length);
+            final ByteBuffer page = pages[pageIndex].duplicate();
+            page.position(indexInPage);
+            page.get(ref.bytes, ref.length, copyLength);
+            ref.length += copyLength;
+            ++pageIndex;
+            indexInPage = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public void set(long index, byte[] buf, int offset, int len) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        int indexInPage = indexInPage(index);
+        while (len > 0) {
+            final int copyLength = Math.min(pageSize() - indexInPage, len);
+            final ByteBuffer page = pages[pageIndex].duplicate();
+            page.position(indexInPage);
+            page.put(buf, offset, copyLength);
+            offset += copyLength;
+            len -= copyLength;
+            ++pageIndex;
+            indexInPage = 0;
+        }
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, byte value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        final int fromPage = pageIndex(fromIndex);
+        final int toPage = pageIndex(toIndex - 1);
+        for (int i = fromPage; i <= toPage; ++i) {
+            final ByteBuffer page = pages[i];
+            final int from = i == fromPage ? indexInPage(fromIndex) : 0;
+            final int to = i == toPage ? indexInPage(toIndex - 1) + 1 : pageSize();
+            for (int j = from; j < to; ++j) {
+                page.put(j, value);
+            }
+        }
+    }
+
+    @Override
+    protected int numBytesPerElement() {
+        return 1;
+    }
+
+}
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -216,6 +217,103 @@ public class XContentHelper {
         return modified;
     }
 
+    /**
+     * Streaming variant of {@link #update(Map, Map, boolean)} that copies the object the parser is positioned on into the
+     * builder while applying the changes, without materializing the source as a map. Values of the source are only read
+     * into objects if they are replaced and need to be compared to their replacement.
+     *
+     * @param source                 the parser of the original content, positioned before or on its start object
+     * @param builder                the builder the updated content is written to
+     * @param changes                the changes to update into the source
+     * @param checkUpdatesAreUnequal see {@link #update(Map, Map, boolean)}
+     * @return true if the source was modified
+     */
+    public static boolean update(XContentParser source, XContentBuilder builder, Map<String, Object> changes,
+                                 boolean checkUpdatesAreUnequal) throws IOException {
+        XContentParser.Token token = source.currentToken();
+        if (token == null) {
+            token = source.nextToken();
+        }
+        if (token != XContentParser.Token.START_OBJECT) {
+            throw new ElasticsearchParseException("failed to update content, expected an object but got [{}]", token);
+        }
+        // the changed fields found in the source, and whether they were modified. The map based update sees the last value of
+        // a duplicate key, so every occurrence is updated and the result of the last one wins. Because of that, unlike the map
+        // based update, this doesn't stop comparing values once a modification was found.
+        Map<String, Boolean> applied = new HashMap<>();
+        builder.startObject();
+        while ((token = source.nextToken()) == XContentParser.Token.FIELD_NAME) {
+            String fieldName = source.currentName();
+            token = source.nextToken();
+            if (changes.containsKey(fieldName) == false) {
+                builder.field(fieldName);
+                builder.copyCurrentStructure(source);
+                continue;
+            }
+            Object change = changes.get(fieldName);
+            final boolean fieldModified;
+            if (token == XContentParser.Token.START_OBJECT && change instanceof Map) {
+                // recursive merge objects
+                builder.field(fieldName);
+                fieldModified = update(source, builder, (Map<String, Object>) change, checkUpdatesAreUnequal);
+            } else {
+                // update the field
+                builder.field(fieldName, change);
+                if (checkUpdatesAreUnequal) {
+                    fieldModified = !Objects.equals(readValue(source, token), change);
+                } else {
+                    source.skipChildren();
+                    fieldModified = true;
+                }
+            }
+            applied.put(fieldName, fieldModified);
+        }
+        boolean modified = applied.containsValue(true);
+        for (Map.Entry<String, Object> changesEntry : changes.entrySet()) {
+            if (applied.containsKey(changesEntry.getKey()) == false) {
+                // change does not exist in source
+                builder.field(changesEntry.getKey(), changesEntry.getValue());
+                modified = true;
+            }
+        }
+        builder.endObject();
+        return modified;
+    }
+
+    /**
+     * Reads the value the parser is positioned on the same way {@link XContentParser#mapOrdered()} reads values, so that
+     * it can be compared with values coming from a map.
+     */
+    private static Object readValue(XContentParser parser, XContentParser.Token token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                return parser.mapOrdered();
+            case START_ARRAY:
+                return parser.listOrderedMap();
+            case VALUE_STRING:
+                return parser.text();
+            case VALUE_NUMBER:
+                switch (parser.numberType()) {
+                    case INT:
+                        return parser.intValue();
+                    case LONG:
+                        return parser.longValue();
+                    case FLOAT:
+                        return parser.floatValue();
+                    case DOUBLE:
+                        return parser.doubleValue();
+                    default:
+                        return null;
+                }
+            case VALUE_BOOLEAN:
+                return parser.booleanValue();
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.binaryValue();
+            default:
+                return null;
+        }
+    }
+
     /**
      * Merges the defaults provided as the second parameter into the content of the first. Only does recursive merge
      * for inner maps.
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.discovery;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -27,6 +28,7 @@ import org.elasticsearch.common.xcontent.ToXContent;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentBuilderString;
 import org.elasticsearch.discovery.zen.publish.PendingClusterStateStats;
+import org.elasticsearch.gateway.MetaStateWriteStats;
 
 import java.io.IOException;
 
@@ -35,8 +37,16 @@ public class DiscoveryStats implements Streamable, ToXContent {
     @Nullable
     private PendingClusterStateStats queueStats;
 
+    @Nullable
+    private MetaStateWriteStats metaStateWriteStats;
+
     public DiscoveryStats(PendingClusterStateStats queueStats) {
+        this(queueStats, null);
+    }
+
+    public DiscoveryStats(PendingClusterStateStats queueStats, MetaStateWriteStats metaStateWriteStats) {
         this.queueStats = queueStats;
+        this.metaStateWriteStats = metaStateWriteStats;
     }
 
     @Override
@@ -46,6 +56,9 @@ public class DiscoveryStats implements Streamable, ToXContent {
         if (queueStats != null ){
             queueStats.toXContent(builder, params);
         }
+        if (metaStateWriteStats != null) {
+            metaStateWriteStats.toXContent(builder, params);
+        }
         builder.endObject();
         return builder;
     }
@@ -56,6 +69,9 @@ public class DiscoveryStats implements Streamable, ToXContent {
             queueStats = new PendingClusterStateStats();
             queueStats.readFrom(in);
         }
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            metaStateWriteStats = in.readOptionalStreamable(MetaStateWriteStats::new);
+        }
     }
 
     @Override
@@ -66,6 +82,9 @@ public class DiscoveryStats implements Streamable, ToXContent {
         }else{
             out.writeBoolean(false);
         }
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeOptionalStreamable(metaStateWriteStats);
+        }
     }
 
     static final class Fields {
@@ -75,4 +94,8 @@ public class DiscoveryStats implements Streamable, ToXContent {
     public PendingClusterStateStats getQueueStats() {
         return queueStats;
     }
+
+    public MetaStateWriteStats getMetaStateWriteStats() {
+        return metaStateWriteStats;
+    }
 }
@@ -32,11 +32,15 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.component.AbstractComponent;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.util.IndexFolderUpgrader;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.index.Index;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
@@ -45,7 +49,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
@@ -55,10 +63,18 @@ import static java.util.Collections.unmodifiableSet;
  */
 public class GatewayMetaState extends AbstractComponent implements ClusterStateListener {
 
+    /**
+     * The maximum number of index state files that are written at the same time when a cluster state change is persisted
+     */
+    public static final Setting<Integer> WRITE_CONCURRENCY_SETTING =
+        Setting.intSetting("gateway.metadata.write_concurrency", 4, 1, Property.NodeScope);
+
     private final NodeEnvironment nodeEnv;
     private final MetaStateService metaStateService;
     private final DanglingIndicesState danglingIndicesState;
     private final MetaDataIndexUpgradeService metaDataIndexUpgradeService;
+    private final ThreadPool threadPool;
+    private final int writeConcurrency;
 
     @Nullable
     private volatile MetaData previousMetaData;
@@ -68,12 +84,14 @@ public class GatewayMetaState extends AbstractComponent implements ClusterStateL
     @Inject
     public GatewayMetaState(Settings settings, NodeEnvironment nodeEnv, MetaStateService metaStateService,
                             DanglingIndicesState danglingIndicesState, TransportNodesListGatewayMetaState nodesListGatewayMetaState,
-                            MetaDataIndexUpgradeService metaDataIndexUpgradeService) throws Exception {
+                            MetaDataIndexUpgradeService metaDataIndexUpgradeService, ThreadPool threadPool) throws Exception {
         super(settings);
         this.nodeEnv = nodeEnv;
         this.metaStateService = metaStateService;
         this.danglingIndicesState = danglingIndicesState;
         this.metaDataIndexUpgradeService = metaDataIndexUpgradeService;
+        this.threadPool = threadPool;
+        this.writeConcurrency = WRITE_CONCURRENCY_SETTING.get(settings);
         nodesListGatewayMetaState.init(this);
 
         if (DiscoveryNode.isDataNode(settings)) {
@@ -145,8 +163,11 @@ public class GatewayMetaState extends AbstractComponent implements ClusterStateL
                     success = false;
                 }
             }
+            final long startNS = System.nanoTime();
+            boolean written = false;
             // check if the global state changed?
             if (previousMetaData == null || !MetaData.isGlobalStateEquals(previousMetaData, newMetaData)) {
+                written = true;
                 try {
                     metaStateService.writeGlobalState("changed", newMetaData);
                 } catch (Throwable e) {
@@ -158,13 +179,22 @@ public class GatewayMetaState extends AbstractComponent implements ClusterStateL
             relevantIndices = getRelevantIndices(event.state(), event.previousState(), previouslyWrittenIndices);
             final Iterable<IndexMetaWriteInfo> writeInfo = resolveStatesToBeWritten(previouslyWrittenIndices, relevantIndices, previousMetaData, event.state().metaData());
             // check and write changes in indices
+            final Queue<IndexMetaWriteInfo> pendingWrites = new ConcurrentLinkedQueue<>();
             for (IndexMetaWriteInfo indexMetaWrite : writeInfo) {
-                try {
-                    metaStateService.writeIndex(indexMetaWrite.reason, indexMetaWrite.newMetaData);
-                } catch (Throwable e) {
+                pendingWrites.add(indexMetaWrite);
+            }
+            if (pendingWrites.isEmpty() == false) {
+                written = true;
+                if (writeIndices(pendingWrites) == false) {
                     success = false;
                 }
             }
+
+            if (written) {
+                final long tookNS = System.nanoTime() - startNS;
+                metaStateService.onStateWritten(tookNS);
+                logger.trace("took {} to write state", TimeValue.timeValueNanos(tookNS));
+            }
         }
 
         danglingIndicesState.processDanglingIndices(newMetaData);
@@ -174,6 +204,63 @@ public class GatewayMetaState extends AbstractComponent implements ClusterStateL
         }
     }
 
+    /**
+     * Writes the given index states, up to {@link #WRITE_CONCURRENCY_SETTING} of them at the same time. Each index has its
+     * own state directory so the writes, and most importantly their fsyncs, are independent of each other. The current thread
+     * takes part in the writes and returns once all states have been written, additional writers run on the generic thread pool.
+     * If the current thread is interrupted, the remaining states are not written but the writes in flight are still waited for.
+     *
+     * @return <code>true</code> iff all index states were written successfully
+     */
+    private boolean writeIndices(Queue<IndexMetaWriteInfo> pendingWrites) {
+        final AtomicBoolean success = new AtomicBoolean(true);
+        final int numWriters = Math.max(Math.min(writeConcurrency, pendingWrites.size()) - 1, 0);
+        final CountDownLatch latch = new CountDownLatch(numWriters);
+        for (int i = 0; i < numWriters; i++) {
+            try {
+                threadPool.generic().execute(() -> {
+                    try {
+                        writeIndices(pendingWrites, success);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            } catch (EsRejectedExecutionException e) {
+                // the node is shutting down, the remaining states are written by the current thread
+                latch.countDown();
+            }
+        }
+        writeIndices(pendingWrites, success);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                // don't start any more writes, but wait for the ones in flight so that none of them outlives this call
+                interrupted = true;
+                pendingWrites.clear();
+                success.set(false);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return success.get();
+    }
+
+    private void writeIndices(Queue<IndexMetaWriteInfo> pendingWrites, AtomicBoolean success) {
+        IndexMetaWriteInfo indexMetaWrite;
+        while ((indexMetaWrite = pendingWrites.poll()) != null) {
+            try {
+                metaStateService.writeIndex(indexMetaWrite.reason, indexMetaWrite.newMetaData);
+            } catch (Throwable e) {
+                // failures are logged by the meta state service, we keep on writing the other states
+                success.set(false);
+            }
+        }
+    }
+
     public static Set<Index> getRelevantIndices(ClusterState state, ClusterState previousState, Set<Index> previouslyWrittenIndices) {
         Set<Index> relevantIndices;
         if (isDataOnlyNode(state)) {
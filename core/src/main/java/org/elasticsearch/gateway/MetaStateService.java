@@ -24,6 +24,8 @@ import org.elasticsearch.cluster.metadata.MetaData;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.component.AbstractComponent;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.metrics.CounterMetric;
+import org.elasticsearch.common.metrics.MeanMetric;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.index.Index;
@@ -32,6 +34,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -41,6 +44,10 @@ public class MetaStateService extends AbstractComponent {
 
     private final NodeEnvironment nodeEnv;
 
+    private final MeanMetric writeTime = new MeanMetric();
+    private final CounterMetric indexStateWrites = new CounterMetric();
+    private volatile long lastWriteTimeInMillis;
+
     @Inject
     public MetaStateService(Settings settings, NodeEnvironment nodeEnv) {
         super(settings);
@@ -126,12 +133,29 @@ public class MetaStateService extends AbstractComponent {
         try {
             IndexMetaData.FORMAT.write(indexMetaData, indexMetaData.getVersion(),
                 nodeEnv.indexPaths(indexMetaData.getIndex()));
+            indexStateWrites.inc();
         } catch (Throwable ex) {
             logger.warn("[{}]: failed to write index state", ex, index);
             throw new IOException("failed to write state for [" + index + "]", ex);
         }
     }
 
+    /**
+     * Records that the changes of a cluster state have been persisted, which took the given time.
+     */
+    void onStateWritten(long tookNanos) {
+        writeTime.inc(tookNanos);
+        lastWriteTimeInMillis = TimeUnit.NANOSECONDS.toMillis(tookNanos);
+    }
+
+    /**
+     * Returns statistics about the persisted cluster state changes and the index state files that have been written.
+     */
+    public MetaStateWriteStats stats() {
+        return new MetaStateWriteStats(writeTime.count(), indexStateWrites.count(),
+            TimeUnit.NANOSECONDS.toMillis(writeTime.sum()), lastWriteTimeInMillis);
+    }
+
     /**
      * Writes the global state, *without* the indices states.
      */
@@ -0,0 +1,123 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.gateway;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Streamable;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentBuilderString;
+
+import java.io.IOException;
+
+/**
+ * Stats about the cluster state changes that a node persisted to disk
+ */
+public class MetaStateWriteStats implements Streamable, ToXContent {
+
+    private long total;
+    private long indexStates;
+    private long totalTimeInMillis;
+    private long lastTimeInMillis;
+
+    public MetaStateWriteStats() {
+
+    }
+
+    public MetaStateWriteStats(long total, long indexStates, long totalTimeInMillis, long lastTimeInMillis) {
+        this.total = total;
+        this.indexStates = indexStates;
+        this.totalTimeInMillis = totalTimeInMillis;
+        this.lastTimeInMillis = lastTimeInMillis;
+    }
+
+    /**
+     * The number of cluster state changes that required state files to be written.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * The number of index state files written.
+     */
+    public long getIndexStates() {
+        return indexStates;
+    }
+
+    /**
+     * The total time spent writing state files (in milliseconds).
+     */
+    public long getTotalTimeInMillis() {
+        return totalTimeInMillis;
+    }
+
+    /**
+     * The total time spent writing state files.
+     */
+    public TimeValue getTotalTime() {
+        return new TimeValue(totalTimeInMillis);
+    }
+
+    /**
+     * The time it took to write the state files of the last cluster state change that required any (in milliseconds).
+     */
+    public long getLastTimeInMillis() {
+        return lastTimeInMillis;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(Fields.METADATA_WRITES);
+        builder.field(Fields.TOTAL, total);
+        builder.field(Fields.INDEX_STATES, indexStates);
+        builder.timeValueField(Fields.TOTAL_TIME_IN_MILLIS, Fields.TOTAL_TIME, totalTimeInMillis);
+        builder.timeValueField(Fields.LAST_TIME_IN_MILLIS, Fields.LAST_TIME, lastTimeInMillis);
+        builder.endObject();
+        return builder;
+    }
+
+    static final class Fields {
+        static final XContentBuilderString METADATA_WRITES = new XContentBuilderString("metadata_writes");
+        static final XContentBuilderString TOTAL = new XContentBuilderString("total");
+        static final XContentBuilderString INDEX_STATES = new XContentBuilderString("index_states");
+        static final XContentBuilderString TOTAL_TIME = new XContentBuilderString("total_time");
+        static final XContentBuilderString TOTAL_TIME_IN_MILLIS = new XContentBuilderString("total_time_in_millis");
+        static final XContentBuilderString LAST_TIME = new XContentBuilderString("last_time");
+        static final XContentBuilderString LAST_TIME_IN_MILLIS = new XContentBuilderString("last_time_in_millis");
+    }
+
+    @Override
+    public void readFrom(StreamInput in) throws IOException {
+        total = in.readVLong();
+        indexStates = in.readVLong();
+        totalTimeInMillis = in.readVLong();
+        lastTimeInMillis = in.readVLong();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(total);
+        out.writeVLong(indexStates);
+        out.writeVLong(totalTimeInMillis);
+        out.writeVLong(lastTimeInMillis);
+    }
+}
@@ -19,22 +19,30 @@
 
 package org.elasticsearch.http;
 
+import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.env.Environment;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.node.service.NodeService;
 import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestController;
 import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.elasticsearch.rest.RestStatus.FORBIDDEN;
 import static org.elasticsearch.rest.RestStatus.INTERNAL_SERVER_ERROR;
@@ -52,15 +60,19 @@ public class HttpServer extends AbstractLifecycleComponent<HttpServer> implement
 
     private final NodeService nodeService;
 
+    private final CircuitBreakerService circuitBreakerService;
+
     @Inject
     public HttpServer(Settings settings, Environment environment, HttpServerTransport transport,
                       RestController restController,
-                      NodeService nodeService) {
+                      NodeService nodeService,
+                      CircuitBreakerService circuitBreakerService) {
         super(settings);
         this.environment = environment;
         this.transport = transport;
         this.restController = restController;
         this.nodeService = nodeService;
+        this.circuitBreakerService = circuitBreakerService;
         nodeService.setHttpServer(this);
         transport.httpServerAdapter(this);
     }
@@ -99,7 +111,26 @@ public class HttpServer extends AbstractLifecycleComponent<HttpServer> implement
             handleFavicon(request, channel);
             return;
         }
-        restController.dispatchRequest(request, channel, threadContext);
+        CircuitBreaker inFlightRequestsBreaker = circuitBreakerService.getBreaker(CircuitBreaker.IN_FLIGHT_REQUESTS);
+        long contentLength = request.content().length();
+        try {
+            if (restController.canTripCircuitBreaker(request)) {
+                inFlightRequestsBreaker.addEstimateBytesAndMaybeBreak(contentLength, "<http_request>");
+            } else {
+                inFlightRequestsBreaker.addWithoutBreaking(contentLength);
+            }
+        } catch (Throwable t) {
+            // nothing has been reserved, reject the request right away
+            try {
+                channel.sendResponse(new BytesRestResponse(channel, t));
+            } catch (IOException e) {
+                logger.error("failed to send failure response for uri [{}]", e, request.uri());
+            }
+            return;
+        }
+        // the reserved bytes are released as soon as a response has been sent over this channel
+        restController.dispatchRequest(request, new ResourceHandlingHttpChannel(channel, inFlightRequestsBreaker, contentLength),
+            threadContext);
     }
 
     void handleFavicon(RestRequest request, RestChannel channel) {
@@ -118,4 +149,65 @@ public class HttpServer extends AbstractLifecycleComponent<HttpServer> implement
             channel.sendResponse(new BytesRestResponse(FORBIDDEN));
         }
     }
+
+    private static final class ResourceHandlingHttpChannel implements RestChannel {
+        private final RestChannel delegate;
+        private final CircuitBreaker inFlightRequestsBreaker;
+        private final long contentLength;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        public ResourceHandlingHttpChannel(RestChannel delegate, CircuitBreaker inFlightRequestsBreaker, long contentLength) {
+            this.delegate = delegate;
+            this.inFlightRequestsBreaker = inFlightRequestsBreaker;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public XContentBuilder newBuilder() throws IOException {
+            return delegate.newBuilder();
+        }
+
+        @Override
+        public XContentBuilder newErrorBuilder() throws IOException {
+            return delegate.newErrorBuilder();
+        }
+
+        @Override
+        public XContentBuilder newBuilder(@Nullable BytesReference autoDetectSource, boolean useFiltering) throws IOException {
+            return delegate.newBuilder(autoDetectSource, useFiltering);
+        }
+
+        @Override
+        public BytesStreamOutput bytesOutput() {
+            return delegate.bytesOutput();
+        }
+
+        @Override
+        public RestRequest request() {
+            return delegate.request();
+        }
+
+        @Override
+        public boolean detailedErrorsEnabled() {
+            return delegate.detailedErrorsEnabled();
+        }
+
+        @Override
+        public boolean supportsStreamingResponses() {
+            return delegate.supportsStreamingResponses();
+        }
+
+        @Override
+        public void sendResponse(RestResponse response) {
+            close();
+            delegate.sendResponse(response);
+        }
+
+        private void close() {
+            // attempting to close twice must not release the reserved bytes twice
+            if (closed.compareAndSet(false, true)) {
+                inFlightRequestsBreaker.addWithoutBreaking(-contentLength);
+            }
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.transport.PortsRange;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 
 import java.util.List;
 import java.util.function.Function;
@@ -53,6 +54,10 @@ public final class HttpTransportSettings {
         Setting.boolSetting("http.compression", false, Property.NodeScope);
     public static final Setting<Integer> SETTING_HTTP_COMPRESSION_LEVEL =
         Setting.intSetting("http.compression_level", 6, Property.NodeScope);
+    public static final Setting<Boolean> SETTING_HTTP_STREAMING_RESPONSES =
+        Setting.boolSetting("http.streaming_responses", true, Property.NodeScope);
+    public static final Setting<TimeValue> SETTING_HTTP_STREAMING_WRITE_TIMEOUT =
+        Setting.positiveTimeSetting("http.streaming_write_timeout", TimeValue.timeValueSeconds(30), Property.NodeScope);
     public static final Setting<List<String>> SETTING_HTTP_HOST =
         listSetting("http.host", emptyList(), Function.identity(), Property.NodeScope);
     public static final Setting<List<String>> SETTING_HTTP_PUBLISH_HOST =
@@ -19,30 +19,43 @@
 
 package org.elasticsearch.http.netty;
 
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.ReleasableBytesStreamOutput;
 import org.elasticsearch.common.lease.Releasable;
 import org.elasticsearch.common.netty.ReleaseChannelFutureListener;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.ByteArray;
+import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.http.netty.cors.CorsHandler;
 import org.elasticsearch.http.netty.pipelining.OrderedDownstreamChannelEvent;
 import org.elasticsearch.http.netty.pipelining.OrderedUpstreamMessageEvent;
 import org.elasticsearch.rest.AbstractRestChannel;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.rest.StreamingRestResponse;
+import org.elasticsearch.transport.Transports;
 import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.handler.codec.http.Cookie;
 import org.jboss.netty.handler.codec.http.CookieDecoder;
 import org.jboss.netty.handler.codec.http.CookieEncoder;
+import org.jboss.netty.handler.codec.http.DefaultHttpChunk;
 import org.jboss.netty.handler.codec.http.DefaultHttpResponse;
+import org.jboss.netty.handler.codec.http.HttpChunk;
 import org.jboss.netty.handler.codec.http.HttpHeaders;
 import org.jboss.netty.handler.codec.http.HttpResponse;
 import org.jboss.netty.handler.codec.http.HttpResponseStatus;
 import org.jboss.netty.handler.codec.http.HttpVersion;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
@@ -81,21 +94,18 @@ public final class NettyHttpChannel extends AbstractRestChannel {
 
 
     @Override
-    public void sendResponse(RestResponse response) {
-        // if the response object was created upstream, then use it;
-        // otherwise, create a new one
-        HttpResponse resp = newResponse();
-        resp.setStatus(getStatus(response.status()));
-
-        CorsHandler.setCorsResponseHeaders(nettyRequest, resp, transport.getCorsConfig());
+    public boolean supportsStreamingResponses() {
+        // HTTP 1.0 clients do not understand chunked transfer encoding
+        return transport.streamingResponses && isHttp10() == false;
+    }
 
-        String opaque = nettyRequest.headers().get("X-Opaque-Id");
-        if (opaque != null) {
-            setHeaderField(resp, "X-Opaque-Id", opaque);
+    @Override
+    public void sendResponse(RestResponse response) {
+        if (response instanceof StreamingRestResponse && supportsStreamingResponses()) {
+            sendStreamingResponse((StreamingRestResponse) response);
+            return;
         }
-
-        // Add all custom headers
-        addCustomHeaders(response, resp);
+        HttpResponse resp = newResponse(response);
 
         BytesReference content = response.content();
         ChannelBuffer buffer;
@@ -111,15 +121,7 @@ public final class NettyHttpChannel extends AbstractRestChannel {
 
             addCookies(resp);
 
-            ChannelFuture future;
-
-            if (orderedUpstreamMessageEvent != null) {
-                OrderedDownstreamChannelEvent downstreamChannelEvent = new OrderedDownstreamChannelEvent(orderedUpstreamMessageEvent, 0, true, resp);
-                future = downstreamChannelEvent.getFuture();
-                channel.getPipeline().sendDownstream(downstreamChannelEvent);
-            } else {
-                future = channel.write(resp);
-            }
+            ChannelFuture future = writeMessage(resp, 0, true);
 
             if (content instanceof Releasable) {
                 future.addListener(new ReleaseChannelFutureListener((Releasable) content));
@@ -137,6 +139,144 @@ public final class NettyHttpChannel extends AbstractRestChannel {
         }
     }
 
+    private void sendStreamingResponse(StreamingRestResponse response) {
+        ChunkedResponseStream out = new ChunkedResponseStream(response);
+        try {
+            XContentBuilder builder = newBuilder(out, request.hasContent() ? request.content() : null, request.hasParam("filter_path"));
+            out.contentType = builder.contentType().mediaType();
+            response.writeTo(builder);
+            builder.close();
+            out.finish();
+        } catch (Throwable t) {
+            out.abort();
+            throw ExceptionsHelper.convertToRuntime(t);
+        }
+    }
+
+    private ChannelFuture writeMessage(Object message, int subsequence, boolean last) {
+        if (orderedUpstreamMessageEvent != null) {
+            OrderedDownstreamChannelEvent downstreamChannelEvent = new OrderedDownstreamChannelEvent(orderedUpstreamMessageEvent, subsequence, last, message);
+            channel.getPipeline().sendDownstream(downstreamChannelEvent);
+            return downstreamChannelEvent.getFuture();
+        } else {
+            return channel.write(message);
+        }
+    }
+
+    /**
+     * Buffers the content of a streaming response in recycled pages. A response that fits in a single page is sent as a
+     * regular response, larger ones are sent with chunked transfer encoding, one page per chunk. Pages are released once
+     * they have been written to the socket and writers are throttled while the channel is not writable so that the amount of
+     * memory held by a response is bounded by the socket buffers rather than by the size of the response.
+     */
+    private final class ChunkedResponseStream extends OutputStream {
+
+        private final StreamingRestResponse response;
+        private String contentType;
+        private ByteArray page;
+        private int pageOffset;
+        private int subsequence;
+        private boolean headSent;
+        private boolean done;
+
+        ChunkedResponseStream(StreamingRestResponse response) {
+            this.response = response;
+            this.page = transport.bigArrays.newByteArray(BigArrays.BYTE_PAGE_SIZE, false);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (pageOffset == BigArrays.BYTE_PAGE_SIZE) {
+                sendPage();
+            }
+            page.set(pageOffset++, (byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (pageOffset == BigArrays.BYTE_PAGE_SIZE) {
+                    sendPage();
+                }
+                final int toCopy = Math.min(len, BigArrays.BYTE_PAGE_SIZE - pageOffset);
+                page.set(pageOffset, b, off, toCopy);
+                pageOffset += toCopy;
+                off += toCopy;
+                len -= toCopy;
+            }
+        }
+
+        private ChannelBuffer pageContent() {
+            BytesRef ref = new BytesRef();
+            page.get(0, pageOffset, ref);
+            return ChannelBuffers.wrappedBuffer(ref.bytes, ref.offset, ref.length);
+        }
+
+        private void sendPage() throws IOException {
+            if (headSent == false) {
+                HttpResponse resp = newResponse(response);
+                resp.setChunked(true);
+                HttpHeaders.setTransferEncodingChunked(resp);
+                setHeaderField(resp, HttpHeaders.Names.CONTENT_TYPE, contentType, false);
+                addCookies(resp);
+                writeMessage(resp, subsequence++, false);
+                headSent = true;
+            }
+            ChannelFuture future = writeMessage(new DefaultHttpChunk(pageContent()), subsequence++, false);
+            future.addListener(new ReleaseChannelFutureListener(page));
+            page = transport.bigArrays.newByteArray(BigArrays.BYTE_PAGE_SIZE, false);
+            pageOffset = 0;
+            if (channel.isWritable() == false && Transports.isTransportThread(Thread.currentThread()) == false) {
+                // wait for the socket to drain rather than buffering the rest of the response, network threads must not block.
+                // A client that stops reading must not hold this thread forever, the response is aborted after the timeout
+                final TimeValue timeout = transport.streamingWriteTimeout;
+                if (future.awaitUninterruptibly(timeout.millis()) == false) {
+                    throw new IOException("timed out after [" + timeout + "] waiting for the client to read the response");
+                }
+                if (future.isSuccess() == false) {
+                    throw new IOException("failed to send the response", future.getCause());
+                }
+            }
+        }
+
+        void finish() {
+            final ChannelFuture future;
+            if (headSent) {
+                if (pageOffset > 0) {
+                    writeMessage(new DefaultHttpChunk(pageContent()), subsequence++, false)
+                        .addListener(new ReleaseChannelFutureListener(page));
+                } else {
+                    page.close();
+                }
+                future = writeMessage(HttpChunk.LAST_CHUNK, subsequence++, true);
+            } else {
+                HttpResponse resp = newResponse(response);
+                ChannelBuffer buffer = pageContent();
+                resp.setContent(buffer);
+                setHeaderField(resp, HttpHeaders.Names.CONTENT_TYPE, contentType, false);
+                setHeaderField(resp, HttpHeaders.Names.CONTENT_LENGTH, String.valueOf(buffer.readableBytes()), false);
+                addCookies(resp);
+                future = writeMessage(resp, subsequence++, true);
+                future.addListener(new ReleaseChannelFutureListener(page));
+            }
+            done = true;
+            if (isCloseConnection()) {
+                future.addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+
+        void abort() {
+            if (done == false) {
+                done = true;
+                page.close();
+                if (headSent) {
+                    // the status line has already been sent, all we can do is to let the client know that the response is incomplete
+                    channel.close();
+                }
+            }
+        }
+    }
+
     private void setHeaderField(HttpResponse resp, String headerField, String value) {
         setHeaderField(resp, headerField, value, true);
     }
@@ -188,6 +328,23 @@ public final class NettyHttpChannel extends AbstractRestChannel {
                    (http10 && !KEEP_ALIVE.equalsIgnoreCase(nettyRequest.headers().get(CONNECTION)));
     }
 
+    // Create a new {@link HttpResponse} carrying the status and headers of the given response.
+    private HttpResponse newResponse(RestResponse response) {
+        HttpResponse resp = newResponse();
+        resp.setStatus(getStatus(response.status()));
+
+        CorsHandler.setCorsResponseHeaders(nettyRequest, resp, transport.getCorsConfig());
+
+        String opaque = nettyRequest.headers().get("X-Opaque-Id");
+        if (opaque != null) {
+            setHeaderField(resp, "X-Opaque-Id", opaque);
+        }
+
+        // Add all custom headers
+        addCustomHeaders(response, resp);
+        return resp;
+    }
+
     // Create a new {@link HttpResponse} to transmit the response for the netty request.
     private HttpResponse newResponse() {
         final boolean http10 = isHttp10();
@@ -38,6 +38,7 @@ import org.elasticsearch.common.transport.PortsRange;
 import org.elasticsearch.common.transport.TransportAddress;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
@@ -105,6 +106,8 @@ import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_PORT;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_PUBLISH_HOST;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_PUBLISH_PORT;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_RESET_COOKIES;
+import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_STREAMING_RESPONSES;
+import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_STREAMING_WRITE_TIMEOUT;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_PIPELINING;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_PIPELINING_MAX_EVENTS;
 import static org.elasticsearch.http.netty.cors.CorsHandler.ANY_ORIGIN;
@@ -183,6 +186,10 @@ public class NettyHttpServerTransport extends AbstractLifecycleComponent<HttpSer
 
     protected final boolean resetCookies;
 
+    protected final boolean streamingResponses;
+
+    protected final TimeValue streamingWriteTimeout;
+
     protected final PortsRange port;
 
     protected final String bindHosts[];
@@ -256,6 +263,8 @@ public class NettyHttpServerTransport extends AbstractLifecycleComponent<HttpSer
         this.compressionLevel = SETTING_HTTP_COMPRESSION_LEVEL.get(settings);
         this.pipelining = SETTING_PIPELINING.get(settings);
         this.pipeliningMaxEvents = SETTING_PIPELINING_MAX_EVENTS.get(settings);
+        this.streamingResponses = SETTING_HTTP_STREAMING_RESPONSES.get(settings);
+        this.streamingWriteTimeout = SETTING_HTTP_STREAMING_WRITE_TIMEOUT.get(settings);
         this.corsConfig = buildCorsConfig(settings);
 
         // validate max content length
@@ -265,18 +265,22 @@ public final class IndexService extends AbstractIndexComponent implements IndexC
         }
     }
 
-    public synchronized IndexShard createShard(ShardRouting routing) throws IOException {
+    /**
+     * Creates the shard for the given routing entry. Shards of the same index are created concurrently: the shard lock ensures
+     * that each shard is only created once, and this service's monitor is only held while the created shard is published, so
+     * that closing the index or removing other shards does not wait for the creation. If the index is closed in the meantime,
+     * the created shard is closed again and an {@link IllegalStateException} is thrown.
+     */
+    public IndexShard createShard(ShardRouting routing) throws IOException {
         final boolean primary = routing.primary();
-        /*
-         * TODO: we execute this in parallel but it's a synced method. Yet, we might
-         * be able to serialize the execution via the cluster state in the future. for now we just
-         * keep it synced.
-         */
         if (closed.get()) {
             throw new IllegalStateException("Can't create shard " + routing.shardId() + ", closed");
         }
         final Settings indexSettings = this.indexSettings.getSettings();
         final ShardId shardId = routing.shardId();
+        if (shards.containsKey(shardId.id())) {
+            throw new IndexShardAlreadyExistsException(shardId + " already exists");
+        }
         boolean success = false;
         Store store = null;
         IndexShard indexShard = null;
@@ -348,13 +352,22 @@ public final class IndexService extends AbstractIndexComponent implements IndexC
             eventListener.indexShardStateChanged(indexShard, null, indexShard.state(), "shard created");
             eventListener.afterIndexShardCreated(indexShard);
             indexShard.updateRoutingEntry(routing, true);
-            shards = newMapBuilder(shards).put(shardId.id(), indexShard).immutableMap();
+            synchronized (this) {
+                if (closed.get()) {
+                    throw new IllegalStateException("Can't create shard " + shardId + ", closed");
+                }
+                shards = newMapBuilder(shards).put(shardId.id(), indexShard).immutableMap();
+            }
             success = true;
             return indexShard;
         } finally {
             if (success == false) {
-                IOUtils.closeWhileHandlingException(lock);
-                closeShard("initialization failed", shardId, indexShard, store, eventListener);
+                try {
+                    // closing the store releases the shard lock, but only after it has deleted the shard's files if needed
+                    closeShard("initialization failed", shardId, indexShard, store, eventListener);
+                } finally {
+                    IOUtils.closeWhileHandlingException(lock);
+                }
             }
         }
     }
@@ -110,6 +110,14 @@ public final class IndexSettings {
         Setting.timeSetting("index.gc_deletes", DEFAULT_GC_DELETES, new TimeValue(-1, TimeUnit.MILLISECONDS), Property.Dynamic,
             Property.IndexScope);
 
+    /**
+     * Index setting bounding the memory a shard's live version map may use until the next refresh while it also keeps the
+     * sources of recently indexed documents to serve realtime gets without reading the translog. <tt>0</tt> disables it.
+     * This setting is realtime updateable.
+     */
+    public static final Setting<ByteSizeValue> INDEX_REALTIME_GET_CACHE_SIZE_SETTING =
+        Setting.byteSizeSetting("index.realtime_get.cache.size", new ByteSizeValue(0), Property.Dynamic, Property.IndexScope);
+
     private final Index index;
     private final Version version;
     private final ESLogger logger;
@@ -131,8 +139,10 @@ public final class IndexSettings {
     private final TimeValue syncInterval;
     private volatile TimeValue refreshInterval;
     private volatile ByteSizeValue flushThresholdSize;
+    private volatile ByteSizeValue realtimeGetCacheSize;
     private final MergeSchedulerConfig mergeSchedulerConfig;
     private final MergePolicyConfig mergePolicyConfig;
+    private final IndexSortConfig indexSortConfig;
     private final IndexScopedSettings scopedSettings;
     private long gcDeletesInMillis = DEFAULT_GC_DELETES.millis();
     private volatile boolean warmerEnabled;
@@ -216,12 +226,14 @@ public final class IndexSettings {
         syncInterval = INDEX_TRANSLOG_SYNC_INTERVAL_SETTING.get(settings);
         refreshInterval = scopedSettings.get(INDEX_REFRESH_INTERVAL_SETTING);
         flushThresholdSize = scopedSettings.get(INDEX_TRANSLOG_FLUSH_THRESHOLD_SIZE_SETTING);
+        realtimeGetCacheSize = scopedSettings.get(INDEX_REALTIME_GET_CACHE_SIZE_SETTING);
         mergeSchedulerConfig = new MergeSchedulerConfig(this);
         gcDeletesInMillis = scopedSettings.get(INDEX_GC_DELETES_SETTING).getMillis();
         warmerEnabled = scopedSettings.get(INDEX_WARMER_ENABLED_SETTING);
         maxResultWindow = scopedSettings.get(MAX_RESULT_WINDOW_SETTING);
         TTLPurgeDisabled = scopedSettings.get(INDEX_TTL_DISABLE_PURGE_SETTING);
         this.mergePolicyConfig = new MergePolicyConfig(logger, this);
+        this.indexSortConfig = new IndexSortConfig(this);
         assert indexNameMatcher.test(indexMetaData.getIndex().getName());
 
         scopedSettings.addSettingsUpdateConsumer(MergePolicyConfig.INDEX_COMPOUND_FORMAT_SETTING, mergePolicyConfig::setNoCFSRatio);
@@ -242,12 +254,17 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(INDEX_GC_DELETES_SETTING, this::setGCDeletes);
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_FLUSH_THRESHOLD_SIZE_SETTING, this::setTranslogFlushThresholdSize);
         scopedSettings.addSettingsUpdateConsumer(INDEX_REFRESH_INTERVAL_SETTING, this::setRefreshInterval);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_REALTIME_GET_CACHE_SIZE_SETTING, this::setRealtimeGetCacheSize);
     }
 
     private void setTranslogFlushThresholdSize(ByteSizeValue byteSizeValue) {
         this.flushThresholdSize = byteSizeValue;
     }
 
+    private void setRealtimeGetCacheSize(ByteSizeValue byteSizeValue) {
+        this.realtimeGetCacheSize = byteSizeValue;
+    }
+
     private void setGCDeletes(TimeValue timeValue) {
         this.gcDeletesInMillis = timeValue.getMillis();
     }
@@ -433,6 +450,12 @@ public final class IndexSettings {
      */
     public ByteSizeValue getFlushThresholdSize() { return flushThresholdSize; }
 
+    /**
+     * Returns the memory a shard's live version map may use until the next refresh while it keeps the sources of recently
+     * indexed documents for realtime gets.
+     */
+    public ByteSizeValue getRealtimeGetCacheSize() { return realtimeGetCacheSize; }
+
     /**
      * Returns the {@link MergeSchedulerConfig}
      */
@@ -464,6 +487,13 @@ public final class IndexSettings {
         return mergePolicyConfig.getMergePolicy();
     }
 
+    /**
+     * Returns the sort of the documents of this index.
+     */
+    public IndexSortConfig getIndexSortConfig() {
+        return indexSortConfig;
+    }
+
     /**
      * Returns <code>true</code> if the TTL purge is disabled for this index. Default is <code>false</code>
      */
@@ -0,0 +1,128 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.search.SortedSetSelector;
+import org.apache.lucene.search.SortedSetSortField;
+import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.core.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.core.NumberFieldMapper;
+import org.elasticsearch.index.mapper.core.StringFieldMapper;
+import org.elasticsearch.search.sort.SortOrder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Holds the sort of the documents of an index that is set at index creation and can't be changed afterwards. Segments
+ * that are created by merges are written in that order, which allows searches that sort the same way to stop collecting
+ * the documents of such a segment once they have as many of them as they return.
+ *
+ * <p>The index sort is configured with the following settings:
+ *
+ * <ul>
+ * <li><code>index.sort.field</code>:
+ *
+ *     The numeric, date or keyword fields to sort the index by. The fields need doc values. Not sorted by default.
+ *
+ * <li><code>index.sort.order</code>:
+ *
+ *     The order of each of the fields, <code>asc</code> or <code>desc</code>. Defaults to <code>asc</code> for all
+ *     fields.
+ * </ul>
+ *
+ * <p>Documents are sorted the same way as a search sort on these fields with the default <code>mode</code> and
+ * <code>missing</code> options: by the minimum value of a field for ascending and the maximum value for descending order,
+ * with documents without values last.
+ */
+public final class IndexSortConfig {
+
+    public static final Setting<List<String>> INDEX_SORT_FIELD_SETTING =
+        Setting.listSetting("index.sort.field", Collections.emptyList(), Function.identity(), Property.IndexScope);
+    public static final Setting<List<SortOrder>> INDEX_SORT_ORDER_SETTING =
+        Setting.listSetting("index.sort.order", Collections.emptyList(), SortOrder::fromString, Property.IndexScope);
+
+    private final List<String> fields;
+    private final List<SortOrder> orders;
+
+    IndexSortConfig(IndexSettings indexSettings) {
+        this.fields = INDEX_SORT_FIELD_SETTING.get(indexSettings.getSettings());
+        this.orders = INDEX_SORT_ORDER_SETTING.get(indexSettings.getSettings());
+        if (orders.isEmpty() == false && orders.size() != fields.size()) {
+            throw new IllegalArgumentException(INDEX_SORT_FIELD_SETTING.getKey() + ":" + fields + " and "
+                + INDEX_SORT_ORDER_SETTING.getKey() + ":" + orders + " must have the same number of values");
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the index is sorted.
+     */
+    public boolean hasIndexSort() {
+        return fields.isEmpty() == false;
+    }
+
+    /**
+     * Builds the sort of the index from the mappings of its fields, or returns <code>null</code> if the index isn't sorted.
+     *
+     * @throws IllegalArgumentException if a field isn't mapped or can't be sorted by
+     */
+    @Nullable
+    public Sort buildIndexSort(Function<String, MappedFieldType> fieldTypeLookup) {
+        if (hasIndexSort() == false) {
+            return null;
+        }
+        final SortField[] sortFields = new SortField[fields.size()];
+        for (int i = 0; i < sortFields.length; i++) {
+            final String field = fields.get(i);
+            final boolean reverse = orders.isEmpty() == false && orders.get(i) == SortOrder.DESC;
+            final MappedFieldType fieldType = fieldTypeLookup.apply(field);
+            if (fieldType == null) {
+                throw new IllegalArgumentException("unknown index sort field:[" + field + "]");
+            }
+            if (fieldType.hasDocValues() == false) {
+                throw new IllegalArgumentException("index sort field:[" + field + "] must have doc values");
+            }
+            if (fieldType instanceof NumberFieldMapper.NumberFieldType) {
+                // the doc values of floating point fields are sortable longs, so they sort the same as their values
+                final SortedNumericSortField sortField = new SortedNumericSortField(fieldType.name(), SortField.Type.LONG, reverse,
+                    reverse ? SortedNumericSelector.Type.MAX : SortedNumericSelector.Type.MIN);
+                sortField.setMissingValue(reverse ? Long.MIN_VALUE : Long.MAX_VALUE);
+                sortFields[i] = sortField;
+            } else if (fieldType instanceof KeywordFieldMapper.KeywordFieldType || fieldType instanceof StringFieldMapper.StringFieldType) {
+                final SortedSetSortField sortField = new SortedSetSortField(fieldType.name(), reverse,
+                    reverse ? SortedSetSelector.Type.MAX : SortedSetSelector.Type.MIN);
+                sortField.setMissingValue(reverse ? SortField.STRING_FIRST : SortField.STRING_LAST);
+                sortFields[i] = sortField;
+            } else {
+                throw new IllegalArgumentException("index sort field:[" + field + "] of type [" + fieldType.typeName()
+                    + "] is not supported, only numeric, date and keyword fields can be sorted by");
+            }
+        }
+        return new Sort(sortFields);
+    }
+}
@@ -972,15 +972,21 @@ public abstract class Engine implements Closeable {
         private final Translog.Source source;
         private final Versions.DocIdAndVersion docIdAndVersion;
         private final Searcher searcher;
+        private final boolean sourceCached;
 
         public static final GetResult NOT_EXISTS = new GetResult(false, Versions.NOT_FOUND, null);
 
         public GetResult(boolean exists, long version, @Nullable Translog.Source source) {
+            this(exists, version, source, false);
+        }
+
+        public GetResult(boolean exists, long version, @Nullable Translog.Source source, boolean sourceCached) {
             this.source = source;
             this.exists = exists;
             this.version = version;
             this.docIdAndVersion = null;
             this.searcher = null;
+            this.sourceCached = sourceCached;
         }
 
         public GetResult(Searcher searcher, Versions.DocIdAndVersion docIdAndVersion) {
@@ -989,6 +995,14 @@ public abstract class Engine implements Closeable {
             this.version = docIdAndVersion.version;
             this.docIdAndVersion = docIdAndVersion;
             this.searcher = searcher;
+            this.sourceCached = false;
+        }
+
+        /**
+         * Returns <code>true</code> if the {@link #source()} was served from memory rather than read from the translog.
+         */
+        public boolean isSourceCached() {
+            return sourceCached;
         }
 
         public boolean exists() {
@@ -24,7 +24,9 @@ import org.apache.lucene.index.MergePolicy;
 import org.apache.lucene.index.SnapshotDeletionPolicy;
 import org.apache.lucene.search.QueryCache;
 import org.apache.lucene.search.QueryCachingPolicy;
+import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.similarities.Similarity;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
@@ -60,6 +62,8 @@ public final class EngineConfig {
     private final Store store;
     private final SnapshotDeletionPolicy deletionPolicy;
     private final MergePolicy mergePolicy;
+    @Nullable
+    private final Sort indexSort;
     private final Analyzer analyzer;
     private final Similarity similarity;
     private final CodecService codecService;
@@ -96,7 +100,7 @@ public final class EngineConfig {
      */
     public EngineConfig(OpenMode openMode, ShardId shardId, ThreadPool threadPool,
                         IndexSettings indexSettings, Engine.Warmer warmer, Store store, SnapshotDeletionPolicy deletionPolicy,
-                        MergePolicy mergePolicy,Analyzer analyzer,
+                        MergePolicy mergePolicy, @Nullable Sort indexSort, Analyzer analyzer,
                         Similarity similarity, CodecService codecService, Engine.EventListener eventListener,
                         TranslogRecoveryPerformer translogRecoveryPerformer, QueryCache queryCache, QueryCachingPolicy queryCachingPolicy,
                         TranslogConfig translogConfig, TimeValue flushMergesAfter) {
@@ -110,6 +114,7 @@ public final class EngineConfig {
         this.store = store;
         this.deletionPolicy = deletionPolicy;
         this.mergePolicy = mergePolicy;
+        this.indexSort = indexSort;
         this.analyzer = analyzer;
         this.similarity = similarity;
         this.codecService = codecService;
@@ -212,6 +217,14 @@ public final class EngineConfig {
         return mergePolicy;
     }
 
+    /**
+     * Returns the sort that merged segments are written in, or <code>null</code> if the index isn't sorted
+     */
+    @Nullable
+    public Sort getIndexSort() {
+        return indexSort;
+    }
+
     /**
      * Returns a listener that should be called on engine failure
      */
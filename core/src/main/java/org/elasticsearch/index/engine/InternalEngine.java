@@ -30,6 +30,7 @@ import org.apache.lucene.index.LiveIndexWriterConfig;
 import org.apache.lucene.index.MergePolicy;
 import org.apache.lucene.index.SegmentCommitInfo;
 import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SortingMergePolicy;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.SearcherFactory;
@@ -323,6 +324,9 @@ public class InternalEngine extends Engine {
                         throw new VersionConflictEngineException(shardId, uid.type(), uid.id(),
                                 get.versionType().explainConflictForReads(versionValue.version(), get.version()));
                     }
+                    if (versionValue.source() != null) {
+                        return new GetResult(true, versionValue.version(), versionValue.source(), true);
+                    }
                     Translog.Operation op = translog.read(versionValue.translogLocation());
                     if (op != null) {
                         return new GetResult(true, versionValue.version(), op.getSource());
@@ -395,12 +399,29 @@ public class InternalEngine extends Engine {
             }
             Translog.Location translogLocation = translog.add(new Translog.Index(index));
 
-            versionMap.putUnderLock(index.uid().bytes(), new VersionValue(updatedVersion, translogLocation));
+            versionMap.putUnderLock(index.uid().bytes(), newVersionValue(index, updatedVersion, translogLocation));
             index.setTranslogLocation(translogLocation);
             return created;
         }
     }
 
+    /**
+     * Creates the version map entry of an index operation. The source of the document is kept in the entry too as long as the
+     * memory the version map holds until the next refresh stays within <tt>index.realtime_get.cache.size</tt>, so that realtime
+     * gets for recently indexed documents don't have to read it back from the translog.
+     */
+    private VersionValue newVersionValue(Index index, long version, Translog.Location translogLocation) {
+        final long cacheSize = engineConfig.getIndexSettings().getRealtimeGetCacheSize().bytes();
+        if (cacheSize > 0 && index.origin() != Operation.Origin.RECOVERY
+            && versionMap.ramBytesUsedForRefresh() + index.source().length() <= cacheSize) {
+            // copy the source, it might be a slice of a much larger request buffer
+            Translog.Source source = new Translog.Source(index.source().copyBytesArray(), index.routing(), index.parent(),
+                index.timestamp(), index.ttl());
+            return new SourceVersionValue(version, translogLocation, source);
+        }
+        return new VersionValue(version, translogLocation);
+    }
+
     private static boolean update(Index index, VersionValue versionValue, IndexWriter indexWriter) throws IOException {
         boolean created;
         if (versionValue != null) {
@@ -938,6 +959,10 @@ public class InternalEngine extends Engine {
             iwc.setInfoStream(verbose ? InfoStream.getDefault() : new LoggerInfoStream(logger));
             iwc.setMergeScheduler(mergeScheduler);
             MergePolicy mergePolicy = config().getMergePolicy();
+            if (config().getIndexSort() != null) {
+                // flushed segments keep the order the documents were indexed in, merged segments are sorted
+                mergePolicy = new SortingMergePolicy(mergePolicy, config().getIndexSort());
+            }
             // Give us the opportunity to upgrade old segments while performing
             // background merges
             mergePolicy = new ElasticsearchMergePolicy(mergePolicy);
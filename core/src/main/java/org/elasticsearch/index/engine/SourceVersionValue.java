@@ -0,0 +1,55 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.index.translog.Translog;
+
+/**
+ * Holds an indexed version together with the source of the document, so that realtime gets can be served from the
+ * {@link LiveVersionMap} until the next refresh without reading the operation back from the translog.
+ */
+class SourceVersionValue extends VersionValue {
+
+    private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + 3 * RamUsageEstimator.NUM_BYTES_OBJECT_REF
+        + 2 * Long.BYTES;
+
+    private final Translog.Source source;
+
+    public SourceVersionValue(long version, Translog.Location translogLocation, Translog.Source source) {
+        super(version, translogLocation);
+        this.source = source;
+    }
+
+    @Override
+    public Translog.Source source() {
+        return source;
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return super.ramBytesUsed() + RamUsageEstimator.NUM_BYTES_OBJECT_REF + BASE_RAM_BYTES_USED + source.source.length()
+            + ramBytesUsed(source.routing) + ramBytesUsed(source.parent);
+    }
+
+    private static long ramBytesUsed(String value) {
+        return value == null ? 0 : RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + value.length() * Character.BYTES;
+    }
+}
@@ -52,6 +52,11 @@ class VersionValue implements Accountable {
         return this.translogLocation;
     }
 
+    /** Returns the source of the document if it is held in memory, or <code>null</code> if it has to be read from the translog. */
+    public Translog.Source source() {
+        return null;
+    }
+
     @Override
     public long ramBytesUsed() {
         return RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Long.BYTES + RamUsageEstimator.NUM_BYTES_OBJECT_REF + translogLocation.ramBytesUsed();
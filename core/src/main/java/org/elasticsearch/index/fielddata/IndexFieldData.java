@@ -135,6 +135,33 @@ public interface IndexFieldData<FD extends AtomicFieldData> extends IndexCompone
             }
         }
 
+        protected final Object missingValue;
+        protected final MultiValueMode sortMode;
+        protected final Nested nested;
+
+        protected XFieldComparatorSource(@Nullable Object missingValue, MultiValueMode sortMode, @Nullable Nested nested) {
+            this.missingValue = missingValue;
+            this.sortMode = sortMode;
+            this.nested = nested;
+        }
+
+        /** The value used for documents without values, or <code>_first</code>/<code>_last</code>. */
+        @Nullable
+        public Object getMissingValue() {
+            return missingValue;
+        }
+
+        /** How multiple values of a document are reduced to the one the document is sorted by. */
+        public MultiValueMode getSortMode() {
+            return sortMode;
+        }
+
+        /** The nested documents the values are read from, or <code>null</code> if the field isn't nested. */
+        @Nullable
+        public Nested getNested() {
+            return nested;
+        }
+
         /** Whether missing values should be sorted first. */
         protected final boolean sortMissingFirst(Object missingValue) {
             return "_first".equals(missingValue);
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.index.get;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Streamable;
@@ -38,16 +39,21 @@ public class GetStats implements Streamable, ToXContent {
     private long missingCount;
     private long missingTimeInMillis;
     private long current;
+    private long realtimeCacheHits;
+    private long realtimeCacheMisses;
 
     public GetStats() {
     }
 
-    public GetStats(long existsCount, long existsTimeInMillis, long missingCount, long missingTimeInMillis, long current) {
+    public GetStats(long existsCount, long existsTimeInMillis, long missingCount, long missingTimeInMillis, long current,
+                    long realtimeCacheHits, long realtimeCacheMisses) {
         this.existsCount = existsCount;
         this.existsTimeInMillis = existsTimeInMillis;
         this.missingCount = missingCount;
         this.missingTimeInMillis = missingTimeInMillis;
         this.current = current;
+        this.realtimeCacheHits = realtimeCacheHits;
+        this.realtimeCacheMisses = realtimeCacheMisses;
     }
 
     public void add(GetStats stats) {
@@ -67,6 +73,8 @@ public class GetStats implements Streamable, ToXContent {
         missingCount += stats.missingCount;
         missingTimeInMillis += stats.missingTimeInMillis;
         current += stats.current;
+        realtimeCacheHits += stats.realtimeCacheHits;
+        realtimeCacheMisses += stats.realtimeCacheMisses;
     }
 
     public long getCount() {
@@ -109,6 +117,20 @@ public class GetStats implements Streamable, ToXContent {
         return this.current;
     }
 
+    /**
+     * The number of realtime gets of unrefreshed documents that were served from the sources kept in memory.
+     */
+    public long getRealtimeCacheHits() {
+        return this.realtimeCacheHits;
+    }
+
+    /**
+     * The number of realtime gets of unrefreshed documents that had to read the source from the translog.
+     */
+    public long getRealtimeCacheMisses() {
+        return this.realtimeCacheMisses;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(Fields.GET);
@@ -119,6 +141,8 @@ public class GetStats implements Streamable, ToXContent {
         builder.field(Fields.MISSING_TOTAL, missingCount);
         builder.timeValueField(Fields.MISSING_TIME_IN_MILLIS, Fields.MISSING_TIME, missingTimeInMillis);
         builder.field(Fields.CURRENT, current);
+        builder.field(Fields.REALTIME_CACHE_HITS, realtimeCacheHits);
+        builder.field(Fields.REALTIME_CACHE_MISSES, realtimeCacheMisses);
         builder.endObject();
         return builder;
     }
@@ -135,6 +159,8 @@ public class GetStats implements Streamable, ToXContent {
         static final XContentBuilderString MISSING_TIME = new XContentBuilderString("missing_time");
         static final XContentBuilderString MISSING_TIME_IN_MILLIS = new XContentBuilderString("missing_time_in_millis");
         static final XContentBuilderString CURRENT = new XContentBuilderString("current");
+        static final XContentBuilderString REALTIME_CACHE_HITS = new XContentBuilderString("realtime_cache_hits");
+        static final XContentBuilderString REALTIME_CACHE_MISSES = new XContentBuilderString("realtime_cache_misses");
     }
 
     public static GetStats readGetStats(StreamInput in) throws IOException {
@@ -150,6 +176,13 @@ public class GetStats implements Streamable, ToXContent {
         missingCount = in.readVLong();
         missingTimeInMillis = in.readVLong();
         current = in.readVLong();
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            realtimeCacheHits = in.readVLong();
+            realtimeCacheMisses = in.readVLong();
+        } else {
+            realtimeCacheHits = 0;
+            realtimeCacheMisses = 0;
+        }
     }
 
     @Override
@@ -159,5 +192,9 @@ public class GetStats implements Streamable, ToXContent {
         out.writeVLong(missingCount);
         out.writeVLong(missingTimeInMillis);
         out.writeVLong(current);
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeVLong(realtimeCacheHits);
+            out.writeVLong(realtimeCacheMisses);
+        }
     }
 }
@@ -72,6 +72,8 @@ public final class ShardGetService extends AbstractIndexShardComponent {
     private final MeanMetric existsMetric = new MeanMetric();
     private final MeanMetric missingMetric = new MeanMetric();
     private final CounterMetric currentMetric = new CounterMetric();
+    private final CounterMetric realtimeCacheHitsMetric = new CounterMetric();
+    private final CounterMetric realtimeCacheMissesMetric = new CounterMetric();
     private final IndexShard indexShard;
 
     public ShardGetService(IndexSettings indexSettings, IndexShard indexShard,
@@ -82,7 +84,8 @@ public final class ShardGetService extends AbstractIndexShardComponent {
     }
 
     public GetStats stats() {
-        return new GetStats(existsMetric.count(), TimeUnit.NANOSECONDS.toMillis(existsMetric.sum()), missingMetric.count(), TimeUnit.NANOSECONDS.toMillis(missingMetric.sum()), currentMetric.count());
+        return new GetStats(existsMetric.count(), TimeUnit.NANOSECONDS.toMillis(existsMetric.sum()), missingMetric.count(), TimeUnit.NANOSECONDS.toMillis(missingMetric.sum()), currentMetric.count(),
+            realtimeCacheHitsMetric.count(), realtimeCacheMissesMetric.count());
     }
 
 
@@ -197,6 +200,11 @@ public final class ShardGetService extends AbstractIndexShardComponent {
                 return innerGetLoadFromStoredFields(type, id, gFields, fetchSourceContext, get, docMapper, ignoreErrorsOnGeneratedFields);
             } else {
                 Translog.Source source = get.source();
+                if (get.isSourceCached()) {
+                    realtimeCacheHitsMetric.inc();
+                } else {
+                    realtimeCacheMissesMetric.inc();
+                }
 
                 Map<String, GetField> fields = null;
                 SearchLookup searchLookup = null;
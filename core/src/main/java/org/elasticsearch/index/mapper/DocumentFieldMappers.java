@@ -20,12 +20,12 @@
 package org.elasticsearch.index.mapper;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.elasticsearch.common.collect.CopyOnWriteHashMap;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.index.analysis.FieldNameAnalyzer;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -37,35 +37,68 @@ import java.util.Set;
 public final class DocumentFieldMappers implements Iterable<FieldMapper> {
 
     /** Full field name to mapper */
-    private final Map<String, FieldMapper> fieldMappers;
+    private final CopyOnWriteHashMap<String, FieldMapper> fieldMappers;
 
     private final FieldNameAnalyzer indexAnalyzer;
     private final FieldNameAnalyzer searchAnalyzer;
     private final FieldNameAnalyzer searchQuoteAnalyzer;
 
-    private static void put(Map<String, Analyzer> analyzers, String key, Analyzer value, Analyzer defaultValue) {
+    private final Analyzer defaultIndex;
+    private final Analyzer defaultSearch;
+    private final Analyzer defaultSearchQuote;
+
+    private static CopyOnWriteHashMap<String, Analyzer> put(Map<String, Analyzer> analyzers, String key, Analyzer value, Analyzer defaultValue) {
         if (value == null) {
             value = defaultValue;
         }
-        analyzers.put(key, value);
+        return CopyOnWriteHashMap.copyOf(analyzers).copyAndPut(key, value);
     }
 
     public DocumentFieldMappers(Collection<FieldMapper> mappers, Analyzer defaultIndex, Analyzer defaultSearch, Analyzer defaultSearchQuote) {
-        Map<String, FieldMapper> fieldMappers = new HashMap<>();
-        Map<String, Analyzer> indexAnalyzers = new HashMap<>();
-        Map<String, Analyzer> searchAnalyzers = new HashMap<>();
-        Map<String, Analyzer> searchQuoteAnalyzers = new HashMap<>();
+        this(new CopyOnWriteHashMap<>(), new FieldNameAnalyzer(Collections.emptyMap()), new FieldNameAnalyzer(Collections.emptyMap()),
+            new FieldNameAnalyzer(Collections.emptyMap()), defaultIndex, defaultSearch, defaultSearchQuote, mappers);
+    }
+
+    private DocumentFieldMappers(CopyOnWriteHashMap<String, FieldMapper> fieldMappers, FieldNameAnalyzer indexAnalyzer,
+                                 FieldNameAnalyzer searchAnalyzer, FieldNameAnalyzer searchQuoteAnalyzer,
+                                 Analyzer defaultIndex, Analyzer defaultSearch, Analyzer defaultSearchQuote,
+                                 Collection<FieldMapper> mappers) {
+        Map<String, Analyzer> indexAnalyzers = indexAnalyzer.analyzers();
+        Map<String, Analyzer> searchAnalyzers = searchAnalyzer.analyzers();
+        Map<String, Analyzer> searchQuoteAnalyzers = searchQuoteAnalyzer.analyzers();
         for (FieldMapper mapper : mappers) {
-            fieldMappers.put(mapper.name(), mapper);
+            FieldMapper previous = fieldMappers.get(mapper.name());
+            if (previous == mapper) {
+                continue;
+            }
+            fieldMappers = fieldMappers.copyAndPut(mapper.name(), mapper);
             MappedFieldType fieldType = mapper.fieldType();
-            put(indexAnalyzers, fieldType.name(), fieldType.indexAnalyzer(), defaultIndex);
-            put(searchAnalyzers, fieldType.name(), fieldType.searchAnalyzer(), defaultSearch);
-            put(searchQuoteAnalyzers, fieldType.name(), fieldType.searchQuoteAnalyzer(), defaultSearchQuote);
+            if (previous != null && previous.fieldType() == fieldType) {
+                // same field type, so the analyzers did not change either
+                continue;
+            }
+            indexAnalyzers = put(indexAnalyzers, fieldType.name(), fieldType.indexAnalyzer(), defaultIndex);
+            searchAnalyzers = put(searchAnalyzers, fieldType.name(), fieldType.searchAnalyzer(), defaultSearch);
+            searchQuoteAnalyzers = put(searchQuoteAnalyzers, fieldType.name(), fieldType.searchQuoteAnalyzer(), defaultSearchQuote);
         }
-        this.fieldMappers = Collections.unmodifiableMap(fieldMappers);
-        this.indexAnalyzer = new FieldNameAnalyzer(indexAnalyzers);
-        this.searchAnalyzer = new FieldNameAnalyzer(searchAnalyzers);
-        this.searchQuoteAnalyzer = new FieldNameAnalyzer(searchQuoteAnalyzers);
+        this.fieldMappers = fieldMappers;
+        this.indexAnalyzer = indexAnalyzers == indexAnalyzer.analyzers() ? indexAnalyzer : new FieldNameAnalyzer(indexAnalyzers);
+        this.searchAnalyzer = searchAnalyzers == searchAnalyzer.analyzers() ? searchAnalyzer : new FieldNameAnalyzer(searchAnalyzers);
+        this.searchQuoteAnalyzer = searchQuoteAnalyzers == searchQuoteAnalyzer.analyzers()
+            ? searchQuoteAnalyzer : new FieldNameAnalyzer(searchQuoteAnalyzers);
+        this.defaultIndex = defaultIndex;
+        this.defaultSearch = defaultSearch;
+        this.defaultSearchQuote = defaultSearchQuote;
+    }
+
+    /**
+     * Returns a new instance that holds the given mappers, sharing all entries with this instance
+     * for mappers that did not change. Mappers can only be added or replaced this way, since
+     * mapping updates never remove fields.
+     */
+    public DocumentFieldMappers copyAndAddAll(Collection<FieldMapper> mappers) {
+        return new DocumentFieldMappers(fieldMappers, indexAnalyzer, searchAnalyzer, searchQuoteAnalyzer,
+            defaultIndex, defaultSearch, defaultSearchQuote, mappers);
     }
 
     /** Returns the mapper for the given field */
@@ -24,6 +24,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
 import org.elasticsearch.ElasticsearchGenerationException;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.settings.Settings;
@@ -137,6 +138,14 @@ public class DocumentMapper implements ToXContent {
     private final boolean hasNestedObjects;
 
     public DocumentMapper(MapperService mapperService, Mapping mapping) {
+        this(mapperService, mapping, null);
+    }
+
+    /**
+     * Creates a document mapper for the given mapping. If <code>previousFieldMappers</code> is provided, the
+     * field mappers of the new mapping are added to it incrementally instead of being collected from scratch.
+     */
+    private DocumentMapper(MapperService mapperService, Mapping mapping, @Nullable DocumentFieldMappers previousFieldMappers) {
         this.mapperService = mapperService;
         this.type = mapping.root().name();
         this.typeText = new Text(this.type);
@@ -159,11 +168,15 @@ public class DocumentMapper implements ToXContent {
         }
         MapperUtils.collect(this.mapping.root, newObjectMappers, newFieldMappers);
 
-        final AnalysisService analysisService = mapperService.analysisService();
-        this.fieldMappers = new DocumentFieldMappers(newFieldMappers,
-                analysisService.defaultIndexAnalyzer(),
-                analysisService.defaultSearchAnalyzer(),
-                analysisService.defaultSearchQuoteAnalyzer());
+        if (previousFieldMappers != null) {
+            this.fieldMappers = previousFieldMappers.copyAndAddAll(newFieldMappers);
+        } else {
+            final AnalysisService analysisService = mapperService.analysisService();
+            this.fieldMappers = new DocumentFieldMappers(newFieldMappers,
+                    analysisService.defaultIndexAnalyzer(),
+                    analysisService.defaultSearchAnalyzer(),
+                    analysisService.defaultSearchQuoteAnalyzer());
+        }
 
         Map<String, ObjectMapper> builder = new HashMap<>();
         for (ObjectMapper objectMapper : newObjectMappers) {
@@ -342,15 +355,21 @@ public class DocumentMapper implements ToXContent {
 
     public DocumentMapper merge(Mapping mapping, boolean updateAllTypes) {
         Mapping merged = this.mapping.merge(mapping, updateAllTypes);
-        return new DocumentMapper(mapperService, merged);
+        if (merged == this.mapping) {
+            return this;
+        }
+        return new DocumentMapper(mapperService, merged, fieldMappers);
     }
 
     /**
-     * Recursively update sub field types.
+     * Recursively update sub field types. Returns this instance if none of the field types changed.
      */
     public DocumentMapper updateFieldType(Map<String, MappedFieldType> fullNameToFieldType) {
         Mapping updated = this.mapping.updateFieldType(fullNameToFieldType);
-        return new DocumentMapper(mapperService, updated);
+        if (updated == this.mapping) {
+            return this;
+        }
+        return new DocumentMapper(mapperService, updated, fieldMappers);
     }
 
     public void close() {
@@ -83,7 +83,7 @@ final class DocumentParser implements Closeable {
         XContentParser parser = null;
         try {
             parser = parser(source);
-            context.reset(parser, new ParseContext.Document(), source);
+            context.reset(parser, context.newRootDoc(), source);
             validateStart(parser);
             internalParseDocument(mapping, context, parser);
             validateEnd(source, parser);
@@ -45,6 +45,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.StreamSupport;
 
 public abstract class FieldMapper extends Mapper implements Cloneable {
@@ -248,6 +249,7 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
     protected final MappedFieldType defaultFieldType;
     protected MultiFields multiFields;
     protected CopyTo copyTo;
+    private boolean mergeChanged;
 
     protected FieldMapper(String simpleName, MappedFieldType fieldType, MappedFieldType defaultFieldType, Settings indexSettings, MultiFields multiFields, CopyTo copyTo) {
         super(simpleName);
@@ -330,10 +332,26 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
     @Override
     public FieldMapper merge(Mapper mergeWith, boolean updateAllTypes) {
         FieldMapper merged = clone();
+        merged.mergeChanged = false;
         merged.doMerge(mergeWith, updateAllTypes);
+        if (merged.mergeChanged == false && merged.fieldType == fieldType) {
+            // nothing changed, keep this instance so that lookup structures do not need to be updated
+            return this;
+        }
         return merged;
     }
 
+    /**
+     * Returns {@code updated}, recording that the ongoing merge changed this mapper if it differs from {@code current}.
+     * {@link #doMerge} implementations use this for every setting that is not part of the field type.
+     */
+    protected final <T> T mergeValue(T current, T updated) {
+        if (Objects.equals(current, updated) == false) {
+            mergeChanged = true;
+        }
+        return updated;
+    }
+
     /**
      * Merge changes coming from {@code mergeWith} in place.
      * @param updateAllTypes TODO
@@ -347,11 +365,14 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
             throw new IllegalArgumentException("mapper [" + fieldType().name() + "] of different type, current_type [" + contentType() + "], merged_type [" + mergedType + "]");
         }
         FieldMapper fieldMergeWith = (FieldMapper) mergeWith;
-        multiFields = multiFields.merge(fieldMergeWith.multiFields);
+        multiFields = mergeValue(multiFields, multiFields.merge(fieldMergeWith.multiFields));
 
-        // apply changeable values
-        this.fieldType = fieldMergeWith.fieldType;
-        this.copyTo = fieldMergeWith.copyTo;
+        // apply changeable values, keeping the current field type instance if nothing changed so that
+        // lookup structures which are keyed on field type identity do not need to be updated
+        if (this.fieldType.equals(fieldMergeWith.fieldType) == false) {
+            this.fieldType = fieldMergeWith.fieldType;
+        }
+        this.copyTo = mergeValue(copyTo, fieldMergeWith.copyTo);
     }
 
     @Override
@@ -569,6 +590,7 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
 
         public MultiFields merge(MultiFields mergeWith) {
             ImmutableOpenMap.Builder<String, FieldMapper> newMappersBuilder = ImmutableOpenMap.builder(mappers);
+            boolean changed = false;
 
             for (ObjectCursor<FieldMapper> cursor : mergeWith.mappers.values()) {
                 FieldMapper mergeWithMapper = cursor.value;
@@ -579,12 +601,17 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
                         mergeWithMapper = (FieldMapper) ((AllFieldMapper.IncludeInAll) mergeWithMapper).unsetIncludeInAll();
                     }
                     newMappersBuilder.put(mergeWithMapper.simpleName(), mergeWithMapper);
+                    changed = true;
                 } else {
                     FieldMapper merged = mergeIntoMapper.merge(mergeWithMapper, false);
                     newMappersBuilder.put(merged.simpleName(), merged); // override previous definition
+                    changed |= merged != mergeIntoMapper;
                 }
             }
 
+            if (changed == false) {
+                return this;
+            }
             ImmutableOpenMap<String, FieldMapper> mappers = newMappersBuilder.build();
             return new MultiFields(mappers);
         }
@@ -645,6 +672,18 @@ public abstract class FieldMapper extends Mapper implements Cloneable {
             this.copyToFields = copyToFields;
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return copyToFields.equals(((CopyTo) o).copyToFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return copyToFields.hashCode();
+        }
+
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             if (!copyToFields.isEmpty()) {
                 builder.startArray("copy_to");
@@ -75,7 +75,8 @@ class FieldTypeLookup implements Iterable<MappedFieldType> {
     /**
      * Return a new instance that contains the union of this instance and the field types
      * from the provided fields. If a field already exists, the field type will be updated
-     * to use the new mappers field type.
+     * to use the new mappers field type. Both lookup maps are persistent, so only the entries
+     * of fields that actually changed are copied, and this instance is returned as-is if none did.
      */
     public FieldTypeLookup copyAndAddAll(String type, Collection<FieldMapper> fieldMappers, boolean updateAllTypes) {
         Objects.requireNonNull(type, "type must not be null");
@@ -90,6 +91,14 @@ class FieldTypeLookup implements Iterable<MappedFieldType> {
             MappedFieldType fieldType = fieldMapper.fieldType();
             MappedFieldType fullNameFieldType = fullName.get(fieldType.name());
 
+            if (fieldType == fullNameFieldType) {
+                Set<String> types = fullNameToTypes.get(fieldType.name());
+                if (types != null && types.contains(type)) {
+                    // the field is already registered for this type with this exact field type
+                    continue;
+                }
+            }
+
             // is the update even legal?
             checkCompatibility(type, fieldMapper, updateAllTypes);
 
@@ -99,6 +108,9 @@ class FieldTypeLookup implements Iterable<MappedFieldType> {
 
             fullNameToTypes = addType(fullNameToTypes, fieldType.name(), type);
         }
+        if (fullName == this.fullNameToFieldType && fullNameToTypes == this.fullNameToTypes) {
+            return this;
+        }
         return new FieldTypeLookup(fullName, fullNameToTypes);
     }
 
@@ -24,6 +24,7 @@ import com.carrotsearch.hppc.ObjectHashSet;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
 import org.elasticsearch.ElasticsearchGenerationException;
+import org.elasticsearch.common.collect.CopyOnWriteHashMap;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.settings.Setting;
@@ -109,7 +110,7 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
     private volatile Map<String, DocumentMapper> mappers = emptyMap();
 
     private volatile FieldTypeLookup fieldTypes;
-    private volatile Map<String, ObjectMapper> fullPathObjectMappers = new HashMap<>();
+    private volatile CopyOnWriteHashMap<String, ObjectMapper> fullPathObjectMappers = new CopyOnWriteHashMap<>();
     private boolean hasNested = false; // updated dynamically to true when a nested object is added
 
     private final DocumentMapperParser documentParser;
@@ -277,14 +278,15 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
         FieldTypeLookup fieldTypes = this.fieldTypes.copyAndAddAll(newMapper.type(), fieldMappers, updateAllTypes);
 
         boolean hasNested = this.hasNested;
-        Map<String, ObjectMapper> fullPathObjectMappers = new HashMap<>(this.fullPathObjectMappers);
+        CopyOnWriteHashMap<String, ObjectMapper> fullPathObjectMappers = this.fullPathObjectMappers;
         for (ObjectMapper objectMapper : objectMappers) {
-            fullPathObjectMappers.put(objectMapper.fullPath(), objectMapper);
+            if (fullPathObjectMappers.get(objectMapper.fullPath()) != objectMapper) {
+                fullPathObjectMappers = fullPathObjectMappers.copyAndPut(objectMapper.fullPath(), objectMapper);
+            }
             if (objectMapper.nested().isNested()) {
                 hasNested = true;
             }
         }
-        fullPathObjectMappers = Collections.unmodifiableMap(fullPathObjectMappers);
 
         if (reason == MergeReason.MAPPING_UPDATE) {
             // this check will only be performed on the master node when there is
@@ -293,6 +295,10 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
             // deserializing cluster state that was sent by the master node,
             // this check will be skipped.
             checkNestedFieldsLimit(fullPathObjectMappers);
+            if (hasNested && indexSettings.getIndexSortConfig().hasIndexSort()) {
+                // sorting merges would tear nested documents apart from their parents
+                throw new IllegalArgumentException("cannot have nested fields when index sort is activated");
+            }
             checkTotalFieldsLimit(objectMappers.size() + fieldMappers.size());
             checkDepthLimit(fullPathObjectMappers.keySet());
         }
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
@@ -97,6 +98,15 @@ public final class Mapping implements ToXContent {
             }
             mergedMetaDataMappers.put(merged.getClass(), merged);
         }
+        if (mergedRoot == root && Objects.equals(meta, mergeWith.meta)) {
+            boolean changed = false;
+            for (MetadataFieldMapper metadataMapper : mergedMetaDataMappers.values()) {
+                changed |= metadataMapper != metadataMappersMap.get(metadataMapper.getClass());
+            }
+            if (changed == false) {
+                return this;
+            }
+        }
         return new Mapping(indexCreated, mergedRoot, mergedMetaDataMappers.values().toArray(new MetadataFieldMapper[0]), mergeWith.meta);
     }
 
@@ -105,10 +115,15 @@ public final class Mapping implements ToXContent {
      */
     public Mapping updateFieldType(Map<String, MappedFieldType> fullNameToFieldType) {
         final MetadataFieldMapper[] updatedMeta = Arrays.copyOf(metadataMappers, metadataMappers.length);
+        boolean changed = false;
         for (int i = 0; i < updatedMeta.length; ++i) {
             updatedMeta[i] = (MetadataFieldMapper) updatedMeta[i].updateFieldType(fullNameToFieldType);
+            changed |= updatedMeta[i] != metadataMappers[i];
         }
         RootObjectMapper updatedRoot = root.updateFieldType(fullNameToFieldType);
+        if (changed == false && updatedRoot == root) {
+            return this;
+        }
         return new Mapping(indexCreated, updatedRoot, updatedMeta, meta);
     }
 
@@ -57,7 +57,11 @@ public abstract class ParseContext {
         private ObjectObjectMap<Object, IndexableField> keyedFields;
 
         private Document(String path, Document parent) {
-            fields = new ArrayList<>();
+            this(path, parent, 10);
+        }
+
+        private Document(String path, Document parent, int expectedNumFields) {
+            fields = new ArrayList<>(expectedNumFields);
             this.path = path;
             this.prefix = path.isEmpty() ? "" : path + ".";
             this.parent = parent;
@@ -67,6 +71,13 @@ public abstract class ParseContext {
             this("", null);
         }
 
+        /**
+         * Create a root document that can hold <code>expectedNumFields</code> fields without resizing.
+         */
+        public Document(int expectedNumFields) {
+            this("", null, expectedNumFields);
+        }
+
         /**
          * Return the path associated with this document.
          */
@@ -372,6 +383,10 @@ public abstract class ParseContext {
 
         private List<Mapper> dynamicMappers = new ArrayList<>();
 
+        private Document rootDoc;
+
+        private int expectedNumRootFields = 10;
+
         public InternalParseContext(@Nullable Settings indexSettings, DocumentMapperParser docMapperParser, DocumentMapper docMapper, ContentPath path) {
             this.indexSettings = indexSettings;
             this.docMapper = docMapper;
@@ -380,6 +395,11 @@ public abstract class ParseContext {
         }
 
         public void reset(XContentParser parser, Document document, SourceToParse source) {
+            if (rootDoc != null) {
+                // documents of a same type usually have a similar number of fields
+                expectedNumRootFields = Math.max(rootDoc.getFields().size(), 10);
+            }
+            this.rootDoc = document;
             this.parser = parser;
             this.document = document;
             if (document != null) {
@@ -394,8 +414,16 @@ public abstract class ParseContext {
             this.sourceToParse = source;
             this.source = source == null ? null : sourceToParse.source();
             this.path.reset();
-            this.allEntries = new AllEntries();
-            this.dynamicMappers = new ArrayList<>();
+            // neither the _all entries nor the dynamic mappers outlive the parsing of a document, so they can be reused
+            this.allEntries.clear();
+            this.dynamicMappers.clear();
+        }
+
+        /**
+         * Create a new root document, sized after the root document that has been parsed last with this context.
+         */
+        public Document newRootDoc() {
+            return new Document(expectedNumRootFields);
         }
 
         @Override
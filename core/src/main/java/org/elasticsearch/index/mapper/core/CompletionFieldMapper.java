@@ -617,6 +617,6 @@ public class CompletionFieldMapper extends FieldMapper implements ArrayValueMapp
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         super.doMerge(mergeWith, updateAllTypes);
         CompletionFieldMapper fieldMergeWith = (CompletionFieldMapper) mergeWith;
-        this.maxInputLength = fieldMergeWith.maxInputLength;
+        this.maxInputLength = mergeValue(maxInputLength, fieldMergeWith.maxInputLength);
     }
 }
@@ -274,8 +274,8 @@ public final class KeywordFieldMapper extends FieldMapper implements AllFieldMap
     @Override
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         super.doMerge(mergeWith, updateAllTypes);
-        this.includeInAll = ((KeywordFieldMapper) mergeWith).includeInAll;
-        this.ignoreAbove = ((KeywordFieldMapper) mergeWith).ignoreAbove;
+        this.includeInAll = mergeValue(includeInAll, ((KeywordFieldMapper) mergeWith).includeInAll);
+        this.ignoreAbove = mergeValue(ignoreAbove, ((KeywordFieldMapper) mergeWith).ignoreAbove);
     }
 
     @Override
@@ -304,12 +304,12 @@ public abstract class NumberFieldMapper extends FieldMapper implements AllFieldM
         super.doMerge(mergeWith, updateAllTypes);
         NumberFieldMapper nfmMergeWith = (NumberFieldMapper) mergeWith;
 
-        this.includeInAll = nfmMergeWith.includeInAll;
+        this.includeInAll = mergeValue(includeInAll, nfmMergeWith.includeInAll);
         if (nfmMergeWith.ignoreMalformed.explicit()) {
-            this.ignoreMalformed = nfmMergeWith.ignoreMalformed;
+            this.ignoreMalformed = mergeValue(ignoreMalformed, nfmMergeWith.ignoreMalformed);
         }
         if (nfmMergeWith.coerce.explicit()) {
-            this.coerce = nfmMergeWith.coerce;
+            this.coerce = mergeValue(coerce, nfmMergeWith.coerce);
         }
     }
 
@@ -629,8 +629,8 @@ public class StringFieldMapper extends FieldMapper implements AllFieldMapper.Inc
     @Override
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         super.doMerge(mergeWith, updateAllTypes);
-        this.includeInAll = ((StringFieldMapper) mergeWith).includeInAll;
-        this.ignoreAbove = ((StringFieldMapper) mergeWith).ignoreAbove;
+        this.includeInAll = mergeValue(includeInAll, ((StringFieldMapper) mergeWith).includeInAll);
+        this.ignoreAbove = mergeValue(ignoreAbove, ((StringFieldMapper) mergeWith).ignoreAbove);
     }
 
     @Override
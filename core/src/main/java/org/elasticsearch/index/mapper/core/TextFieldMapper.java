@@ -390,7 +390,7 @@ public class TextFieldMapper extends FieldMapper implements AllFieldMapper.Inclu
     @Override
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         super.doMerge(mergeWith, updateAllTypes);
-        this.includeInAll = ((TextFieldMapper) mergeWith).includeInAll;
+        this.includeInAll = mergeValue(includeInAll, ((TextFieldMapper) mergeWith).includeInAll);
     }
 
     @Override
@@ -186,7 +186,10 @@ public class TokenCountFieldMapper extends IntegerFieldMapper {
     @Override
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         super.doMerge(mergeWith, updateAllTypes);
-        this.analyzer = ((TokenCountFieldMapper) mergeWith).analyzer;
+        NamedAnalyzer mergeWithAnalyzer = ((TokenCountFieldMapper) mergeWith).analyzer;
+        if (analyzer.name().equals(mergeWithAnalyzer.name()) == false) {
+            this.analyzer = mergeValue(analyzer, mergeWithAnalyzer);
+        }
     }
 
     @Override
@@ -389,7 +389,7 @@ public abstract class BaseGeoPointFieldMapper extends FieldMapper implements Arr
         super.doMerge(mergeWith, updateAllTypes);
         BaseGeoPointFieldMapper gpfmMergeWith = (BaseGeoPointFieldMapper) mergeWith;
         if (gpfmMergeWith.ignoreMalformed.explicit()) {
-            this.ignoreMalformed = gpfmMergeWith.ignoreMalformed;
+            this.ignoreMalformed = mergeValue(ignoreMalformed, gpfmMergeWith.ignoreMalformed);
         }
     }
 
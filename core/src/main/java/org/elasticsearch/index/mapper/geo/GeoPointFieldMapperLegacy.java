@@ -286,7 +286,7 @@ public class GeoPointFieldMapperLegacy extends BaseGeoPointFieldMapper implement
         }
 
         if (gpfmMergeWith.coerce.explicit()) {
-            this.coerce = gpfmMergeWith.coerce;
+            this.coerce = mergeValue(coerce, gpfmMergeWith.coerce);
         }
     }
 
@@ -474,7 +474,7 @@ public class GeoShapeFieldMapper extends FieldMapper {
 
         GeoShapeFieldMapper gsfm = (GeoShapeFieldMapper)mergeWith;
         if (gsfm.coerce.explicit()) {
-            this.coerce = gsfm.coerce;
+            this.coerce = mergeValue(coerce, gsfm.coerce);
         }
     }
 
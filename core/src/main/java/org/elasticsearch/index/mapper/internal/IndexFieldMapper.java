@@ -261,7 +261,7 @@ public class IndexFieldMapper extends MetadataFieldMapper {
     protected void doMerge(Mapper mergeWith, boolean updateAllTypes) {
         IndexFieldMapper indexFieldMapperMergeWith = (IndexFieldMapper) mergeWith;
         if (indexFieldMapperMergeWith.enabledState != enabledState && !indexFieldMapperMergeWith.enabledState.unset()) {
-            this.enabledState = indexFieldMapperMergeWith.enabledState;
+            this.enabledState = mergeValue(enabledState, indexFieldMapperMergeWith.enabledState);
         }
     }
 
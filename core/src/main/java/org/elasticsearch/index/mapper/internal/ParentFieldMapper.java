@@ -323,7 +323,8 @@ public class ParentFieldMapper extends MetadataFieldMapper {
             throw new IllegalArgumentException("Merge conflicts: " + conflicts);
         }
 
-        if (active()) {
+        if (active() && fieldType == fieldMergeWith.fieldType) {
+            // do not share the field type instance with the mapper that was merged in
             fieldType = fieldMergeWith.fieldType.clone();
         }
     }
@@ -262,14 +262,14 @@ public class TTLFieldMapper extends MetadataFieldMapper {
             if (this.enabledState == EnabledAttributeMapper.ENABLED && ttlMergeWith.enabledState == EnabledAttributeMapper.DISABLED) {
                 throw new IllegalArgumentException("_ttl cannot be disabled once it was enabled.");
             } else {
-                this.enabledState = ttlMergeWith.enabledState;
+                this.enabledState = mergeValue(enabledState, ttlMergeWith.enabledState);
             }
         }
         if (ttlMergeWith.defaultTTL != -1) {
             // we never build the default when the field is disabled so we should also not set it
             // (it does not make a difference though as everything that is not build in toXContent will also not be set in the cluster)
             if (enabledState == EnabledAttributeMapper.ENABLED) {
-                this.defaultTTL = ttlMergeWith.defaultTTL;
+                this.defaultTTL = mergeValue(defaultTTL, ttlMergeWith.defaultTTL);
             }
         }
     }
@@ -293,7 +293,7 @@ public class TimestampFieldMapper extends MetadataFieldMapper {
         TimestampFieldMapper timestampFieldMapperMergeWith = (TimestampFieldMapper) mergeWith;
         super.doMerge(mergeWith, updateAllTypes);
         if (timestampFieldMapperMergeWith.enabledState != enabledState && !timestampFieldMapperMergeWith.enabledState.unset()) {
-            this.enabledState = timestampFieldMapperMergeWith.enabledState;
+            this.enabledState = mergeValue(enabledState, timestampFieldMapperMergeWith.enabledState);
         }
         if (timestampFieldMapperMergeWith.defaultTimestamp() == null && defaultTimestamp == null) {
             return;
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.TreeMap;
 
 /**
@@ -233,6 +234,26 @@ public class DynamicTemplate implements ToXContent {
         return processedList;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DynamicTemplate that = (DynamicTemplate) o;
+        return Objects.equals(name, that.name)
+            && Objects.equals(pathMatch, that.pathMatch)
+            && Objects.equals(pathUnmatch, that.pathUnmatch)
+            && Objects.equals(match, that.match)
+            && Objects.equals(unmatch, that.unmatch)
+            && matchType == that.matchType
+            && Objects.equals(matchMappingType, that.matchMappingType)
+            && Objects.equals(mapping, that.mapping);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, pathMatch, pathUnmatch, match, unmatch, matchType, matchMappingType, mapping);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
@@ -461,9 +461,29 @@ public class ObjectMapper extends Mapper implements AllFieldMapper.IncludeInAll,
         ObjectMapper mergeWithObject = (ObjectMapper) mergeWith;
         ObjectMapper merged = clone();
         merged.doMerge(mergeWithObject, updateAllTypes);
+        if (merged.sameAs(this)) {
+            // nothing changed, keep this instance so that lookup structures do not need to be updated
+            return this;
+        }
         return merged;
     }
 
+    /**
+     * Whether this mapper, which is the result of a merge into <code>other</code>, has the same settings and the
+     * same sub mapper instances as <code>other</code>.
+     */
+    protected boolean sameAs(ObjectMapper other) {
+        if (dynamic != other.dynamic || mappers.size() != other.mappers.size()) {
+            return false;
+        }
+        for (Mapper mapper : this) {
+            if (other.mappers.get(mapper.simpleName()) != mapper) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected void doMerge(final ObjectMapper mergeWith, boolean updateAllTypes) {
         if (nested().isNested()) {
             if (!mergeWith.nested().isNested()) {
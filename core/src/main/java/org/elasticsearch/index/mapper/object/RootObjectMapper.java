@@ -313,6 +313,12 @@ public class RootObjectMapper extends ObjectMapper {
         this.dynamicTemplates = mergedTemplates.toArray(new DynamicTemplate[mergedTemplates.size()]);
     }
 
+    @Override
+    protected boolean sameAs(ObjectMapper other) {
+        // merged templates are always taken from the merged mapping
+        return super.sameAs(other) && Arrays.equals(dynamicTemplates, ((RootObjectMapper) other).dynamicTemplates);
+    }
+
     @Override
     public RootObjectMapper updateFieldType(Map<String, MappedFieldType> fullNameToFieldType) {
         return (RootObjectMapper) super.updateFieldType(fullNameToFieldType);
@@ -484,6 +484,11 @@ public class BoolQueryBuilder extends AbstractQueryBuilder<BoolQueryBuilder> {
         changed |= rewriteClauses(queryRewriteContext, shouldClauses, newBuilder::should);
 
         if (changed) {
+            // a required clause that can't match any document on this shard means that the whole query can't either
+            if (newBuilder.mustClauses.stream().anyMatch(MatchNoneQueryBuilder.class::isInstance)
+                    || newBuilder.filterClauses.stream().anyMatch(MatchNoneQueryBuilder.class::isInstance)) {
+                return new MatchNoneQueryBuilder();
+            }
             newBuilder.adjustPureNegative = adjustPureNegative;
             newBuilder.disableCoord = disableCoord;
             newBuilder.minimumShouldMatch = minimumShouldMatch;
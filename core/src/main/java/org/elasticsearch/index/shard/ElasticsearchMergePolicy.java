@@ -95,7 +95,12 @@ public final class ElasticsearchMergePolicy extends MergePolicy {
 
         @Override
         public void add(OneMerge merge) {
-            super.add(new IndexUpgraderOneMerge(merge.segments));
+            if (merge.getClass() == OneMerge.class) {
+                super.add(new IndexUpgraderOneMerge(merge.segments));
+            } else {
+                // keep merges that change how segments get merged, like the ones of a SortingMergePolicy
+                super.add(merge);
+            }
         }
 
         @Override
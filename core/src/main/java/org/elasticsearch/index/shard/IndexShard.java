@@ -25,6 +25,7 @@ import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
 import org.apache.lucene.index.SnapshotDeletionPolicy;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.QueryCachingPolicy;
+import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.UsageTrackingQueryCachingPolicy;
 import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.util.IOUtils;
@@ -269,6 +270,16 @@ public class IndexShard extends AbstractIndexShardComponent {
         return mapperService;
     }
 
+    /**
+     * Returns the sort that merged segments of this shard are written in, or <code>null</code> if the index isn't sorted or
+     * the engine isn't started.
+     */
+    @Nullable
+    public Sort getIndexSort() {
+        final Engine engine = getEngineOrNull();
+        return engine == null ? null : engine.config().getIndexSort();
+    }
+
     public SearchOperationListener getSearchOperationListener() {
         return this.searchOperationListener;
     }
@@ -1392,7 +1403,7 @@ public class IndexShard extends AbstractIndexShardComponent {
     private final EngineConfig newEngineConfig(EngineConfig.OpenMode openMode, TranslogConfig translogConfig, QueryCachingPolicy cachingPolicy, TranslogRecoveryPerformer translogRecoveryPerformer) {
         return new EngineConfig(openMode, shardId,
             threadPool, indexSettings, warmer, store, deletionPolicy, indexSettings.getMergePolicy(),
-            mapperService.indexAnalyzer(), similarityService.similarity(mapperService), codecService, shardEventListener, translogRecoveryPerformer, indexCache.query(), cachingPolicy, translogConfig,
+            indexSettings.getIndexSortConfig().buildIndexSort(mapperService::fullName), mapperService.indexAnalyzer(), similarityService.similarity(mapperService), codecService, shardEventListener, translogRecoveryPerformer, indexCache.query(), cachingPolicy, translogConfig,
             indexSettings.getSettings().getAsTime(IndexingMemoryController.SHARD_INACTIVE_TIME_SETTING, IndexingMemoryController.SHARD_DEFAULT_INACTIVE_TIME));
     }
 
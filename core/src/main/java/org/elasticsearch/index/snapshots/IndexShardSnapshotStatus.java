@@ -64,6 +64,10 @@ public class IndexShardSnapshotStatus {
 
     private volatile long processedSize;
 
+    private int activeUploads;
+
+    private int maxConcurrentUploads;
+
     private long indexVersion;
 
     private boolean aborted;
@@ -170,6 +174,35 @@ public class IndexShardSnapshotStatus {
         processedSize += size;
     }
 
+    /**
+     * Marks the start of the upload of a file
+     */
+    public synchronized void uploadStarted() {
+        activeUploads++;
+        maxConcurrentUploads = Math.max(maxConcurrentUploads, activeUploads);
+    }
+
+    /**
+     * Marks the end of the upload of a file
+     */
+    public synchronized void uploadFinished() {
+        activeUploads--;
+    }
+
+    /**
+     * Returns the number of files of this shard that are being uploaded
+     */
+    public synchronized int activeUploads() {
+        return activeUploads;
+    }
+
+    /**
+     * Returns the maximum number of files of this shard that have been uploaded concurrently
+     */
+    public synchronized int maxConcurrentUploads() {
+        return maxConcurrentUploads;
+    }
+
     /**
      * Number of files
      *
@@ -48,6 +48,7 @@ import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.lucene.store.InputStreamIndexInput;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.iterable.Iterables;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.shard.ShardId;
@@ -67,6 +68,7 @@ import org.elasticsearch.repositories.blobstore.BlobStoreFormat;
 import org.elasticsearch.repositories.blobstore.BlobStoreRepository;
 import org.elasticsearch.repositories.blobstore.ChecksumBlobStoreFormat;
 import org.elasticsearch.repositories.blobstore.LegacyBlobStoreFormat;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.FilterInputStream;
 import java.io.IOException;
@@ -77,6 +79,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
@@ -100,6 +107,8 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
 
     private final ClusterService clusterService;
 
+    private final ThreadPool threadPool;
+
     private RateLimiter snapshotRateLimiter;
 
     private RateLimiter restoreRateLimiter;
@@ -112,6 +121,14 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
 
     private boolean compress;
 
+    private int maxConcurrentSnapshotFiles;
+
+    private int maxConcurrentRestoreFiles;
+
+    private Semaphore uploadPermits;
+
+    private Semaphore downloadPermits;
+
     private final ParseFieldMatcher parseFieldMatcher;
 
     protected static final String LEGACY_SNAPSHOT_PREFIX = "snapshot-";
@@ -139,12 +156,14 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
     private ChecksumBlobStoreFormat<BlobStoreIndexShardSnapshots> indexShardSnapshotsFormat;
 
     @Inject
-    public BlobStoreIndexShardRepository(Settings settings, RepositoryName repositoryName, IndicesService indicesService, ClusterService clusterService) {
+    public BlobStoreIndexShardRepository(Settings settings, RepositoryName repositoryName, IndicesService indicesService,
+                                         ClusterService clusterService, ThreadPool threadPool) {
         super(settings);
         this.parseFieldMatcher = new ParseFieldMatcher(settings);
         this.repositoryName = repositoryName.name();
         this.indicesService = indicesService;
         this.clusterService = clusterService;
+        this.threadPool = threadPool;
     }
 
     /**
@@ -153,10 +172,13 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
      * @param blobStore blob store
      * @param basePath  base path to blob store
      * @param chunkSize chunk size
+     * @param maxConcurrentSnapshotFiles maximum number of files of a shard that are uploaded concurrently
+     * @param maxConcurrentRestoreFiles maximum number of files of a shard that are restored concurrently
      */
     public void initialize(BlobStore blobStore, BlobPath basePath, ByteSizeValue chunkSize,
                            RateLimiter snapshotRateLimiter, RateLimiter restoreRateLimiter,
-                           final RateLimiterListener rateLimiterListener, boolean compress) {
+                           final RateLimiterListener rateLimiterListener, boolean compress,
+                           int maxConcurrentSnapshotFiles, int maxConcurrentRestoreFiles) {
         this.blobStore = blobStore;
         this.basePath = basePath;
         this.chunkSize = chunkSize;
@@ -166,6 +188,11 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
         this.snapshotThrottleListener = nanos -> rateLimiterListener.onSnapshotPause(nanos);
         this.restoreThrottleListener = nanos -> rateLimiterListener.onRestorePause(nanos);
         this.compress = compress;
+        this.maxConcurrentSnapshotFiles = maxConcurrentSnapshotFiles;
+        this.maxConcurrentRestoreFiles = maxConcurrentRestoreFiles;
+        // the snapshot and restore threads copy files too, so permits are only needed for additional threads
+        this.uploadPermits = new Semaphore(maxConcurrentSnapshotFiles - 1);
+        this.downloadPermits = new Semaphore(maxConcurrentRestoreFiles - 1);
         indexShardSnapshotFormat = new ChecksumBlobStoreFormat<>(SNAPSHOT_CODEC, SNAPSHOT_NAME_FORMAT, BlobStoreIndexShardSnapshot.PROTO, parseFieldMatcher, isCompress());
         indexShardSnapshotLegacyFormat = new LegacyBlobStoreFormat<>(LEGACY_SNAPSHOT_NAME_FORMAT, BlobStoreIndexShardSnapshot.PROTO, parseFieldMatcher);
         indexShardSnapshotsFormat = new ChecksumBlobStoreFormat<>(SNAPSHOT_INDEX_CODEC, SNAPSHOT_INDEX_NAME_FORMAT, BlobStoreIndexShardSnapshots.PROTO, parseFieldMatcher, isCompress());
@@ -593,13 +620,7 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
 
                 snapshotStatus.updateStage(IndexShardSnapshotStatus.Stage.STARTED);
 
-                for (FileInfo snapshotFileInfo : filesToSnapshot) {
-                    try {
-                        snapshotFile(snapshotFileInfo);
-                    } catch (IOException e) {
-                        throw new IndexShardSnapshotFailedException(shardId, "Failed to perform snapshot (index files)", e);
-                    }
-                }
+                snapshotFiles(filesToSnapshot);
 
                 snapshotStatus.indexVersion(snapshotIndexCommit.getGeneration());
                 // now create and write the commit point
@@ -632,11 +653,30 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
             }
         }
 
+        /**
+         * Snapshot files, uploading several files concurrently if the repository allows it
+         *
+         * @param filesToSnapshot files to be snapshotted
+         */
+        private void snapshotFiles(List<FileInfo> filesToSnapshot) {
+            final Throwable failure = processFiles(filesToSnapshot, maxConcurrentSnapshotFiles, uploadPermits, fileInfo -> {
+                snapshotStatus.uploadStarted();
+                try {
+                    snapshotFile(fileInfo);
+                } finally {
+                    snapshotStatus.uploadFinished();
+                }
+            });
+            if (failure != null) {
+                if (failure instanceof IndexShardSnapshotFailedException) {
+                    throw (IndexShardSnapshotFailedException) failure;
+                }
+                throw new IndexShardSnapshotFailedException(shardId, "Failed to perform snapshot (index files)", failure);
+            }
+        }
+
         /**
          * Snapshot individual file
-         * <p>
-         * This is asynchronous method. Upon completion of the operation latch is getting counted down and any failures are
-         * added to the {@code failures} list
          *
          * @param fileInfo file to be snapshotted
          */
@@ -727,6 +767,67 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
         }
     }
 
+    /**
+     * Copies a single file from or to the repository
+     */
+    @FunctionalInterface
+    private interface FileCopy {
+        void copy(FileInfo fileInfo) throws IOException;
+    }
+
+    /**
+     * Copies files, up to {@code maxConcurrentFiles} files at the same time. The current thread takes part in the copy and
+     * returns once all files are copied or as soon as a file failed. Additional files are copied on the generic thread pool
+     * as long as permits are available, the permits are shared by all shards of this node.
+     *
+     * @return the first failure, or {@code null} if all files have been copied
+     */
+    private Throwable processFiles(List<FileInfo> files, int maxConcurrentFiles, Semaphore permits, FileCopy fileCopy) {
+        final Queue<FileInfo> pendingFiles = new ConcurrentLinkedQueue<>(files);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final int numCopiers = Math.max(Math.min(maxConcurrentFiles, files.size()) - 1, 0);
+        final CountDownLatch latch = new CountDownLatch(numCopiers);
+        for (int i = 0; i < numCopiers; i++) {
+            if (permits.tryAcquire() == false) {
+                latch.countDown();
+                continue;
+            }
+            try {
+                threadPool.generic().execute(() -> {
+                    try {
+                        processFiles(pendingFiles, failure, fileCopy);
+                    } finally {
+                        permits.release();
+                        latch.countDown();
+                    }
+                });
+            } catch (EsRejectedExecutionException e) {
+                // the node is shutting down, the remaining files are copied by the current thread
+                permits.release();
+                latch.countDown();
+            }
+        }
+        processFiles(pendingFiles, failure, fileCopy);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+        return failure.get();
+    }
+
+    private static void processFiles(Queue<FileInfo> pendingFiles, AtomicReference<Throwable> failure, FileCopy fileCopy) {
+        FileInfo fileInfo;
+        while (failure.get() == null && (fileInfo = pendingFiles.poll()) != null) {
+            try {
+                fileCopy.copy(fileInfo);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
+
     /**
      * This is a BWC layer to ensure we update the snapshots metadata with the corresponding hashes before we compare them.
      * The new logic for StoreFileMetaData reads the entire <tt>.si</tt> and <tt>segments.n</tt> files to strengthen the
@@ -857,13 +958,15 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
                     logger.trace("[{}] [{}] recovering_files [{}] with total_size [{}], reusing_files [{}] with reused_size [{}]", shardId, snapshotId,
                             index.totalRecoverFiles(), new ByteSizeValue(index.totalRecoverBytes()), index.reusedFileCount(), new ByteSizeValue(index.reusedFileCount()));
                 }
-                try {
-                    for (final FileInfo fileToRecover : filesToRecover) {
-                        logger.trace("[{}] [{}] restoring file [{}]", shardId, snapshotId, fileToRecover.name());
-                        restoreFile(fileToRecover);
+                final Throwable failure = processFiles(filesToRecover, maxConcurrentRestoreFiles, downloadPermits, fileToRecover -> {
+                    logger.trace("[{}] [{}] restoring file [{}]", shardId, snapshotId, fileToRecover.name());
+                    restoreFile(fileToRecover);
+                });
+                if (failure != null) {
+                    if (failure instanceof IndexShardRestoreFailedException) {
+                        throw (IndexShardRestoreFailedException) failure;
                     }
-                } catch (IOException ex) {
-                    throw new IndexShardRestoreFailedException(shardId, "Failed to recover index", ex);
+                    throw new IndexShardRestoreFailedException(shardId, "Failed to recover index", failure);
                 }
                 final StoreFileMetaData restoredSegmentsFile = sourceMetaData.getSegmentsFile();
                 if (recoveryTargetMetadata == null) {
@@ -901,9 +1004,7 @@ public class BlobStoreIndexShardRepository extends AbstractComponent implements
         }
 
         /**
-         * Restores a file
-         * This is asynchronous method. Upon completion of the operation latch is getting counted down and any failures are
-         * added to the {@code failures} list
+         * Restores a file, verifying its checksum as it is written
          *
          * @param fileInfo file to be restored
          */
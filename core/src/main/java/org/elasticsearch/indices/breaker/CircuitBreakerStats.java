@@ -19,6 +19,7 @@
 
 package org.elasticsearch.indices.breaker;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Streamable;
@@ -28,7 +29,10 @@ import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentBuilderString;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Class encapsulating stats about the circuit breaker
@@ -40,17 +44,24 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
     private long estimated;
     private long trippedCount;
     private double overhead;
+    private Map<String, Long> trippedBy;
 
     CircuitBreakerStats() {
 
     }
 
     public CircuitBreakerStats(String name, long limit, long estimated, double overhead, long trippedCount) {
+        this(name, limit, estimated, overhead, trippedCount, Collections.emptyMap());
+    }
+
+    public CircuitBreakerStats(String name, long limit, long estimated, double overhead, long trippedCount,
+                               Map<String, Long> trippedBy) {
         this.name = name;
         this.limit = limit;
         this.estimated = estimated;
         this.trippedCount = trippedCount;
         this.overhead = overhead;
+        this.trippedBy = trippedBy;
     }
 
     public String getName() {
@@ -73,6 +84,14 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
         return this.overhead;
     }
 
+    /**
+     * Return the number of times this breaker tripped, broken down by the name of the child breaker that was
+     * reserving memory. Only populated for the parent breaker.
+     */
+    public Map<String, Long> getTrippedBy() {
+        return this.trippedBy;
+    }
+
     public static CircuitBreakerStats readOptionalCircuitBreakerStats(StreamInput in) throws IOException {
         CircuitBreakerStats stats = in.readOptionalStreamable(CircuitBreakerStats::new);
         return stats;
@@ -86,6 +105,16 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
         overhead = in.readDouble();
         this.trippedCount = in.readLong();
         this.name = in.readString();
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            int size = in.readVInt();
+            Map<String, Long> trippedBy = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                trippedBy.put(in.readString(), in.readVLong());
+            }
+            this.trippedBy = trippedBy;
+        } else {
+            this.trippedBy = Collections.emptyMap();
+        }
     }
 
     @Override
@@ -95,6 +124,13 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
         out.writeDouble(overhead);
         out.writeLong(trippedCount);
         out.writeString(name);
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeVInt(trippedBy.size());
+            for (Map.Entry<String, Long> entry : trippedBy.entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeVLong(entry.getValue());
+            }
+        }
     }
 
     @Override
@@ -106,6 +142,13 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
         builder.field(Fields.ESTIMATED_HUMAN, new ByteSizeValue(estimated));
         builder.field(Fields.OVERHEAD, overhead);
         builder.field(Fields.TRIPPED_COUNT, trippedCount);
+        if (trippedBy.isEmpty() == false) {
+            builder.startObject(Fields.TRIPPED_BY);
+            for (Map.Entry<String, Long> entry : trippedBy.entrySet()) {
+                builder.field(entry.getKey(), entry.getValue());
+            }
+            builder.endObject();
+        }
         builder.endObject();
         return builder;
     }
@@ -125,5 +168,6 @@ public class CircuitBreakerStats implements Streamable, ToXContent {
         static final XContentBuilderString ESTIMATED_HUMAN = new XContentBuilderString("estimated_size");
         static final XContentBuilderString OVERHEAD = new XContentBuilderString("overhead");
         static final XContentBuilderString TRIPPED_COUNT = new XContentBuilderString("tripped");
+        static final XContentBuilderString TRIPPED_BY = new XContentBuilderString("tripped_by");
     }
 }
@@ -30,9 +30,13 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.MemorySizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -47,8 +51,18 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
 
     private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap();
 
+    public static final Setting<Boolean> USE_REAL_MEMORY_USAGE_SETTING =
+        Setting.boolSetting("indices.breaker.total.use_real_memory", false, Property.NodeScope);
+    // the real heap usage includes everything that the child breakers don't track so it needs more headroom than their sum
     public static final Setting<ByteSizeValue> TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING =
-        Setting.byteSizeSetting("indices.breaker.total.limit", "70%", Property.Dynamic, Property.NodeScope);
+        new Setting<>("indices.breaker.total.limit", (s) -> USE_REAL_MEMORY_USAGE_SETTING.get(s) ? "95%" : "70%",
+            (s) -> MemorySizeValue.parseBytesSizeValueOrHeapRatio(s, "indices.breaker.total.limit"), Property.Dynamic, Property.NodeScope);
+    public static final Setting<TimeValue> REAL_MEMORY_SAMPLE_INTERVAL_SETTING =
+        Setting.timeSetting("indices.breaker.total.real_memory.sample_interval", TimeValue.timeValueMillis(10),
+            TimeValue.timeValueMillis(0), Property.NodeScope);
+    public static final Setting<TimeValue> REAL_MEMORY_SMOOTHING_WINDOW_SETTING =
+        Setting.timeSetting("indices.breaker.total.real_memory.smoothing_window", TimeValue.timeValueSeconds(1),
+            TimeValue.timeValueMillis(0), Property.NodeScope);
 
     public static final Setting<ByteSizeValue> FIELDDATA_CIRCUIT_BREAKER_LIMIT_SETTING =
         Setting.byteSizeSetting("indices.breaker.fielddata.limit", "60%", Property.Dynamic, Property.NodeScope);
@@ -64,14 +78,24 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
     public static final Setting<CircuitBreaker.Type> REQUEST_CIRCUIT_BREAKER_TYPE_SETTING =
         new Setting<>("indices.breaker.request.type", "memory", CircuitBreaker.Type::parseValue, Property.NodeScope);
 
+    public static final Setting<ByteSizeValue> IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING =
+        Setting.byteSizeSetting("network.breaker.inflight_requests.limit", "100%", Property.Dynamic, Property.NodeScope);
+    public static final Setting<Double> IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_OVERHEAD_SETTING =
+        Setting.doubleSetting("network.breaker.inflight_requests.overhead", 1.0d, 0.0d, Property.Dynamic, Property.NodeScope);
 
 
     private volatile BreakerSettings parentSettings;
     private volatile BreakerSettings fielddataSettings;
     private volatile BreakerSettings requestSettings;
+    private volatile BreakerSettings inFlightRequestsSettings;
 
     // Tripped count for when redistribution was attempted but wasn't successful
     private final AtomicLong parentTripCount = new AtomicLong(0);
+    // Number of times the parent tripped, per child breaker that was reserving memory
+    private final ConcurrentMap<String, AtomicLong> parentTripCountByChild = new ConcurrentHashMap<>();
+
+    // null unless the parent breaker is based on the real heap usage rather than on the sum of the children's estimates
+    private final RealMemoryUsage realMemoryUsage;
 
     @Inject
     public HierarchyCircuitBreakerService(Settings settings, ClusterSettings clusterSettings) {
@@ -88,17 +112,32 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
                 REQUEST_CIRCUIT_BREAKER_TYPE_SETTING.get(settings)
         );
 
+        this.inFlightRequestsSettings = new BreakerSettings(CircuitBreaker.IN_FLIGHT_REQUESTS,
+                IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING.get(settings).bytes(),
+                IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_OVERHEAD_SETTING.get(settings),
+                CircuitBreaker.Type.MEMORY
+        );
+
         this.parentSettings = new BreakerSettings(CircuitBreaker.PARENT, TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.get(settings).bytes(), 1.0, CircuitBreaker.Type.PARENT);
         if (logger.isTraceEnabled()) {
             logger.trace("parent circuit breaker with settings {}", this.parentSettings);
         }
+        if (USE_REAL_MEMORY_USAGE_SETTING.get(settings)) {
+            this.realMemoryUsage = new RealMemoryUsage(REAL_MEMORY_SAMPLE_INTERVAL_SETTING.get(settings).millis(),
+                REAL_MEMORY_SMOOTHING_WINDOW_SETTING.get(settings).millis());
+        } else {
+            this.realMemoryUsage = null;
+        }
 
         registerBreaker(this.requestSettings);
         registerBreaker(this.fielddataSettings);
+        registerBreaker(this.inFlightRequestsSettings);
 
         clusterSettings.addSettingsUpdateConsumer(TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING, this::setTotalCircuitBreakerLimit, this::validateTotalCircuitBreakerLimit);
         clusterSettings.addSettingsUpdateConsumer(FIELDDATA_CIRCUIT_BREAKER_LIMIT_SETTING, FIELDDATA_CIRCUIT_BREAKER_OVERHEAD_SETTING, this::setFieldDataBreakerLimit);
         clusterSettings.addSettingsUpdateConsumer(REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING, REQUEST_CIRCUIT_BREAKER_OVERHEAD_SETTING, this::setRequestBreakerLimit);
+        clusterSettings.addSettingsUpdateConsumer(IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING, IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_OVERHEAD_SETTING,
+            this::setInFlightRequestsBreakerLimit);
     }
     private void setRequestBreakerLimit(ByteSizeValue newRequestMax, Double newRequestOverhead) {
         BreakerSettings newRequestSettings = new BreakerSettings(CircuitBreaker.REQUEST, newRequestMax.bytes(), newRequestOverhead,
@@ -108,6 +147,14 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
         logger.info("Updated breaker settings request: {}", newRequestSettings);
     }
 
+    private void setInFlightRequestsBreakerLimit(ByteSizeValue newInFlightRequestsMax, Double newInFlightRequestsOverhead) {
+        BreakerSettings newInFlightRequestsSettings = new BreakerSettings(CircuitBreaker.IN_FLIGHT_REQUESTS, newInFlightRequestsMax.bytes(),
+            newInFlightRequestsOverhead, HierarchyCircuitBreakerService.this.inFlightRequestsSettings.getType());
+        registerBreaker(newInFlightRequestsSettings);
+        HierarchyCircuitBreakerService.this.inFlightRequestsSettings = newInFlightRequestsSettings;
+        logger.info("Updated breaker settings for in-flight requests: {}", newInFlightRequestsSettings);
+    }
+
     private void setFieldDataBreakerLimit(ByteSizeValue newFielddataMax, Double newFielddataOverhead) {
         long newFielddataLimitBytes = newFielddataMax == null ? HierarchyCircuitBreakerService.this.fielddataSettings.getLimit() : newFielddataMax.bytes();
         newFielddataOverhead = newFielddataOverhead == null ? HierarchyCircuitBreakerService.this.fielddataSettings.getOverhead() : newFielddataOverhead;
@@ -161,9 +208,16 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
             allStats.add(stats(breaker.getName()));
             parentEstimated += breaker.getUsed();
         }
+        if (realMemoryUsage != null) {
+            parentEstimated = realMemoryUsage.get();
+        }
+        Map<String, Long> trippedBy = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : parentTripCountByChild.entrySet()) {
+            trippedBy.put(entry.getKey(), entry.getValue().get());
+        }
         // Manually add the parent breaker settings since they aren't part of the breaker map
         allStats.add(new CircuitBreakerStats(CircuitBreaker.PARENT, parentSettings.getLimit(),
-                parentEstimated, 1.0, parentTripCount.get()));
+                parentEstimated, 1.0, parentTripCount.get(), trippedBy));
         return new AllCircuitBreakerStats(allStats.toArray(new CircuitBreakerStats[allStats.size()]));
     }
 
@@ -175,16 +229,41 @@ public class HierarchyCircuitBreakerService extends CircuitBreakerService {
 
     /**
      * Checks whether the parent breaker has been tripped
+     * @param childName        the name of the child breaker that is reserving memory
+     * @param newBytesReserved the number of bytes that the child breaker just reserved
+     * @param label            a description of what the memory is reserved for
      */
-    public void checkParentLimit(String label) throws CircuitBreakingException {
-        long totalUsed = 0;
-        for (CircuitBreaker breaker : this.breakers.values()) {
-            totalUsed += (breaker.getUsed() * breaker.getOverhead());
+    public void checkParentLimit(String childName, long newBytesReserved, String label) throws CircuitBreakingException {
+        final long totalUsed;
+        if (realMemoryUsage != null) {
+            if (newBytesReserved <= 0) {
+                // releasing memory must never fail, even if the heap is full
+                return;
+            }
+            // the reserved bytes have not been allocated yet so they are not part of the heap usage
+            totalUsed = realMemoryUsage.get() + newBytesReserved;
+        } else {
+            long estimated = 0;
+            for (CircuitBreaker breaker : this.breakers.values()) {
+                estimated += (breaker.getUsed() * breaker.getOverhead());
+            }
+            totalUsed = estimated;
         }
 
         long parentLimit = this.parentSettings.getLimit();
         if (totalUsed > parentLimit) {
             this.parentTripCount.incrementAndGet();
+            AtomicLong childTripCount = parentTripCountByChild.get(childName);
+            if (childTripCount == null) {
+                childTripCount = parentTripCountByChild.computeIfAbsent(childName, k -> new AtomicLong());
+            }
+            childTripCount.incrementAndGet();
+            if (realMemoryUsage != null) {
+                throw new CircuitBreakingException("[parent] Data too large, data for [" +
+                        label + "] would bring the real heap usage to [" + totalUsed + "/" + new ByteSizeValue(totalUsed) +
+                        "], which is larger than the limit of [" + parentLimit + "/" + new ByteSizeValue(parentLimit) + "]",
+                        totalUsed, parentLimit);
+            }
             throw new CircuitBreakingException("[parent] Data too large, data for [" +
                     label + "] would be larger than limit of [" +
                     parentLimit + "/" + new ByteSizeValue(parentLimit) + "]",
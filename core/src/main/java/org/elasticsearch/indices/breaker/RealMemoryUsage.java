@@ -0,0 +1,100 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.indices.breaker;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the amount of heap that is actually in use. Samples are smoothed with an exponentially weighted moving average
+ * over a configurable time window so that garbage that is about to be collected by a young collection does not make
+ * the usage look higher than it is for long. A window of zero disables smoothing.
+ *
+ * The heap is sampled at most once per sample interval, checks in between return the cached value without taking a lock.
+ */
+class RealMemoryUsage {
+
+    private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+
+    private final LongSupplier heapUsage;
+    private final LongSupplier nanoTime;
+    private final long sampleIntervalNanos;
+    private final long windowNanos;
+
+    // null until the heap has been sampled for the first time
+    private final AtomicReference<Sample> lastSample = new AtomicReference<>();
+
+    RealMemoryUsage(long sampleIntervalMillis, long windowMillis) {
+        this(() -> MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed(), System::nanoTime, sampleIntervalMillis, windowMillis);
+    }
+
+    RealMemoryUsage(LongSupplier heapUsage, LongSupplier nanoTime, long sampleIntervalMillis, long windowMillis) {
+        if (sampleIntervalMillis < 0) {
+            throw new IllegalArgumentException("sample interval must be >= 0");
+        }
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("smoothing window must be >= 0");
+        }
+        this.heapUsage = heapUsage;
+        this.nanoTime = nanoTime;
+        this.sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(sampleIntervalMillis);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Return the smoothed number of bytes in use, sampling the heap usage if the last sample is older than the sample interval.
+     */
+    long get() {
+        final long now = nanoTime.getAsLong();
+        final Sample previous = lastSample.get();
+        if (previous != null && now - previous.nanos < sampleIntervalNanos) {
+            return (long) previous.smoothedUsage;
+        }
+        final long sample = heapUsage.getAsLong();
+        final double smoothedUsage;
+        if (previous == null || windowNanos == 0) {
+            smoothedUsage = sample;
+        } else {
+            // the weight of the new sample depends on the time since the previous one so that the result does not depend
+            // on how often the breaker is checked
+            final double alpha = 1 - Math.exp(-(double) Math.max(0, now - previous.nanos) / windowNanos);
+            smoothedUsage = previous.smoothedUsage + alpha * (sample - previous.smoothedUsage);
+        }
+        final Sample next = new Sample(now, smoothedUsage);
+        if (lastSample.compareAndSet(previous, next) == false) {
+            // another thread sampled concurrently, its sample is just as recent as ours
+            return (long) lastSample.get().smoothedUsage;
+        }
+        return (long) smoothedUsage;
+    }
+
+    private static final class Sample {
+        final long nanos;
+        final double smoothedUsage;
+
+        Sample(long nanos, double smoothedUsage) {
+            this.nanos = nanos;
+            this.smoothedUsage = smoothedUsage;
+        }
+    }
+
+}
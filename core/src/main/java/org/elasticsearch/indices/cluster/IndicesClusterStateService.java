@@ -43,9 +43,12 @@ import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.Callback;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.IndexSettings;
@@ -75,14 +78,24 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
  */
 public class IndicesClusterStateService extends AbstractLifecycleComponent<IndicesClusterStateService> implements ClusterStateListener {
 
+    /**
+     * The maximum number of shards that are created at the same time. Shards are created on the generic thread pool so that
+     * opening their stores does not hold up the application of cluster states.
+     */
+    public static final Setting<Integer> CONCURRENT_SHARD_CREATIONS_SETTING =
+        Setting.intSetting("indices.cluster.concurrent_shard_creations", 4, 1, Property.NodeScope);
+
     private final IndicesService indicesService;
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
@@ -107,6 +120,15 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent<Indic
     private final boolean sendRefreshMapping;
     private final List<IndexEventListener> buildInIndexListener;
 
+    // the shards that are currently being created, keyed by shard id since a node holds at most one copy of a shard
+    private final ConcurrentMap<ShardId, ShardRouting> shardsBeingCreated = ConcurrentCollections.newConcurrentMap();
+    private final Queue<Runnable> pendingShardCreations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningShardCreators = new AtomicInteger();
+    private final int concurrentShardCreations;
+
+    // the cluster state that was last applied, guarded by the mutex
+    private ClusterState lastAppliedState;
+
     @Inject
     public IndicesClusterStateService(Settings settings, IndicesService indicesService, ClusterService clusterService,
                                       ThreadPool threadPool, RecoveryTargetService recoveryTargetService,
@@ -129,6 +151,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent<Indic
         this.repositoriesService = repositoriesService;
         this.sendRefreshMapping = this.settings.getAsBoolean("indices.cluster.send_refresh_mapping", true);
         this.nodeServicesProvider = nodeServicesProvider;
+        this.concurrentShardCreations = CONCURRENT_SHARD_CREATIONS_SETTING.get(settings);
     }
 
     @Override
@@ -156,6 +179,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent<Indic
         }
 
         synchronized (mutex) {
+            lastAppliedState = event.state();
             // we need to clean the shards and indices we have on this node, since we
             // are going to recover them again once state persistence is disabled (no master / not recovered)
             // TODO: this feels a bit hacky here, a block disables state persistence, and then we clean the allocated shards, maybe another flag in blocks?
@@ -481,6 +505,11 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent<Indic
 
             final int shardId = shardRouting.id();
 
+            if (shardsBeingCreated.containsKey(shardRouting.shardId())) {
+                // the latest routing entry is applied once the shard has been created
+                continue;
+            }
+
             if (!indexService.hasShard(shardId) && shardRouting.started()) {
                 if (failedShards.containsKey(shardRouting.shardId())) {
                     if (nodes.getMasterNode() != null) {
@@ -583,20 +612,133 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent<Indic
                 }
                 return;
             }
+            if (logger.isDebugEnabled()) {
+                logger.debug("[{}][{}] creating shard", shardRouting.index(), shardId);
+            }
+            // creating a shard locks and opens its store, which must not hold up the cluster state thread. The recovery
+            // is started once the shard has been created, its completion is reported to the master as usual.
+            shardsBeingCreated.put(shardRouting.shardId(), shardRouting);
+            pendingShardCreations.add(() -> createShard(indexService, shardRouting));
+            maybeStartShardCreators();
+            return;
+        }
+
+        recoverShard(state, indexMetaData, indexService, indexService.getShard(shardId), shardRouting, sourceNode);
+    }
+
+    private void maybeStartShardCreators() {
+        while (pendingShardCreations.isEmpty() == false) {
+            final int running = runningShardCreators.get();
+            if (running >= concurrentShardCreations) {
+                return;
+            }
+            if (runningShardCreators.compareAndSet(running, running + 1)) {
+                try {
+                    threadPool.generic().execute(this::runShardCreations);
+                } catch (EsRejectedExecutionException e) {
+                    // the node is shutting down, the shards won't be needed anymore
+                    runningShardCreators.decrementAndGet();
+                    pendingShardCreations.clear();
+                    shardsBeingCreated.clear();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void runShardCreations() {
+        try {
+            Runnable shardCreation;
+            while ((shardCreation = pendingShardCreations.poll()) != null) {
+                shardCreation.run();
+            }
+        } finally {
+            runningShardCreators.decrementAndGet();
+            // a shard creation may have been added after we found the queue empty
+            maybeStartShardCreators();
+        }
+    }
+
+    /**
+     * Creates a shard and starts its recovery. The cluster state may have changed while the shard was being created, so the
+     * shard is only recovered if it is still allocated to this node according to the latest applied cluster state.
+     */
+    private void createShard(IndexService indexService, ShardRouting shardRouting) {
+        IndexShard indexShard = null;
+        Throwable failure = null;
+        try {
+            indexShard = indexService.createShard(shardRouting);
+            indexShard.addShardFailureCallback(failedShardHandler);
+        } catch (Throwable t) {
+            failure = t;
+        }
+        synchronized (mutex) {
+            shardsBeingCreated.remove(shardRouting.shardId());
+            final ClusterState state = lastAppliedState;
+            final ShardRouting currentRouting = localShardRouting(state, shardRouting.shardId());
+            final boolean stillAllocated = lifecycle.started() && indicesService.changesAllowed()
+                && state.blocks().disableStatePersistence() == false
+                && currentRouting != null && currentRouting.initializing() && currentRouting.isSameAllocation(shardRouting)
+                && indicesService.indexService(shardRouting.index()) == indexService;
             try {
-                if (logger.isDebugEnabled()) {
-                    logger.debug("[{}][{}] creating shard", shardRouting.index(), shardId);
+                if (failure != null) {
+                    if (stillAllocated && failure instanceof IndexShardAlreadyExistsException == false) {
+                        failAndRemoveShard(shardRouting, indexService, true, "failed to create shard", failure);
+                    } else {
+                        logger.debug("{} failed to create shard that is no longer allocated to this node", failure, shardRouting.shardId());
+                    }
+                } else if (stillAllocated == false) {
+                    if (indexService.getShardOrNull(shardRouting.id()) == indexShard) {
+                        logger.debug("{} removing shard (no longer allocated after it was created)", shardRouting.shardId());
+                        try {
+                            indexService.removeShard(shardRouting.id(), "removing shard (no longer allocated after it was created)");
+                        } catch (Throwable e) {
+                            logger.warn("{} failed to remove shard (no longer allocated after it was created)", e, shardRouting.shardId());
+                        }
+                    }
+                    // a new allocation of the shard has been skipped while this one was being created
+                    final IndexService currentIndexService = indicesService.indexService(shardRouting.index());
+                    if (currentRouting != null && currentRouting.initializing() && currentIndexService != null
+                        && lifecycle.started() && state.blocks().disableStatePersistence() == false) {
+                        applyInitializingShard(state, state.metaData().getIndexSafe(shardRouting.index()), currentIndexService, currentRouting);
+                    }
+                } else if (indexService.getShardOrNull(shardRouting.id()) == indexShard) {
+                    if (currentRouting.equals(indexShard.routingEntry()) == false) {
+                        indexShard.updateRoutingEntry(currentRouting, true);
+                    }
+                    DiscoveryNode sourceNode = null;
+                    if (isPeerRecovery(currentRouting)) {
+                        sourceNode = findSourceNodeForPeerRecovery(state.routingTable(), state.nodes(), currentRouting);
+                        if (sourceNode == null) {
+                            // the recovery is started with the next cluster state that has a source node
+                            logger.trace("not recovering shard {} yet - no source node can be found.", currentRouting.shardId());
+                            return;
+                        }
+                    }
+                    recoverShard(state, state.metaData().getIndexSafe(shardRouting.index()), indexService, indexShard, currentRouting, sourceNode);
+                }
+            } catch (Throwable t) {
+                failAndRemoveShard(shardRouting, indexService, true, "failed to start shard recovery after creation", t);
+            }
+        }
+    }
+
+    @Nullable
+    private static ShardRouting localShardRouting(ClusterState state, ShardId shardId) {
+        final RoutingNode routingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
+        if (routingNode != null) {
+            for (ShardRouting shardRouting : routingNode) {
+                if (shardRouting.shardId().equals(shardId)) {
+                    return shardRouting;
                 }
-                IndexShard indexShard = indexService.createShard(shardRouting);
-                indexShard.addShardFailureCallback(failedShardHandler);
-            } catch (IndexShardAlreadyExistsException e) {
-                // ignore this, the method call can happen several times
-            } catch (Throwable e) {
-                failAndRemoveShard(shardRouting, indexService, true, "failed to create shard", e);
-                return;
             }
         }
-        final IndexShard indexShard = indexService.getShard(shardId);
+        return null;
+    }
+
+    private void recoverShard(final ClusterState state, final IndexMetaData indexMetaData, IndexService indexService,
+                              final IndexShard indexShard, final ShardRouting shardRouting, @Nullable DiscoveryNode sourceNode) {
+        final DiscoveryNodes nodes = state.getNodes();
 
         if (indexShard.ignoreRecoveryAttempt()) {
             // we are already recovering (we can get to this state since the cluster event can happen several
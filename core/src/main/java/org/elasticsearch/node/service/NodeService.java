@@ -24,6 +24,7 @@ import org.elasticsearch.Version;
 import org.elasticsearch.action.admin.cluster.node.info.NodeInfo;
 import org.elasticsearch.action.admin.cluster.node.stats.NodeStats;
 import org.elasticsearch.action.admin.indices.stats.CommonStatsFlags;
+import org.elasticsearch.cache.recycler.PageCacheRecycler;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.component.AbstractComponent;
@@ -31,6 +32,8 @@ import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.SettingsFilter;
 import org.elasticsearch.discovery.Discovery;
+import org.elasticsearch.discovery.DiscoveryStats;
+import org.elasticsearch.gateway.MetaStateService;
 import org.elasticsearch.http.HttpServer;
 import org.elasticsearch.indices.IndicesService;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
@@ -60,6 +63,7 @@ public class NodeService extends AbstractComponent implements Closeable {
     private final IndicesService indicesService;
     private final PluginsService pluginService;
     private final CircuitBreakerService circuitBreakerService;
+    private final PageCacheRecycler pageCacheRecycler;
     private final IngestService ingestService;
     private final SettingsFilter settingsFilter;
     private ScriptService scriptService;
@@ -73,11 +77,14 @@ public class NodeService extends AbstractComponent implements Closeable {
 
     private final Discovery discovery;
 
+    private final MetaStateService metaStateService;
+
     @Inject
     public NodeService(Settings settings, ThreadPool threadPool, MonitorService monitorService,
                        Discovery discovery, TransportService transportService, IndicesService indicesService,
                        PluginsService pluginService, CircuitBreakerService circuitBreakerService, Version version,
-                       ProcessorsRegistry.Builder processorsRegistryBuilder, ClusterService clusterService, SettingsFilter settingsFilter) {
+                       ProcessorsRegistry.Builder processorsRegistryBuilder, ClusterService clusterService, SettingsFilter settingsFilter,
+                       PageCacheRecycler pageCacheRecycler, MetaStateService metaStateService) {
         super(settings);
         this.threadPool = threadPool;
         this.monitorService = monitorService;
@@ -87,8 +94,10 @@ public class NodeService extends AbstractComponent implements Closeable {
         this.version = version;
         this.pluginService = pluginService;
         this.circuitBreakerService = circuitBreakerService;
+        this.pageCacheRecycler = pageCacheRecycler;
         this.ingestService = new IngestService(settings, threadPool, processorsRegistryBuilder);
         this.settingsFilter = settingsFilter;
+        this.metaStateService = metaStateService;
         clusterService.add(ingestService.getPipelineStore());
         clusterService.add(ingestService.getPipelineExecutionService());
     }
@@ -166,14 +175,21 @@ public class NodeService extends AbstractComponent implements Closeable {
                 httpServer == null ? null : httpServer.stats(),
                 circuitBreakerService.stats(),
                 scriptService.stats(),
-                discovery.stats(),
-                ingestService.getPipelineExecutionService().stats()
+                discoveryStats(),
+                ingestService.getPipelineExecutionService().stats(),
+                pageCacheRecycler.stats()
         );
     }
 
+    private DiscoveryStats discoveryStats() {
+        // persisting cluster states is part of applying the cluster states that discovery receives
+        DiscoveryStats discoveryStats = discovery.stats();
+        return new DiscoveryStats(discoveryStats == null ? null : discoveryStats.getQueueStats(), metaStateService.stats());
+    }
+
     public NodeStats stats(CommonStatsFlags indices, boolean os, boolean process, boolean jvm, boolean threadPool,
                            boolean fs, boolean transport, boolean http, boolean circuitBreaker,
-                           boolean script, boolean discoveryStats, boolean ingest) {
+                           boolean script, boolean discoveryStats, boolean ingest, boolean pageCacheRecyclerStats) {
         // for indices stats we want to include previous allocated shards stats as well (it will
         // only be applied to the sensible ones to use, like refresh/merge/flush/indexing stats)
         return new NodeStats(discovery.localNode(), System.currentTimeMillis(),
@@ -187,8 +203,9 @@ public class NodeService extends AbstractComponent implements Closeable {
                 http ? (httpServer == null ? null : httpServer.stats()) : null,
                 circuitBreaker ? circuitBreakerService.stats() : null,
                 script ? scriptService.stats() : null,
-                discoveryStats ? discovery.stats() : null,
-                ingest ? ingestService.getPipelineExecutionService().stats() : null
+                discoveryStats ? discoveryStats() : null,
+                ingest ? ingestService.getPipelineExecutionService().stats() : null,
+                pageCacheRecyclerStats ? pageCacheRecycler.stats() : null
         );
     }
 
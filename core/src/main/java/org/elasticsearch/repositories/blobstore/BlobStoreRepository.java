@@ -170,6 +170,10 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent<Rep
 
     private final boolean readOnly;
 
+    private final int maxConcurrentSnapshotFiles;
+
+    private final int maxConcurrentRestoreFiles;
+
     /**
      * Constructs new BlobStoreRepository
      *
@@ -184,6 +188,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent<Rep
         snapshotRateLimiter = getRateLimiter(repositorySettings, "max_snapshot_bytes_per_sec", new ByteSizeValue(40, ByteSizeUnit.MB));
         restoreRateLimiter = getRateLimiter(repositorySettings, "max_restore_bytes_per_sec", new ByteSizeValue(40, ByteSizeUnit.MB));
         readOnly = repositorySettings.settings().getAsBoolean("readonly", false);
+        maxConcurrentSnapshotFiles = getMaxConcurrentFiles(repositorySettings, "max_concurrent_snapshot_files");
+        maxConcurrentRestoreFiles = getMaxConcurrentFiles(repositorySettings, "max_concurrent_restore_files");
     }
 
     /**
@@ -192,7 +198,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent<Rep
     @Override
     protected void doStart() {
         this.snapshotsBlobContainer = blobStore().blobContainer(basePath());
-        indexShardRepository.initialize(blobStore(), basePath(), chunkSize(), snapshotRateLimiter, restoreRateLimiter, this, isCompress());
+        indexShardRepository.initialize(blobStore(), basePath(), chunkSize(), snapshotRateLimiter, restoreRateLimiter, this, isCompress(),
+                maxConcurrentSnapshotFiles, maxConcurrentRestoreFiles);
 
         ParseFieldMatcher parseFieldMatcher = new ParseFieldMatcher(settings);
         globalMetaDataFormat = new ChecksumBlobStoreFormat<>(METADATA_CODEC, METADATA_NAME_FORMAT, MetaData.PROTO, parseFieldMatcher, isCompress());
@@ -487,6 +494,17 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent<Rep
         return metaDataBuilder.build();
     }
 
+    /**
+     * Reads the maximum number of files of a shard that may be copied concurrently from repository and global settings
+     */
+    private int getMaxConcurrentFiles(RepositorySettings repositorySettings, String setting) {
+        int maxConcurrentFiles = repositorySettings.settings().getAsInt(setting, settings.getAsInt(setting, 5));
+        if (maxConcurrentFiles < 1) {
+            throw new RepositoryException(repositoryName, "[" + setting + "] must be at least 1, got [" + maxConcurrentFiles + "]");
+        }
+        return maxConcurrentFiles;
+    }
+
     /**
      * Configures RateLimiter based on repository and global settings
      *
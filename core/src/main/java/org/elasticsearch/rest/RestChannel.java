@@ -46,4 +46,12 @@ public interface RestChannel {
     boolean detailedErrorsEnabled();
 
     void sendResponse(RestResponse response);
+
+    /**
+     * @return true iff this channel writes the content of a {@link StreamingRestResponse} to the client while it is being
+     * generated rather than building it in memory first.
+     */
+    default boolean supportsStreamingResponses() {
+        return false;
+    }
 }
@@ -208,6 +208,15 @@ public class RestController extends AbstractLifecycleComponent<RestController> {
         return true;
     }
 
+    /**
+     * Checks whether the handler for the given request may be rejected by the in-flight requests circuit breaker. Requests
+     * without a handler are always accounted for.
+     */
+    public boolean canTripCircuitBreaker(RestRequest request) {
+        RestHandler handler = getHandler(request);
+        return (handler != null) ? handler.canTripCircuitBreaker() : true;
+    }
+
     void executeHandler(RestRequest request, RestChannel channel) throws Exception {
         final RestHandler handler = getHandler(request);
         if (handler != null) {
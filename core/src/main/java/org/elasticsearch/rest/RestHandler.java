@@ -25,4 +25,12 @@ package org.elasticsearch.rest;
 public interface RestHandler {
 
     void handleRequest(RestRequest request, RestChannel channel) throws Exception;
+
+    /**
+     * Whether a request for this handler may be rejected by the in-flight requests circuit breaker. Handlers that are
+     * needed to diagnose a node under memory pressure (e.g. stats and health) should return <code>false</code>.
+     */
+    default boolean canTripCircuitBreaker() {
+        return true;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.rest;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A response whose XContent body is only generated when the response is sent. Channels that
+ * {@link RestChannel#supportsStreamingResponses() support it} write the body to the client in chunks while it is being
+ * generated, so that large responses never need to be fully materialized in memory.
+ */
+public class StreamingRestResponse extends RestResponse {
+
+    /**
+     * Writes the body of a response.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(XContentBuilder builder) throws IOException;
+    }
+
+    private final RestStatus status;
+    private final RestChannel channel;
+    private final ContentWriter contentWriter;
+    private BytesRestResponse materialized;
+
+    StreamingRestResponse(RestStatus status, RestChannel channel, ContentWriter contentWriter) {
+        this.status = status;
+        this.channel = channel;
+        this.contentWriter = contentWriter;
+    }
+
+    /**
+     * Builds a response for the given channel: a {@link StreamingRestResponse} if the channel supports streaming, otherwise
+     * a {@link BytesRestResponse} whose content is written to a {@link RestChannel#newBuilder() builder} right away.
+     */
+    public static RestResponse build(RestChannel channel, RestStatus status, ContentWriter contentWriter) throws IOException {
+        if (channel.supportsStreamingResponses()) {
+            return new StreamingRestResponse(status, channel, contentWriter);
+        }
+        XContentBuilder builder = channel.newBuilder();
+        contentWriter.writeTo(builder);
+        return new BytesRestResponse(status, builder);
+    }
+
+    /**
+     * Writes the body of this response to the given builder.
+     */
+    public void writeTo(XContentBuilder builder) throws IOException {
+        contentWriter.writeTo(builder);
+    }
+
+    @Override
+    public RestStatus status() {
+        return status;
+    }
+
+    @Override
+    public String contentType() {
+        return materialize().contentType();
+    }
+
+    @Override
+    public BytesReference content() {
+        return materialize().content();
+    }
+
+    /**
+     * Builds the whole body in memory, used if the response ends up being sent over a channel that cannot stream it.
+     */
+    private BytesRestResponse materialize() {
+        if (materialized == null) {
+            try {
+                XContentBuilder builder = channel.newBuilder();
+                contentWriter.writeTo(builder);
+                materialized = new BytesRestResponse(status, builder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return materialized;
+    }
+}
@@ -82,6 +82,7 @@ public class RestNodesStatsAction extends BaseRestHandler {
             nodesStatsRequest.script(metrics.contains("script"));
             nodesStatsRequest.discovery(metrics.contains("discovery"));
             nodesStatsRequest.ingest(metrics.contains("ingest"));
+            nodesStatsRequest.pageCacheRecycler(metrics.contains("page_cache_recycler"));
 
             // check for index specific metrics
             if (metrics.contains("indices")) {
@@ -116,4 +117,9 @@ public class RestNodesStatsAction extends BaseRestHandler {
 
         client.admin().cluster().nodesStats(nodesStatsRequest, new RestToXContentListener<>(channel));
     }
+
+    @Override
+    public boolean canTripCircuitBreaker() {
+        return false;
+    }
 }
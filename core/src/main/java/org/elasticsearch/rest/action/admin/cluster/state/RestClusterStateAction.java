@@ -29,16 +29,15 @@ import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.SettingsFilter;
-import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentBuilderString;
 import org.elasticsearch.rest.BaseRestHandler;
-import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestController;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
-import org.elasticsearch.rest.action.support.RestBuilderListener;
+import org.elasticsearch.rest.StreamingRestResponse;
+import org.elasticsearch.rest.action.support.RestResponseListener;
 
 import java.util.EnumSet;
 
@@ -85,14 +84,16 @@ public class RestClusterStateAction extends BaseRestHandler {
         }
         settingsFilter.addFilterSettingParams(request);
 
-        client.admin().cluster().state(clusterStateRequest, new RestBuilderListener<ClusterStateResponse>(channel) {
+        client.admin().cluster().state(clusterStateRequest, new RestResponseListener<ClusterStateResponse>(channel) {
             @Override
-            public RestResponse buildResponse(ClusterStateResponse response, XContentBuilder builder) throws Exception {
-                builder.startObject();
-                builder.field(Fields.CLUSTER_NAME, response.getClusterName().value());
-                response.getState().toXContent(builder, request);
-                builder.endObject();
-                return new BytesRestResponse(RestStatus.OK, builder);
+            public RestResponse buildResponse(ClusterStateResponse response) throws Exception {
+                // the cluster state of large clusters can be huge, stream it rather than building it in memory
+                return StreamingRestResponse.build(channel, RestStatus.OK, builder -> {
+                    builder.startObject();
+                    builder.field(Fields.CLUSTER_NAME, response.getClusterName().value());
+                    response.getState().toXContent(builder, request);
+                    builder.endObject();
+                });
             }
         });
     }
@@ -71,6 +71,7 @@ public class RestActions {
         static final XContentBuilderString _SHARDS = new XContentBuilderString("_shards");
         static final XContentBuilderString TOTAL = new XContentBuilderString("total");
         static final XContentBuilderString SUCCESSFUL = new XContentBuilderString("successful");
+        static final XContentBuilderString SKIPPED = new XContentBuilderString("skipped");
         static final XContentBuilderString FAILED = new XContentBuilderString("failed");
         static final XContentBuilderString FAILURES = new XContentBuilderString("failures");
     }
@@ -80,9 +81,22 @@ public class RestActions {
     }
 
     public static void buildBroadcastShardsHeader(XContentBuilder builder, ToXContent.Params params, int total, int successful, int failed, ShardOperationFailedException[] shardFailures) throws IOException {
+        buildBroadcastShardsHeader(builder, params, total, successful, -1, failed, shardFailures);
+    }
+
+    /**
+     * Same as {@link #buildBroadcastShardsHeader(XContentBuilder, ToXContent.Params, int, int, int, ShardOperationFailedException[])}
+     * but also renders the number of skipped shards, unless it is negative.
+     */
+    public static void buildBroadcastShardsHeader(XContentBuilder builder, ToXContent.Params params, int total, int successful,
+                                                  int skipped, int failed, ShardOperationFailedException[] shardFailures)
+            throws IOException {
         builder.startObject(Fields._SHARDS);
         builder.field(Fields.TOTAL, total);
         builder.field(Fields.SUCCESSFUL, successful);
+        if (skipped >= 0) {
+            builder.field(Fields.SKIPPED, skipped);
+        }
         builder.field(Fields.FAILED, failed);
         if (shardFailures != null && shardFailures.length > 0) {
             builder.startArray(Fields.FAILURES);
@@ -23,6 +23,7 @@ import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestResponse;
+import org.elasticsearch.rest.StreamingRestResponse;
 
 /**
  *
@@ -35,7 +36,11 @@ public class RestStatusToXContentListener<Response extends StatusToXContent> ext
 
     @Override
     public final RestResponse buildResponse(Response response) throws Exception {
-        return buildResponse(response, channel.newBuilder());
+        return StreamingRestResponse.build(channel, response.status(), builder -> {
+            builder.startObject();
+            response.toXContent(builder, channel.request());
+            builder.endObject();
+        });
     }
 
     public final RestResponse buildResponse(Response response, XContentBuilder builder) throws Exception {
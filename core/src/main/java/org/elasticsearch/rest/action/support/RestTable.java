@@ -28,13 +28,13 @@ import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.SizeValue;
 import org.elasticsearch.common.unit.TimeValue;
-import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.rest.StreamingRestResponse;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -57,20 +57,20 @@ public class RestTable {
 
     public static RestResponse buildXContentBuilder(Table table, RestChannel channel) throws Exception {
         RestRequest request = channel.request();
-        XContentBuilder builder = channel.newBuilder();
         List<DisplayHeader> displayHeaders = buildDisplayHeaders(table, request);
 
-        builder.startArray();
-        for (int row = 0; row < table.getRows().size(); row++) {
-            builder.startObject();
-            for (DisplayHeader header : displayHeaders) {
-                builder.field(header.display, renderValue(request, table.getAsMap().get(header.name).get(row).value));
-            }
-            builder.endObject();
+        return StreamingRestResponse.build(channel, RestStatus.OK, builder -> {
+            builder.startArray();
+            for (int row = 0; row < table.getRows().size(); row++) {
+                builder.startObject();
+                for (DisplayHeader header : displayHeaders) {
+                    builder.field(header.display, renderValue(request, table.getAsMap().get(header.name).get(row).value));
+                }
+                builder.endObject();
 
-        }
-        builder.endArray();
-        return new BytesRestResponse(RestStatus.OK, builder);
+            }
+            builder.endArray();
+        });
     }
 
     public static RestResponse buildTextPlainResponse(Table table, RestChannel channel) throws IOException {
@@ -25,6 +25,7 @@ import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.rest.StreamingRestResponse;
 
 /**
  * A REST based action listener that assumes the response is of type {@link ToXContent} and automatically
@@ -38,7 +39,11 @@ public class RestToXContentListener<Response extends ToXContent> extends RestRes
 
     @Override
     public final RestResponse buildResponse(Response response) throws Exception {
-        return buildResponse(response, channel.newBuilder());
+        return StreamingRestResponse.build(channel, getStatus(response), builder -> {
+            builder.startObject();
+            response.toXContent(builder, channel.request());
+            builder.endObject();
+        });
     }
 
     public final RestResponse buildResponse(Response response, XContentBuilder builder) throws Exception {
@@ -38,4 +38,20 @@ public interface LeafSearchScript extends ScorerAware, ExecutableScript {
 
     double runAsDouble();
 
+    /**
+     * Sets the <code>_value</code> variable of a value script in aggregations. Script engines that can
+     * read the value as a primitive should override this to avoid boxing it for every value.
+     */
+    default void setNextAggregationValue(long value) {
+        setNextVar("_value", value);
+    }
+
+    /**
+     * Sets the <code>_value</code> variable of a value script in aggregations. Script engines that can
+     * read the value as a primitive should override this to avoid boxing it for every value.
+     */
+    default void setNextAggregationValue(double value) {
+        setNextVar("_value", value);
+    }
+
 }
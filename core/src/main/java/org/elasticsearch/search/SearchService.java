@@ -48,6 +48,9 @@ import org.elasticsearch.common.xcontent.XContentParser;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.query.MatchAllQueryBuilder;
+import org.elasticsearch.index.query.MatchNoneQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryParseContext;
 import org.elasticsearch.index.query.QueryShardContext;
 import org.elasticsearch.index.query.support.InnerHitBuilder;
@@ -244,6 +247,37 @@ public class SearchService extends AbstractLifecycleComponent<SearchService> imp
         FutureUtils.cancel(keepAliveReaper);
     }
 
+    /**
+     * Returns <code>false</code> if the query of the request can't match any document of the shard. The query is
+     * rewritten against the current reader of the shard, which turns for instance range queries that don't intersect
+     * with the values of their field on the shard into a <code>match_none</code> query, so this is cheap compared to
+     * running the query phase and allows to skip shards without creating a search context on them.
+     */
+    public boolean canMatch(ShardSearchRequest request) throws IOException {
+        if (canRewriteToMatchNone(request.source()) == false) {
+            return true;
+        }
+        IndexService indexService = indicesService.indexServiceSafe(request.shardId().getIndex());
+        IndexShard indexShard = indexService.getShard(request.shardId().getId());
+        try (Engine.Searcher searcher = indexShard.acquireSearcher("can_match")) {
+            QueryShardContext context = indexService.newQueryShardContext(searcher.reader());
+            QueryBuilder<?> rewritten = QueryBuilder.rewriteQuery(request.source().query(), context);
+            return rewritten instanceof MatchNoneQueryBuilder == false;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the search can skip a shard whose query rewrites to <code>match_none</code>: the
+     * request has a query and neither suggestions nor aggregations that need to visit all documents of the shard.
+     */
+    public static boolean canRewriteToMatchNone(@Nullable SearchSourceBuilder source) {
+        if (source == null || source.query() == null || source.query() instanceof MatchAllQueryBuilder) {
+            return false;
+        }
+        AggregatorFactories.Builder aggregations = source.aggregations();
+        return source.suggest() == null && (aggregations == null || aggregations.mustVisitAllDocs() == false);
+    }
+
     public DfsSearchResult executeDfsPhase(ShardSearchRequest request) throws IOException {
         final SearchContext context = createAndPutContext(request);
         try {
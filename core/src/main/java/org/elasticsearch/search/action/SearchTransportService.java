@@ -62,6 +62,7 @@ public class SearchTransportService extends AbstractComponent {
     public static final String FREE_CONTEXT_SCROLL_ACTION_NAME = "indices:data/read/search[free_context/scroll]";
     public static final String FREE_CONTEXT_ACTION_NAME = "indices:data/read/search[free_context]";
     public static final String CLEAR_SCROLL_CONTEXTS_ACTION_NAME = "indices:data/read/search[clear_scroll_contexts]";
+    public static final String QUERY_CAN_MATCH_NAME = "indices:data/read/search[can_match]";
     public static final String DFS_ACTION_NAME = "indices:data/read/search[phase/dfs]";
     public static final String QUERY_ACTION_NAME = "indices:data/read/search[phase/query]";
     public static final String QUERY_ID_ACTION_NAME = "indices:data/read/search[phase/query/id]";
@@ -86,6 +87,8 @@ public class SearchTransportService extends AbstractComponent {
                 new FreeContextTransportHandler<>());
         transportService.registerRequestHandler(CLEAR_SCROLL_CONTEXTS_ACTION_NAME, ClearScrollContextsRequest::new, ThreadPool.Names.SAME,
                 new ClearScrollContextsTransportHandler());
+        transportService.registerRequestHandler(QUERY_CAN_MATCH_NAME, ShardSearchTransportRequest::new, ThreadPool.Names.SEARCH,
+                new CanMatchTransportHandler());
         transportService.registerRequestHandler(DFS_ACTION_NAME, ShardSearchTransportRequest::new, ThreadPool.Names.SEARCH,
                 new SearchDfsTransportHandler());
         transportService.registerRequestHandler(QUERY_ACTION_NAME, ShardSearchTransportRequest::new, ThreadPool.Names.SEARCH,
@@ -146,6 +149,16 @@ public class SearchTransportService extends AbstractComponent {
         });
     }
 
+    public void sendCanMatch(DiscoveryNode node, final ShardSearchTransportRequest request,
+                             final ActionListener<CanMatchResponse> listener) {
+        transportService.sendRequest(node, QUERY_CAN_MATCH_NAME, request, new ActionListenerResponseHandler<CanMatchResponse>(listener) {
+            @Override
+            public CanMatchResponse newInstance() {
+                return new CanMatchResponse();
+            }
+        });
+    }
+
     public void sendExecuteDfs(DiscoveryNode node, final ShardSearchTransportRequest request,
                                final ActionListener<DfsSearchResult> listener) {
         transportService.sendRequest(node, DFS_ACTION_NAME, request, new ActionListenerResponseHandler<DfsSearchResult>(listener) {
@@ -355,6 +368,45 @@ public class SearchTransportService extends AbstractComponent {
         }
     }
 
+    public static class CanMatchResponse extends TransportResponse {
+
+        private boolean canMatch;
+
+        CanMatchResponse() {
+        }
+
+        CanMatchResponse(boolean canMatch) {
+            this.canMatch = canMatch;
+        }
+
+        /**
+         * Whether the query of the request may match documents of the shard.
+         */
+        public boolean canMatch() {
+            return canMatch;
+        }
+
+        @Override
+        public void readFrom(StreamInput in) throws IOException {
+            super.readFrom(in);
+            canMatch = in.readBoolean();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeBoolean(canMatch);
+        }
+    }
+
+    class CanMatchTransportHandler implements TransportRequestHandler<ShardSearchTransportRequest> {
+        @Override
+        public void messageReceived(ShardSearchTransportRequest request, TransportChannel channel) throws Exception {
+            boolean canMatch = searchService.canMatch(request);
+            channel.sendResponse(new CanMatchResponse(canMatch));
+        }
+    }
+
     class SearchDfsTransportHandler implements TransportRequestHandler<ShardSearchTransportRequest> {
         @Override
         public void messageReceived(ShardSearchTransportRequest request, TransportChannel channel) throws Exception {
@@ -27,6 +27,7 @@ import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.search.SearchParseElement;
 import org.elasticsearch.search.SearchPhase;
 import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregator;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregator;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.pipeline.SiblingPipelineAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
@@ -37,6 +38,7 @@ import org.elasticsearch.search.query.QueryPhaseExecutionException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -85,12 +87,13 @@ public class AggregationPhase implements SearchPhase {
                 }
                 context.aggregations().aggregators(aggregators);
                 if (!collectors.isEmpty()) {
-                    Collector collector = BucketCollector.wrap(collectors);
+                    // describe the aggregators before pre-collection wraps the deferred ones
+                    final List<InternalProfileCollector> profiledAggregators = context.getProfilers() == null
+                            ? Collections.emptyList() : profileAggregators(collectors);
+                    Collector collector = BucketCollector.terminateOnNoOpLeaves(BucketCollector.wrap(collectors));
                     ((BucketCollector)collector).preCollection();
                     if (context.getProfilers() != null) {
-                        collector = new InternalProfileCollector(collector, CollectorResult.REASON_AGGREGATION,
-                                // TODO: report on child aggs as well
-                                Collections.emptyList());
+                        collector = new InternalProfileCollector(collector, CollectorResult.REASON_AGGREGATION, profiledAggregators);
                     }
                     context.queryCollectors().put(AggregationPhase.class, collector);
                 }
@@ -100,6 +103,37 @@ public class AggregationPhase implements SearchPhase {
         }
     }
 
+    /**
+     * Describes the given aggregators and their sub aggregators in the collector section of the profile. All of them are
+     * collected by the parent <code>aggregation</code> collector so they have no timings of their own, but the reason of terms
+     * aggregations tells which collect mode they used, which they may have picked on each shard. In that case the number of
+     * buckets they expected is listed in their details.
+     */
+    private static List<InternalProfileCollector> profileAggregators(List<Aggregator> aggregators) {
+        List<InternalProfileCollector> profiled = new ArrayList<>(aggregators.size());
+        for (Aggregator aggregator : aggregators) {
+            if (aggregator instanceof AggregatorFactory.MultiBucketAggregatorWrapper) {
+                // all buckets use the same settings as the first one
+                aggregator = ((AggregatorFactory.MultiBucketAggregatorWrapper) aggregator).first();
+            }
+            List<InternalProfileCollector> children = Collections.emptyList();
+            if (aggregator instanceof AggregatorBase) {
+                children = profileAggregators(Arrays.asList(((AggregatorBase) aggregator).subAggregators()));
+            }
+            String reason = CollectorResult.REASON_AGGREGATION;
+            Map<String, Object> details = Collections.emptyMap();
+            if (aggregator instanceof TermsAggregator) {
+                TermsAggregator terms = (TermsAggregator) aggregator;
+                reason += "_" + terms.collectMode().parseField().getPreferredName();
+                if (terms.estimatedBuckets() != -1) {
+                    details = Collections.singletonMap("estimated_buckets", terms.estimatedBuckets());
+                }
+            }
+            profiled.add(new InternalProfileCollector(aggregator, reason, children, details));
+        }
+        return profiled;
+    }
+
     @Override
     public void execute(SearchContext context) {
         if (context.aggregations() == null) {
@@ -47,6 +47,7 @@ public abstract class AggregatorBase extends Aggregator {
 
     private Map<String, Aggregator> subAggregatorbyName;
     private DeferringBucketCollector recordingWrapper;
+    private BufferingLeafBucketCollector bufferingCollector;
     private final List<PipelineAggregator> pipelineAggregators;
 
     /**
@@ -128,8 +129,25 @@ public abstract class AggregatorBase extends Aggregator {
 
     @Override
     public final LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+        // docs of the previous segment must be collected before sub aggregators move to the next segment
+        flushPendingDocs();
         final LeafBucketCollector sub = collectableSubAggregators.getLeafCollector(ctx);
-        return getLeafCollector(ctx, sub);
+        final LeafBucketCollector collector = getLeafCollector(ctx, sub);
+        if (parent != null || collector == LeafBucketCollector.NO_OP_COLLECTOR || needsScores()) {
+            return collector;
+        }
+        // top-level aggregators that don't need scores collect docs in blocks
+        if (bufferingCollector == null) {
+            bufferingCollector = new BufferingLeafBucketCollector();
+        }
+        bufferingCollector.reset(collector);
+        return bufferingCollector;
+    }
+
+    private void flushPendingDocs() throws IOException {
+        if (bufferingCollector != null) {
+            bufferingCollector.finish();
+        }
     }
 
     /**
@@ -237,6 +255,7 @@ public abstract class AggregatorBase extends Aggregator {
      */
     @Override
     public final void postCollection() throws IOException {
+        flushPendingDocs();
         // post-collect this agg before subs to make it possible to buffer and then replay in postCollection()
         doPostCollection();
         collectableSubAggregators.postCollection();
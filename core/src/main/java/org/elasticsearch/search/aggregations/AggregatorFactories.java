@@ -23,6 +23,7 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregatorBuilder;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregatorBuilder;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
@@ -113,6 +114,19 @@ public class AggregatorFactories {
         return pipelineAggregatorFactories.size();
     }
 
+    /**
+     * @return whether any of these aggregations, or of their sub-aggregations, may create several buckets for a single bucket
+     *         of their parent
+     */
+    public boolean hasMultiBucketAggregator() {
+        for (AggregatorFactory<?> factory : factories) {
+            if (factory.isMultiBucket() || factory.factories.hasMultiBucketAggregator()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void validate() {
         for (AggregatorFactory<?> factory : factories) {
             factory.validate();
@@ -156,6 +170,19 @@ public class AggregatorFactories {
             return this;
         }
 
+        /**
+         * Returns <code>true</code> if one of the aggregations must visit all documents of a shard, not only the ones
+         * that match the query, like the <code>global</code> aggregation.
+         */
+        public boolean mustVisitAllDocs() {
+            for (AggregatorBuilder<?> builder : aggregatorBuilders) {
+                if (builder instanceof GlobalAggregatorBuilder) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public AggregatorFactories build(AggregationContext context, AggregatorFactory<?> parent) throws IOException {
             if (aggregatorBuilders.isEmpty() && pipelineAggregatorBuilders.isEmpty()) {
                 return EMPTY;
@@ -103,6 +103,14 @@ public abstract class AggregatorFactory<AF extends AggregatorFactory<AF>> {
         return type.name();
     }
 
+    /**
+     * Whether the aggregators created by this factory may put the documents of a single owning bucket into several buckets of
+     * their own, like <code>terms</code> or <code>histogram</code> aggregators do.
+     */
+    public boolean isMultiBucket() {
+        return false;
+    }
+
     /**
      * Utility method. Given an {@link AggregatorFactory} that creates
      * {@link Aggregator}s that only know how to collect bucket <tt>0</tt>, this
@@ -110,122 +118,139 @@ public abstract class AggregatorFactory<AF extends AggregatorFactory<AF>> {
      */
     protected static Aggregator asMultiBucketAggregator(final AggregatorFactory<?> factory, final AggregationContext context,
             final Aggregator parent) throws IOException {
-        final Aggregator first = factory.create(parent, true);
-        final BigArrays bigArrays = context.bigArrays();
-        return new Aggregator() {
-
-            ObjectArray<Aggregator> aggregators;
-            ObjectArray<LeafBucketCollector> collectors;
-
-            {
-                context.searchContext().addReleasable(this, Lifetime.PHASE);
-                aggregators = bigArrays.newObjectArray(1);
-                aggregators.set(0, first);
-                collectors = bigArrays.newObjectArray(1);
-            }
+        return new MultiBucketAggregatorWrapper(factory, context, parent);
+    }
 
-            @Override
-            public String name() {
-                return first.name();
-            }
+    /**
+     * Collects any bucket by creating one aggregator per bucket.
+     */
+    static final class MultiBucketAggregatorWrapper extends Aggregator {
 
-            @Override
-            public AggregationContext context() {
-                return first.context();
-            }
+        private final AggregatorFactory<?> factory;
+        private final Aggregator parent;
+        private final Aggregator first;
+        private final BigArrays bigArrays;
+        private ObjectArray<Aggregator> aggregators;
+        private ObjectArray<LeafBucketCollector> collectors;
 
-            @Override
-            public Aggregator parent() {
-                return first.parent();
-            }
+        private MultiBucketAggregatorWrapper(AggregatorFactory<?> factory, AggregationContext context, Aggregator parent)
+                throws IOException {
+            this.factory = factory;
+            this.parent = parent;
+            this.first = factory.create(parent, true);
+            this.bigArrays = context.bigArrays();
+            context.searchContext().addReleasable(this, Lifetime.PHASE);
+            aggregators = bigArrays.newObjectArray(1);
+            aggregators.set(0, first);
+            collectors = bigArrays.newObjectArray(1);
+        }
 
-            @Override
-            public boolean needsScores() {
-                return first.needsScores();
-            }
+        /** The aggregator of the first bucket, which is created up front. */
+        Aggregator first() {
+            return first;
+        }
 
-            @Override
-            public Aggregator subAggregator(String name) {
-                throw new UnsupportedOperationException();
-            }
+        @Override
+        public String name() {
+            return first.name();
+        }
 
-            @Override
-            public void preCollection() throws IOException {
-                for (long i = 0; i < aggregators.size(); ++i) {
-                    final Aggregator aggregator = aggregators.get(i);
-                    if (aggregator != null) {
-                        aggregator.preCollection();
-                    }
+        @Override
+        public AggregationContext context() {
+            return first.context();
+        }
+
+        @Override
+        public Aggregator parent() {
+            return first.parent();
+        }
+
+        @Override
+        public boolean needsScores() {
+            return first.needsScores();
+        }
+
+        @Override
+        public Aggregator subAggregator(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void preCollection() throws IOException {
+            for (long i = 0; i < aggregators.size(); ++i) {
+                final Aggregator aggregator = aggregators.get(i);
+                if (aggregator != null) {
+                    aggregator.preCollection();
                 }
             }
+        }
 
-            @Override
-            public void postCollection() throws IOException {
-                for (long i = 0; i < aggregators.size(); ++i) {
-                    final Aggregator aggregator = aggregators.get(i);
-                    if (aggregator != null) {
-                        aggregator.postCollection();
-                    }
+        @Override
+        public void postCollection() throws IOException {
+            for (long i = 0; i < aggregators.size(); ++i) {
+                final Aggregator aggregator = aggregators.get(i);
+                if (aggregator != null) {
+                    aggregator.postCollection();
                 }
             }
+        }
+
+        @Override
+        public LeafBucketCollector getLeafCollector(final LeafReaderContext ctx) {
+            for (long i = 0; i < collectors.size(); ++i) {
+                collectors.set(i, null);
+            }
+            return new LeafBucketCollector() {
+                Scorer scorer;
 
-            @Override
-            public LeafBucketCollector getLeafCollector(final LeafReaderContext ctx) {
-                for (long i = 0; i < collectors.size(); ++i) {
-                    collectors.set(i, null);
+                @Override
+                public void setScorer(Scorer scorer) throws IOException {
+                    this.scorer = scorer;
                 }
-                return new LeafBucketCollector() {
-                    Scorer scorer;
 
-                    @Override
-                    public void setScorer(Scorer scorer) throws IOException {
-                        this.scorer = scorer;
-                    }
+                @Override
+                public void collect(int doc, long bucket) throws IOException {
+                    aggregators = bigArrays.grow(aggregators, bucket + 1);
+                    collectors = bigArrays.grow(collectors, bucket + 1);
 
-                    @Override
-                    public void collect(int doc, long bucket) throws IOException {
-                        aggregators = bigArrays.grow(aggregators, bucket + 1);
-                        collectors = bigArrays.grow(collectors, bucket + 1);
-
-                        LeafBucketCollector collector = collectors.get(bucket);
-                        if (collector == null) {
-                            Aggregator aggregator = aggregators.get(bucket);
-                            if (aggregator == null) {
-                                aggregator = factory.create(parent, true);
-                                aggregator.preCollection();
-                                aggregators.set(bucket, aggregator);
-                            }
-                            collector = aggregator.getLeafCollector(ctx);
-                            collector.setScorer(scorer);
-                            collectors.set(bucket, collector);
+                    LeafBucketCollector collector = collectors.get(bucket);
+                    if (collector == null) {
+                        Aggregator aggregator = aggregators.get(bucket);
+                        if (aggregator == null) {
+                            aggregator = factory.create(parent, true);
+                            aggregator.preCollection();
+                            aggregators.set(bucket, aggregator);
                         }
-                        collector.collect(doc, 0);
+                        collector = aggregator.getLeafCollector(ctx);
+                        collector.setScorer(scorer);
+                        collectors.set(bucket, collector);
                     }
+                    collector.collect(doc, 0);
+                }
 
-                };
-            }
+            };
+        }
 
-            @Override
-            public InternalAggregation buildAggregation(long bucket) throws IOException {
-                if (bucket < aggregators.size()) {
-                    Aggregator aggregator = aggregators.get(bucket);
-                    if (aggregator != null) {
-                        return aggregator.buildAggregation(0);
-                    }
+        @Override
+        public InternalAggregation buildAggregation(long bucket) throws IOException {
+            if (bucket < aggregators.size()) {
+                Aggregator aggregator = aggregators.get(bucket);
+                if (aggregator != null) {
+                    return aggregator.buildAggregation(0);
                 }
-                return buildEmptyAggregation();
             }
+            return buildEmptyAggregation();
+        }
 
-            @Override
-            public InternalAggregation buildEmptyAggregation() {
-                return first.buildEmptyAggregation();
-            }
+        @Override
+        public InternalAggregation buildEmptyAggregation() {
+            return first.buildEmptyAggregation();
+        }
 
-            @Override
-            public void close() {
-                Releasables.close(aggregators, collectors);
-            }
-        };
+        @Override
+        public void close() {
+            Releasables.close(aggregators, collectors);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -21,6 +21,7 @@ package org.elasticsearch.search.aggregations;
 
 
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.Collector;
 
 import java.io.IOException;
@@ -109,6 +110,45 @@ public abstract class BucketCollector implements Collector {
         }
     }
 
+    /**
+     * Wrap the given top-level collector so that it terminates the collection of segments it doesn't need to see any
+     * documents of, for instance because the aggregators computed their results from the terms dictionary. This must
+     * not be used for sub aggregators, which are fed by their parent rather than by the searcher.
+     */
+    public static BucketCollector terminateOnNoOpLeaves(BucketCollector collector) {
+        return new BucketCollector() {
+
+            @Override
+            public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+                final LeafBucketCollector leafCollector = collector.getLeafCollector(ctx);
+                if (leafCollector == LeafBucketCollector.NO_OP_COLLECTOR) {
+                    throw new CollectionTerminatedException();
+                }
+                return leafCollector;
+            }
+
+            @Override
+            public void preCollection() throws IOException {
+                collector.preCollection();
+            }
+
+            @Override
+            public void postCollection() throws IOException {
+                collector.postCollection();
+            }
+
+            @Override
+            public boolean needsScores() {
+                return collector.needsScores();
+            }
+
+            @Override
+            public String toString() {
+                return collector.toString();
+            }
+        };
+    }
+
     @Override
     public abstract LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException;
 
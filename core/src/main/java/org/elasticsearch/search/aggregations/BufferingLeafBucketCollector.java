@@ -0,0 +1,95 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Scorer;
+
+import java.io.IOException;
+
+/**
+ * A {@link LeafBucketCollector} that buffers the docs that are collected in bucket <code>0</code> and forwards
+ * them in blocks to {@link LeafBucketCollector#collect(int[], int, long)}. This is only safe for top-level
+ * aggregators that do not need scores, since documents are collected after the scorer moved past them. The
+ * pending block must be {@link #finish() finished} before moving to the next segment and before post-collection.
+ */
+final class BufferingLeafBucketCollector extends LeafBucketCollector {
+
+    static final int BLOCK_SIZE = 128;
+
+    private final int[] docs = new int[BLOCK_SIZE];
+    private int count;
+    private LeafBucketCollector in;
+
+    /**
+     * Flush pending docs and start buffering docs for the given collector.
+     */
+    void reset(LeafBucketCollector in) throws IOException {
+        finish();
+        this.in = in;
+    }
+
+    @Override
+    public void setScorer(Scorer scorer) throws IOException {
+        in.setScorer(scorer);
+    }
+
+    @Override
+    public void collect(int doc, long bucket) throws IOException {
+        if (bucket != 0) {
+            flush();
+            in.collect(doc, bucket);
+            return;
+        }
+        docs[count++] = doc;
+        if (count == BLOCK_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void collect(int[] docs, int count, long bucket) throws IOException {
+        flush();
+        in.collect(docs, count, bucket);
+    }
+
+    /**
+     * Forward pending docs to the wrapped collector.
+     */
+    private void flush() throws IOException {
+        if (count > 0) {
+            final int pending = count;
+            count = 0;
+            in.collect(docs, pending, 0);
+        }
+    }
+
+    /**
+     * Forward pending docs once the current segment is done. The wrapped collector may terminate collection while the last
+     * block is forwarded, but this must not propagate since the caller already moved on from the segment.
+     */
+    void finish() throws IOException {
+        try {
+            flush();
+        } catch (CollectionTerminatedException e) {
+            // the remaining docs of the segment are not needed
+        }
+    }
+}
@@ -18,12 +18,14 @@
  */
 package org.elasticsearch.search.aggregations;
 
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Streamable;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.xcontent.ToXContent;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentBuilderString;
@@ -37,6 +39,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
 
 /**
  * An internal implementation of {@link Aggregation}. Serves as a base class for all aggregation implementations.
@@ -94,10 +100,20 @@ public abstract class InternalAggregation implements Aggregation, ToXContent, St
 
         private final BigArrays bigArrays;
         private ScriptService scriptService;
+        private final Executor executor;
 
         public ReduceContext(BigArrays bigArrays, ScriptService scriptService) {
+            this(bigArrays, scriptService, null);
+        }
+
+        /**
+         * @param executor the executor to reduce independent parts of the aggregation tree on, or <tt>null</tt> to reduce
+         *                 everything on the calling thread
+         */
+        public ReduceContext(BigArrays bigArrays, ScriptService scriptService, @Nullable Executor executor) {
             this.bigArrays = bigArrays;
             this.scriptService = scriptService;
+            this.executor = executor;
         }
 
         public BigArrays bigArrays() {
@@ -107,6 +123,70 @@ public abstract class InternalAggregation implements Aggregation, ToXContent, St
         public ScriptService scriptService() {
             return scriptService;
         }
+
+        /**
+         * Returns <tt>true</tt> if {@link #reduceEach} may reduce the groups concurrently.
+         */
+        public boolean isParallel() {
+            return executor != null;
+        }
+
+        /**
+         * Applies the reducer to each of the given groups and returns the results in the order of the groups. If this context has
+         * an executor the groups are split into tasks of <code>groupsPerTask</code> groups each that are handed to the executor.
+         * The calling thread runs all tasks that haven't been picked up by the executor yet before it waits for the others, so
+         * this makes progress even if the executor is saturated or the reduce is nested in another parallel reduce.
+         */
+        public <T, R> List<R> reduceEach(List<T> groups, int groupsPerTask, Function<T, R> reducer) {
+            if (executor == null || groups.size() <= groupsPerTask) {
+                List<R> results = new ArrayList<>(groups.size());
+                for (T group : groups) {
+                    results.add(reducer.apply(group));
+                }
+                return results;
+            }
+            List<FutureTask<List<R>>> tasks = new ArrayList<>();
+            for (int from = 0; from < groups.size(); from += groupsPerTask) {
+                List<T> slice = groups.subList(from, Math.min(groups.size(), from + groupsPerTask));
+                tasks.add(new FutureTask<>(() -> {
+                    List<R> results = new ArrayList<>(slice.size());
+                    for (T group : slice) {
+                        results.add(reducer.apply(group));
+                    }
+                    return results;
+                }));
+            }
+            // the calling thread runs the first task in any case
+            for (int i = 1; i < tasks.size(); i++) {
+                try {
+                    executor.execute(tasks.get(i));
+                } catch (EsRejectedExecutionException e) {
+                    // the calling thread runs the task below
+                }
+            }
+            for (FutureTask<List<R>> task : tasks) {
+                // a no-op if another thread already started the task
+                task.run();
+            }
+            List<R> results = new ArrayList<>(groups.size());
+            for (FutureTask<List<R>> task : tasks) {
+                try {
+                    results.addAll(task.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AggregationExecutionException("interrupted while reducing aggregations", e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new AggregationExecutionException("failed to reduce aggregations", cause);
+                }
+            }
+            return results;
+        }
     }
 
 
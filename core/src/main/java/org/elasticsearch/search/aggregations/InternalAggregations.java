@@ -18,6 +18,7 @@
  */
 package org.elasticsearch.search.aggregations;
 
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -48,7 +49,8 @@ public class InternalAggregations implements Aggregations, ToXContent, Streamabl
 
     private List<InternalAggregation> aggregations = Collections.emptyList();
 
-    private Map<String, Aggregation> aggregationsAsMap;
+    // volatile as sibling pipeline aggregations might resolve their buckets paths concurrently
+    private volatile Map<String, Aggregation> aggregationsAsMap;
 
     private InternalAggregations() {
     }
@@ -133,6 +135,25 @@ public class InternalAggregations implements Aggregations, ToXContent, Streamabl
      * @return                  The reduced addAggregation
      */
     public static InternalAggregations reduce(List<InternalAggregations> aggregationsList, ReduceContext context) {
+        return reduce(aggregationsList, context, false, null);
+    }
+
+    /**
+     * Reduces the given lists of top level addAggregation. Aggregations with different names are independent of each other
+     * and are reduced concurrently if the context allows it.
+     *
+     * @param aggregationsList  A list of aggregation to reduce
+     * @param reduceTimes       If not <tt>null</tt>, the time in nanoseconds it took to reduce each aggregation is put into
+     *                          this map, keyed by the name of the aggregation. The map must support concurrent updates.
+     * @return                  The reduced addAggregation
+     */
+    public static InternalAggregations reduceTopLevel(List<InternalAggregations> aggregationsList, ReduceContext context,
+                                                      @Nullable Map<String, Long> reduceTimes) {
+        return reduce(aggregationsList, context, true, reduceTimes);
+    }
+
+    private static InternalAggregations reduce(List<InternalAggregations> aggregationsList, ReduceContext context, boolean concurrently,
+                                               @Nullable Map<String, Long> reduceTimes) {
         if (aggregationsList.isEmpty()) {
             return null;
         }
@@ -153,12 +174,25 @@ public class InternalAggregations implements Aggregations, ToXContent, Streamabl
 
         // now we can use the first aggregation of each list to handle the reduce of its list
 
-        List<InternalAggregation> reducedAggregations = new ArrayList<>();
-        for (Map.Entry<String, List<InternalAggregation>> entry : aggByName.entrySet()) {
-            List<InternalAggregation> aggregations = entry.getValue();
-            InternalAggregation first = aggregations.get(0); // the list can't be empty as it's created on demand
-            reducedAggregations.add(first.reduce(aggregations, context));
+        // sub aggregations are reduced one after the other, their parent bucket aggregation reduces its buckets concurrently instead
+        List<List<InternalAggregation>> groups = new ArrayList<>(aggByName.values());
+        if (concurrently == false) {
+            List<InternalAggregation> reducedAggregations = new ArrayList<>(groups.size());
+            for (List<InternalAggregation> aggregations : groups) {
+                reducedAggregations.add(aggregations.get(0).reduce(aggregations, context));
+            }
+            return new InternalAggregations(reducedAggregations);
         }
+        List<InternalAggregation> reducedAggregations = context.reduceEach(groups, 1, aggregations -> {
+            InternalAggregation first = aggregations.get(0); // the list can't be empty as it's created on demand
+            if (reduceTimes == null) {
+                return first.reduce(aggregations, context);
+            }
+            long start = System.nanoTime();
+            InternalAggregation reduced = first.reduce(aggregations, context);
+            reduceTimes.put(first.getName(), System.nanoTime() - start);
+            return reduced;
+        });
         return new InternalAggregations(reducedAggregations);
     }
 
@@ -24,10 +24,16 @@ import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public abstract class InternalMultiBucketAggregation<A extends InternalMultiBucketAggregation, B extends InternalMultiBucketAggregation.InternalBucket>
         extends InternalAggregation implements MultiBucketsAggregation {
 
+    /**
+     * The number of groups of buckets that are reduced by a single task when buckets are reduced concurrently.
+     */
+    static final int REDUCE_BUCKETS_PER_TASK = 256;
+
     public InternalMultiBucketAggregation() {
     }
 
@@ -57,6 +63,17 @@ public abstract class InternalMultiBucketAggregation<A extends InternalMultiBuck
      */
     public abstract B createBucket(InternalAggregations aggregations, B prototype);
 
+    /**
+     * Reduces each of the given groups of buckets that share the same key and returns the results in the order of the groups.
+     * Reducing the buckets themselves is cheap, so the groups are only reduced concurrently if the buckets have sub aggregations.
+     */
+    protected static <T extends InternalBucket, R> List<R> reduceBucketGroups(List<List<T>> groups, ReduceContext reduceContext,
+                                                                              Function<List<T>, R> reducer) {
+        boolean hasSubAggregations = groups.isEmpty() == false && groups.get(0).get(0).getAggregations().iterator().hasNext();
+        int groupsPerTask = hasSubAggregations ? REDUCE_BUCKETS_PER_TASK : Math.max(1, groups.size());
+        return reduceContext.reduceEach(groups, groupsPerTask, reducer);
+    }
+
     @Override
     public Object getProperty(List<String> path) {
         if (path.isEmpty()) {
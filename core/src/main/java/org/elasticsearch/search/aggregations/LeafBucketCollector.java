@@ -68,6 +68,13 @@ public abstract class LeafBucketCollector implements LeafCollector {
                     }
                 }
 
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    for (LeafBucketCollector c : colls) {
+                        c.collect(docs, count, bucket);
+                    }
+                }
+
             };
         }
     }
@@ -77,6 +84,17 @@ public abstract class LeafBucketCollector implements LeafCollector {
      */
     public abstract void collect(int doc, long bucket) throws IOException;
 
+    /**
+     * Collect the first <code>count</code> docs of <code>docs</code> in the given bucket. Docs are sorted in
+     * increasing order. The default implementation calls {@link #collect(int, long)} for every doc, collectors
+     * that can amortize per-document work over a block of documents should override it.
+     */
+    public void collect(int[] docs, int count, long bucket) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            collect(docs[i], bucket);
+        }
+    }
+
     @Override
     public final void collect(int doc) throws IOException {
         collect(doc, 0);
@@ -60,6 +60,11 @@ public class FiltersAggregatorFactory extends AggregatorFactory<FiltersAggregato
         }
     }
 
+    @Override
+    public boolean isMultiBucket() {
+        return true;
+    }
+
     @Override
     public Aggregator createInternal(Aggregator parent, boolean collectsFromSingleBucket, List<PipelineAggregator> pipelineAggregators,
             Map<String, Object> metaData) throws IOException {
@@ -53,6 +53,11 @@ public class GeoHashGridAggregatorFactory extends ValuesSourceAggregatorFactory<
         this.shardSize = shardSize;
     }
 
+    @Override
+    public boolean isMultiBucket() {
+        return true;
+    }
+
     @Override
     protected Aggregator createUnmapped(Aggregator parent, List<PipelineAggregator> pipelineAggregators, Map<String, Object> metaData)
             throws IOException {
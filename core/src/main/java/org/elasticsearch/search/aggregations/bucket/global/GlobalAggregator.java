@@ -50,6 +50,13 @@ public class GlobalAggregator extends SingleBucketAggregator {
                 assert bucket == 0 : "global aggregator can only be a top level aggregator";
                 collectBucket(sub, doc, bucket);
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                assert bucket == 0 : "global aggregator can only be a top level aggregator";
+                incrementBucketDocCount(bucket, count);
+                sub.collect(docs, count, bucket);
+            }
         };
     }
 
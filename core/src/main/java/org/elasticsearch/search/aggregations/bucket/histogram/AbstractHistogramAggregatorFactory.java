@@ -66,6 +66,11 @@ public abstract class AbstractHistogramAggregatorFactory<AF extends AbstractHist
         return minDocCount;
     }
 
+    @Override
+    public boolean isMultiBucket() {
+        return true;
+    }
+
     @Override
     protected Aggregator createUnmapped(Aggregator parent, List<PipelineAggregator> pipelineAggregators, Map<String, Object> metaData)
             throws IOException {
@@ -35,6 +35,7 @@ import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
 import org.elasticsearch.search.aggregations.bucket.BucketsAggregator;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.aggregations.support.LongValuesBlock;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
 
 import java.io.IOException;
@@ -91,6 +92,7 @@ public class HistogramAggregator extends BucketsAggregator {
             return LeafBucketCollector.NO_OP_COLLECTOR;
         }
         final SortedNumericDocValues values = valuesSource.longValues(ctx);
+        final LongValuesBlock block = new LongValuesBlock(values);
         return new LeafBucketCollectorBase(sub, values) {
             @Override
             public void collect(int doc, long bucket) throws IOException {
@@ -116,6 +118,35 @@ public class HistogramAggregator extends BucketsAggregator {
                     previousKey = key;
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                assert bucket == 0;
+                final int valuesCount = block.read(docs, count);
+
+                int previousDoc = -1;
+                long previousKey = Long.MIN_VALUE;
+                for (int i = 0; i < valuesCount; ++i) {
+                    final int doc = block.doc(i);
+                    if (doc != previousDoc) {
+                        previousDoc = doc;
+                        previousKey = Long.MIN_VALUE;
+                    }
+                    long key = rounding.roundKey(block.value(i));
+                    assert key >= previousKey;
+                    if (key == previousKey) {
+                        continue;
+                    }
+                    long bucketOrd = bucketOrds.add(key);
+                    if (bucketOrd < 0) { // already seen
+                        bucketOrd = -1 - bucketOrd;
+                        collectExistingBucket(sub, doc, bucketOrd);
+                    } else {
+                        collectBucket(sub, doc, bucketOrd);
+                    }
+                    previousKey = key;
+                }
+            }
         };
     }
 
@@ -354,9 +354,9 @@ public class InternalHistogram<B extends InternalHistogram.Bucket> extends Inter
             }
         }
 
-        List<B> reducedBuckets = new ArrayList<>();
+        // lists of buckets coming from different shards that have the same key, in key order
+        List<List<B>> sameKeyBuckets = new ArrayList<>();
         if (pq.size() > 0) {
-            // list of buckets coming from different shards that have the same key
             List<B> currentBuckets = new ArrayList<>();
             long key = pq.top().current.key;
 
@@ -364,12 +364,9 @@ public class InternalHistogram<B extends InternalHistogram.Bucket> extends Inter
                 final IteratorAndCurrent<B> top = pq.top();
 
                 if (top.current.key != key) {
-                    // the key changes, reduce what we already buffered and reset the buffer for current buckets
-                    final B reduced = currentBuckets.get(0).reduce(currentBuckets, reduceContext);
-                    if (reduced.getDocCount() >= minDocCount) {
-                        reducedBuckets.add(reduced);
-                    }
-                    currentBuckets.clear();
+                    // the key changes, buffer the buckets for the current key
+                    sameKeyBuckets.add(currentBuckets);
+                    currentBuckets = new ArrayList<>();
                     key = top.current.key;
                 }
 
@@ -386,13 +383,16 @@ public class InternalHistogram<B extends InternalHistogram.Bucket> extends Inter
             } while (pq.size() > 0);
 
             if (currentBuckets.isEmpty() == false) {
-                final B reduced = currentBuckets.get(0).reduce(currentBuckets, reduceContext);
-                if (reduced.getDocCount() >= minDocCount) {
-                    reducedBuckets.add(reduced);
-                }
+                sameKeyBuckets.add(currentBuckets);
             }
         }
 
+        List<B> reducedBuckets = new ArrayList<>(sameKeyBuckets.size());
+        for (B reduced : reduceBucketGroups(sameKeyBuckets, reduceContext, buckets -> buckets.get(0).reduce(buckets, reduceContext))) {
+            if (reduced.getDocCount() >= minDocCount) {
+                reducedBuckets.add(reduced);
+            }
+        }
         return reducedBuckets;
     }
 
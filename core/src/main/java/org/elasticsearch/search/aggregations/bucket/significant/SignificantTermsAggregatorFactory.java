@@ -150,6 +150,11 @@ public class SignificantTermsAggregatorFactory extends ValuesSourceAggregatorFac
         return getBackgroundFrequency(indexedVal);
     }
 
+    @Override
+    public boolean isMultiBucket() {
+        return true;
+    }
+
     @Override
     protected Aggregator createUnmapped(Aggregator parent, List<PipelineAggregator> pipelineAggregators, Map<String, Object> metaData)
             throws IOException {
@@ -20,15 +20,19 @@
 package org.elasticsearch.search.aggregations.bucket.terms;
 
 import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.RandomAccessOrds;
 import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.LongBitSet;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.lease.Releasables;
+import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.common.util.IntArray;
 import org.elasticsearch.common.util.LongHash;
 import org.elasticsearch.common.xcontent.XContentBuilder;
@@ -47,6 +51,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.support.IncludeExclude
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
+import org.elasticsearch.search.internal.SearchContext;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -71,6 +76,11 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
 
     protected RandomAccessOrds globalOrds;
 
+    /**
+     * The field to read the doc counts of whole segments from, or <code>null</code> if documents need to be collected.
+     */
+    private final String termsDictionaryField;
+
     public GlobalOrdinalsStringTermsAggregator(String name, AggregatorFactories factories, ValuesSource.Bytes.WithOrdinals valuesSource,
            Terms.Order order, DocValueFormat format, BucketCountThresholds bucketCountThresholds,
            IncludeExclude.OrdinalsFilter includeExclude, AggregationContext aggregationContext, Aggregator parent,
@@ -80,6 +90,23 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 pipelineAggregators, metaData);
         this.valuesSource = valuesSource;
         this.includeExclude = includeExclude;
+        this.termsDictionaryField = termsDictionaryField(valuesSource, aggregationContext.searchContext(), parent, subAggregators);
+    }
+
+    /**
+     * Returns the field whose terms dictionary holds the doc counts of the buckets, which is the case for top-level aggregators
+     * without sub aggregations on a plain field if every document of the shard matches, or <code>null</code> otherwise.
+     */
+    static String termsDictionaryField(ValuesSource.Bytes.WithOrdinals valuesSource, SearchContext searchContext, Aggregator parent,
+            Aggregator[] subAggregators) {
+        if (parent != null || subAggregators.length > 0 || valuesSource instanceof ValuesSource.Bytes.WithOrdinals.FieldData == false) {
+            return null;
+        }
+        if (Queries.isConstantMatchAllQuery(searchContext.query()) == false || searchContext.minimumScore() != null
+                || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER) {
+            return null;
+        }
+        return ((ValuesSource.Bytes.WithOrdinals.FieldData) valuesSource).fieldName();
     }
 
     protected long getBucketOrd(long termOrd) {
@@ -96,6 +123,11 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             acceptedGlobalOrdinals = includeExclude.acceptedGlobalOrdinals(globalOrds, valuesSource);
         }
 
+        if (countFromTermsDictionary(ctx, globalOrds)) {
+            // terms that are excluded are counted too, but skipped when building the buckets
+            return LeafBucketCollector.NO_OP_COLLECTOR;
+        }
+
         if (acceptedGlobalOrdinals != null) {
             globalOrds = new FilteredOrdinals(globalOrds, acceptedGlobalOrdinals);
         }
@@ -103,6 +135,67 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         return newCollector(globalOrds, sub);
     }
 
+    /**
+     * Adds the doc counts of all terms of the segment as recorded in the terms dictionary of the field, so that none of its
+     * documents need to be collected. This only works if the terms dictionary holds exactly the terms of the ordinals, which
+     * is checked by comparing their number. The terms dictionary still counts deleted documents, so their ordinals are
+     * subtracted again, which is only worth it as long as most documents of the segment are live.
+     *
+     * @return whether the segment was counted, or <code>false</code> if its documents need to be collected
+     */
+    protected boolean countFromTermsDictionary(LeafReaderContext ctx, RandomAccessOrds globalOrds) throws IOException {
+        if (termsDictionaryField == null) {
+            return false;
+        }
+        final LeafReader reader = ctx.reader();
+        if (reader.numDeletedDocs() > reader.numDocs()) {
+            return false;
+        }
+        final org.apache.lucene.index.Terms terms = reader.terms(termsDictionaryField);
+        if (terms == null) {
+            return false;
+        }
+        final RandomAccessOrds segmentOrds = valuesSource.ordinalsValues(ctx);
+        if (terms.size() != segmentOrds.getValueCount()) {
+            // e.g. the field isn't indexed or its fielddata is filtered
+            return false;
+        }
+        final GlobalOrdinalMapping mapping;
+        if (globalOrds.getValueCount() == segmentOrds.getValueCount()) {
+            mapping = null;
+        } else {
+            mapping = (GlobalOrdinalMapping) globalOrds;
+        }
+        grow(globalOrds.getValueCount());
+        final TermsEnum termsEnum = terms.iterator();
+        long segmentOrd = 0;
+        for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next(), segmentOrd++) {
+            assert term.equals(segmentOrds.lookupOrd(segmentOrd));
+            incrementGlobalOrdDocCount(mapping == null ? segmentOrd : mapping.getGlobalOrd(segmentOrd), termsEnum.docFreq());
+        }
+        final Bits liveDocs = reader.getLiveDocs();
+        if (liveDocs != null) {
+            for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                if (liveDocs.get(doc) == false) {
+                    segmentOrds.setDocument(doc);
+                    final int numOrds = segmentOrds.cardinality();
+                    for (int i = 0; i < numOrds; i++) {
+                        final long ord = segmentOrds.ordAt(i);
+                        incrementGlobalOrdDocCount(mapping == null ? ord : mapping.getGlobalOrd(ord), -1);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds <code>inc</code> documents to the bucket of the given global ordinal.
+     */
+    protected void incrementGlobalOrdDocCount(long globalOrd, int inc) {
+        incrementBucketDocCount(globalOrd, inc);
+    }
+
     protected LeafBucketCollector newCollector(final RandomAccessOrds ords, final LeafBucketCollector sub) {
         grow(ords.getValueCount());
         final SortedDocValues singleValues = DocValues.unwrapSingleton(ords);
@@ -116,6 +209,17 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                         collectExistingBucket(sub, doc, ord);
                     }
                 }
+
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    assert bucket == 0;
+                    for (int i = 0; i < count; ++i) {
+                        final int ord = singleValues.getOrd(docs[i]);
+                        if (ord >= 0) {
+                            collectExistingBucket(sub, docs[i], ord);
+                        }
+                    }
+                }
             };
         } else {
             return new LeafBucketCollectorBase(sub, ords) {
@@ -316,6 +420,17 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             }
         }
 
+        @Override
+        protected void incrementGlobalOrdDocCount(long globalOrd, int inc) {
+            long bucketOrd = bucketOrds.add(globalOrd);
+            if (bucketOrd < 0) {
+                bucketOrd = -1 - bucketOrd;
+            } else {
+                grow(bucketOrd + 1);
+            }
+            incrementBucketDocCount(bucketOrd, inc);
+        }
+
         @Override
         protected long getBucketOrd(long termOrd) {
             return bucketOrds.find(termOrd);
@@ -389,6 +504,10 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             }
 
             globalOrds = valuesSource.globalOrdinalsValues(ctx);
+            if (countFromTermsDictionary(ctx, globalOrds)) {
+                segmentOrds = null;
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
             segmentOrds = valuesSource.ordinalsValues(ctx);
             return newCollector(segmentOrds, sub);
         }
@@ -218,8 +218,9 @@ public abstract class InternalTerms<A extends InternalTerms, B extends InternalT
 
         final int size = Math.min(requiredSize, buckets.size());
         BucketPriorityQueue ordered = new BucketPriorityQueue(size, order.comparator(null));
-        for (List<Bucket> sameTermBuckets : buckets.values()) {
-            final Bucket b = sameTermBuckets.get(0).reduce(sameTermBuckets, reduceContext);
+        List<Bucket> reducedBuckets = reduceBucketGroups(new ArrayList<>(buckets.values()), reduceContext,
+                sameTermBuckets -> sameTermBuckets.get(0).reduce(sameTermBuckets, reduceContext));
+        for (Bucket b : reducedBuckets) {
             if (b.docCountError != -1) {
                 if (sumDocCountError == -1) {
                     b.docCountError = -1;
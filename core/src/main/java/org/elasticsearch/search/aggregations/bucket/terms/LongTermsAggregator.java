@@ -33,6 +33,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.support.IncludeExclude
 import org.elasticsearch.search.aggregations.bucket.terms.support.IncludeExclude.LongFilter;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.aggregations.support.LongValuesBlock;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
 
 import java.io.IOException;
@@ -75,6 +76,7 @@ public class LongTermsAggregator extends TermsAggregator {
     public LeafBucketCollector getLeafCollector(LeafReaderContext ctx,
             final LeafBucketCollector sub) throws IOException {
         final SortedNumericDocValues values = getValues(valuesSource, ctx);
+        final LongValuesBlock block = new LongValuesBlock(values);
         return new LeafBucketCollectorBase(sub, values) {
             @Override
             public void collect(int doc, long owningBucketOrdinal) throws IOException {
@@ -100,6 +102,33 @@ public class LongTermsAggregator extends TermsAggregator {
                     }
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long owningBucketOrdinal) throws IOException {
+                assert owningBucketOrdinal == 0;
+                final int valuesCount = block.read(docs, count);
+
+                int previousDoc = -1;
+                long previous = Long.MAX_VALUE;
+                for (int i = 0; i < valuesCount; ++i) {
+                    final int doc = block.doc(i);
+                    final long val = block.value(i);
+                    if (previous != val || previousDoc != doc) {
+                        if ((longFilter == null) || (longFilter.accept(val))) {
+                            long bucketOrdinal = bucketOrds.add(val);
+                            if (bucketOrdinal < 0) { // already seen
+                                bucketOrdinal = - 1 - bucketOrdinal;
+                                collectExistingBucket(sub, doc, bucketOrdinal);
+                            } else {
+                                collectBucket(sub, doc, bucketOrdinal);
+                            }
+                        }
+
+                        previous = val;
+                        previousDoc = doc;
+                    }
+                }
+            }
         };
     }
 
@@ -178,6 +178,11 @@ public abstract class TermsAggregator extends BucketsAggregator {
     protected final Terms.Order order;
     protected final Set<Aggregator> aggsUsedForSorting = new HashSet<>();
     protected final SubAggCollectionMode collectMode;
+    /**
+     * The number of buckets the factory expected this aggregator to create when it picked the collect mode, or -1 if the
+     * collect mode was set on the request or the number of buckets is unknown
+     */
+    private long estimatedBuckets = -1;
 
     public TermsAggregator(String name, AggregatorFactories factories, AggregationContext context, Aggregator parent,
             BucketCountThresholds bucketCountThresholds, Terms.Order order, DocValueFormat format, SubAggCollectionMode collectMode,
@@ -202,6 +207,24 @@ public abstract class TermsAggregator extends BucketsAggregator {
         }
     }
 
+    /**
+     * @return the mode used to collect the sub aggregations, which may have been picked based on the expected number of buckets
+     */
+    public SubAggCollectionMode collectMode() {
+        return collectMode;
+    }
+
+    void setEstimatedBuckets(long estimatedBuckets) {
+        this.estimatedBuckets = estimatedBuckets;
+    }
+
+    /**
+     * @return the number of buckets the collect mode was picked for, or -1 if it wasn't picked based on an estimate
+     */
+    public long estimatedBuckets() {
+        return estimatedBuckets;
+    }
+
     @Override
     protected boolean shouldDefer(Aggregator aggregator) {
         return collectMode == SubAggCollectionMode.BREADTH_FIRST
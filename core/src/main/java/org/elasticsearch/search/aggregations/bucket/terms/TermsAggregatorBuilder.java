@@ -18,6 +18,7 @@
  */
 package org.elasticsearch.search.aggregations.bucket.terms;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.ParseField;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -62,7 +63,7 @@ public class TermsAggregatorBuilder extends ValuesSourceAggregatorBuilder<Values
     private Terms.Order order = Terms.Order.compound(Terms.Order.count(false), Terms.Order.term(true));
     private IncludeExclude includeExclude = null;
     private String executionHint = null;
-    private SubAggCollectionMode collectMode = SubAggCollectionMode.DEPTH_FIRST;
+    private SubAggCollectionMode collectMode = null;
     private TermsAggregator.BucketCountThresholds bucketCountThresholds = new TermsAggregator.BucketCountThresholds(
             DEFAULT_BUCKET_COUNT_THRESHOLDS);
     private boolean showTermDocCountError = false;
@@ -192,7 +193,7 @@ public class TermsAggregatorBuilder extends ValuesSourceAggregatorBuilder<Values
     }
 
     /**
-     * Expert: get the collection mode.
+     * Expert: get the collection mode, or <tt>null</tt> if it is picked per shard based on the expected number of buckets.
      */
     public SubAggCollectionMode collectMode() {
         return collectMode;
@@ -244,7 +245,9 @@ public class TermsAggregatorBuilder extends ValuesSourceAggregatorBuilder<Values
         }
         builder.field(ORDER_FIELD.getPreferredName());
         order.toXContent(builder, params);
-        builder.field(SubAggCollectionMode.KEY.getPreferredName(), collectMode.parseField().getPreferredName());
+        if (collectMode != null) {
+            builder.field(SubAggCollectionMode.KEY.getPreferredName(), collectMode.parseField().getPreferredName());
+        }
         if (includeExclude != null) {
             includeExclude.toXContent(builder, params);
         }
@@ -256,7 +259,11 @@ public class TermsAggregatorBuilder extends ValuesSourceAggregatorBuilder<Values
             ValueType targetValueType, StreamInput in) throws IOException {
         TermsAggregatorBuilder factory = new TermsAggregatorBuilder(name, targetValueType);
         factory.bucketCountThresholds = BucketCountThresholds.readFromStream(in);
-        factory.collectMode = SubAggCollectionMode.BREADTH_FIRST.readFrom(in);
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            factory.collectMode = in.readOptionalWriteable(SubAggCollectionMode.BREADTH_FIRST::readFrom);
+        } else {
+            factory.collectMode = SubAggCollectionMode.BREADTH_FIRST.readFrom(in);
+        }
         factory.executionHint = in.readOptionalString();
         if (in.readBoolean()) {
             factory.includeExclude = IncludeExclude.readFromStream(in);
@@ -269,7 +276,12 @@ public class TermsAggregatorBuilder extends ValuesSourceAggregatorBuilder<Values
     @Override
     protected void innerWriteTo(StreamOutput out) throws IOException {
         bucketCountThresholds.writeTo(out);
-        collectMode.writeTo(out);
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeOptionalWriteable(collectMode);
+        } else {
+            // older nodes always expect a collect mode and do not pick one themselves, depth_first was their default
+            (collectMode == null ? SubAggCollectionMode.DEPTH_FIRST : collectMode).writeTo(out);
+        }
         out.writeOptionalString(executionHint);
         boolean hasIncExc = includeExclude != null;
         out.writeBoolean(hasIncExc);
@@ -46,6 +46,12 @@ import java.util.Map;
 
 public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory<ValuesSource, TermsAggregatorFactory> {
 
+    /**
+     * How many times more buckets than <code>shard_size</code> a terms aggregation must expect to create before it defers its
+     * sub aggregations when the request doesn't set a collect mode
+     */
+    static final int BREADTH_FIRST_BUCKETS_RATIO = 10;
+
     private final Terms.Order order;
     private final IncludeExclude includeExclude;
     private final String executionHint;
@@ -66,6 +72,11 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory<Values
         this.showTermDocCountError = showTermDocCountError;
     }
 
+    @Override
+    public boolean isMultiBucket() {
+        return true;
+    }
+
     @Override
     protected Aggregator createUnmapped(Aggregator parent, List<PipelineAggregator> pipelineAggregators, Map<String, Object> metaData)
             throws IOException {
@@ -151,8 +162,15 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory<Values
                 }
             }
 
-            return execution.create(name, factories, valuesSource, order, config.format(), bucketCountThresholds, includeExclude, context, parent,
-                    collectMode, showTermDocCountError, pipelineAggregators, metaData);
+            final long estimatedBuckets = collectMode == null ? estimateBuckets(maxOrd) : -1;
+            final SubAggCollectionMode subAggCollectMode = collectMode(bucketCountThresholds, estimatedBuckets);
+            Aggregator aggregator = execution.create(name, factories, valuesSource, order, config.format(), bucketCountThresholds,
+                    includeExclude, context, parent, subAggCollectMode, showTermDocCountError, pipelineAggregators, metaData);
+            if (estimatedBuckets != -1 && aggregator instanceof TermsAggregator) {
+                // shows up in the profile
+                ((TermsAggregator) aggregator).setEstimatedBuckets(estimatedBuckets);
+            }
+            return aggregator;
         }
 
         if ((includeExclude != null) && (includeExclude.isRegexBased())) {
@@ -161,27 +179,77 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory<Values
         }
 
         if (valuesSource instanceof ValuesSource.Numeric) {
+            // the cardinality of numeric fields isn't known up front
+            final SubAggCollectionMode subAggCollectMode = collectMode(bucketCountThresholds, -1);
             IncludeExclude.LongFilter longFilter = null;
             if (((ValuesSource.Numeric) valuesSource).isFloatingPoint()) {
                 if (includeExclude != null) {
                     longFilter = includeExclude.convertToDoubleFilter();
                 }
-                return new DoubleTermsAggregator(name, factories, (ValuesSource.Numeric) valuesSource, config.format(), order,
-                        bucketCountThresholds, context, parent, collectMode, showTermDocCountError, longFilter,
+                return new DoubleTermsAggregator(name, factories, (ValuesSource.Numeric) valuesSource, config.format(),
+                        order, bucketCountThresholds, context, parent, subAggCollectMode, showTermDocCountError, longFilter,
                         pipelineAggregators, metaData);
             }
             if (includeExclude != null) {
                 longFilter = includeExclude.convertToLongFilter();
             }
-            return new LongTermsAggregator(name, factories, (ValuesSource.Numeric) valuesSource, config.format(), order,
-                    bucketCountThresholds, context, parent, collectMode, showTermDocCountError, longFilter, pipelineAggregators,
-                    metaData);
+            return new LongTermsAggregator(name, factories, (ValuesSource.Numeric) valuesSource, config.format(),
+                    order, bucketCountThresholds, context, parent, subAggCollectMode, showTermDocCountError, longFilter,
+                    pipelineAggregators, metaData);
         }
 
         throw new AggregationExecutionException("terms aggregation cannot be applied to field [" + config.fieldContext().field()
                 + "]. It can only be applied to numeric or string fields.");
     }
 
+    /**
+     * Estimates the number of buckets this aggregator creates on the shard from the number of unique values of the field,
+     * bounded by the number of documents of the shard. Returns -1 if the collect mode doesn't matter as no sub aggregation
+     * creates buckets of its own, or if there is no searcher to estimate from.
+     */
+    private long estimateBuckets(long maxOrd) {
+        if (maxOrd < 0 || factories.hasMultiBucketAggregator() == false) {
+            return -1;
+        }
+        final IndexSearcher searcher = context.searchContext().searcher();
+        if (searcher == null) {
+            // the aggregator isn't used to search, e.g. it is only inspected
+            return -1;
+        }
+        return Math.min(maxOrd, searcher.getIndexReader().numDocs());
+    }
+
+    /**
+     * Returns the collect mode of the request or, if it didn't set one, picks the collect mode based on the estimated number of
+     * buckets.
+     */
+    private SubAggCollectionMode collectMode(BucketCountThresholds bucketCountThresholds, long estimatedBuckets) {
+        if (collectMode != null) {
+            return collectMode;
+        }
+        return subAggCollectionMode(bucketCountThresholds.getShardSize(), estimatedBuckets);
+    }
+
+    /**
+     * Picks the collect mode of the sub aggregations. Collecting the sub aggregations of all buckets in a single pass is cheapest
+     * as long as a good share of the buckets make it into the shard response: deferring them means buffering the matching
+     * documents and replaying them in a second pass. But when sub aggregations create buckets of their own, computing them for
+     * far more buckets than the <code>shard_size</code> buckets that are returned makes the number of buckets explode, so it is
+     * cheaper to defer them to a second pass over the documents of the top buckets only.
+     *
+     * @param shardSize         the number of buckets returned by the shard
+     * @param estimatedBuckets  the estimated number of buckets created on the shard, or -1 if it is unknown or if no sub
+     *                          aggregation creates buckets
+     */
+    static SubAggCollectionMode subAggCollectionMode(int shardSize, long estimatedBuckets) {
+        if (estimatedBuckets == -1 || shardSize == Integer.MAX_VALUE) {
+            // the number of buckets is unknown or doesn't matter, or all buckets are returned anyway
+            return SubAggCollectionMode.DEPTH_FIRST;
+        }
+        return estimatedBuckets / BREADTH_FIRST_BUCKETS_RATIO > shardSize ? SubAggCollectionMode.BREADTH_FIRST
+                : SubAggCollectionMode.DEPTH_FIRST;
+    }
+
     public enum ExecutionMode {
 
         MAP(new ParseField("map")) {
@@ -31,6 +31,7 @@ import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
 import org.elasticsearch.search.aggregations.metrics.NumericMetricsAggregator;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.aggregations.support.DoubleValuesBlock;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
 
 import java.io.IOException;
@@ -70,6 +71,7 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
         }
         final BigArrays bigArrays = context.bigArrays();
         final SortedNumericDoubleValues values = valuesSource.doubleValues(ctx);
+        final DoubleValuesBlock block = new DoubleValuesBlock(values);
         return new LeafBucketCollectorBase(sub, values) {
             @Override
             public void collect(int doc, long bucket) throws IOException {
@@ -82,6 +84,17 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
                 }
                 sums.increment(bucket, sum);
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                sums = bigArrays.grow(sums, bucket + 1);
+                final int valuesCount = block.read(docs, count);
+                double sum = 0;
+                for (int i = 0; i < valuesCount; i++) {
+                    sum += block.value(i);
+                }
+                sums.increment(bucket, sum);
+            }
         };
     }
 
@@ -0,0 +1,103 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.support;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.Bits;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
+import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
+
+/**
+ * Decodes the values of a block of documents from {@link SortedNumericDoubleValues} at once. Single-valued
+ * fields are read through their {@link NumericDoubleValues} view, which avoids the per-document
+ * {@link SortedNumericDoubleValues#setDocument(int)}/{@link SortedNumericDoubleValues#count()} round trip.
+ */
+public final class DoubleValuesBlock {
+
+    private final SortedNumericDoubleValues values;
+    private final NumericDoubleValues singleton;
+    private final Bits docsWithField;
+
+    private double[] buffer = new double[0];
+    private int[] docs = new int[0];
+
+    public DoubleValuesBlock(SortedNumericDoubleValues values) {
+        this.values = values;
+        this.singleton = FieldData.unwrapSingleton(values);
+        this.docsWithField = singleton == null ? null : FieldData.unwrapSingletonBits(values);
+    }
+
+    /**
+     * Read the values of the first <code>count</code> documents of <code>docIds</code>, which must be sorted in
+     * increasing order, and return the number of values that have been read. Values of a same document are
+     * contiguous and sorted.
+     */
+    public int read(int[] docIds, int count) {
+        int size = 0;
+        if (singleton != null) {
+            grow(count);
+            for (int i = 0; i < count; ++i) {
+                final int doc = docIds[i];
+                final double value = singleton.get(doc);
+                if (value == 0 && docsWithField != null && docsWithField.get(doc) == false) {
+                    continue;
+                }
+                buffer[size] = value;
+                docs[size] = doc;
+                ++size;
+            }
+        } else {
+            for (int i = 0; i < count; ++i) {
+                final int doc = docIds[i];
+                values.setDocument(doc);
+                final int valueCount = values.count();
+                grow(size + valueCount);
+                for (int j = 0; j < valueCount; ++j) {
+                    buffer[size] = values.valueAt(j);
+                    docs[size] = doc;
+                    ++size;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Return the <code>index</code>-th value that has been read by the last call to {@link #read(int[], int)}.
+     */
+    public double value(int index) {
+        return buffer[index];
+    }
+
+    /**
+     * Return the document that the <code>index</code>-th value belongs to.
+     */
+    public int doc(int index) {
+        return docs[index];
+    }
+
+    private void grow(int minSize) {
+        if (buffer.length < minSize) {
+            buffer = ArrayUtil.grow(buffer, minSize);
+            docs = ArrayUtil.grow(docs, buffer.length);
+        }
+    }
+}
@@ -31,18 +31,25 @@ import org.apache.lucene.search.TermStatistics;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
 import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.collect.HppcMaps;
 import org.elasticsearch.common.component.AbstractComponent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.AtomicArray;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.script.ScriptService;
+import org.elasticsearch.search.aggregations.Aggregation;
 import org.elasticsearch.search.aggregations.InternalAggregation;
 import org.elasticsearch.search.aggregations.InternalAggregation.ReduceContext;
 import org.elasticsearch.search.aggregations.InternalAggregations;
 import org.elasticsearch.search.aggregations.pipeline.SiblingPipelineAggregator;
+import org.elasticsearch.search.aggregations.support.AggregationPath;
 import org.elasticsearch.search.dfs.AggregatedDfs;
 import org.elasticsearch.search.dfs.DfsSearchResult;
 import org.elasticsearch.search.fetch.FetchSearchResult;
@@ -52,19 +59,21 @@ import org.elasticsearch.search.internal.InternalSearchHits;
 import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.search.profile.InternalProfileShardResults;
 import org.elasticsearch.search.profile.ProfileShardResult;
+import org.elasticsearch.search.profile.ReduceProfileResult;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.search.query.QuerySearchResultProvider;
 import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -84,15 +93,33 @@ public class SearchPhaseController extends AbstractComponent {
 
     public static final ScoreDoc[] EMPTY_DOCS = new ScoreDoc[0];
 
+    /**
+     * Whether independent aggregations and large sets of buckets are reduced concurrently on the search_reduce thread pool
+     */
+    public static final Setting<Boolean> PARALLEL_REDUCE_SETTING =
+        Setting.boolSetting("search.aggs.parallel_reduce", true, Property.Dynamic, Property.NodeScope);
+
     private final BigArrays bigArrays;
 
     private ScriptService scriptService;
 
+    private final Executor reduceExecutor;
+
+    private volatile boolean parallelReduce;
+
     @Inject
-    public SearchPhaseController(Settings settings, BigArrays bigArrays, ScriptService scriptService) {
+    public SearchPhaseController(Settings settings, ClusterSettings clusterSettings, BigArrays bigArrays, ScriptService scriptService,
+                                 ThreadPool threadPool) {
         super(settings);
         this.bigArrays = bigArrays;
         this.scriptService = scriptService;
+        this.reduceExecutor = threadPool.executor(ThreadPool.Names.SEARCH_REDUCE);
+        this.parallelReduce = PARALLEL_REDUCE_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(PARALLEL_REDUCE_SETTING, this::setParallelReduce);
+    }
+
+    private void setParallelReduce(boolean parallelReduce) {
+        this.parallelReduce = parallelReduce;
     }
 
     public AggregatedDfs aggregateDfs(AtomicArray<DfsSearchResult> results) {
@@ -389,47 +416,105 @@ public class SearchPhaseController extends AbstractComponent {
             suggest = hasSuggestions ? new Suggest(Suggest.reduce(groupedSuggestions)) : null;
         }
 
+        final boolean profile = !queryResults.isEmpty() && firstResult.profileResults() != null;
+
         // merge addAggregation
         InternalAggregations aggregations = null;
+        ReduceProfileResult reduceProfileResult = null;
         if (!queryResults.isEmpty()) {
             if (firstResult.aggregations() != null && firstResult.aggregations().asList() != null) {
                 List<InternalAggregations> aggregationsList = new ArrayList<>(queryResults.size());
                 for (AtomicArray.Entry<? extends QuerySearchResultProvider> entry : queryResults) {
                     aggregationsList.add((InternalAggregations) entry.value.queryResult().aggregations());
                 }
-                aggregations = InternalAggregations.reduce(aggregationsList, new ReduceContext(bigArrays, scriptService));
+                ReduceContext reduceContext = new ReduceContext(bigArrays, scriptService, parallelReduce ? reduceExecutor : null);
+                Map<String, Long> reduceTimes = profile ? ConcurrentCollections.newConcurrentMap() : null;
+                long reduceStart = System.nanoTime();
+                aggregations = InternalAggregations.reduceTopLevel(aggregationsList, reduceContext, reduceTimes);
+                List<SiblingPipelineAggregator> pipelineAggregators = firstResult.pipelineAggregators();
+                if (pipelineAggregators != null) {
+                    aggregations = reduceSiblingPipelineAggregators(aggregations, pipelineAggregators, reduceContext, reduceTimes);
+                }
+                if (profile) {
+                    reduceProfileResult = new ReduceProfileResult(System.nanoTime() - reduceStart, reduceTimes);
+                }
             }
         }
 
         //Collect profile results
         InternalProfileShardResults shardResults = null;
-        if (!queryResults.isEmpty() && firstResult.profileResults() != null) {
+        if (profile) {
             Map<String, List<ProfileShardResult>> profileResults = new HashMap<>(queryResults.size());
             for (AtomicArray.Entry<? extends QuerySearchResultProvider> entry : queryResults) {
                 String key = entry.value.queryResult().shardTarget().toString();
                 profileResults.put(key, entry.value.queryResult().profileResults());
             }
-            shardResults = new InternalProfileShardResults(profileResults);
+            shardResults = new InternalProfileShardResults(profileResults, reduceProfileResult);
         }
 
-        if (aggregations != null) {
-            List<SiblingPipelineAggregator> pipelineAggregators = firstResult.pipelineAggregators();
-            if (pipelineAggregators != null) {
-                List<InternalAggregation> newAggs = StreamSupport.stream(aggregations.spliterator(), false).map((p) -> {
-                    return (InternalAggregation) p;
-                }).collect(Collectors.toList());
-                for (SiblingPipelineAggregator pipelineAggregator : pipelineAggregators) {
-                    InternalAggregation newAgg = pipelineAggregator.doReduce(new InternalAggregations(newAggs), new ReduceContext(
-                            bigArrays, scriptService));
-                    newAggs.add(newAgg);
+        InternalSearchHits searchHits = new InternalSearchHits(hits.toArray(new InternalSearchHit[hits.size()]), totalHits, maxScore);
+
+        return new InternalSearchResponse(searchHits, aggregations, suggest, shardResults, timedOut, terminatedEarly);
+    }
+
+    /**
+     * Adds the results of the top level sibling pipeline aggregators to the reduced aggregations. The pipeline aggregators are
+     * ordered so that they come after the aggregators their buckets paths point to. Pipeline aggregators that don't depend on
+     * each other are reduced concurrently if the context allows it, each one seeing the aggregations and the results of the
+     * pipeline aggregators it depends on.
+     */
+    static InternalAggregations reduceSiblingPipelineAggregators(InternalAggregations aggregations,
+                                                                 List<SiblingPipelineAggregator> pipelineAggregators,
+                                                                 ReduceContext reduceContext, @Nullable Map<String, Long> reduceTimes) {
+        // the level of a pipeline aggregator is one more than the highest level of the pipeline aggregators it depends on
+        Map<String, Integer> levelsByName = new HashMap<>();
+        List<List<SiblingPipelineAggregator>> levels = new ArrayList<>();
+        for (SiblingPipelineAggregator pipelineAggregator : pipelineAggregators) {
+            int level = 0;
+            for (String bucketsPath : pipelineAggregator.bucketsPaths()) {
+                String firstAggName = AggregationPath.parse(bucketsPath).getPathElements().get(0).name;
+                Integer dependencyLevel = levelsByName.get(firstAggName);
+                if (dependencyLevel != null) {
+                    level = Math.max(level, dependencyLevel + 1);
                 }
-                aggregations = new InternalAggregations(newAggs);
             }
+            levelsByName.put(pipelineAggregator.name(), level);
+            if (level == levels.size()) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(pipelineAggregator);
         }
 
-        InternalSearchHits searchHits = new InternalSearchHits(hits.toArray(new InternalSearchHit[hits.size()]), totalHits, maxScore);
-
-        return new InternalSearchResponse(searchHits, aggregations, suggest, shardResults, timedOut, terminatedEarly);
+        List<InternalAggregation> newAggs = new ArrayList<>();
+        for (Aggregation aggregation : aggregations) {
+            newAggs.add((InternalAggregation) aggregation);
+        }
+        final int numAggs = newAggs.size();
+        Map<SiblingPipelineAggregator, InternalAggregation> results = new IdentityHashMap<>();
+        for (List<SiblingPipelineAggregator> level : levels) {
+            InternalAggregations previousLevels = new InternalAggregations(new ArrayList<>(newAggs));
+            // resolve the map up front, the pipeline aggregators of this level look it up concurrently
+            previousLevels.getAsMap();
+            List<InternalAggregation> levelResults = reduceContext.reduceEach(level, 1, pipelineAggregator -> {
+                if (reduceTimes == null) {
+                    return pipelineAggregator.doReduce(previousLevels, reduceContext);
+                }
+                long start = System.nanoTime();
+                InternalAggregation result = pipelineAggregator.doReduce(previousLevels, reduceContext);
+                reduceTimes.put(pipelineAggregator.name(), System.nanoTime() - start);
+                return result;
+            });
+            for (int i = 0; i < level.size(); i++) {
+                results.put(level.get(i), levelResults.get(i));
+            }
+            newAggs.addAll(levelResults);
+        }
+        // the results keep the order in which the pipeline aggregators were resolved
+        List<InternalAggregation> reduced = new ArrayList<>(newAggs.subList(0, numAggs));
+        for (SiblingPipelineAggregator pipelineAggregator : pipelineAggregators) {
+            reduced.add(results.get(pipelineAggregator));
+        }
+        return new InternalAggregations(reduced);
     }
 
 }
@@ -38,7 +38,7 @@ import java.util.Set;
  */
 public class LeafDocLookup implements Map {
 
-    private final Map<String, ScriptDocValues> localCacheFieldData = new HashMap<>(4);
+    private final Map<String, CachedScriptValues> localCacheFieldData = new HashMap<>(4);
 
     private final MapperService mapperService;
     private final IndexFieldDataService fieldDataService;
@@ -73,32 +73,37 @@ public class LeafDocLookup implements Map {
     public Object get(Object key) {
         // assume its a string...
         String fieldName = key.toString();
-        ScriptDocValues scriptValues = localCacheFieldData.get(fieldName);
-        if (scriptValues == null) {
+        CachedScriptValues cached = localCacheFieldData.get(fieldName);
+        if (cached == null) {
             final MappedFieldType fieldType = mapperService.fullName(fieldName);
             if (fieldType == null) {
                 throw new IllegalArgumentException("No field found for [" + fieldName + "] in mapping with types " + Arrays.toString(types) + "");
             }
             // load fielddata on behalf of the script: otherwise it would need additional permissions
             // to deal with pagedbytes/ramusagestimator/etc
-            scriptValues = AccessController.doPrivileged(new PrivilegedAction<ScriptDocValues>() {
+            ScriptDocValues scriptValues = AccessController.doPrivileged(new PrivilegedAction<ScriptDocValues>() {
                 @Override
                 public ScriptDocValues run() {
                     return fieldDataService.getForField(fieldType).load(reader).getScriptValues();
                 }
             });
-            localCacheFieldData.put(fieldName, scriptValues);
+            cached = new CachedScriptValues(scriptValues);
+            localCacheFieldData.put(fieldName, cached);
         }
-        scriptValues.setNextDocId(docId);
-        return scriptValues;
+        if (cached.docId != docId) {
+            // only position the values once per document, scripts often access the same field several times
+            cached.values.setNextDocId(docId);
+            cached.docId = docId;
+        }
+        return cached.values;
     }
 
     @Override
     public boolean containsKey(Object key) {
         // assume its a string...
         String fieldName = key.toString();
-        ScriptDocValues scriptValues = localCacheFieldData.get(fieldName);
-        if (scriptValues == null) {
+        CachedScriptValues cached = localCacheFieldData.get(fieldName);
+        if (cached == null) {
             MappedFieldType fieldType = mapperService.fullName(fieldName);
             if (fieldType == null) {
                 return false;
@@ -156,4 +161,14 @@ public class LeafDocLookup implements Map {
     public Set entrySet() {
         throw new UnsupportedOperationException();
     }
+
+    /** The script values of a field, along with the document they are positioned on. */
+    private static final class CachedScriptValues {
+        final ScriptDocValues values;
+        int docId = -1;
+
+        CachedScriptValues(ScriptDocValues values) {
+            this.values = values;
+        }
+    }
 }
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.search.profile;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.ParseField;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -28,8 +29,10 @@ import org.elasticsearch.common.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Public interface and serialization container for profiled timings of the
@@ -52,6 +55,7 @@ public class CollectorResult implements ToXContent, Writeable {
     private static final ParseField REASON = new ParseField("reason");
     private static final ParseField TIME = new ParseField("time");
     private static final ParseField CHILDREN = new ParseField("children");
+    private static final ParseField DETAILS = new ParseField("details");
 
     /**
      * A more friendly representation of the Collector's class name
@@ -73,11 +77,22 @@ public class CollectorResult implements ToXContent, Writeable {
      */
     private List<CollectorResult> children;
 
+    /**
+     * Additional information about how this Collector was set up, e.g. the estimates an aggregation based its collect mode on
+     */
+    private final Map<String, Object> details;
+
     public CollectorResult(String collectorName, String reason, Long time, List<CollectorResult> children) {
+        this(collectorName, reason, time, children, Collections.emptyMap());
+    }
+
+    public CollectorResult(String collectorName, String reason, Long time, List<CollectorResult> children,
+                           Map<String, Object> details) {
         this.collectorName = collectorName;
         this.reason = reason;
         this.time = time;
         this.children = children;
+        this.details = details;
     }
 
     public CollectorResult(StreamInput in) throws IOException {
@@ -90,6 +105,11 @@ public class CollectorResult implements ToXContent, Writeable {
             CollectorResult child = new CollectorResult(in);
             this.children.add(child);
         }
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            this.details = in.readMap();
+        } else {
+            this.details = Collections.emptyMap();
+        }
     }
 
     /**
@@ -120,6 +140,13 @@ public class CollectorResult implements ToXContent, Writeable {
         return children;
     }
 
+    /**
+     * @return additional information about how this collector was set up, empty if there is none
+     */
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, ToXContent.Params params) throws IOException {
         builder = builder.startObject()
@@ -127,6 +154,10 @@ public class CollectorResult implements ToXContent, Writeable {
                 .field(REASON.getPreferredName(), getReason())
                 .field(TIME.getPreferredName(), String.format(Locale.US, "%.10gms", (double) (getTime() / 1000000.0)));
 
+        if (!details.isEmpty()) {
+            builder = builder.field(DETAILS.getPreferredName(), details);
+        }
+
         if (!children.isEmpty()) {
             builder = builder.startArray(CHILDREN.getPreferredName());
             for (CollectorResult child : children) {
@@ -147,6 +178,9 @@ public class CollectorResult implements ToXContent, Writeable {
         for (CollectorResult child : children) {
             child.writeTo(out);
         }
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeMap(details);
+        }
     }
 
     @Override
@@ -25,7 +25,9 @@ import org.apache.lucene.search.LeafCollector;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class wraps a Lucene Collector and times the execution of:
@@ -56,11 +58,22 @@ public class InternalProfileCollector implements Collector {
      */
     private final List<InternalProfileCollector> children;
 
+    /**
+     * Additional information about how the Collector was set up
+     */
+    private final Map<String, Object> details;
+
     public InternalProfileCollector(Collector collector, String reason, List<InternalProfileCollector> children) {
+        this(collector, reason, children, Collections.emptyMap());
+    }
+
+    public InternalProfileCollector(Collector collector, String reason, List<InternalProfileCollector> children,
+                                    Map<String, Object> details) {
         this.collector = new ProfileCollector(collector);
         this.reason = reason;
         this.collectorName = deriveCollectorName(collector);
         this.children = children;
+        this.details = details;
     }
 
     /**
@@ -104,7 +117,7 @@ public class InternalProfileCollector implements Collector {
         }
 
         // Aggregation collector toString()'s include the user-defined agg name
-        if (reason.equals(CollectorResult.REASON_AGGREGATION) || reason.equals(CollectorResult.REASON_AGGREGATION_GLOBAL)) {
+        if (reason.startsWith(CollectorResult.REASON_AGGREGATION)) {
             s += ": [" + c.toString() + "]";
         }
         return s;
@@ -130,6 +143,6 @@ public class InternalProfileCollector implements Collector {
             CollectorResult result = doGetCollectorTree(child);
             childResults.add(result);
         }
-        return new CollectorResult(collector.getName(), collector.getReason(), collector.getTime(), childResults);
+        return new CollectorResult(collector.getName(), collector.getReason(), collector.getTime(), childResults, collector.details);
     }
 }
@@ -19,6 +19,8 @@ package org.elasticsearch.search.profile;
  * under the License.
  */
 
+import org.elasticsearch.Version;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -35,13 +37,20 @@ import java.util.stream.Collectors;
 
 /**
  * A container class to hold all the profile results across all shards.  Internally
- * holds a map of shard ID -&gt; Profiled results
+ * holds a map of shard ID -&gt; Profiled results, and the time the coordinating node
+ * spent reducing the aggregations of all shards if there were any
  */
 public final class InternalProfileShardResults implements Writeable<InternalProfileShardResults>, ToXContent{
 
     private Map<String, List<ProfileShardResult>> shardResults;
 
+    private final ReduceProfileResult reduceResult;
+
     public InternalProfileShardResults(Map<String, List<ProfileShardResult>> shardResults) {
+        this(shardResults, null);
+    }
+
+    public InternalProfileShardResults(Map<String, List<ProfileShardResult>> shardResults, @Nullable ReduceProfileResult reduceResult) {
         Map<String, List<ProfileShardResult>> transformed =
                 shardResults.entrySet()
                         .stream()
@@ -50,6 +59,7 @@ public final class InternalProfileShardResults implements Writeable<InternalProf
                                         e -> Collections.unmodifiableList(e.getValue()))
                         );
         this.shardResults =  Collections.unmodifiableMap(transformed);
+        this.reduceResult = reduceResult;
     }
 
     public InternalProfileShardResults(StreamInput in) throws IOException {
@@ -69,12 +79,25 @@ public final class InternalProfileShardResults implements Writeable<InternalProf
             shardResults.put(key, Collections.unmodifiableList(shardResult));
         }
         shardResults = Collections.unmodifiableMap(shardResults);
+        if (in.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            reduceResult = in.readOptionalWriteable(ReduceProfileResult::new);
+        } else {
+            reduceResult = null;
+        }
     }
 
     public Map<String, List<ProfileShardResult>> getShardResults() {
         return this.shardResults;
     }
 
+    /**
+     * Returns the time spent reducing the aggregations on the coordinating node, or <tt>null</tt> if there were no aggregations
+     */
+    @Nullable
+    public ReduceProfileResult getReduceResult() {
+        return reduceResult;
+    }
+
     @Override
     public InternalProfileShardResults readFrom(StreamInput in) throws IOException {
         return new InternalProfileShardResults(in);
@@ -91,6 +114,9 @@ public final class InternalProfileShardResults implements Writeable<InternalProf
                 result.writeTo(out);
             }
         }
+        if (out.getVersion().onOrAfter(Version.V_5_0_0_alpha1)) {
+            out.writeOptionalWriteable(reduceResult);
+        }
     }
 
     @Override
@@ -107,7 +133,11 @@ public final class InternalProfileShardResults implements Writeable<InternalProf
             builder.endArray().endObject();
         }
 
-        builder.endArray().endObject();
+        builder.endArray();
+        if (reduceResult != null) {
+            reduceResult.toXContent(builder, params);
+        }
+        builder.endObject();
         return builder;
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.search.profile;
+
+import org.elasticsearch.common.ParseField;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The time the coordinating node spent reducing the aggregations returned by the shards, in total and for each top
+ * level aggregation, including sibling pipeline aggregations.
+ */
+public final class ReduceProfileResult implements Writeable<ReduceProfileResult>, ToXContent {
+
+    private static final ParseField REDUCE = new ParseField("reduce");
+    private static final ParseField TIME = new ParseField("time");
+    private static final ParseField AGGREGATIONS = new ParseField("aggregations");
+    private static final ParseField NAME = new ParseField("name");
+
+    private final long time;
+
+    private final Map<String, Long> aggregationTimes;
+
+    /**
+     * @param time              the total time spent reducing the aggregations, in nanoseconds
+     * @param aggregationTimes  the time spent reducing each top level aggregation keyed by its name, in nanoseconds. As
+     *                          aggregations might be reduced concurrently these don't necessarily add up to the total time.
+     */
+    public ReduceProfileResult(long time, Map<String, Long> aggregationTimes) {
+        this.time = time;
+        this.aggregationTimes = Collections.unmodifiableMap(new TreeMap<>(aggregationTimes));
+    }
+
+    public ReduceProfileResult(StreamInput in) throws IOException {
+        time = in.readLong();
+        int size = in.readVInt();
+        Map<String, Long> aggregationTimes = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            aggregationTimes.put(in.readString(), in.readLong());
+        }
+        this.aggregationTimes = Collections.unmodifiableMap(aggregationTimes);
+    }
+
+    /**
+     * Returns the total time spent reducing the aggregations, in nanoseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the time spent reducing each top level aggregation keyed by its name, in nanoseconds
+     */
+    public Map<String, Long> getAggregationTimes() {
+        return aggregationTimes;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(time);
+        out.writeVInt(aggregationTimes.size());
+        for (Map.Entry<String, Long> entry : aggregationTimes.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(REDUCE.getPreferredName());
+        builder.field(TIME.getPreferredName(), formatTime(time));
+        builder.startArray(AGGREGATIONS.getPreferredName());
+        for (Map.Entry<String, Long> entry : aggregationTimes.entrySet()) {
+            builder.startObject()
+                    .field(NAME.getPreferredName(), entry.getKey())
+                    .field(TIME.getPreferredName(), formatTime(entry.getValue()))
+                    .endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    private static String formatTime(long nanos) {
+        return String.format(Locale.US, "%.10gms", (double) (nanos / 1000000.0));
+    }
+}
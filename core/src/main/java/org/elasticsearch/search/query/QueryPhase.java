@@ -33,6 +33,8 @@ import org.apache.lucene.search.MultiCollector;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TimeLimitingCollector;
 import org.apache.lucene.search.TopDocs;
@@ -42,10 +44,18 @@ import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.Weight;
 import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.lucene.MinimumScoreCollector;
 import org.elasticsearch.common.lucene.search.FilteredCollector;
+import org.elasticsearch.common.lucene.search.Queries;
+import org.elasticsearch.index.fielddata.IndexFieldData.XFieldComparatorSource;
+import org.elasticsearch.index.fielddata.fieldcomparator.BytesRefFieldComparatorSource;
+import org.elasticsearch.index.fielddata.fieldcomparator.DoubleValuesComparatorSource;
+import org.elasticsearch.index.fielddata.fieldcomparator.FloatValuesComparatorSource;
+import org.elasticsearch.index.fielddata.fieldcomparator.LongValuesComparatorSource;
+import org.elasticsearch.search.MultiValueMode;
 import org.elasticsearch.search.SearchParseElement;
 import org.elasticsearch.search.SearchPhase;
 import org.elasticsearch.search.SearchService;
@@ -153,6 +163,45 @@ public class QueryPhase implements SearchPhase {
         }
     }
 
+    /**
+     * Whether the documents of a segment that is sorted by the index sort are also in the order of the search sort, which
+     * is the case if the search sort is a prefix of the index sort and sorts its fields with the default
+     * <code>mode</code> and <code>missing</code> options, like the index sort does.
+     */
+    static boolean canEarlyTerminate(@Nullable Sort indexSort, @Nullable Sort searchSort) {
+        if (indexSort == null || searchSort == null) {
+            return false;
+        }
+        final SortField[] indexSortFields = indexSort.getSort();
+        final SortField[] searchSortFields = searchSort.getSort();
+        if (searchSortFields.length > indexSortFields.length) {
+            return false;
+        }
+        for (int i = 0; i < searchSortFields.length; i++) {
+            final SortField indexSortField = indexSortFields[i];
+            final SortField searchSortField = searchSortFields[i];
+            if (indexSortField.getField().equals(searchSortField.getField()) == false
+                    || indexSortField.getReverse() != searchSortField.getReverse()
+                    || searchSortField.getComparatorSource() instanceof XFieldComparatorSource == false) {
+                return false;
+            }
+            final XFieldComparatorSource source = (XFieldComparatorSource) searchSortField.getComparatorSource();
+            final boolean numeric = source instanceof LongValuesComparatorSource || source instanceof DoubleValuesComparatorSource
+                    || source instanceof FloatValuesComparatorSource;
+            if (indexSortField instanceof SortedNumericSortField ? numeric == false
+                    : source instanceof BytesRefFieldComparatorSource == false) {
+                return false;
+            }
+            final Object missingValue = source.getMissingValue();
+            final MultiValueMode defaultSortMode = searchSortField.getReverse() ? MultiValueMode.MAX : MultiValueMode.MIN;
+            if ((missingValue == null || "_last".equals(missingValue)) == false || source.getSortMode() != defaultSortMode
+                    || source.getNested() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * In a package-private method so that it can be tested without having to
      * wire everything (mapperService, etc.)
@@ -196,6 +245,7 @@ public class QueryPhase implements SearchPhase {
                 final ScrollContext scrollContext = searchContext.scrollContext();
                 assert (scrollContext != null) == (searchContext.request().scroll() != null);
                 final TopDocsCollector<?> topDocsCollector;
+                final SortedSegmentEarlyTerminatingCollector earlyTerminatingCollector;
                 ScoreDoc after = null;
                 if (searchContext.request().scroll() != null) {
                     numDocs = Math.min(searchContext.size(), totalNumDocs);
@@ -239,6 +289,19 @@ public class QueryPhase implements SearchPhase {
                     topDocsCollector = TopScoreDocCollector.create(numDocs, after);
                 }
                 collector = topDocsCollector;
+                final Sort indexSort = searchContext.indexShard() == null ? null : searchContext.indexShard().getIndexSort();
+                if (after == null && searchContext.trackScores() == false
+                        && searchContext.terminateAfter() == SearchContext.DEFAULT_TERMINATE_AFTER
+                        && canEarlyTerminate(indexSort, searchContext.sort())) {
+                    // the post filter and the minimum score are applied before the top docs collector sees the documents
+                    final boolean matchesAllDocs = Queries.isConstantMatchAllQuery(query) && searchContext.parsedPostFilter() == null
+                            && searchContext.minimumScore() == null;
+                    earlyTerminatingCollector = new SortedSegmentEarlyTerminatingCollector(topDocsCollector, indexSort, numDocs,
+                            matchesAllDocs);
+                    collector = earlyTerminatingCollector;
+                } else {
+                    earlyTerminatingCollector = null;
+                }
                 if (doProfile) {
                     collector = new InternalProfileCollector(collector, CollectorResult.REASON_SEARCH_TOP_HITS, Collections.emptyList());
                 }
@@ -246,6 +309,9 @@ public class QueryPhase implements SearchPhase {
                     @Override
                     public TopDocs call() throws Exception {
                         TopDocs topDocs = topDocsCollector.topDocs();
+                        if (earlyTerminatingCollector != null) {
+                            topDocs.totalHits += earlyTerminatingCollector.getSkippedHits();
+                        }
                         if (scrollContext != null) {
                             if (scrollContext.totalHits == -1) {
                                 // first round
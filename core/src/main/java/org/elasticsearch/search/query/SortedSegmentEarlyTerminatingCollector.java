@@ -0,0 +1,91 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortingMergePolicy;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.FilterCollector;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Sort;
+
+import java.io.IOException;
+
+/**
+ * Stops feeding the top docs collector of a search that sorts like the index sort with the documents of a segment that
+ * is sorted by the index sort, once it got as many of them as the search returns: the remaining documents of the segment
+ * can't be competitive. They still count as hits so that the total number of hits stays exact. If the number of matching
+ * documents of the segment is known up front they aren't even visited.
+ */
+final class SortedSegmentEarlyTerminatingCollector extends FilterCollector {
+
+    private final Sort indexSort;
+    private final int numDocsToCollect;
+    private final boolean matchesAllDocs;
+    private int skippedHits;
+
+    /**
+     * @param in                the top docs collector
+     * @param indexSort         the sort of the index, the sort of the search must be a prefix of it
+     * @param numDocsToCollect  the number of documents the search returns
+     * @param matchesAllDocs    whether all live documents of every segment reach this collector
+     */
+    SortedSegmentEarlyTerminatingCollector(Collector in, Sort indexSort, int numDocsToCollect, boolean matchesAllDocs) {
+        super(in);
+        this.indexSort = indexSort;
+        this.numDocsToCollect = numDocsToCollect;
+        this.matchesAllDocs = matchesAllDocs;
+    }
+
+    /**
+     * The number of hits that weren't passed on to the top docs collector.
+     */
+    int getSkippedHits() {
+        return skippedHits;
+    }
+
+    @Override
+    public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+        final LeafCollector leafCollector = super.getLeafCollector(context);
+        if (SortingMergePolicy.isSorted(context.reader(), indexSort) == false) {
+            return leafCollector;
+        }
+        final int numDocs = context.reader().numDocs();
+        return new FilterLeafCollector(leafCollector) {
+
+            private int numCollected;
+
+            @Override
+            public void collect(int doc) throws IOException {
+                if (numCollected < numDocsToCollect) {
+                    numCollected++;
+                    super.collect(doc);
+                } else if (matchesAllDocs) {
+                    skippedHits += numDocs - numCollected;
+                    throw new CollectionTerminatedException();
+                } else {
+                    skippedHits++;
+                }
+            }
+        };
+    }
+}
@@ -33,16 +33,23 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
     private final String action;
     private final TransportRequestHandler<Request> handler;
     private final boolean forceExecution;
+    private final boolean canTripCircuitBreaker;
     private final String executor;
     private final Supplier<Request> requestFactory;
     private final TaskManager taskManager;
 
     public RequestHandlerRegistry(String action, Supplier<Request> requestFactory, TaskManager taskManager, TransportRequestHandler<Request> handler, String executor, boolean forceExecution) {
+        this(action, requestFactory, taskManager, handler, executor, forceExecution, true);
+    }
+
+    public RequestHandlerRegistry(String action, Supplier<Request> requestFactory, TaskManager taskManager, TransportRequestHandler<Request> handler, String executor, boolean forceExecution,
+                                  boolean canTripCircuitBreaker) {
         this.action = action;
         this.requestFactory = requestFactory;
         assert newRequest() != null;
         this.handler = handler;
         this.forceExecution = forceExecution;
+        this.canTripCircuitBreaker = canTripCircuitBreaker;
         this.executor = executor;
         this.taskManager = taskManager;
     }
@@ -76,6 +83,14 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
         return forceExecution;
     }
 
+    /**
+     * Returns <code>true</code> if receiving a request for this action may be rejected by the in-flight requests circuit breaker.
+     * Actions that are needed to keep the cluster healthy (e.g. fault detection pings) are accounted for but never rejected.
+     */
+    public boolean canTripCircuitBreaker() {
+        return canTripCircuitBreaker;
+    }
+
     public String getExecutor() {
         return executor;
     }
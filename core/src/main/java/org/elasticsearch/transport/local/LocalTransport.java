@@ -23,6 +23,7 @@ import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.component.Lifecycle;
 import org.elasticsearch.common.inject.Inject;
@@ -37,6 +38,7 @@ import org.elasticsearch.common.transport.TransportAddress;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.ActionNotFoundTransportException;
 import org.elasticsearch.transport.ConnectTransportException;
@@ -83,13 +85,15 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
     private static final AtomicLong transportAddressIdGenerator = new AtomicLong();
     private final ConcurrentMap<DiscoveryNode, LocalTransport> connectedNodes = newConcurrentMap();
     protected final NamedWriteableRegistry namedWriteableRegistry;
+    private final CircuitBreakerService circuitBreakerService;
 
     public static final String TRANSPORT_LOCAL_ADDRESS = "transport.local.address";
     public static final String TRANSPORT_LOCAL_WORKERS = "transport.local.workers";
     public static final String TRANSPORT_LOCAL_QUEUE = "transport.local.queue";
 
     @Inject
-    public LocalTransport(Settings settings, ThreadPool threadPool, Version version, NamedWriteableRegistry namedWriteableRegistry) {
+    public LocalTransport(Settings settings, ThreadPool threadPool, Version version, NamedWriteableRegistry namedWriteableRegistry,
+                          CircuitBreakerService circuitBreakerService) {
         super(settings);
         this.threadPool = threadPool;
         this.version = version;
@@ -100,6 +104,7 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
         this.workers = EsExecutors.newFixed(LOCAL_TRANSPORT_THREAD_NAME_PREFIX, workerCount, queueSize, threadFactory,
                 threadPool.getThreadContext());
         this.namedWriteableRegistry = namedWriteableRegistry;
+        this.circuitBreakerService = circuitBreakerService;
     }
 
     @Override
@@ -239,6 +244,11 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
         return this.workers;
     }
 
+    CircuitBreaker inFlightRequestsBreaker() {
+        // We always obtain a fresh breaker to reflect changes to the breaker configuration.
+        return circuitBreakerService.getBreaker(CircuitBreaker.IN_FLIGHT_REQUESTS);
+    }
+
     protected void messageReceived(byte[] data, String action, LocalTransport sourceTransport, Version version,
             @Nullable final Long sendRequestId) {
         Transports.assertTransportThread();
@@ -253,7 +263,7 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
             if (isRequest) {
                 ThreadContext threadContext = threadPool.getThreadContext();
                 threadContext.readHeaders(stream);
-                handleRequest(stream, requestId, sourceTransport, version);
+                handleRequest(stream, requestId, data.length, sourceTransport, version);
             } else {
                 final TransportResponseHandler handler = transportServiceAdapter.onResponseReceived(requestId);
                 // ignore if its null, the adapter logs it
@@ -277,29 +287,38 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
         }
     }
 
-    private void handleRequest(StreamInput stream, long requestId, LocalTransport sourceTransport, Version version) throws Exception {
+    private void handleRequest(StreamInput stream, long requestId, int messageLengthBytes, LocalTransport sourceTransport,
+                               Version version) throws Exception {
         stream = new NamedWriteableAwareStreamInput(stream, namedWriteableRegistry);
         final String action = stream.readString();
         transportServiceAdapter.onRequestReceived(requestId, action);
-        final LocalTransportChannel transportChannel = new LocalTransportChannel(this, transportServiceAdapter, sourceTransport, action,
-                requestId, version);
+        LocalTransportChannel transportChannel = null;
         try {
             final RequestHandlerRegistry reg = transportServiceAdapter.getRequestHandler(action);
             if (reg == null) {
                 throw new ActionNotFoundTransportException("Action [" + action + "] not found");
             }
+            // the message is accounted for until a response has been sent, which releases the bytes again
+            if (reg.canTripCircuitBreaker()) {
+                inFlightRequestsBreaker().addEstimateBytesAndMaybeBreak(messageLengthBytes, "<transport_request>");
+            } else {
+                inFlightRequestsBreaker().addWithoutBreaking(messageLengthBytes);
+            }
+            final LocalTransportChannel channel = new LocalTransportChannel(this, transportServiceAdapter, sourceTransport, action,
+                requestId, version, messageLengthBytes);
+            transportChannel = channel;
             final TransportRequest request = reg.newRequest();
             request.remoteAddress(sourceTransport.boundAddress.publishAddress());
             request.readFrom(stream);
             if (ThreadPool.Names.SAME.equals(reg.getExecutor())) {
                 //noinspection unchecked
-                reg.processMessageReceived(request, transportChannel);
+                reg.processMessageReceived(request, channel);
             } else {
                 threadPool.executor(reg.getExecutor()).execute(new AbstractRunnable() {
                     @Override
                     protected void doRun() throws Exception {
                         //noinspection unchecked
-                        reg.processMessageReceived(request, transportChannel);
+                        reg.processMessageReceived(request, channel);
                     }
 
                     @Override
@@ -312,7 +331,7 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
                         if (lifecycleState() == Lifecycle.State.STARTED) {
                             // we can only send a response transport is started....
                             try {
-                                transportChannel.sendResponse(e);
+                                channel.sendResponse(e);
                             } catch (Throwable e1) {
                                 logger.warn("Failed to send error message back to client for action [{}]", e1, action);
                                 logger.warn("Actual Exception", e);
@@ -322,6 +341,10 @@ public class LocalTransport extends AbstractLifecycleComponent<Transport> implem
                 });
             }
         } catch (Throwable e) {
+            if (transportChannel == null) {
+                // the request was rejected before it was read, e.g. because the in-flight requests breaker tripped
+                transportChannel = new LocalTransportChannel(this, transportServiceAdapter, sourceTransport, action, requestId, version, 0);
+            }
             try {
                 transportChannel.sendResponse(e);
             } catch (Throwable e1) {
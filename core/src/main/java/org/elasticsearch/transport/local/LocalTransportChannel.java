@@ -30,6 +30,7 @@ import org.elasticsearch.transport.TransportServiceAdapter;
 import org.elasticsearch.transport.support.TransportStatus;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  *
@@ -45,15 +46,18 @@ public class LocalTransportChannel implements TransportChannel {
     private final String action;
     private final long requestId;
     private final Version version;
+    private final long reservedBytes;
+    private final AtomicBoolean released = new AtomicBoolean();
 
     public LocalTransportChannel(LocalTransport sourceTransport, TransportServiceAdapter sourceTransportServiceAdapter,
-            LocalTransport targetTransport, String action, long requestId, Version version) {
+            LocalTransport targetTransport, String action, long requestId, Version version, long reservedBytes) {
         this.sourceTransport = sourceTransport;
         this.sourceTransportServiceAdapter = sourceTransportServiceAdapter;
         this.targetTransport = targetTransport;
         this.action = action;
         this.requestId = requestId;
         this.version = version;
+        this.reservedBytes = reservedBytes;
     }
 
     @Override
@@ -73,6 +77,7 @@ public class LocalTransportChannel implements TransportChannel {
 
     @Override
     public void sendResponse(TransportResponse response, TransportResponseOptions options) throws IOException {
+        release();
         try (BytesStreamOutput stream = new BytesStreamOutput()) {
             stream.setVersion(version);
             stream.writeLong(requestId);
@@ -93,6 +98,7 @@ public class LocalTransportChannel implements TransportChannel {
 
     @Override
     public void sendResponse(Throwable error) throws IOException {
+        release();
         BytesStreamOutput stream = new BytesStreamOutput();
         writeResponseExceptionHeader(stream);
         RemoteTransportException tx = new RemoteTransportException(targetTransport.nodeName(),
@@ -109,6 +115,13 @@ public class LocalTransportChannel implements TransportChannel {
         sourceTransportServiceAdapter.onResponseSent(requestId, action, error);
     }
 
+    private void release() {
+        // a failing handler may try to send a second (error) response, the bytes must only be released once
+        if (released.compareAndSet(false, true) && reservedBytes != 0) {
+            sourceTransport.inFlightRequestsBreaker().addWithoutBreaking(-reservedBytes);
+        }
+    }
+
     @Override
     public long getRequestId() {
         return requestId;
@@ -134,7 +134,7 @@ public class MessageChannelHandler extends SimpleChannelUpstreamHandler {
             streamIn.setVersion(version);
             if (TransportStatus.isRequest(status)) {
                 threadContext.readHeaders(streamIn);
-                String action = handleRequest(ctx.getChannel(), streamIn, requestId, version);
+                String action = handleRequest(ctx.getChannel(), streamIn, requestId, size, version);
 
                 // Chek the entire message has been read
                 final int nextByte = streamIn.read();
@@ -254,17 +254,25 @@ public class MessageChannelHandler extends SimpleChannelUpstreamHandler {
         }
     }
 
-    protected String handleRequest(Channel channel, StreamInput buffer, long requestId, Version version) throws IOException {
+    protected String handleRequest(Channel channel, StreamInput buffer, long requestId, int messageLengthBytes, Version version)
+            throws IOException {
         buffer = new NamedWriteableAwareStreamInput(buffer, transport.namedWriteableRegistry);
         final String action = buffer.readString();
         transportServiceAdapter.onRequestReceived(requestId, action);
-        final NettyTransportChannel transportChannel = new NettyTransportChannel(transport, transportServiceAdapter, action, channel,
-                requestId, version, profileName);
+        NettyTransportChannel transportChannel = null;
         try {
             final RequestHandlerRegistry reg = transportServiceAdapter.getRequestHandler(action);
             if (reg == null) {
                 throw new ActionNotFoundTransportException(action);
             }
+            // the message is accounted for until a response has been sent, which releases the bytes again
+            if (reg.canTripCircuitBreaker()) {
+                transport.inFlightRequestsBreaker().addEstimateBytesAndMaybeBreak(messageLengthBytes, "<transport_request>");
+            } else {
+                transport.inFlightRequestsBreaker().addWithoutBreaking(messageLengthBytes);
+            }
+            transportChannel = new NettyTransportChannel(transport, transportServiceAdapter, action, channel,
+                    requestId, version, profileName, messageLengthBytes);
             final TransportRequest request = reg.newRequest();
             request.remoteAddress(new InetSocketTransportAddress((InetSocketAddress) channel.getRemoteAddress()));
             request.readFrom(buffer);
@@ -275,6 +283,13 @@ public class MessageChannelHandler extends SimpleChannelUpstreamHandler {
                 threadPool.executor(reg.getExecutor()).execute(new RequestHandler(reg, request, transportChannel));
             }
         } catch (Throwable e) {
+            if (transportChannel == null) {
+                // the request was rejected before it was read, e.g. because the in-flight requests breaker tripped. Skip its
+                // body so that the connection can still be used, there is nothing to release in that case.
+                buffer.skip(Long.MAX_VALUE);
+                transportChannel = new NettyTransportChannel(transport, transportServiceAdapter, action, channel,
+                        requestId, version, profileName, 0);
+            }
             try {
                 transportChannel.sendResponse(e);
             } catch (IOException e1) {
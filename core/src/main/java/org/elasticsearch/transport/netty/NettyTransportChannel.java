@@ -39,6 +39,7 @@ import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  *
@@ -52,9 +53,20 @@ public class NettyTransportChannel implements TransportChannel {
     private final Channel channel;
     private final long requestId;
     private final String profileName;
+    private final long reservedBytes;
+    private final AtomicBoolean released = new AtomicBoolean();
 
     public NettyTransportChannel(NettyTransport transport, TransportServiceAdapter transportServiceAdapter, String action, Channel channel,
             long requestId, Version version, String profileName) {
+        this(transport, transportServiceAdapter, action, channel, requestId, version, profileName, 0);
+    }
+
+    /**
+     * @param reservedBytes the number of bytes that have been reserved on the in-flight requests breaker for the request, they are
+     *                      released once a response has been sent
+     */
+    public NettyTransportChannel(NettyTransport transport, TransportServiceAdapter transportServiceAdapter, String action, Channel channel,
+            long requestId, Version version, String profileName, long reservedBytes) {
         this.transportServiceAdapter = transportServiceAdapter;
         this.version = version;
         this.transport = transport;
@@ -62,6 +74,7 @@ public class NettyTransportChannel implements TransportChannel {
         this.channel = channel;
         this.requestId = requestId;
         this.profileName = profileName;
+        this.reservedBytes = reservedBytes;
     }
 
     @Override
@@ -81,6 +94,7 @@ public class NettyTransportChannel implements TransportChannel {
 
     @Override
     public void sendResponse(TransportResponse response, TransportResponseOptions options) throws IOException {
+        release();
         if (transport.compress) {
             options = TransportResponseOptions.builder(options).withCompress(transport.compress).build();
         }
@@ -118,6 +132,7 @@ public class NettyTransportChannel implements TransportChannel {
 
     @Override
     public void sendResponse(Throwable error) throws IOException {
+        release();
         BytesStreamOutput stream = new BytesStreamOutput();
         stream.skip(NettyHeader.HEADER_SIZE);
         RemoteTransportException tx = new RemoteTransportException(transport.nodeName(), transport.wrapAddress(channel.getLocalAddress()),
@@ -134,6 +149,13 @@ public class NettyTransportChannel implements TransportChannel {
         transportServiceAdapter.onResponseSent(requestId, action, error);
     }
 
+    private void release() {
+        // a failing handler may try to send a second (error) response, the bytes must only be released once
+        if (released.compareAndSet(false, true) && reservedBytes != 0) {
+            transport.inFlightRequestsBreaker().addWithoutBreaking(-reservedBytes);
+        }
+    }
+
     @Override
     public long getRequestId() {
         return requestId;
@@ -0,0 +1,126 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.action.bulk;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.TransportIndexAction;
+import org.elasticsearch.cluster.action.index.MappingUpdatedAction;
+import org.elasticsearch.cluster.metadata.MetaData;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.logging.Loggers;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.IndexService;
+import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.mapper.DocumentMapper;
+import org.elasticsearch.index.mapper.Mapping;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.test.ESSingleNodeTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TransportShardBulkActionTests extends ESSingleNodeTestCase {
+
+    /** Counts the dynamic mapping updates that are sent to the master and forwards them to the node's action. */
+    private static class CountingMappingUpdatedAction extends MappingUpdatedAction {
+        final AtomicInteger updates = new AtomicInteger();
+        final MappingUpdatedAction delegate;
+
+        CountingMappingUpdatedAction(MappingUpdatedAction delegate) {
+            super(Settings.EMPTY, new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void updateMappingOnMaster(Index index, String type, Mapping mappingUpdate, TimeValue timeout) throws Exception {
+            updates.incrementAndGet();
+            delegate.updateMappingOnMaster(index, type, mappingUpdate, timeout);
+        }
+    }
+
+    /** Executes the index items of the request on the primary the same way {@link TransportShardBulkAction} does. */
+    private void execute(BulkShardRequest request, IndexShard shard, MappingUpdatedAction mappingUpdatedAction) throws Exception {
+        Engine.Index[] operations = TransportShardBulkAction.prepareIndexOperations(request, shard, mappingUpdatedAction,
+            TransportShardBulkAction.MAX_PREPARED_SOURCE_SIZE_SETTING.get(Settings.EMPTY).bytes(),
+            Loggers.getLogger(TransportShardBulkActionTests.class));
+        for (int i = 0; i < request.items().length; i++) {
+            IndexRequest indexRequest = (IndexRequest) request.items()[i].request();
+            if (operations[i] == null) {
+                TransportIndexAction.executeIndexRequestOnPrimary(indexRequest, shard, mappingUpdatedAction);
+            } else {
+                TransportIndexAction.executeIndexRequestOnPrimary(indexRequest, operations[i], shard, mappingUpdatedAction);
+            }
+        }
+    }
+
+    private BulkShardRequest bulkShardRequest(IndexShard shard, IndexRequest... requests) {
+        MetaData metaData = getInstanceFromNode(ClusterService.class).state().metaData();
+        BulkItemRequest[] items = new BulkItemRequest[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            IndexRequest request = requests[i];
+            request.process(metaData, metaData.index("test").mappingOrDefault(request.type()), true, "test");
+            items[i] = new BulkItemRequest(i, request);
+        }
+        return new BulkShardRequest(null, shard.shardId(), false, items);
+    }
+
+    public void testOneMappingUpdatePerTypeAndBulkShardRequest() throws Exception {
+        IndexService indexService = createIndex("test", Settings.builder().put("index.number_of_shards", 1).build());
+        IndexShard shard = indexService.getShard(0);
+        CountingMappingUpdatedAction mappingUpdatedAction =
+            new CountingMappingUpdatedAction(getInstanceFromNode(MappingUpdatedAction.class));
+
+        int numDocs = randomIntBetween(2, 50);
+        IndexRequest[] requests = new IndexRequest[numDocs];
+        for (int i = 0; i < numDocs; i++) {
+            requests[i] = new IndexRequest("test", "type1", Integer.toString(i)).source("field" + i, "bar", "common", i);
+        }
+        execute(bulkShardRequest(shard, requests), shard, mappingUpdatedAction);
+        assertEquals(1, mappingUpdatedAction.updates.get());
+        DocumentMapper mapper = indexService.mapperService().documentMapper("type1");
+        assertNotNull(mapper.mappers().getMapper("common"));
+        for (int i = 0; i < numDocs; i++) {
+            assertNotNull(mapper.mappers().getMapper("field" + i));
+        }
+
+        // one update per type
+        mappingUpdatedAction.updates.set(0);
+        requests = new IndexRequest[numDocs];
+        for (int i = 0; i < numDocs; i++) {
+            String type = i % 2 == 0 ? "type2" : "type3";
+            requests[i] = new IndexRequest("test", type, Integer.toString(i)).source("other" + i, "bar");
+        }
+        execute(bulkShardRequest(shard, requests), shard, mappingUpdatedAction);
+        assertEquals(2, mappingUpdatedAction.updates.get());
+
+        // no update if all fields are mapped already
+        mappingUpdatedAction.updates.set(0);
+        requests = new IndexRequest[numDocs];
+        for (int i = 0; i < numDocs; i++) {
+            requests[i] = new IndexRequest("test", "type1", Integer.toString(i)).source("field" + i, "baz", "common", i);
+        }
+        execute(bulkShardRequest(shard, requests), shard, mappingUpdatedAction);
+        assertEquals(0, mappingUpdatedAction.updates.get());
+
+        client().admin().indices().prepareRefresh("test").get();
+        assertEquals(2 * numDocs, client().prepareSearch("test").setSize(0).get().getHits().totalHits());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.common.recycler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MagazineRecyclerTests extends AbstractRecyclerTestCase {
+
+    @Override
+    protected Recycler<byte[]> newRecycler(int limit) {
+        return Recyclers.magazine(RECYCLER_C, limit, randomIntBetween(1, 5));
+    }
+
+    public void testObjectsOfTerminatedThreadsAreReused() throws Exception {
+        final MagazineRecycler<byte[]> r = Recyclers.magazine(RECYCLER_C, limit, randomIntBetween(1, 5));
+        final int numObjects = randomIntBetween(1, limit);
+        final Thread thread = new Thread(() -> {
+            List<Recycler.V<byte[]>> values = new ArrayList<>();
+            for (int i = 0; i < numObjects; ++i) {
+                values.add(r.obtain());
+            }
+            for (Recycler.V<byte[]> v : values) {
+                v.close();
+            }
+        });
+        thread.start();
+        thread.join();
+        for (int i = 0; i < numObjects; ++i) {
+            final Recycler.V<byte[]> v = r.obtain();
+            assertTrue(v.isRecycled());
+            assertRecycled(v.v());
+        }
+        final MagazineRecycler.Stats stats = r.stats();
+        assertEquals(numObjects, stats.getMisses());
+        assertEquals(numObjects, stats.getThreadCacheHits() + stats.getDepotHits());
+        assertTrue(stats.getDepotHits() > 0);
+        r.close();
+    }
+
+    public void testConcurrentAccess() throws Exception {
+        final AtomicInteger live = new AtomicInteger();
+        final Recycler.C<byte[]> c = new AbstractRecyclerC<byte[]>() {
+            @Override
+            public byte[] newInstance(int sizing) {
+                live.incrementAndGet();
+                return RECYCLER_C.newInstance(sizing);
+            }
+
+            @Override
+            public void recycle(byte[] value) {
+                RECYCLER_C.recycle(value);
+            }
+
+            @Override
+            public void destroy(byte[] value) {
+                live.decrementAndGet();
+                RECYCLER_C.destroy(value);
+            }
+        };
+        final MagazineRecycler<byte[]> r = Recyclers.magazine(c, limit, randomIntBetween(1, 5));
+        final int numThreads = randomIntBetween(2, 8);
+        final int iters = scaledRandomIntBetween(100, 10000);
+        final CyclicBarrier barrier = new CyclicBarrier(numThreads);
+        final Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; ++t) {
+            threads[t] = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+                List<Recycler.V<byte[]>> values = new ArrayList<>();
+                for (int i = 0; i < iters; ++i) {
+                    if (values.isEmpty() || (values.size() < 3 && randomBoolean())) {
+                        final Recycler.V<byte[]> v = r.obtain();
+                        if (v.isRecycled()) {
+                            assertRecycled(v.v());
+                        } else {
+                            assertFresh(v.v());
+                        }
+                        values.add(v);
+                    } else {
+                        values.remove(values.size() - 1).close();
+                    }
+                }
+                for (Recycler.V<byte[]> v : values) {
+                    v.close();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // all objects have been released, the ones that are still alive are cached
+        assertTrue(live.get() <= limit);
+        final MagazineRecycler.Stats stats = r.stats();
+        assertEquals(live.get(), stats.getMisses() - stats.getEvictions());
+        r.close();
+        assertEquals(0, live.get());
+    }
+
+}
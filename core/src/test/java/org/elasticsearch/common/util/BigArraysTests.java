@@ -20,6 +20,7 @@
 package org.elasticsearch.common.util;
 
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.cache.recycler.MockPageCacheRecycler;
 import org.elasticsearch.cache.recycler.PageCacheRecycler;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
@@ -29,6 +30,7 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.ESSingleNodeTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.junit.Before;
 
 import java.lang.reflect.InvocationTargetException;
@@ -38,10 +40,28 @@ import java.util.Arrays;
 public class BigArraysTests extends ESSingleNodeTestCase {
 
     private BigArrays randombigArrays() {
-        final PageCacheRecycler recycler = randomBoolean() ? null : getInstanceFromNode(PageCacheRecycler.class);
+        final PageCacheRecycler recycler;
+        switch (randomInt(2)) {
+            case 0:
+                recycler = null;
+                break;
+            case 1:
+                recycler = getInstanceFromNode(PageCacheRecycler.class);
+                break;
+            default:
+                recycler = offHeapRecycler(Settings.EMPTY);
+                break;
+        }
         return new MockBigArrays(recycler, new NoneCircuitBreakerService());
     }
 
+    private PageCacheRecycler offHeapRecycler(Settings settings) {
+        return new MockPageCacheRecycler(Settings.builder()
+                .put(settings)
+                .put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true)
+                .build(), getInstanceFromNode(ThreadPool.class));
+    }
+
     private BigArrays bigArrays;
 
     @Before
@@ -379,4 +399,38 @@ public class BigArraysTests extends ESSingleNodeTestCase {
         }
     }
 
+    public void testOffHeapLimit() {
+        final int maxDirectPages = randomIntBetween(1, 4);
+        final PageCacheRecycler recycler = offHeapRecycler(Settings.builder()
+                .put(PageCacheRecycler.TYPE_SETTING.getKey(), randomFrom(PageCacheRecycler.Type.values()))
+                .put(PageCacheRecycler.LIMIT_OFF_HEAP_SETTING.getKey(), maxDirectPages * BigArrays.PAGE_SIZE_IN_BYTES, ByteSizeUnit.BYTES)
+                .build());
+        assertTrue(recycler.isOffHeap());
+        HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(Settings.EMPTY,
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+        final BigArrays bigArrays = new BigArrays(recycler, hcbs);
+        // more pages than allowed in direct memory, the remaining ones must be allocated on the heap
+        final int size = BigArrays.LONG_PAGE_SIZE * (maxDirectPages + randomIntBetween(1, 3));
+        LongArray array = bigArrays.newLongArray(size);
+        assertEquals(maxDirectPages * BigArrays.PAGE_SIZE_IN_BYTES, recycler.directBytesAllocated());
+        assertEquals(array.ramBytesUsed(), hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed());
+        final long[] ref = new long[size];
+        for (int i = 0; i < size; ++i) {
+            ref[i] = randomLong();
+            array.set(i, ref[i]);
+        }
+        array = bigArrays.resize(array, size + BigArrays.LONG_PAGE_SIZE);
+        assertEquals(maxDirectPages * BigArrays.PAGE_SIZE_IN_BYTES, recycler.directBytesAllocated());
+        for (int i = 0; i < size; ++i) {
+            assertEquals(ref[i], array.get(i));
+        }
+        for (int i = size; i < array.size(); ++i) {
+            assertEquals(0L, array.get(i));
+        }
+        array.close();
+        assertEquals(0, hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed());
+        recycler.close();
+        assertEquals(0, recycler.directBytesAllocated());
+    }
+
 }
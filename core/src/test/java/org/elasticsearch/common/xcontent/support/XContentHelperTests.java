@@ -19,10 +19,17 @@
 
 package org.elasticsearch.common.xcontent.support;
 
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.test.ESTestCase;
 import org.hamcrest.Matchers;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -61,5 +68,96 @@ public class XContentHelperTests extends ESTestCase {
         assertThat(content, Matchers.equalTo(expected));
     }
 
+    public void testStreamingUpdate() throws IOException {
+        Map<String, Object> source = getMap("counter", 1, "title", "foo", "nested", getMap("a", 1, "b", getList("x", "y")));
+        Map<String, Object> changes = getMap("counter", 2, "nested", getMap("b", getList("z"), "c", true), "added", "bar");
+        Map<String, Object> expected = getMap("counter", 2, "title", "foo",
+                "nested", getMap("a", 1, "b", getList("z"), "c", true), "added", "bar");
+        assertStreamingUpdate(source, changes, true, expected, true);
+
+        // replacing values with equal ones is a noop, adding an empty object is not
+        changes = getMap("counter", 1, "nested", getMap("a", 1));
+        assertStreamingUpdate(source, changes, true, source, false);
+        assertStreamingUpdate(source, changes, false, source, true);
+        changes = getMap("nested", getMap());
+        assertStreamingUpdate(source, changes, true, source, false);
+    }
+
+    public void testStreamingUpdateMatchesMapUpdate() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> source = randomSource(3);
+            Map<String, Object> changes = randomSource(3);
+            boolean checkUpdatesAreUnequal = randomBoolean();
+            Map<String, Object> expected = XContentHelper.convertToMap(toBytes(XContentType.JSON, source), true).v2();
+            boolean modified = XContentHelper.update(expected, changes, checkUpdatesAreUnequal);
+            assertStreamingUpdate(source, changes, checkUpdatesAreUnequal, expected, modified);
+        }
+    }
+
+    public void testStreamingUpdateResolvesDuplicateKeysLikeMapUpdate() throws IOException {
+        // a map keeps the position of the first occurrence of a key and the value of the last one
+        String source = "{\"a\":1,\"b\":{\"x\":1},\"c\":\"y\",\"a\":2,\"b\":{\"y\":2},\"c\":\"y\"}";
+        List<Map<String, Object>> allChanges = Arrays.asList(
+            getMap("a", 2),
+            getMap("a", 1),
+            getMap("b", getMap("x", 1)),
+            getMap("b", getMap("y", 2)),
+            getMap("b", "z"),
+            getMap("c", "y", "d", 3));
+        for (Map<String, Object> changes : allChanges) {
+            for (boolean checkUpdatesAreUnequal : new boolean[] {true, false}) {
+                Map<String, Object> expected = XContentHelper.convertToMap(new BytesArray(source), true).v2();
+                boolean expectedModified = XContentHelper.update(expected, changes, checkUpdatesAreUnequal);
+                XContentBuilder builder = XContentFactory.jsonBuilder();
+                boolean modified;
+                try (XContentParser parser = XContentHelper.createParser(new BytesArray(source))) {
+                    modified = XContentHelper.update(parser, builder, changes, checkUpdatesAreUnequal);
+                }
+                String reason = changes + " with checkUpdatesAreUnequal [" + checkUpdatesAreUnequal + "]";
+                assertThat(reason, modified, Matchers.equalTo(expectedModified));
+                assertThat(reason, XContentHelper.convertToMap(builder.bytes(), true).v2(), Matchers.equalTo(expected));
+            }
+        }
+    }
+
+    private void assertStreamingUpdate(Map<String, Object> source, Map<String, Object> changes, boolean checkUpdatesAreUnequal,
+                                       Map<String, Object> expected, boolean expectedModified) throws IOException {
+        XContentType contentType = randomFrom(XContentType.values());
+        XContentBuilder builder = XContentFactory.contentBuilder(contentType);
+        boolean modified;
+        try (XContentParser parser = XContentHelper.createParser(toBytes(contentType, source))) {
+            modified = XContentHelper.update(parser, builder, changes, checkUpdatesAreUnequal);
+        }
+        assertThat(modified, Matchers.equalTo(expectedModified));
+        assertThat(XContentHelper.convertToMap(builder.bytes(), true).v2(), Matchers.equalTo(expected));
+    }
+
+    private BytesReference toBytes(XContentType contentType, Map<String, Object> map) throws IOException {
+        return XContentFactory.contentBuilder(contentType).map(map).bytes();
+    }
+
+    private Map<String, Object> randomSource(int depth) {
+        Map<String, Object> map = new HashMap<>();
+        int numFields = randomIntBetween(0, 4);
+        for (int i = 0; i < numFields; i++) {
+            // a small set of keys so that sources and changes overlap
+            String key = randomFrom("a", "b", "c", "d", "e");
+            switch (depth > 0 ? randomInt(3) : randomInt(2)) {
+                case 0:
+                    map.put(key, randomIntBetween(0, 2));
+                    break;
+                case 1:
+                    map.put(key, randomFrom("x", "y"));
+                    break;
+                case 2:
+                    map.put(key, getList(randomFrom("x", "y"), randomIntBetween(0, 2)));
+                    break;
+                default:
+                    map.put(key, randomSource(depth - 1));
+                    break;
+            }
+        }
+        return map;
+    }
 
 }
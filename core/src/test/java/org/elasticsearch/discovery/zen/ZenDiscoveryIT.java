@@ -45,6 +45,7 @@ import org.elasticsearch.discovery.zen.elect.ElectMasterService;
 import org.elasticsearch.discovery.zen.fd.FaultDetection;
 import org.elasticsearch.discovery.zen.membership.MembershipAction;
 import org.elasticsearch.discovery.zen.publish.PublishClusterStateAction;
+import org.elasticsearch.gateway.MetaStateWriteStats;
 import org.elasticsearch.node.Node;
 import org.elasticsearch.test.ESIntegTestCase;
 import org.elasticsearch.test.TestCustomMetaData;
@@ -310,16 +311,6 @@ public class ZenDiscoveryIT extends ESIntegTestCase {
     }
 
     public void testDiscoveryStats() throws IOException {
-        String expectedStatsJsonResponse = "{\n" +
-                "  \"discovery\" : {\n" +
-                "    \"cluster_state_queue\" : {\n" +
-                "      \"total\" : 0,\n" +
-                "      \"pending\" : 0,\n" +
-                "      \"committed\" : 0\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-
         Settings nodeSettings = Settings.builder()
                 .put("discovery.type", "zen") // <-- To override the local setting if set externally
                 .build();
@@ -334,6 +325,24 @@ public class ZenDiscoveryIT extends ESIntegTestCase {
         assertThat(stats.getQueueStats().getTotal(), equalTo(0));
         assertThat(stats.getQueueStats().getCommitted(), equalTo(0));
         assertThat(stats.getQueueStats().getPending(), equalTo(0));
+        MetaStateWriteStats metaStateWriteStats = stats.getMetaStateWriteStats();
+        assertThat(metaStateWriteStats, notNullValue());
+
+        String expectedStatsJsonResponse = "{\n" +
+                "  \"discovery\" : {\n" +
+                "    \"cluster_state_queue\" : {\n" +
+                "      \"total\" : 0,\n" +
+                "      \"pending\" : 0,\n" +
+                "      \"committed\" : 0\n" +
+                "    },\n" +
+                "    \"metadata_writes\" : {\n" +
+                "      \"total\" : " + metaStateWriteStats.getTotal() + ",\n" +
+                "      \"index_states\" : " + metaStateWriteStats.getIndexStates() + ",\n" +
+                "      \"total_time_in_millis\" : " + metaStateWriteStats.getTotalTimeInMillis() + ",\n" +
+                "      \"last_time_in_millis\" : " + metaStateWriteStats.getLastTimeInMillis() + "\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
 
         XContentBuilder builder = XContentFactory.jsonBuilder().prettyPrint();
         builder.startObject();
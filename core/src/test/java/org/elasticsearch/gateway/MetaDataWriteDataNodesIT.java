@@ -19,6 +19,7 @@
 
 package org.elasticsearch.gateway;
 
+import org.elasticsearch.action.admin.cluster.node.stats.NodesStatsResponse;
 import org.elasticsearch.action.admin.cluster.state.ClusterStateResponse;
 import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.elasticsearch.cluster.metadata.IndexMetaData;
@@ -40,6 +41,8 @@ import java.util.LinkedHashMap;
 import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 @ClusterScope(scope = Scope.TEST, numDataNodes = 0)
 public class MetaDataWriteDataNodesIT extends ESIntegTestCase {
@@ -148,6 +151,30 @@ public class MetaDataWriteDataNodesIT extends ESIntegTestCase {
         assertThat(indicesMetaData.get(index).getState(), equalTo(IndexMetaData.State.OPEN));
     }
 
+    public void testMetaOfManyIndicesWrittenConcurrently() throws Exception {
+        int writeConcurrency = randomIntBetween(1, 8);
+        String masterNode = internalCluster().startMasterOnlyNode(Settings.builder()
+            .put(GatewayMetaState.WRITE_CONCURRENCY_SETTING.getKey(), writeConcurrency).build());
+        internalCluster().startDataOnlyNode(Settings.EMPTY);
+        int numIndices = randomIntBetween(5, 15);
+        for (int i = 0; i < numIndices; i++) {
+            assertAcked(prepareCreate("index-" + i).setSettings(Settings.builder().put("index.number_of_replicas", 0)));
+        }
+        ensureGreen();
+        final long indexStatesBefore = getMetaStateWriteStats(masterNode).getIndexStates();
+
+        logger.info("--> update the settings of all [{}] indices with write concurrency [{}]", numIndices, writeConcurrency);
+        assertAcked(client().admin().indices().prepareUpdateSettings("index-*")
+            .setSettings(Settings.builder().put(IndexMetaData.INDEX_PRIORITY_SETTING.getKey(), 42)));
+        ImmutableOpenMap<String, IndexMetaData> indicesMetaData = getIndicesMetaDataOnNode(masterNode);
+        for (int i = 0; i < numIndices; i++) {
+            assertThat(IndexMetaData.INDEX_PRIORITY_SETTING.get(indicesMetaData.get("index-" + i).getSettings()), equalTo(42));
+        }
+        MetaStateWriteStats stats = getMetaStateWriteStats(masterNode);
+        assertThat(stats.getIndexStates(), greaterThanOrEqualTo(indexStatesBefore + numIndices));
+        assertThat(stats.getTotal(), greaterThan(0L));
+    }
+
     protected void assertIndexDirectoryDeleted(final String nodeName, final Index index) throws Exception {
         assertBusy(() -> {
             logger.info("checking if index directory exists...");
@@ -180,6 +207,11 @@ public class MetaDataWriteDataNodesIT extends ESIntegTestCase {
         return false;
     }
 
+    private MetaStateWriteStats getMetaStateWriteStats(String nodeName) {
+        NodesStatsResponse response = client().admin().cluster().prepareNodesStats(nodeName).clear().setDiscovery(true).get();
+        return response.getNodes()[0].getDiscoveryStats().getMetaStateWriteStats();
+    }
+
     private ImmutableOpenMap<String, IndexMetaData> getIndicesMetaDataOnNode(String nodeName) throws Exception {
         GatewayMetaState nodeMetaState = ((InternalTestCluster) cluster()).getInstance(GatewayMetaState.class, nodeName);
         MetaData nodeMetaData = nodeMetaState.loadMetaState();
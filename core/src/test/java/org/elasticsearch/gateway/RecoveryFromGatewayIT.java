@@ -33,6 +33,7 @@ import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.indices.cluster.IndicesClusterStateService;
 import org.elasticsearch.indices.recovery.RecoveryState;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.test.ESIntegTestCase;
@@ -261,6 +262,26 @@ public class RecoveryFromGatewayIT extends ESIntegTestCase {
         }
     }
 
+    public void testManyShardsRecoveredWithConcurrentShardCreation() throws Exception {
+        internalCluster().startNode(Settings.builder()
+            .put(IndicesClusterStateService.CONCURRENT_SHARD_CREATIONS_SETTING.getKey(), randomIntBetween(1, 8)));
+        final int numIndices = randomIntBetween(5, 10);
+        for (int i = 0; i < numIndices; i++) {
+            assertAcked(prepareCreate("test" + i).setSettings(Settings.builder()
+                .put(SETTING_NUMBER_OF_SHARDS, randomIntBetween(1, 5)).put(SETTING_NUMBER_OF_REPLICAS, 0)));
+            client().prepareIndex("test" + i, "type1", "1").setSource("field", "value").get();
+        }
+        ensureGreen();
+        Map<String, long[]> primaryTerms = assertAndCapturePrimaryTerms(null);
+
+        internalCluster().fullRestart();
+
+        ensureGreen();
+        assertAndCapturePrimaryTerms(primaryTerms);
+        refresh();
+        assertHitCount(client().prepareSearch().setSize(0).setQuery(matchAllQuery()).get(), numIndices);
+    }
+
     public void testTwoNodeFirstNodeCleared() throws Exception {
         final String firstNode = internalCluster().startNode();
         internalCluster().startNode();
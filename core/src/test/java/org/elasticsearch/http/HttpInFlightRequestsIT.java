@@ -0,0 +1,80 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.http;
+
+import org.apache.http.impl.client.HttpClients;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.network.NetworkModule;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.test.ESIntegTestCase;
+import org.elasticsearch.test.ESIntegTestCase.ClusterScope;
+import org.elasticsearch.test.ESIntegTestCase.Scope;
+import org.elasticsearch.test.rest.client.http.HttpRequestBuilder;
+import org.elasticsearch.test.rest.client.http.HttpResponse;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Tests that the in-flight requests breaker rejects http requests, except for the ones that are needed to diagnose a node
+ */
+@ClusterScope(scope = Scope.TEST, numDataNodes = 1)
+public class HttpInFlightRequestsIT extends ESIntegTestCase {
+    @Override
+    protected Settings nodeSettings(int nodeOrdinal) {
+        return Settings.builder()
+                .put(super.nodeSettings(nodeOrdinal))
+                .put(NetworkModule.HTTP_ENABLED.getKey(), true)
+                .build();
+    }
+
+    public void testRejectsRequestsOverLimit() throws Exception {
+        // the node client of the (single) master node executes the settings updates locally, they never go through the breaker
+        String masterName = internalCluster().getMasterName();
+        Client masterClient = internalCluster().getInstance(Client.class, masterName);
+        HttpServerTransport httpServerTransport = internalCluster().getInstance(HttpServerTransport.class, masterName);
+        assertAcked(masterClient.admin().cluster().prepareUpdateSettings().setTransientSettings(Settings.builder()
+                .put(HierarchyCircuitBreakerService.IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), "0b")));
+        try {
+            HttpResponse response = new HttpRequestBuilder(HttpClients.createDefault())
+                    .httpTransport(httpServerTransport)
+                    .method("POST")
+                    .path("/_bulk")
+                    .body("{\"index\":{\"_index\":\"test\",\"_type\":\"type\",\"_id\":\"1\"}}\n{\"field\":\"value\"}\n")
+                    .execute();
+            assertThat(response.getStatusCode(), equalTo(RestStatus.INTERNAL_SERVER_ERROR.getStatus()));
+            assertThat(response.getBody(), containsString("[in_flight_requests] Data too large"));
+
+            response = new HttpRequestBuilder(HttpClients.createDefault())
+                    .httpTransport(httpServerTransport)
+                    .method("GET")
+                    .path("/_cluster/health")
+                    .execute();
+            assertThat(response.getStatusCode(), equalTo(RestStatus.OK.getStatus()));
+        } finally {
+            assertAcked(masterClient.admin().cluster().prepareUpdateSettings().setTransientSettings(Settings.builder()
+                    .put(HierarchyCircuitBreakerService.IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(),
+                        HierarchyCircuitBreakerService.IN_FLIGHT_REQUESTS_CIRCUIT_BREAKER_LIMIT_SETTING.getDefaultRaw(Settings.EMPTY))));
+        }
+    }
+}
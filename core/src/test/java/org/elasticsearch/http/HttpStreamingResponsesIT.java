@@ -0,0 +1,87 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.http;
+
+import org.apache.http.impl.client.HttpClients;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.network.NetworkModule;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.test.ESIntegTestCase;
+import org.elasticsearch.test.ESIntegTestCase.ClusterScope;
+import org.elasticsearch.test.ESIntegTestCase.Scope;
+import org.elasticsearch.test.rest.client.http.HttpRequestBuilder;
+import org.elasticsearch.test.rest.client.http.HttpResponse;
+
+import java.util.Map;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Tests that large responses are streamed to http clients using chunked transfer encoding
+ */
+@ClusterScope(scope = Scope.SUITE, numDataNodes = 1)
+public class HttpStreamingResponsesIT extends ESIntegTestCase {
+    @Override
+    protected Settings nodeSettings(int nodeOrdinal) {
+        return Settings.builder()
+                .put(super.nodeSettings(nodeOrdinal))
+                .put(NetworkModule.HTTP_ENABLED.getKey(), true)
+                .build();
+    }
+
+    public void testLargeClusterStateIsChunked() throws Exception {
+        final int numFields = randomIntBetween(500, 900);
+        XContentBuilder mapping = XContentFactory.jsonBuilder().startObject().startObject("type").startObject("properties");
+        for (int i = 0; i < numFields; i++) {
+            mapping.startObject("field_" + i).field("type", "keyword").endObject();
+        }
+        mapping.endObject().endObject().endObject();
+        assertAcked(prepareCreate("test").addMapping("type", mapping));
+
+        HttpResponse response = new HttpRequestBuilder(HttpClients.createDefault())
+                .httpTransport(internalCluster().getDataNodeInstance(HttpServerTransport.class))
+                .method("GET")
+                .path("/_cluster/state/metadata")
+                .execute();
+        assertThat(response.getStatusCode(), equalTo(RestStatus.OK.getStatus()));
+        assertThat(response.getHeaders().get("Transfer-Encoding"), equalTo("chunked"));
+
+        Map<String, Object> clusterState = XContentHelper.convertToMap(new BytesArray(response.getBody()), false).v2();
+        Object properties = XContentMapValues.extractValue("metadata.indices.test.mappings.type.properties", clusterState);
+        assertThat(properties, notNullValue());
+        assertThat(((Map<?, ?>) properties).size(), equalTo(numFields));
+    }
+
+    public void testSmallResponseIsNotChunked() throws Exception {
+        HttpResponse response = new HttpRequestBuilder(HttpClients.createDefault())
+                .httpTransport(internalCluster().getDataNodeInstance(HttpServerTransport.class))
+                .method("GET")
+                .path("/_cluster/health")
+                .execute();
+        assertThat(response.getStatusCode(), equalTo(RestStatus.OK.getStatus()));
+        assertThat(response.getHeaders().get("Content-Length"), notNullValue());
+    }
+}
@@ -19,17 +19,25 @@
 
 package org.elasticsearch.http.netty;
 
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.cache.recycler.MockPageCacheRecycler;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.network.NetworkService;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.http.HttpTransportSettings;
 import org.elasticsearch.http.netty.cors.CorsHandler;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.rest.BytesRestResponse;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.rest.StreamingRestResponse;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.jboss.netty.buffer.ChannelBuffer;
@@ -39,7 +47,9 @@ import org.jboss.netty.channel.ChannelConfig;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.DefaultChannelFuture;
 import org.jboss.netty.handler.codec.http.DefaultHttpHeaders;
+import org.jboss.netty.handler.codec.http.HttpChunk;
 import org.jboss.netty.handler.codec.http.HttpHeaders;
 import org.jboss.netty.handler.codec.http.HttpMethod;
 import org.jboss.netty.handler.codec.http.HttpRequest;
@@ -49,6 +59,7 @@ import org.junit.After;
 import org.junit.Before;
 
 import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -56,8 +67,12 @@ import static org.elasticsearch.http.HttpTransportSettings.SETTING_CORS_ALLOW_CR
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_CORS_ALLOW_METHODS;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_CORS_ALLOW_ORIGIN;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_CORS_ENABLED;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -169,6 +184,103 @@ public class NettyHttpChannelTests extends ESTestCase {
         assertThat(response.headers().get(HttpHeaders.Names.CONTENT_TYPE), equalTo(resp.contentType()));
     }
 
+    public void testSmallStreamingResponseIsNotChunked() throws Exception {
+        httpServerTransport = new NettyHttpServerTransport(Settings.EMPTY, networkService, bigArrays, threadPool);
+        WriteCapturingChannel writeCapturingChannel = new WriteCapturingChannel();
+        NettyHttpRequest request = new NettyHttpRequest(new TestHttpRequest(), writeCapturingChannel);
+        NettyHttpChannel channel = new NettyHttpChannel(httpServerTransport, request, null, randomBoolean());
+        assertTrue(channel.supportsStreamingResponses());
+
+        RestResponse resp = StreamingRestResponse.build(channel, RestStatus.OK, builder -> builder.startObject().field("foo", "bar").endObject());
+        assertThat(resp, instanceOf(StreamingRestResponse.class));
+        channel.sendResponse(resp);
+
+        List<Object> writtenObjects = writeCapturingChannel.getWrittenObjects();
+        assertThat(writtenObjects.size(), is(1));
+        HttpResponse response = (HttpResponse) writtenObjects.get(0);
+        assertFalse(response.isChunked());
+        assertThat(response.getContent().toString(StandardCharsets.UTF_8), equalTo("{\"foo\":\"bar\"}"));
+        assertThat(response.headers().get(HttpHeaders.Names.CONTENT_LENGTH), equalTo(Integer.toString(response.getContent().readableBytes())));
+        assertThat(response.headers().get(HttpHeaders.Names.CONTENT_TYPE), equalTo(XContentType.JSON.mediaType()));
+        writeCapturingChannel.completeWrites();
+    }
+
+    public void testLargeStreamingResponseIsChunked() throws Exception {
+        httpServerTransport = new NettyHttpServerTransport(Settings.EMPTY, networkService, bigArrays, threadPool);
+        WriteCapturingChannel writeCapturingChannel = new WriteCapturingChannel();
+        NettyHttpRequest request = new NettyHttpRequest(new TestHttpRequest(), writeCapturingChannel);
+        NettyHttpChannel channel = new NettyHttpChannel(httpServerTransport, request, null, randomBoolean());
+
+        final int numValues = scaledRandomIntBetween(BigArrays.BYTE_PAGE_SIZE / 4, BigArrays.BYTE_PAGE_SIZE);
+        final StreamingRestResponse.ContentWriter contentWriter = builder -> {
+            builder.startArray();
+            for (int i = 0; i < numValues; i++) {
+                builder.value("value_" + i);
+            }
+            builder.endArray();
+        };
+        XContentBuilder expected = XContentFactory.jsonBuilder();
+        contentWriter.writeTo(expected);
+        channel.sendResponse(StreamingRestResponse.build(channel, RestStatus.OK, contentWriter));
+
+        List<Object> writtenObjects = writeCapturingChannel.getWrittenObjects();
+        assertThat(writtenObjects.size(), greaterThan(3));
+        HttpResponse response = (HttpResponse) writtenObjects.get(0);
+        assertTrue(response.isChunked());
+        assertTrue(HttpHeaders.isTransferEncodingChunked(response));
+        assertThat(response.headers().get(HttpHeaders.Names.CONTENT_LENGTH), nullValue());
+        assertThat(response.headers().get(HttpHeaders.Names.CONTENT_TYPE), equalTo(XContentType.JSON.mediaType()));
+        StringBuilder content = new StringBuilder();
+        for (Object chunk : writtenObjects.subList(1, writtenObjects.size() - 1)) {
+            assertThat(((HttpChunk) chunk).getContent().readableBytes(), lessThanOrEqualTo(BigArrays.BYTE_PAGE_SIZE));
+            content.append(((HttpChunk) chunk).getContent().toString(StandardCharsets.UTF_8));
+        }
+        assertThat(content.toString(), equalTo(expected.string()));
+        assertTrue(((HttpChunk) writtenObjects.get(writtenObjects.size() - 1)).isLast());
+        writeCapturingChannel.completeWrites();
+    }
+
+    public void testStreamingResponsesDisabled() throws Exception {
+        Settings settings = Settings.builder().put(HttpTransportSettings.SETTING_HTTP_STREAMING_RESPONSES.getKey(), false).build();
+        httpServerTransport = new NettyHttpServerTransport(settings, networkService, bigArrays, threadPool);
+        WriteCapturingChannel writeCapturingChannel = new WriteCapturingChannel();
+        NettyHttpRequest request = new NettyHttpRequest(new TestHttpRequest(), writeCapturingChannel);
+        NettyHttpChannel channel = new NettyHttpChannel(httpServerTransport, request, null, randomBoolean());
+        assertFalse(channel.supportsStreamingResponses());
+
+        RestResponse resp = StreamingRestResponse.build(channel, RestStatus.OK, builder -> builder.startObject().endObject());
+        assertThat(resp, instanceOf(BytesRestResponse.class));
+        channel.sendResponse(resp);
+        writeCapturingChannel.completeWrites();
+    }
+
+    public void testStreamingResponseTimesOutOnSlowClient() throws Exception {
+        Settings settings = Settings.builder()
+                .put(HttpTransportSettings.SETTING_HTTP_STREAMING_WRITE_TIMEOUT.getKey(), TimeValue.timeValueMillis(10))
+                .build();
+        httpServerTransport = new NettyHttpServerTransport(settings, networkService, bigArrays, threadPool);
+        WriteCapturingChannel writeCapturingChannel = new WriteCapturingChannel();
+        // the client doesn't read anything, so writes never complete
+        writeCapturingChannel.writable = false;
+        NettyHttpRequest request = new NettyHttpRequest(new TestHttpRequest(), writeCapturingChannel);
+        NettyHttpChannel channel = new NettyHttpChannel(httpServerTransport, request, null, randomBoolean());
+
+        final int numValues = BigArrays.BYTE_PAGE_SIZE;
+        RestResponse resp = StreamingRestResponse.build(channel, RestStatus.OK, builder -> {
+            builder.startArray();
+            for (int i = 0; i < numValues; i++) {
+                builder.value("value_" + i);
+            }
+            builder.endArray();
+        });
+        Exception e = expectThrows(Exception.class, () -> channel.sendResponse(resp));
+        assertThat(ExceptionsHelper.unwrapCause(e).getMessage(), containsString("waiting for the client to read the response"));
+        assertTrue(writeCapturingChannel.closed);
+        // the status line and the first page have been sent, the rest of the response must not have been generated
+        assertThat(writeCapturingChannel.getWrittenObjects().size(), is(2));
+        writeCapturingChannel.completeWrites();
+    }
+
     private HttpResponse execRequestWithCors(final Settings settings, final String originValue) {
         // construct request and send it over the transport layer
         httpServerTransport = new NettyHttpServerTransport(settings, networkService, bigArrays, threadPool);
@@ -190,6 +302,9 @@ public class NettyHttpChannelTests extends ESTestCase {
     private static class WriteCapturingChannel implements Channel {
 
         private List<Object> writtenObjects = new ArrayList<>();
+        private List<ChannelFuture> writeFutures = new ArrayList<>();
+        private boolean writable = true;
+        private boolean closed;
 
         @Override
         public Integer getId() {
@@ -244,13 +359,14 @@ public class NettyHttpChannelTests extends ESTestCase {
         @Override
         public ChannelFuture write(Object message) {
             writtenObjects.add(message);
-            return null;
+            ChannelFuture future = new DefaultChannelFuture(this, false);
+            writeFutures.add(future);
+            return future;
         }
 
         @Override
         public ChannelFuture write(Object message, SocketAddress remoteAddress) {
-            writtenObjects.add(message);
-            return null;
+            return write(message);
         }
 
         @Override
@@ -275,6 +391,7 @@ public class NettyHttpChannelTests extends ESTestCase {
 
         @Override
         public ChannelFuture close() {
+            closed = true;
             return null;
         }
 
@@ -295,7 +412,7 @@ public class NettyHttpChannelTests extends ESTestCase {
 
         @Override
         public boolean isWritable() {
-            return false;
+            return writable;
         }
 
         @Override
@@ -336,6 +453,12 @@ public class NettyHttpChannelTests extends ESTestCase {
         public List<Object> getWrittenObjects() {
             return writtenObjects;
         }
+
+        public void completeWrites() {
+            for (ChannelFuture future : writeFutures) {
+                future.setSuccess();
+            }
+        }
     }
 
     private static class TestHttpRequest implements HttpRequest {
@@ -0,0 +1,130 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.index;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.search.SortedSetSelector;
+import org.apache.lucene.search.SortedSetSortField;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.core.DoubleFieldMapper;
+import org.elasticsearch.index.mapper.core.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.core.LongFieldMapper;
+import org.elasticsearch.index.mapper.core.TextFieldMapper;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.IndexSettingsModule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class IndexSortConfigTests extends ESTestCase {
+
+    private static IndexSortConfig indexSortConfig(Settings settings) {
+        return IndexSettingsModule.newIndexSettings("index", settings).getIndexSortConfig();
+    }
+
+    private static MappedFieldType fieldType(MappedFieldType fieldType, String name, boolean hasDocValues) {
+        fieldType.setName(name);
+        fieldType.setHasDocValues(hasDocValues);
+        return fieldType;
+    }
+
+    public void testNoIndexSort() {
+        IndexSortConfig config = indexSortConfig(Settings.EMPTY);
+        assertFalse(config.hasIndexSort());
+        assertNull(config.buildIndexSort(field -> null));
+    }
+
+    public void testIndexSort() {
+        Settings settings = Settings.builder()
+            .putArray("index.sort.field", "rank", "price", "tag")
+            .putArray("index.sort.order", "desc", "asc", "desc")
+            .build();
+        IndexSortConfig config = indexSortConfig(settings);
+        assertTrue(config.hasIndexSort());
+
+        Map<String, MappedFieldType> fieldTypes = new HashMap<>();
+        fieldTypes.put("rank", fieldType(new LongFieldMapper.LongFieldType(), "rank", true));
+        fieldTypes.put("price", fieldType(new DoubleFieldMapper.DoubleFieldType(), "price", true));
+        fieldTypes.put("tag", fieldType(new KeywordFieldMapper.KeywordFieldType(), "tag", true));
+        Sort sort = config.buildIndexSort(fieldTypes::get);
+
+        SortField[] sortFields = sort.getSort();
+        assertEquals(3, sortFields.length);
+        SortedNumericSortField rank = (SortedNumericSortField) sortFields[0];
+        assertEquals("rank", rank.getField());
+        assertTrue(rank.getReverse());
+        assertEquals(SortedNumericSelector.Type.MAX, rank.getSelector());
+        assertEquals(Long.MIN_VALUE, rank.getMissingValue());
+        SortedNumericSortField price = (SortedNumericSortField) sortFields[1];
+        assertEquals("price", price.getField());
+        assertFalse(price.getReverse());
+        assertEquals(SortedNumericSelector.Type.MIN, price.getSelector());
+        assertEquals(Long.MAX_VALUE, price.getMissingValue());
+        SortedSetSortField tag = (SortedSetSortField) sortFields[2];
+        assertEquals("tag", tag.getField());
+        assertTrue(tag.getReverse());
+        assertEquals(SortedSetSelector.Type.MAX, tag.getSelector());
+        assertEquals(SortField.STRING_FIRST, tag.getMissingValue());
+    }
+
+    public void testDefaultOrder() {
+        IndexSortConfig config = indexSortConfig(Settings.builder().put("index.sort.field", "tag").build());
+        Sort sort = config.buildIndexSort(field -> fieldType(new KeywordFieldMapper.KeywordFieldType(), field, true));
+        assertEquals(1, sort.getSort().length);
+        assertFalse(sort.getSort()[0].getReverse());
+        assertEquals(SortField.STRING_LAST, sort.getSort()[0].getMissingValue());
+    }
+
+    public void testOrderWithoutField() {
+        Settings settings = Settings.builder()
+            .putArray("index.sort.field", "rank", "tag")
+            .put("index.sort.order", "desc")
+            .build();
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> indexSortConfig(settings));
+        assertEquals("index.sort.field:[rank, tag] and index.sort.order:[desc] must have the same number of values", e.getMessage());
+    }
+
+    public void testInvalidOrder() {
+        Settings settings = Settings.builder()
+            .put("index.sort.field", "rank")
+            .put("index.sort.order", "up")
+            .build();
+        expectThrows(IllegalArgumentException.class, () -> indexSortConfig(settings));
+    }
+
+    public void testInvalidField() {
+        IndexSortConfig config = indexSortConfig(Settings.builder().put("index.sort.field", "field").build());
+
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> config.buildIndexSort(field -> null));
+        assertEquals("unknown index sort field:[field]", e.getMessage());
+
+        e = expectThrows(IllegalArgumentException.class,
+            () -> config.buildIndexSort(field -> fieldType(new LongFieldMapper.LongFieldType(), field, false)));
+        assertEquals("index sort field:[field] must have doc values", e.getMessage());
+
+        e = expectThrows(IllegalArgumentException.class,
+            () -> config.buildIndexSort(field -> fieldType(new TextFieldMapper.TextFieldType(), field, true)));
+        assertEquals("index sort field:[field] of type [text] is not supported, only numeric, date and keyword fields can be sorted by",
+            e.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.index;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.mapper.MapperParsingException;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.test.ESIntegTestCase;
+
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_REPLICAS;
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_SHARDS;
+import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchResponse;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Checks that searches on a sorted index return the same hits and total hits as the same searches on an index that isn't
+ * sorted, also when they sort like the index and stop collecting sorted segments early.
+ */
+public class IndexSortIT extends ESIntegTestCase {
+
+    public void testSameHitsAsUnsortedIndex() throws Exception {
+        assertAcked(prepareCreate("sorted")
+                .setSettings(SETTING_NUMBER_OF_SHARDS, 1, SETTING_NUMBER_OF_REPLICAS, 0,
+                        "index.sort.field", "rank", "index.sort.order", "desc")
+                .addMapping("type", "rank", "type=long", "tag", "type=keyword"));
+        assertAcked(prepareCreate("unsorted")
+                .setSettings(SETTING_NUMBER_OF_SHARDS, randomIntBetween(1, 3), SETTING_NUMBER_OF_REPLICAS, 0)
+                .addMapping("type", "rank", "type=long", "tag", "type=keyword"));
+        ensureYellow("sorted", "unsorted");
+
+        final int numDocs = scaledRandomIntBetween(100, 500);
+        for (int i = 0; i < numDocs; i++) {
+            final long rank = randomIntBetween(0, 100);
+            final String tag = randomFrom("a", "b");
+            final boolean hasRank = rarely() == false;
+            for (String index : new String[] { "sorted", "unsorted" }) {
+                client().prepareIndex(index, "type", Integer.toString(i)).setSource(hasRank
+                        ? jsonBuilder().startObject().field("rank", rank).field("tag", tag).endObject()
+                        : jsonBuilder().startObject().field("tag", tag).endObject()).get();
+            }
+            if (i == numDocs / 2) {
+                flush("sorted");
+            }
+        }
+        // only merged segments are sorted, some more documents go to a segment that isn't
+        flush("sorted");
+        client().admin().indices().prepareForceMerge("sorted").setMaxNumSegments(1).get();
+        for (int i = numDocs; i < numDocs + 10; i++) {
+            final long rank = randomIntBetween(0, 100);
+            for (String index : new String[] { "sorted", "unsorted" }) {
+                client().prepareIndex(index, "type", Integer.toString(i))
+                        .setSource(jsonBuilder().startObject().field("rank", rank).field("tag", "a").endObject()).get();
+            }
+        }
+        for (int i = 0; i < numDocs; i++) {
+            if (rarely()) {
+                client().prepareDelete("sorted", "type", Integer.toString(i)).get();
+                client().prepareDelete("unsorted", "type", Integer.toString(i)).get();
+            }
+        }
+        refresh("sorted", "unsorted");
+
+        for (QueryBuilder<?> query : new QueryBuilder<?>[] { matchAllQuery(), termQuery("tag", "a") }) {
+            final int size = randomIntBetween(1, 50);
+            SearchResponse sorted = client().prepareSearch("sorted").setQuery(query).addSort("rank", SortOrder.DESC)
+                    .setSize(size).get();
+            SearchResponse unsorted = client().prepareSearch("unsorted").setQuery(query).addSort("rank", SortOrder.DESC)
+                    .setSize(size).get();
+            assertSearchResponse(sorted);
+            assertSearchResponse(unsorted);
+            assertThat(sorted.getHits().getTotalHits(), equalTo(unsorted.getHits().getTotalHits()));
+            SearchHit[] sortedHits = sorted.getHits().getHits();
+            SearchHit[] unsortedHits = unsorted.getHits().getHits();
+            assertThat(sortedHits.length, equalTo(unsortedHits.length));
+            for (int i = 0; i < sortedHits.length; i++) {
+                assertThat(sortedHits[i].getSortValues(), equalTo(unsortedHits[i].getSortValues()));
+            }
+        }
+    }
+
+    public void testInvalidIndexSort() throws Exception {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> prepareCreate("test")
+                .setSettings("index.sort.field", "rank")
+                .addMapping("type", "tag", "type=keyword")
+                .get());
+        assertThat(e.getMessage(), containsString("unknown index sort field:[rank]"));
+
+        MapperParsingException mpe = expectThrows(MapperParsingException.class, () -> prepareCreate("test")
+                .setSettings("index.sort.field", "rank")
+                .addMapping("type", jsonBuilder().startObject().startObject("type").startObject("properties")
+                        .startObject("rank").field("type", "long").endObject()
+                        .startObject("nested").field("type", "nested").endObject()
+                        .endObject().endObject().endObject())
+                .get());
+        assertThat(mpe.getMessage(), containsString("cannot have nested fields when index sort is activated"));
+    }
+}
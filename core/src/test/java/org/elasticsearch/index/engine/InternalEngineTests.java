@@ -197,8 +197,9 @@ public class InternalEngineTests extends ESTestCase {
 
     public EngineConfig copy(EngineConfig config, EngineConfig.OpenMode openMode) {
         return new EngineConfig(openMode, config.getShardId(), config.getThreadPool(), config.getIndexSettings(), config.getWarmer(),
-            config.getStore(), config.getDeletionPolicy(), config.getMergePolicy(), config.getAnalyzer(), config.getSimilarity(),
-            new CodecService(null, logger), config.getEventListener(), config.getTranslogRecoveryPerformer(), config.getQueryCache(),
+            config.getStore(), config.getDeletionPolicy(), config.getMergePolicy(), config.getIndexSort(), config.getAnalyzer(),
+            config.getSimilarity(), new CodecService(null, logger), config.getEventListener(), config.getTranslogRecoveryPerformer(),
+            config.getQueryCache(),
             config.getQueryCachingPolicy(), config.getTranslogConfig(), config.getFlushMergesAfter());
     }
 
@@ -291,7 +292,7 @@ public class InternalEngineTests extends ESTestCase {
             throw new ElasticsearchException("can't find index?", e);
         }
         EngineConfig config = new EngineConfig(openMode, shardId, threadPool, indexSettings
-                , null, store, createSnapshotDeletionPolicy(), mergePolicy,
+                , null, store, createSnapshotDeletionPolicy(), mergePolicy, null,
                 iwc.getAnalyzer(), iwc.getSimilarity(), new CodecService(null, logger), new Engine.EventListener() {
             @Override
             public void onFailedEngine(String reason, @Nullable Throwable t) {
@@ -950,6 +951,43 @@ public class InternalEngineTests extends ESTestCase {
         assertNull("Sync ID must be gone since we have a document to replay", engine.getLastCommittedSegmentInfos().getUserData().get(Engine.SYNC_COMMIT_ID));
     }
 
+    public void testRealtimeGetFromCachedSource() throws IOException {
+        ParsedDocument doc = testParsedDocument("1", "1", "test", null, -1, -1, testDocument(), B_1, null);
+        engine.index(new Engine.Index(newUid("1"), doc));
+        try (Engine.GetResult getResult = engine.get(new Engine.Get(true, newUid("1")))) {
+            assertThat(getResult.exists(), equalTo(true));
+            assertThat(getResult.isSourceCached(), equalTo(false));
+        }
+
+        IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(defaultSettings.getIndex(), Settings.builder()
+            .put(defaultSettings.getSettings())
+            .put(IndexSettings.INDEX_REALTIME_GET_CACHE_SIZE_SETTING.getKey(), "1mb")
+            .build());
+        try (Store store = createStore();
+             Engine engine = createEngine(indexSettings, store, createTempDir(), newMergePolicy())) {
+            engine.index(new Engine.Index(newUid("1"), doc));
+            try (Engine.GetResult getResult = engine.get(new Engine.Get(true, newUid("1")))) {
+                assertThat(getResult.exists(), equalTo(true));
+                assertThat(getResult.isSourceCached(), equalTo(true));
+                assertThat(getResult.source().source.toBytesArray(), equalTo(B_1.toBytesArray()));
+            }
+
+            // once refreshed the document is loaded from the index again
+            engine.refresh("test");
+            try (Engine.GetResult getResult = engine.get(new Engine.Get(true, newUid("1")))) {
+                assertThat(getResult.exists(), equalTo(true));
+                assertThat(getResult.isSourceCached(), equalTo(false));
+                assertThat(getResult.docIdAndVersion(), notNullValue());
+            }
+
+            // deletes are never served from the cached source
+            engine.delete(new Engine.Delete("test", "1", newUid("1")));
+            try (Engine.GetResult getResult = engine.get(new Engine.Get(true, newUid("1")))) {
+                assertThat(getResult.exists(), equalTo(false));
+            }
+        }
+    }
+
     public void testVersioningNewCreate() {
         ParsedDocument doc = testParsedDocument("1", "1", "test", null, -1, -1, testDocument(), B_1, null);
         Engine.Index create = new Engine.Index(newUid("1"), doc, Versions.MATCH_DELETED);
@@ -1993,7 +2031,7 @@ public class InternalEngineTests extends ESTestCase {
         TranslogConfig translogConfig = new TranslogConfig(shardId, translog.location(), config.getIndexSettings(), BigArrays.NON_RECYCLING_INSTANCE);
 
         EngineConfig brokenConfig = new EngineConfig(EngineConfig.OpenMode.OPEN_INDEX_AND_TRANSLOG, shardId, threadPool, config.getIndexSettings()
-                , null, store, createSnapshotDeletionPolicy(), newMergePolicy(),
+                , null, store, createSnapshotDeletionPolicy(), newMergePolicy(), null,
                 config.getAnalyzer(), config.getSimilarity(), new CodecService(null, logger), config.getEventListener()
                 , config.getTranslogRecoveryPerformer(), IndexSearcher.getDefaultQueryCache(), IndexSearcher.getDefaultQueryCachingPolicy(), translogConfig, TimeValue.timeValueMinutes(5));
 
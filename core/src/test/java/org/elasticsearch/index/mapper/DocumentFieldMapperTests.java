@@ -134,6 +134,31 @@ public class DocumentFieldMapperTests extends LuceneTestCase {
         assertAnalyzes(documentFieldMappers.searchQuoteAnalyzer(), "field2", "default_search_quote");
     }
 
+    public void testCopyAndAddAll() throws IOException {
+        FakeFieldType fieldType1 = new FakeFieldType();
+        fieldType1.setName("field1");
+        FieldMapper fieldMapper1 = new FakeFieldMapper("field1", fieldType1);
+
+        FakeFieldType fieldType2 = new FakeFieldType();
+        fieldType2.setName("field2");
+        fieldType2.setIndexAnalyzer(new NamedAnalyzer("foo", new FakeAnalyzer("index")));
+        FieldMapper fieldMapper2 = new FakeFieldMapper("field2", fieldType2);
+
+        DocumentFieldMappers documentFieldMappers = new DocumentFieldMappers(Arrays.asList(fieldMapper1),
+            new FakeAnalyzer("default_index"), new FakeAnalyzer("default_search"), new FakeAnalyzer("default_search_quote"));
+        assertSame(documentFieldMappers.indexAnalyzer(),
+            documentFieldMappers.copyAndAddAll(Arrays.asList(fieldMapper1)).indexAnalyzer());
+
+        DocumentFieldMappers updated = documentFieldMappers.copyAndAddAll(Arrays.asList(fieldMapper1, fieldMapper2));
+        assertSame(fieldMapper1, updated.getMapper("field1"));
+        assertSame(fieldMapper2, updated.getMapper("field2"));
+        assertNull(documentFieldMappers.getMapper("field2"));
+        assertAnalyzes(updated.indexAnalyzer(), "field1", "default_index");
+        assertAnalyzes(updated.indexAnalyzer(), "field2", "index");
+        assertAnalyzes(updated.searchAnalyzer(), "field2", "default_search");
+        assertAnalyzes(updated.searchQuoteAnalyzer(), "field2", "default_search_quote");
+    }
+
     private void assertAnalyzes(Analyzer analyzer, String field, String output) throws IOException {
         try (TokenStream tok = analyzer.tokenStream(field, new StringReader(""))) {
             CharTermAttribute term = tok.addAttribute(CharTermAttribute.class);
@@ -27,6 +27,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.index.mapper.internal.AllFieldMapper;
 import org.elasticsearch.index.mapper.internal.UidFieldMapper;
 import org.elasticsearch.index.mapper.object.ObjectMapper;
 import org.elasticsearch.test.ESSingleNodeTestCase;
@@ -70,6 +71,38 @@ public class DocumentParserTests extends ESSingleNodeTestCase {
         assertNotNull(doc.rootDoc().getField(UidFieldMapper.NAME));
     }
 
+    public void testParseContextIsReused() throws Exception {
+        DocumentMapperParser mapperParser = createIndex("test").mapperService().documentMapperParser();
+        String mapping = XContentFactory.jsonBuilder().startObject().startObject("type").startObject("properties")
+            .startObject("foo").field("type", "text").endObject()
+            .endObject().endObject().endObject().string();
+        DocumentMapper mapper = mapperParser.parse("type", new CompressedXContent(mapping));
+
+        BytesReference bytes1 = XContentFactory.jsonBuilder()
+            .startObject()
+            .field("foo", "abc")
+            .field("bar", "def")
+            .endObject().bytes();
+        ParsedDocument doc1 = mapper.parse("test", "type", "1", bytes1);
+        BytesReference bytes2 = XContentFactory.jsonBuilder()
+            .startObject()
+            .field("foo", "ghi")
+            .field("baz", "jkl")
+            .endObject().bytes();
+        ParsedDocument doc2 = mapper.parse("test", "type", "2", bytes2);
+
+        // reusing the parse context must not leak state from one document to the next
+        assertNotSame(doc1.rootDoc(), doc2.rootDoc());
+        assertEquals(2, doc1.rootDoc().getFields(AllFieldMapper.NAME).length);
+        assertEquals(2, doc2.rootDoc().getFields(AllFieldMapper.NAME).length);
+        assertNotNull(doc1.dynamicMappingsUpdate().root().getMapper("bar"));
+        assertNull(doc1.dynamicMappingsUpdate().root().getMapper("baz"));
+        assertNull(doc2.dynamicMappingsUpdate().root().getMapper("bar"));
+        assertNotNull(doc2.dynamicMappingsUpdate().root().getMapper("baz"));
+        assertEquals("1", doc1.id());
+        assertEquals("abc", doc1.rootDoc().get("foo"));
+    }
+
     DocumentMapper createDummyMapping(MapperService mapperService) throws Exception {
         String mapping = jsonBuilder().startObject().startObject("type").startObject("properties")
             .startObject("y").field("type", "object").endObject()
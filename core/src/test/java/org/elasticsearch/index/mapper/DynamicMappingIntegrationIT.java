@@ -19,9 +19,12 @@
 package org.elasticsearch.index.mapper;
 
 import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.cluster.metadata.IndexMetaData;
 import org.elasticsearch.cluster.metadata.MappingMetaData;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.test.ESIntegTestCase;
 
 import java.io.IOException;
@@ -29,6 +32,8 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+
 
 public class DynamicMappingIntegrationIT extends ESIntegTestCase {
 
@@ -54,6 +59,35 @@ public class DynamicMappingIntegrationIT extends ESIntegTestCase {
         assertTrue(bulkResponse.hasFailures());
     }
 
+    public void testConflictingDynamicMappingsWithinBulk() {
+        // all documents must go to the same shard for the order of requests to be meaningful
+        assertAcked(prepareCreate("index").setSettings(Settings.builder().put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1)));
+        BulkResponse bulkResponse = client().prepareBulk()
+            .add(client().prepareIndex("index", "type", "1").setSource("foo", 3))
+            .add(client().prepareIndex("index", "type", "2").setSource("foo", "bar"))
+            .add(client().prepareIndex("index", "type", "3").setSource("baz", "qux"))
+            .get();
+        assertFalse(bulkResponse.getItems()[0].isFailed());
+        assertTrue(bulkResponse.getItems()[1].isFailed());
+        assertFalse(bulkResponse.getItems()[2].isFailed());
+    }
+
+    public void testDynamicMappingsBulk() throws IOException {
+        createIndex("index");
+        final int numDocs = randomIntBetween(10, 100);
+        BulkRequestBuilder bulkRequest = client().prepareBulk();
+        for (int i = 0; i < numDocs; i++) {
+            bulkRequest.add(client().prepareIndex("index", "type", Integer.toString(i)).setSource("field" + i, "bar", "common", i));
+        }
+        BulkResponse bulkResponse = bulkRequest.get();
+        assertFalse(bulkResponse.buildFailureMessage(), bulkResponse.hasFailures());
+        GetMappingsResponse mappings = client().admin().indices().prepareGetMappings("index").setTypes("type").get();
+        assertMappingsHaveField(mappings, "index", "type", "common");
+        for (int i = 0; i < numDocs; i++) {
+            assertMappingsHaveField(mappings, "index", "type", "field" + i);
+        }
+    }
+
     private static void assertMappingsHaveField(GetMappingsResponse mappings, String index, String type, String field) throws IOException {
         ImmutableOpenMap<String, MappingMetaData> indexMappings = mappings.getMappings().get("index");
         assertNotNull(indexMappings);
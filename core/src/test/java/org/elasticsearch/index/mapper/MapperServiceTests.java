@@ -30,6 +30,7 @@ import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.mapper.MapperService.MergeReason;
 import org.elasticsearch.index.mapper.core.KeywordFieldMapper.KeywordFieldType;
 import org.elasticsearch.index.mapper.core.LongFieldMapper.LongFieldType;
+import org.elasticsearch.index.mapper.object.ObjectMapper;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 import org.junit.Rule;
 import org.junit.rules.ExpectedException;
@@ -101,6 +102,78 @@ public class MapperServiceTests extends ESSingleNodeTestCase {
         assertEquals(new HashSet<>(Arrays.asList("type1", "type2")), mapperService.types());
     }
 
+    public void testMergeSharesUnchangedMappers() throws Exception {
+        MapperService mapperService = createIndex("index1").mapperService();
+        mapperService.merge("type1", new CompressedXContent("{\"type1\":{\"properties\":{\"field1\":{\"type\":\"keyword\"}}}}"),
+            MergeReason.MAPPING_UPDATE, false);
+        mapperService.merge("type2", new CompressedXContent("{\"type2\":{\"properties\":{\"field2\":{\"type\":\"long\"}}}}"),
+            MergeReason.MAPPING_UPDATE, false);
+        DocumentMapper type1 = mapperService.documentMapper("type1");
+        DocumentMapper type2 = mapperService.documentMapper("type2");
+        MappedFieldType field1 = mapperService.fullName("field1");
+
+        // merging the full mapping again only adds the new field
+        DocumentMapper updated = mapperService.merge("type1", new CompressedXContent(
+            "{\"type1\":{\"properties\":{\"field1\":{\"type\":\"keyword\"},\"field3\":{\"type\":\"keyword\"}}}}"),
+            MergeReason.MAPPING_UPDATE, false);
+        assertNotSame(type1, updated);
+        assertSame(field1, mapperService.fullName("field1"));
+        assertSame(field1, updated.mappers().getMapper("field1").fieldType());
+        assertNotNull(updated.mappers().getMapper("field3"));
+        assertSame(type2, mapperService.documentMapper("type2"));
+    }
+
+    public void testMergeKeepsUnchangedMapperInstances() throws Exception {
+        MapperService mapperService = createIndex("index1").mapperService();
+        String mapping = "{\"type1\":{\"properties\":{\"field1\":{\"type\":\"keyword\",\"ignore_above\":10},"
+            + "\"obj\":{\"properties\":{\"field2\":{\"type\":\"text\",\"fields\":{\"raw\":{\"type\":\"keyword\"}}}}}}}}";
+        DocumentMapper type1 = mapperService.merge("type1", new CompressedXContent(mapping), MergeReason.MAPPING_UPDATE, false);
+        FieldMapper field1 = type1.mappers().getMapper("field1");
+        FieldMapper field2 = type1.mappers().getMapper("obj.field2");
+        ObjectMapper obj = mapperService.getObjectMapper("obj");
+
+        // re-merging the same mapping, as happens when cluster state is applied, changes nothing
+        assertSame(type1, mapperService.merge("type1", new CompressedXContent(mapping), MergeReason.MAPPING_RECOVERY, false));
+        assertSame(obj, mapperService.getObjectMapper("obj"));
+
+        // adding a field only replaces the mappers on its path
+        DocumentMapper updated = mapperService.merge("type1", new CompressedXContent(
+            "{\"type1\":{\"properties\":{\"field1\":{\"type\":\"keyword\",\"ignore_above\":10},\"field3\":{\"type\":\"long\"}}}}"),
+            MergeReason.MAPPING_UPDATE, false);
+        assertNotSame(type1, updated);
+        assertSame(field1, updated.mappers().getMapper("field1"));
+        assertSame(field2, updated.mappers().getMapper("obj.field2"));
+        assertSame(obj, mapperService.getObjectMapper("obj"));
+
+        // a change that is not part of the field type still produces a new mapper
+        updated = mapperService.merge("type1", new CompressedXContent(
+            "{\"type1\":{\"properties\":{\"field1\":{\"type\":\"keyword\",\"ignore_above\":20}}}}"),
+            MergeReason.MAPPING_UPDATE, false);
+        assertNotSame(field1, updated.mappers().getMapper("field1"));
+        assertSame(field1.fieldType(), updated.mappers().getMapper("field1").fieldType());
+        assertThat(updated.mappingSource().string(), containsString("\"ignore_above\":20"));
+        assertSame(field2, updated.mappers().getMapper("obj.field2"));
+    }
+
+    public void testMergeKeepsUnchangedDynamicTemplates() throws Exception {
+        MapperService mapperService = createIndex("index1").mapperService();
+        String mapping = "{\"type1\":{\"dynamic_templates\":[{\"strings\":{\"match_mapping_type\":\"string\","
+            + "\"mapping\":{\"type\":\"keyword\"}}}],\"properties\":{\"field1\":{\"type\":\"keyword\"}}}}";
+        DocumentMapper type1 = mapperService.merge("type1", new CompressedXContent(mapping), MergeReason.MAPPING_UPDATE, false);
+
+        // the templates are parsed into new instances on every merge, which must not count as a change
+        DocumentMapper merged = mapperService.merge("type1", new CompressedXContent(mapping), MergeReason.MAPPING_UPDATE, false);
+        assertSame(type1, merged);
+        assertSame(type1, mapperService.documentMapper("type1"));
+        assertEquals(type1.mappingSource(), merged.mappingSource());
+
+        // changing a template does
+        merged = mapperService.merge("type1", new CompressedXContent(mapping.replace("keyword\"}}}]", "text\"}}}]")),
+            MergeReason.MAPPING_UPDATE, false);
+        assertNotSame(type1, merged);
+        assertThat(merged.mappingSource().string(), containsString("\"mapping\":{\"type\":\"text\"}"));
+    }
+
     public void testIndexIntoDefaultMapping() throws Throwable {
         // 1. test implicit index creation
         try {
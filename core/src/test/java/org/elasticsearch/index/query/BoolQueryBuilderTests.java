@@ -28,6 +28,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.mapper.MappedFieldType;
 import org.hamcrest.Matchers;
 
 import java.io.IOException;
@@ -409,4 +410,31 @@ public class BoolQueryBuilderTests extends AbstractQueryTestCase<BoolQueryBuilde
         assertEquals(rewrittenAgain, expected);
         assertEquals(QueryBuilder.rewriteQuery(boolQueryBuilder, queryShardContext()), expected);
     }
+
+    public void testRewriteWithMatchNone() throws IOException {
+        RangeQueryBuilder disjoint = new RangeQueryBuilder("foo") {
+            @Override
+            protected MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext) throws IOException {
+                return MappedFieldType.Relation.DISJOINT;
+            }
+        };
+        BoolQueryBuilder boolQueryBuilder = new BoolQueryBuilder();
+        boolQueryBuilder.must(new TermsQueryBuilder("foo", "must"));
+        if (randomBoolean()) {
+            boolQueryBuilder.must(disjoint);
+        } else {
+            boolQueryBuilder.filter(disjoint);
+        }
+        assertThat(boolQueryBuilder.rewrite(queryShardContext()), instanceOf(MatchNoneQueryBuilder.class));
+
+        // optional and prohibited clauses that can't match don't prevent the query from matching
+        boolQueryBuilder = new BoolQueryBuilder();
+        boolQueryBuilder.must(new TermsQueryBuilder("foo", "must"));
+        if (randomBoolean()) {
+            boolQueryBuilder.should(disjoint);
+        } else {
+            boolQueryBuilder.mustNot(disjoint);
+        }
+        assertThat(boolQueryBuilder.rewrite(queryShardContext()), instanceOf(BoolQueryBuilder.class));
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.indices.breaker;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RealMemoryUsageTests extends ESTestCase {
+
+    public void testNoSmoothing() {
+        AtomicLong heap = new AtomicLong(randomIntBetween(0, 1 << 20));
+        RealMemoryUsage usage = new RealMemoryUsage(heap::get, System::nanoTime, 0, 0);
+        for (int i = 0; i < 10; ++i) {
+            heap.set(randomIntBetween(0, 1 << 20));
+            assertEquals(heap.get(), usage.get());
+        }
+    }
+
+    public void testSmoothing() {
+        AtomicLong heap = new AtomicLong(1000);
+        AtomicLong nanos = new AtomicLong(randomLong());
+        RealMemoryUsage usage = new RealMemoryUsage(heap::get, nanos::get, 0, 1000);
+        // the first sample is taken as-is
+        assertEquals(1000, usage.get());
+
+        // a spike that is immediately followed by a check only moves the usage by a fraction of the difference
+        heap.set(2000);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        long smoothed = usage.get();
+        assertTrue(smoothed > 1000);
+        assertTrue(smoothed < 1100);
+
+        // no time elapsed, no change
+        assertEquals(smoothed, usage.get());
+
+        // after several windows the usage converges to the real value
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2000, usage.get(), 1);
+    }
+
+    public void testSampleInterval() {
+        AtomicLong heap = new AtomicLong(1000);
+        AtomicInteger samples = new AtomicInteger();
+        AtomicLong nanos = new AtomicLong(randomLong());
+        RealMemoryUsage usage = new RealMemoryUsage(() -> {
+            samples.incrementAndGet();
+            return heap.get();
+        }, nanos::get, 100, 0);
+        assertEquals(1000, usage.get());
+        assertEquals(1, samples.get());
+
+        // checks within the interval return the cached value without sampling the heap
+        heap.set(2000);
+        int checks = randomIntBetween(1, 10);
+        for (int i = 0; i < checks; ++i) {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(99) / checks);
+            assertEquals(1000, usage.get());
+        }
+        assertEquals(1, samples.get());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(2000, usage.get());
+        assertEquals(2, samples.get());
+    }
+
+    public void testConcurrentChecks() throws Exception {
+        AtomicLong heap = new AtomicLong(randomIntBetween(0, 1 << 20));
+        RealMemoryUsage usage = new RealMemoryUsage(heap::get, System::nanoTime, 0, 1000);
+        AtomicLong outOfRange = new AtomicLong();
+        Thread[] threads = new Thread[randomIntBetween(2, 8)];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; ++j) {
+                    // the smoothed usage is always in between the smallest and the largest sample
+                    long used = usage.get();
+                    if (used < 0 || used > 1 << 20) {
+                        outOfRange.incrementAndGet();
+                    }
+                    heap.set(j * 1000);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, outOfRange.get());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.indices.cluster;
+
+import org.elasticsearch.action.ListenableActionFuture;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexResponse;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.command.CancelAllocationCommand;
+import org.elasticsearch.common.Priority;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.env.NodeEnvironment;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.IndexEventListener;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.test.ESSingleNodeTestCase;
+import org.elasticsearch.test.MockIndexEventListener;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_REPLICAS;
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_SHARDS;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Tests that cluster states which remove a shard are applied while the shard is still being created.
+ */
+public class IndicesClusterStateServiceTests extends ESSingleNodeTestCase {
+
+    @Override
+    protected Collection<Class<? extends Plugin>> getPlugins() {
+        return pluginList(MockIndexEventListener.TestPlugin.class);
+    }
+
+    @Override
+    protected boolean resetNodeAfterTest() {
+        return true;
+    }
+
+    public void testDeleteIndexWhileCreatingShard() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockShardCreation(creating, release);
+        final Index index;
+        final ListenableActionFuture<DeleteIndexResponse> deleteFuture;
+        try {
+            assertAcked(client().admin().indices().prepareCreate("test")
+                .setSettings(SETTING_NUMBER_OF_SHARDS, 1, SETTING_NUMBER_OF_REPLICAS, 0));
+            assertTrue(creating.await(30, TimeUnit.SECONDS));
+            index = resolveIndex("test");
+            // the index is removed without waiting for the shard creation, the deletion is only acknowledged
+            // once the shard has released its lock
+            deleteFuture = client().admin().indices().prepareDelete("test").execute();
+            assertBusy(() -> assertFalse(getInstanceFromNode(IndicesService.class).hasIndex(index)));
+            assertFalse(client().admin().cluster().prepareHealth().setWaitForEvents(Priority.LANGUID)
+                .setTimeout(TimeValue.timeValueSeconds(10)).get().isTimedOut());
+            assertFalse(deleteFuture.isDone());
+        } finally {
+            release.countDown();
+        }
+        assertAcked(deleteFuture.get());
+
+        // the shard is closed again once it has been created and its files are deleted
+        final NodeEnvironment nodeEnvironment = getInstanceFromNode(NodeEnvironment.class);
+        final ShardId shardId = new ShardId(index, 0);
+        assertBusy(() -> {
+            for (Path path : nodeEnvironment.availableShardPaths(shardId)) {
+                assertFalse(path + " still exists", Files.exists(path));
+            }
+        });
+        nodeEnvironment.shardLock(shardId, 0).close();
+    }
+
+    public void testCancelAllocationWhileCreatingShard() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockShardCreation(creating, release);
+        final ShardRouting cancelled;
+        try {
+            assertAcked(client().admin().indices().prepareCreate("test")
+                .setSettings(SETTING_NUMBER_OF_SHARDS, 1, SETTING_NUMBER_OF_REPLICAS, 0));
+            assertTrue(creating.await(30, TimeUnit.SECONDS));
+            cancelled = client().admin().cluster().prepareState().get().getState().routingTable().index("test").shard(0).primaryShard();
+            assertTrue(cancelled.initializing());
+            // the cancelled primary is allocated to this node again, as a new allocation
+            client().admin().cluster().prepareReroute()
+                .add(new CancelAllocationCommand("test", 0, cancelled.currentNodeId(), true)).get();
+            ShardRouting reallocated = client().admin().cluster().prepareState().get().getState().routingTable()
+                .index("test").shard(0).primaryShard();
+            assertFalse(reallocated.isSameAllocation(cancelled));
+            assertFalse(client().admin().cluster().prepareHealth().setWaitForEvents(Priority.LANGUID)
+                .setTimeout(TimeValue.timeValueSeconds(10)).get().isTimedOut());
+        } finally {
+            release.countDown();
+        }
+
+        // the shard that was created for the cancelled allocation is replaced by one for the new allocation
+        ensureGreen("test");
+        ShardRouting started = client().admin().cluster().prepareState().get().getState().routingTable()
+            .index("test").shard(0).primaryShard();
+        assertThat(started.allocationId(), not(equalTo(cancelled.allocationId())));
+        assertThat(getInstanceFromNode(IndicesService.class).indexServiceSafe(resolveIndex("test")).getShard(0).routingEntry()
+            .allocationId(), equalTo(started.allocationId()));
+    }
+
+    /** Blocks the creation of the first shard until {@code release} is counted down, signalling {@code creating} once it blocks. */
+    private void blockShardCreation(CountDownLatch creating, CountDownLatch release) {
+        final AtomicBoolean blocked = new AtomicBoolean();
+        getInstanceFromNode(MockIndexEventListener.TestEventListener.class).setNewDelegate(new IndexEventListener() {
+            @Override
+            public void beforeIndexShardCreated(ShardId shardId, Settings indexSettings) {
+                if (blocked.compareAndSet(false, true)) {
+                    creating.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+    }
+}
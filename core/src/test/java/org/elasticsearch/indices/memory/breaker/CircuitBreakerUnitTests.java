@@ -20,14 +20,18 @@
 package org.elasticsearch.indices.memory.breaker;
 
 import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.indices.breaker.BreakerSettings;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
+import org.elasticsearch.indices.breaker.CircuitBreakerStats;
 import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -76,4 +80,41 @@ public class CircuitBreakerUnitTests extends ESTestCase {
         assertThat(breaker, instanceOf(CircuitBreaker.class));
         assertThat(breaker.getName(), is(customName));
     }
+
+    public void testParentBreakerWithRealMemoryUsage() throws Exception {
+        // the heap is never empty, so a 1 byte limit always trips when reserving memory
+        Settings settings = Settings.builder()
+                .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), true)
+                .put(HierarchyCircuitBreakerService.TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), "1b")
+                .build();
+        HierarchyCircuitBreakerService service = new HierarchyCircuitBreakerService(settings,
+                new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+        CircuitBreaker request = service.getBreaker(CircuitBreaker.REQUEST);
+        try {
+            request.addEstimateBytesAndMaybeBreak(randomIntBetween(1, 1024), "test");
+            fail("expected the parent breaker to trip");
+        } catch (CircuitBreakingException e) {
+            assertThat(e.getMessage(), containsString("real heap usage"));
+        }
+        assertThat(request.getUsed(), equalTo(0L));
+
+        // releasing memory never trips
+        request.addWithoutBreaking(10);
+        request.addEstimateBytesAndMaybeBreak(-10, "test");
+        assertThat(request.getUsed(), equalTo(0L));
+
+        CircuitBreakerStats parentStats = service.stats().getStats(CircuitBreaker.PARENT);
+        assertThat(parentStats.getTrippedCount(), equalTo(1L));
+        assertThat(parentStats.getTrippedBy().get(CircuitBreaker.REQUEST), equalTo(1L));
+        assertThat(parentStats.getEstimated(), greaterThan(0L));
+    }
+
+    public void testParentBreakerLimitDefault() {
+        assertThat(HierarchyCircuitBreakerService.TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.get(Settings.EMPTY).bytes(), equalTo(pctBytes("70%")));
+        Settings realMemory = Settings.builder().put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), true).build();
+        assertThat(HierarchyCircuitBreakerService.TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.get(realMemory).bytes(), equalTo(pctBytes("95%")));
+        Settings explicit = Settings.builder().put(realMemory)
+                .put(HierarchyCircuitBreakerService.TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), "80%").build();
+        assertThat(HierarchyCircuitBreakerService.TOTAL_CIRCUIT_BREAKER_LIMIT_SETTING.get(explicit).bytes(), equalTo(pctBytes("80%")));
+    }
 }
@@ -20,10 +20,23 @@ package org.elasticsearch.search;
 
 
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.index.IndexService;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.internal.ShardSearchLocalRequest;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 
+import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -70,4 +83,34 @@ public class SearchServiceTests extends ESSingleNodeTestCase {
         assertAcked(client().admin().indices().prepareDelete("index"));
         assertEquals(0, service.getActiveContexts());
     }
+
+    public void testCanMatch() throws IOException {
+        IndexService indexService = createIndex("index", client().admin().indices().prepareCreate("index")
+                .addMapping("type", "timestamp", "type=date", "tag", "type=keyword"));
+        client().prepareIndex("index", "type", "1").setSource("timestamp", "2016-01-01", "tag", "a").setRefresh(true).get();
+        client().prepareIndex("index", "type", "2").setSource("timestamp", "2016-01-02", "tag", "b").setRefresh(true).get();
+        SearchService service = getInstanceFromNode(SearchService.class);
+        ShardId shardId = new ShardId(indexService.index(), 0);
+
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder())));
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder().query(matchAllQuery()))));
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder().query(rangeQuery("timestamp").gte("2015-12-01")))));
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder().query(termQuery("tag", "c")))));
+
+        assertFalse(service.canMatch(request(shardId, new SearchSourceBuilder().query(rangeQuery("timestamp").gte("2016-02-01")))));
+        assertFalse(service.canMatch(request(shardId, new SearchSourceBuilder().query(rangeQuery("unmapped").gte(1)))));
+        assertFalse(service.canMatch(request(shardId, new SearchSourceBuilder()
+                .query(boolQuery().must(termQuery("tag", "a")).filter(rangeQuery("timestamp").lt("2015-01-01")))
+                .aggregation(AggregationBuilders.terms("tags").field("tag")))));
+
+        // global aggregations and suggestions need all shards
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder().query(rangeQuery("timestamp").gte("2016-02-01"))
+                .aggregation(AggregationBuilders.global("global")))));
+        assertTrue(service.canMatch(request(shardId, new SearchSourceBuilder().query(rangeQuery("timestamp").gte("2016-02-01"))
+                .suggest(new SuggestBuilder().addSuggestion("suggest", SuggestBuilders.termSuggestion("tag").text("a"))))));
+    }
+
+    private static ShardSearchLocalRequest request(ShardId shardId, SearchSourceBuilder source) {
+        return new ShardSearchLocalRequest(shardId, 1, SearchType.QUERY_THEN_FETCH, source, new String[0], null);
+    }
 }
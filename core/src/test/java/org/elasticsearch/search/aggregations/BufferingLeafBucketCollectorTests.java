@@ -0,0 +1,156 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BufferingLeafBucketCollectorTests extends ESTestCase {
+
+    /**
+     * Records the docs and buckets it collects, and the size of the blocks it is called with. Terminates collection when
+     * it is about to collect <code>terminateAt</code>.
+     */
+    private static class RecordingCollector extends LeafBucketCollector {
+        final List<String> collected = new ArrayList<>();
+        final List<Integer> blocks = new ArrayList<>();
+        final int terminateAt;
+
+        RecordingCollector(int terminateAt) {
+            this.terminateAt = terminateAt;
+        }
+
+        @Override
+        public void collect(int doc, long bucket) throws IOException {
+            if (doc == terminateAt) {
+                throw new CollectionTerminatedException();
+            }
+            collected.add(doc + ":" + bucket);
+        }
+
+        @Override
+        public void collect(int[] docs, int count, long bucket) throws IOException {
+            blocks.add(count);
+            super.collect(docs, count, bucket);
+        }
+    }
+
+    /** Collect the docs like Lucene would: stop at the first {@link CollectionTerminatedException}. */
+    private static void collect(LeafBucketCollector collector, int[] docs, long[] buckets) throws IOException {
+        try {
+            for (int i = 0; i < docs.length; ++i) {
+                collector.collect(docs[i], buckets[i]);
+            }
+        } catch (CollectionTerminatedException e) {
+            // moving to the next segment
+        }
+    }
+
+    private static int[] randomDocs(int numDocs) {
+        int[] docs = new int[numDocs];
+        for (int i = 0, doc = -1; i < numDocs; ++i) {
+            doc += randomIntBetween(1, 10);
+            docs[i] = doc;
+        }
+        return docs;
+    }
+
+    private static long[] randomBuckets(int numDocs, boolean onlyBucketZero) {
+        long[] buckets = new long[numDocs];
+        for (int i = 0; i < numDocs; ++i) {
+            buckets[i] = onlyBucketZero || randomInt(9) > 0 ? 0 : randomIntBetween(1, 5);
+        }
+        return buckets;
+    }
+
+    public void testSameDocsAndBucketsAsPerDocCollection() throws IOException {
+        int numDocs = randomIntBetween(0, BufferingLeafBucketCollector.BLOCK_SIZE * 5);
+        int[] docs = randomDocs(numDocs);
+        long[] buckets = randomBuckets(numDocs, randomBoolean());
+
+        RecordingCollector perDoc = new RecordingCollector(-1);
+        collect(perDoc, docs, buckets);
+
+        RecordingCollector buffered = new RecordingCollector(-1);
+        BufferingLeafBucketCollector buffering = new BufferingLeafBucketCollector();
+        buffering.reset(buffered);
+        collect(buffering, docs, buckets);
+        buffering.finish();
+
+        assertEquals(perDoc.collected, buffered.collected);
+    }
+
+    public void testPartialFinalBlock() throws IOException {
+        int fullBlocks = randomIntBetween(0, 3);
+        int remainder = randomIntBetween(1, BufferingLeafBucketCollector.BLOCK_SIZE - 1);
+        int numDocs = fullBlocks * BufferingLeafBucketCollector.BLOCK_SIZE + remainder;
+        int[] docs = randomDocs(numDocs);
+        long[] buckets = randomBuckets(numDocs, true);
+
+        RecordingCollector buffered = new RecordingCollector(-1);
+        BufferingLeafBucketCollector buffering = new BufferingLeafBucketCollector();
+        buffering.reset(buffered);
+        collect(buffering, docs, buckets);
+        // the final block is pending until the segment is done
+        assertEquals(fullBlocks * BufferingLeafBucketCollector.BLOCK_SIZE, buffered.collected.size());
+
+        // moving to the next segment forwards it to the collector of the previous segment
+        RecordingCollector next = new RecordingCollector(-1);
+        buffering.reset(next);
+        assertEquals(numDocs, buffered.collected.size());
+        assertEquals(fullBlocks + 1, buffered.blocks.size());
+        assertEquals(remainder, (int) buffered.blocks.get(fullBlocks));
+        for (int i = 0; i < fullBlocks; ++i) {
+            assertEquals(BufferingLeafBucketCollector.BLOCK_SIZE, (int) buffered.blocks.get(i));
+        }
+
+        buffering.finish();
+        assertTrue(next.collected.isEmpty());
+        assertTrue(next.blocks.isEmpty());
+    }
+
+    public void testCollectionTerminatedMidBlock() throws IOException {
+        int numDocs = randomIntBetween(2, BufferingLeafBucketCollector.BLOCK_SIZE * 3);
+        int[] docs = randomDocs(numDocs);
+        long[] buckets = randomBuckets(numDocs, randomBoolean());
+        int terminateAt = docs[randomIntBetween(1, numDocs - 1)];
+
+        RecordingCollector perDoc = new RecordingCollector(terminateAt);
+        collect(perDoc, docs, buckets);
+
+        RecordingCollector buffered = new RecordingCollector(terminateAt);
+        BufferingLeafBucketCollector buffering = new BufferingLeafBucketCollector();
+        buffering.reset(buffered);
+        collect(buffering, docs, buckets);
+        // if termination happens in the final block it is only seen once the segment is done, which must not fail
+        RecordingCollector next = new RecordingCollector(-1);
+        buffering.reset(next);
+
+        assertEquals(perDoc.collected, buffered.collected);
+
+        // the buffer is usable for the next segment
+        collect(buffering, new int[] {0, 1}, new long[] {0, 0});
+        buffering.finish();
+        assertEquals(2, next.collected.size());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.search.aggregations.InternalAggregation.ReduceContext;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class ReduceContextTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new ThreadPool(Settings.builder()
+                .put(Node.NODE_NAME_SETTING.getKey(), "test")
+                .put("threadpool." + ThreadPool.Names.SEARCH_REDUCE + ".size", randomIntBetween(1, 4))
+                .build());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    private static List<Integer> randomGroups() {
+        int numGroups = randomIntBetween(0, 1000);
+        List<Integer> groups = new ArrayList<>(numGroups);
+        for (int i = 0; i < numGroups; i++) {
+            groups.add(randomInt());
+        }
+        return groups;
+    }
+
+    private static void assertReduced(List<Integer> groups, List<Long> reduced) {
+        assertThat(reduced.size(), equalTo(groups.size()));
+        for (int i = 0; i < groups.size(); i++) {
+            assertThat(reduced.get(i), equalTo(2L * groups.get(i)));
+        }
+    }
+
+    public void testReduceEachWithoutExecutor() {
+        ReduceContext context = new ReduceContext(null, null);
+        assertFalse(context.isParallel());
+        List<Integer> groups = randomGroups();
+        Thread thread = Thread.currentThread();
+        assertReduced(groups, context.reduceEach(groups, randomIntBetween(1, 100), group -> {
+            assertSame(thread, Thread.currentThread());
+            return 2L * group;
+        }));
+    }
+
+    public void testReduceEach() {
+        ReduceContext context = new ReduceContext(null, null, threadPool.executor(ThreadPool.Names.SEARCH_REDUCE));
+        assertTrue(context.isParallel());
+        List<Integer> groups = randomGroups();
+        assertReduced(groups, context.reduceEach(groups, randomIntBetween(1, 100), group -> 2L * group));
+    }
+
+    public void testReduceEachRunsRejectedTasks() {
+        Executor rejecting = command -> {
+            throw new EsRejectedExecutionException("rejected");
+        };
+        ReduceContext context = new ReduceContext(null, null, rejecting);
+        List<Integer> groups = randomGroups();
+        assertReduced(groups, context.reduceEach(groups, randomIntBetween(1, 100), group -> 2L * group));
+    }
+
+    public void testReduceEachRunsQueuedTasks() {
+        // an executor that never gets to run the tasks it was handed
+        List<Runnable> queued = new ArrayList<>();
+        ReduceContext context = new ReduceContext(null, null, queued::add);
+        List<Integer> groups = randomGroups();
+        AtomicInteger reducedGroups = new AtomicInteger();
+        assertReduced(groups, context.reduceEach(groups, randomIntBetween(1, 100), group -> {
+            reducedGroups.incrementAndGet();
+            return 2L * group;
+        }));
+        // the tasks must not reduce their groups again once the executor gets to them
+        for (Runnable task : queued) {
+            task.run();
+        }
+        assertThat(reducedGroups.get(), equalTo(groups.size()));
+    }
+
+    public void testNestedReduceEach() {
+        ReduceContext context = new ReduceContext(null, null, threadPool.executor(ThreadPool.Names.SEARCH_REDUCE));
+        List<Integer> groups = randomGroups();
+        List<Long> reduced = context.reduceEach(groups, randomIntBetween(1, 10), group -> {
+            List<Integer> subGroups = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                subGroups.add(group);
+            }
+            long sum = 0;
+            for (long subReduced : context.reduceEach(subGroups, randomIntBetween(1, 3), subGroup -> (long) subGroup)) {
+                sum += subReduced;
+            }
+            return sum;
+        });
+        assertThat(reduced.size(), equalTo(groups.size()));
+        for (int i = 0; i < groups.size(); i++) {
+            assertThat(reduced.get(i), equalTo(10L * groups.get(i)));
+        }
+    }
+
+    public void testReduceEachRethrowsFailures() {
+        ReduceContext context = new ReduceContext(null, null, threadPool.executor(ThreadPool.Names.SEARCH_REDUCE));
+        List<Integer> groups = new ArrayList<>();
+        for (int i = 0; i < randomIntBetween(2, 100); i++) {
+            groups.add(i);
+        }
+        int failingGroup = randomIntBetween(0, groups.size() - 1);
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> context.reduceEach(groups, 1, group -> {
+            if (group == failingGroup) {
+                throw new IllegalStateException("failed to reduce [" + group + "]");
+            }
+            return group;
+        }));
+        assertThat(e.getMessage(), equalTo("failed to reduce [" + failingGroup + "]"));
+    }
+}
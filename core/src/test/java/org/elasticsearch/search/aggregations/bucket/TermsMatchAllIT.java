@@ -0,0 +1,108 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.bucket;
+
+import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregatorBuilder;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregatorFactory.ExecutionMode;
+import org.elasticsearch.search.aggregations.bucket.terms.support.IncludeExclude;
+import org.elasticsearch.test.ESIntegTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_REPLICAS;
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_SHARDS;
+import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.terms;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchResponse;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Checks that the counts that terms aggregations read from the terms dictionary when all documents match are the same as
+ * the ones of collecting the documents.
+ */
+public class TermsMatchAllIT extends ESIntegTestCase {
+
+    private static final String[] FIELDS = new String[] { "keyword", "keywords", "text" };
+
+    private void indexDocs() throws Exception {
+        assertAcked(prepareCreate("idx").setSettings(SETTING_NUMBER_OF_SHARDS, 1, SETTING_NUMBER_OF_REPLICAS, 0)
+                .addMapping("type", "keyword", "type=keyword", "keywords", "type=keyword", "text", "type=text,fielddata=true"));
+        ensureYellow("idx");
+        final int numDocs = scaledRandomIntBetween(100, 1000);
+        final int numTerms = randomIntBetween(1, 200);
+        List<IndexRequestBuilder> builders = new ArrayList<>();
+        for (int i = 0; i < numDocs; i++) {
+            List<String> keywords = new ArrayList<>();
+            for (int j = randomIntBetween(0, 3); j > 0; j--) {
+                keywords.add("term_" + randomInt(numTerms));
+            }
+            builders.add(client().prepareIndex("idx", "type", Integer.toString(i)).setSource(jsonBuilder().startObject()
+                    .field("keyword", "term_" + randomInt(numTerms))
+                    .field("keywords", keywords)
+                    .field("text", "term_" + randomInt(numTerms) + " term_" + randomInt(numTerms))
+                    .endObject()));
+        }
+        // random refreshes create several segments
+        indexRandom(true, false, builders);
+        for (int i = 0; i < numDocs; i++) {
+            if (rarely()) {
+                client().prepareDelete("idx", "type", Integer.toString(i)).get();
+            }
+        }
+        refresh("idx");
+    }
+
+    public void testSameCountsAsCollecting() throws Exception {
+        indexDocs();
+        for (String field : FIELDS) {
+            for (ExecutionMode executionMode : new ExecutionMode[] {
+                    ExecutionMode.GLOBAL_ORDINALS, ExecutionMode.GLOBAL_ORDINALS_HASH, ExecutionMode.GLOBAL_ORDINALS_LOW_CARDINALITY }) {
+                TermsAggregatorBuilder expected = terms("terms").field(field).size(0).executionHint(ExecutionMode.MAP.toString());
+                TermsAggregatorBuilder actual = terms("terms").field(field).size(0).executionHint(executionMode.toString());
+                if (randomBoolean()) {
+                    expected.includeExclude(new IncludeExclude("term_1.*", null));
+                    actual.includeExclude(expected.includeExclude());
+                }
+                assertSameBuckets(search(expected), search(actual));
+            }
+        }
+    }
+
+    private Terms search(TermsAggregatorBuilder terms) {
+        SearchResponse response = client().prepareSearch("idx").setQuery(matchAllQuery()).setSize(0).addAggregation(terms).get();
+        assertSearchResponse(response);
+        return response.getAggregations().get("terms");
+    }
+
+    private static void assertSameBuckets(Terms expected, Terms actual) {
+        assertThat(actual.getBuckets().size(), equalTo(expected.getBuckets().size()));
+        for (Terms.Bucket expectedBucket : expected.getBuckets()) {
+            Terms.Bucket actualBucket = actual.getBucketByKey(expectedBucket.getKeyAsString());
+            assertNotNull(expectedBucket.getKeyAsString(), actualBucket);
+            assertThat(expectedBucket.getKeyAsString(), actualBucket.getDocCount(), equalTo(expectedBucket.getDocCount()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.elasticsearch.search.aggregations.Aggregator.SubAggCollectionMode;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class TermsAggregatorFactoryTests extends ESTestCase {
+
+    public void testSubAggCollectionModeUnknownBuckets() {
+        int shardSize = randomIntBetween(1, 1000);
+        assertThat(TermsAggregatorFactory.subAggCollectionMode(shardSize, -1), equalTo(SubAggCollectionMode.DEPTH_FIRST));
+    }
+
+    public void testSubAggCollectionModeFewBuckets() {
+        int shardSize = randomIntBetween(1, 1000);
+        long estimatedBuckets = randomIntBetween(0, shardSize * TermsAggregatorFactory.BREADTH_FIRST_BUCKETS_RATIO);
+        assertThat(TermsAggregatorFactory.subAggCollectionMode(shardSize, estimatedBuckets), equalTo(SubAggCollectionMode.DEPTH_FIRST));
+    }
+
+    public void testSubAggCollectionModeManyBuckets() {
+        int shardSize = randomIntBetween(1, 1000);
+        long estimatedBuckets = (shardSize + 1) * TermsAggregatorFactory.BREADTH_FIRST_BUCKETS_RATIO + randomIntBetween(0, 100000);
+        assertThat(TermsAggregatorFactory.subAggCollectionMode(shardSize, estimatedBuckets),
+                equalTo(SubAggCollectionMode.BREADTH_FIRST));
+    }
+
+    public void testSubAggCollectionModeAllBucketsReturned() {
+        long estimatedBuckets = randomIntBetween(0, Integer.MAX_VALUE);
+        assertThat(TermsAggregatorFactory.subAggCollectionMode(Integer.MAX_VALUE, estimatedBuckets),
+                equalTo(SubAggCollectionMode.DEPTH_FIRST));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.support;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.TestUtil;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
+import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.Arrays;
+
+public class ValuesBlockTests extends ESTestCase {
+
+    public void testLongValuesBlock() {
+        final int numDocs = TestUtil.nextInt(random(), 1, 200);
+        final boolean singleValued = randomBoolean();
+        final long[][] values = randomValues(numDocs, singleValued);
+        final SortedNumericDocValues docValues;
+        if (singleValued) {
+            final FixedBitSet docsWithField = new FixedBitSet(numDocs);
+            final NumericDocValues singleton = new NumericDocValues() {
+                @Override
+                public long get(int docID) {
+                    return values[docID].length == 0 ? 0 : values[docID][0];
+                }
+            };
+            for (int i = 0; i < numDocs; ++i) {
+                if (values[i].length > 0) {
+                    docsWithField.set(i);
+                }
+            }
+            docValues = DocValues.singleton(singleton, docsWithField);
+            assertNotNull(DocValues.unwrapSingleton(docValues));
+        } else {
+            docValues = new SortedNumericDocValues() {
+                int doc;
+
+                @Override
+                public void setDocument(int doc) {
+                    this.doc = doc;
+                }
+
+                @Override
+                public long valueAt(int index) {
+                    return values[doc][index];
+                }
+
+                @Override
+                public int count() {
+                    return values[doc].length;
+                }
+            };
+        }
+
+        final LongValuesBlock block = new LongValuesBlock(docValues);
+        final int[] docs = randomBlock(numDocs);
+        final int count = docs.length;
+        final int valuesCount = block.read(docs, count);
+        int index = 0;
+        for (int i = 0; i < count; ++i) {
+            for (long value : values[docs[i]]) {
+                assertEquals(docs[i], block.doc(index));
+                assertEquals(value, block.value(index));
+                ++index;
+            }
+        }
+        assertEquals(index, valuesCount);
+    }
+
+    public void testDoubleValuesBlock() {
+        final int numDocs = TestUtil.nextInt(random(), 1, 200);
+        final boolean singleValued = randomBoolean();
+        final long[][] values = randomValues(numDocs, singleValued);
+        final SortedNumericDoubleValues doubleValues;
+        if (singleValued) {
+            final Bits docsWithField = new Bits() {
+                @Override
+                public boolean get(int index) {
+                    return values[index].length > 0;
+                }
+
+                @Override
+                public int length() {
+                    return numDocs;
+                }
+            };
+            final NumericDoubleValues singleton = new NumericDoubleValues() {
+                @Override
+                public double get(int docID) {
+                    return values[docID].length == 0 ? 0 : values[docID][0];
+                }
+            };
+            doubleValues = FieldData.singleton(singleton, docsWithField);
+            assertNotNull(FieldData.unwrapSingleton(doubleValues));
+        } else {
+            doubleValues = new SortedNumericDoubleValues() {
+                int doc;
+
+                @Override
+                public void setDocument(int doc) {
+                    this.doc = doc;
+                }
+
+                @Override
+                public double valueAt(int index) {
+                    return values[doc][index];
+                }
+
+                @Override
+                public int count() {
+                    return values[doc].length;
+                }
+            };
+        }
+
+        final DoubleValuesBlock block = new DoubleValuesBlock(doubleValues);
+        final int[] docs = randomBlock(numDocs);
+        final int count = docs.length;
+        final int valuesCount = block.read(docs, count);
+        int index = 0;
+        for (int i = 0; i < count; ++i) {
+            for (long value : values[docs[i]]) {
+                assertEquals(docs[i], block.doc(index));
+                assertEquals(value, block.value(index), 0d);
+                ++index;
+            }
+        }
+        assertEquals(index, valuesCount);
+    }
+
+    private static long[][] randomValues(int numDocs, boolean singleValued) {
+        final long[][] values = new long[numDocs][];
+        for (int i = 0; i < numDocs; ++i) {
+            values[i] = new long[singleValued ? random().nextInt(2) : random().nextInt(4)];
+            for (int j = 0; j < values[i].length; ++j) {
+                // make sure zeros are tested since they require a check on docs with field
+                values[i][j] = randomBoolean() ? 0 : randomInt(1000) - 500;
+            }
+            Arrays.sort(values[i]);
+        }
+        return values;
+    }
+
+    private static int[] randomBlock(int numDocs) {
+        return random().ints(randomIntBetween(0, numDocs), 0, numDocs).sorted().distinct().toArray();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.controller;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregation.ReduceContext;
+import org.elasticsearch.search.aggregations.InternalAggregation.Type;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.metrics.max.InternalMax;
+import org.elasticsearch.search.aggregations.pipeline.SiblingPipelineAggregator;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SearchPhaseControllerTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new ThreadPool("test");
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    public void testReduceSiblingPipelineAggregators() {
+        InternalAggregations aggregations = new InternalAggregations(Arrays.asList(max("a", 1), max("b", 10)));
+        // ordered the way the aggregator factories resolve them: after the pipeline aggregators they depend on
+        List<SiblingPipelineAggregator> pipelineAggregators = Arrays.asList(
+                new SumPlusOnePipelineAggregator("p1", "a"),
+                new SumPlusOnePipelineAggregator("p2", "p1", "b"),
+                new SumPlusOnePipelineAggregator("p3", "b"),
+                new SumPlusOnePipelineAggregator("p4", "p2", "p3.value"));
+        ReduceContext context = new ReduceContext(null, null, randomBoolean() ? threadPool.executor(ThreadPool.Names.SEARCH_REDUCE) : null);
+        Map<String, Long> reduceTimes = randomBoolean() ? ConcurrentCollections.newConcurrentMap() : null;
+
+        InternalAggregations reduced = SearchPhaseController.reduceSiblingPipelineAggregators(aggregations, pipelineAggregators, context,
+                reduceTimes);
+
+        List<String> names = new ArrayList<>();
+        for (Aggregation aggregation : reduced) {
+            names.add(aggregation.getName());
+        }
+        assertThat(names, contains("a", "b", "p1", "p2", "p3", "p4"));
+        assertThat(((InternalMax) reduced.get("p1")).getValue(), equalTo(2d));
+        assertThat(((InternalMax) reduced.get("p2")).getValue(), equalTo(13d));
+        assertThat(((InternalMax) reduced.get("p3")).getValue(), equalTo(11d));
+        assertThat(((InternalMax) reduced.get("p4")).getValue(), equalTo(25d));
+        if (reduceTimes != null) {
+            assertThat(reduceTimes.keySet(), containsInAnyOrder("p1", "p2", "p3", "p4"));
+        }
+    }
+
+    private static InternalMax max(String name, double value) {
+        return new InternalMax(name, value, DocValueFormat.RAW, Collections.emptyList(), null);
+    }
+
+    /**
+     * Sums up the values its buckets paths point to and adds one
+     */
+    private static class SumPlusOnePipelineAggregator extends SiblingPipelineAggregator {
+
+        SumPlusOnePipelineAggregator(String name, String... bucketsPaths) {
+            super(name, bucketsPaths, null);
+        }
+
+        @Override
+        public Type type() {
+            return new Type("sum_plus_one");
+        }
+
+        @Override
+        public InternalAggregation doReduce(Aggregations aggregations, ReduceContext context) {
+            double sum = 1;
+            for (String bucketsPath : bucketsPaths()) {
+                sum += (double) aggregations.getProperty(bucketsPath.contains(".") ? bucketsPath : bucketsPath + ".value");
+            }
+            return max(name(), sum);
+        }
+
+        @Override
+        protected void doWriteTo(StreamOutput out) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void doReadFrom(StreamInput in) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
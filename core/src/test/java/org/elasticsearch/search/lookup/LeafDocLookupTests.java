@@ -0,0 +1,82 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.lookup;
+
+import org.elasticsearch.index.fielddata.AtomicFieldData;
+import org.elasticsearch.index.fielddata.IndexFieldData;
+import org.elasticsearch.index.fielddata.IndexFieldDataService;
+import org.elasticsearch.index.fielddata.ScriptDocValues;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LeafDocLookupTests extends ESTestCase {
+    private ScriptDocValues<?> docValues;
+    private LeafDocLookup docLookup;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        MappedFieldType fieldType = mock(MappedFieldType.class);
+        MapperService mapperService = mock(MapperService.class);
+        when(mapperService.fullName("field")).thenReturn(fieldType);
+
+        docValues = mock(ScriptDocValues.class);
+        AtomicFieldData atomicFieldData = mock(AtomicFieldData.class);
+        doReturn(docValues).when(atomicFieldData).getScriptValues();
+        IndexFieldData<?> fieldData = mock(IndexFieldData.class);
+        doReturn(atomicFieldData).when(fieldData).load(anyObject());
+        IndexFieldDataService fieldDataService = mock(IndexFieldDataService.class);
+        doReturn(fieldData).when(fieldDataService).getForField(fieldType);
+
+        docLookup = new LeafDocLookup(mapperService, fieldDataService, new String[] { "type" }, null);
+    }
+
+    public void testBasicLookup() {
+        docLookup.setDocument(1);
+        assertSame(docValues, docLookup.get("field"));
+        verify(docValues).setNextDocId(1);
+    }
+
+    public void testRepeatedAccessPositionsOncePerDocument() {
+        docLookup.setDocument(1);
+        docLookup.get("field");
+        docLookup.get("field");
+        verify(docValues, times(1)).setNextDocId(1);
+
+        docLookup.setDocument(2);
+        docLookup.get("field");
+        docLookup.get("field");
+        verify(docValues, times(1)).setNextDocId(2);
+    }
+
+    public void testUnknownField() {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> docLookup.get("unknown"));
+        assertEquals("No field found for [unknown] in mapping with types [type]", e.getMessage());
+    }
+}
@@ -33,10 +33,16 @@ import org.elasticsearch.search.sort.SortOrder;
 import org.elasticsearch.test.ESIntegTestCase;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.elasticsearch.search.aggregations.AggregationBuilders.max;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.terms;
 import static org.elasticsearch.search.profile.RandomQueryGenerator.randomQueryBuilder;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchResponse;
 import static org.elasticsearch.test.hamcrest.DoubleMatcher.nearlyEqual;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -579,6 +585,62 @@ public class QueryProfilerIT extends ESIntegTestCase {
         }
     }
 
+    /**
+     * Checks that the collect mode that terms aggregations pick on each shard shows up in the profile, including for
+     * sub aggregations
+     */
+    public void testTermsCollectMode() throws Exception {
+        assertAcked(prepareCreate("test").setSettings("index.number_of_shards", 1)
+                .addMapping("type1", "tag", "type=keyword", "sub", "type=keyword", "value", "type=long"));
+        ensureGreen();
+
+        // enough unique tags for breadth_first to pay off with a shard_size of 2
+        int numDocs = randomIntBetween(50, 100);
+        IndexRequestBuilder[] docs = new IndexRequestBuilder[numDocs];
+        for (int i = 0; i < numDocs; i++) {
+            docs[i] = client().prepareIndex("test", "type1", String.valueOf(i)).setSource("tag", "tag" + i, "sub", "sub" + (i % 5),
+                    "value", i);
+        }
+        indexRandom(true, docs);
+
+        SearchResponse resp = client().prepareSearch("test")
+                .addAggregation(terms("explodes").field("tag").size(1).shardSize(2)
+                        .subAggregation(terms("subs").field("sub").subAggregation(terms("nested").field("tag"))))
+                .addAggregation(terms("metrics").field("tag").size(1).shardSize(2).subAggregation(max("max").field("value")))
+                .setProfile(true)
+                .get();
+        assertSearchResponse(resp);
+
+        Map<String, String> reasons = new HashMap<>();
+        Map<String, Map<String, Object>> details = new HashMap<>();
+        for (List<ProfileShardResult> shardResults : resp.getProfileResults().values()) {
+            for (ProfileShardResult searchProfiles : shardResults) {
+                collectReasons(searchProfiles.getCollectorResult(), reasons, details);
+            }
+        }
+        assertThat(reasons.get("explodes"), equalTo("aggregation_breadth_first"));
+        assertThat(reasons.get("subs"), equalTo("aggregation_depth_first"));
+        assertThat(reasons.get("nested"), equalTo("aggregation_depth_first"));
+        assertThat(reasons.get("metrics"), equalTo("aggregation_depth_first"));
+        assertThat(reasons.get("max"), equalTo("aggregation"));
+
+        // the collect mode of the terms aggregations on tag was picked from the number of unique tags
+        assertThat(details.get("explodes"), equalTo(Collections.singletonMap("estimated_buckets", (long) numDocs)));
+        assertThat(details.get("metrics").isEmpty(), equalTo(true));
+    }
+
+    private static void collectReasons(CollectorResult result, Map<String, String> reasons, Map<String, Map<String, Object>> details) {
+        String name = result.getName();
+        if (result.getReason().startsWith(CollectorResult.REASON_AGGREGATION) && name.endsWith("]")) {
+            String aggregation = name.substring(name.lastIndexOf('[') + 1, name.length() - 1);
+            reasons.put(aggregation, result.getReason());
+            details.put(aggregation, result.getDetails());
+        }
+        for (CollectorResult child : result.getProfiledChildren()) {
+            collectReasons(child, reasons, details);
+        }
+    }
+
     /**
      * This test makes sure no profile results are returned when profiling is disabled
      */
@@ -0,0 +1,150 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.search.query;
+
+import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.action.search.TransportSearchAction;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.indices.TermsLookup;
+import org.elasticsearch.search.aggregations.bucket.global.Global;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.test.ESIntegTestCase;
+import org.junit.After;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_REPLICAS;
+import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_NUMBER_OF_SHARDS;
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termsLookupQuery;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.dateHistogram;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.global;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertHitCount;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchResponse;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Checks that query then fetch searches skip the shards whose query can't match any document, and still return the same
+ * hits as if they had searched them.
+ */
+public class PreFilterShardsIT extends ESIntegTestCase {
+
+    private static final int NUM_DAYS = 4;
+
+    private void indexDays(int numShards) throws Exception {
+        List<IndexRequestBuilder> builders = new ArrayList<>();
+        for (int day = 1; day <= NUM_DAYS; day++) {
+            String index = "logs-" + day;
+            assertAcked(prepareCreate(index).setSettings(SETTING_NUMBER_OF_SHARDS, numShards, SETTING_NUMBER_OF_REPLICAS, 0)
+                    .addMapping("type", "timestamp", "type=date", "tag", "type=keyword"));
+            for (int i = 0; i < 10 * numShards; i++) {
+                String timestamp = "2016-01-0" + day + "T" + String.format("%02d", i % 24) + ":00:00Z";
+                builders.add(client().prepareIndex(index, "type").setSource("timestamp", timestamp, "tag", i % 2 == 0 ? "a" : "b"));
+            }
+        }
+        ensureGreen();
+        indexRandom(true, false, builders);
+    }
+
+    private void setPreFilterShardSize(int preFilterShardSize) {
+        assertAcked(client().admin().cluster().prepareUpdateSettings().setTransientSettings(Settings.builder()
+                .put(TransportSearchAction.PRE_FILTER_SHARD_SIZE_SETTING.getKey(), preFilterShardSize)));
+    }
+
+    @After
+    public void resetPreFilterShardSize() {
+        assertAcked(client().admin().cluster().prepareUpdateSettings().setTransientSettings(Settings.builder()
+                .putNull(TransportSearchAction.PRE_FILTER_SHARD_SIZE_SETTING.getKey())));
+    }
+
+    public void testSkipShards() throws Exception {
+        final int numShards = randomIntBetween(1, 3);
+        indexDays(numShards);
+        final int totalShards = NUM_DAYS * numShards;
+        setPreFilterShardSize(1);
+
+        SearchResponse response = client().prepareSearch("logs-*").setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setQuery(boolQuery().must(termQuery("tag", "a")).filter(rangeQuery("timestamp").gte("2016-01-03")))
+                .addAggregation(dateHistogram("days").field("timestamp").dateHistogramInterval(DateHistogramInterval.DAY))
+                .get();
+        assertSearchResponse(response);
+        assertHitCount(response, 2 * 5 * numShards);
+        assertThat(response.getTotalShards(), equalTo(totalShards));
+        assertThat(response.getSuccessfulShards(), equalTo(totalShards));
+        assertThat(response.getSkippedShards(), equalTo(2 * numShards));
+        Histogram days = response.getAggregations().get("days");
+        assertThat(days.getBuckets().size(), equalTo(2));
+
+        // no shard can match, one of them still runs the query
+        response = client().prepareSearch("logs-*").setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setQuery(rangeQuery("timestamp").gte("2016-02-01"))
+                .addAggregation(dateHistogram("days").field("timestamp").dateHistogramInterval(DateHistogramInterval.DAY))
+                .get();
+        assertSearchResponse(response);
+        assertHitCount(response, 0);
+        assertThat(response.getSuccessfulShards(), equalTo(totalShards));
+        assertThat(response.getSkippedShards(), equalTo(totalShards - 1));
+        days = response.getAggregations().get("days");
+        assertThat(days.getBuckets().size(), equalTo(0));
+
+        // global aggregations need all shards
+        response = client().prepareSearch("logs-*").setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setQuery(rangeQuery("timestamp").gte("2016-02-01"))
+                .addAggregation(global("global")).get();
+        assertSearchResponse(response);
+        assertThat(response.getSkippedShards(), equalTo(0));
+        Global global = response.getAggregations().get("global");
+        assertThat(global.getDocCount(), equalTo((long) totalShards * 10));
+    }
+
+    public void testTermsLookup() throws Exception {
+        final int numShards = randomIntBetween(1, 3);
+        indexDays(numShards);
+        indexRandom(true, client().prepareIndex("lookup", "type", "1").setSource("tags", new String[] {"a"}));
+        setPreFilterShardSize(1);
+
+        // fetching the lookup document blocks, so the can_match round must not run on a network thread
+        SearchResponse response = client().prepareSearch("logs-*").setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setQuery(boolQuery().must(termsLookupQuery("tag", new TermsLookup("lookup", "type", "1", "tags")))
+                        .filter(rangeQuery("timestamp").gte("2016-01-03")))
+                .get();
+        assertSearchResponse(response);
+        assertHitCount(response, 2 * 5 * numShards);
+        assertThat(response.getSkippedShards(), equalTo(2 * numShards));
+    }
+
+    public void testNoSkipBelowPreFilterShardSize() throws Exception {
+        final int numShards = randomIntBetween(1, 3);
+        indexDays(numShards);
+        setPreFilterShardSize(NUM_DAYS * numShards);
+
+        SearchResponse response = client().prepareSearch("logs-*").setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setQuery(rangeQuery("timestamp").gte("2016-01-03")).get();
+        assertSearchResponse(response);
+        assertHitCount(response, 2 * 10 * numShards);
+        assertThat(response.getSkippedShards(), equalTo(0));
+    }
+}
@@ -21,13 +21,17 @@ package org.elasticsearch.search.query;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.index.SortingMergePolicy;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
@@ -37,10 +41,20 @@ import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.MatchNoDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.search.SortedSetSortField;
 import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
+import org.elasticsearch.index.fielddata.fieldcomparator.BytesRefFieldComparatorSource;
+import org.elasticsearch.index.fielddata.fieldcomparator.LongValuesComparatorSource;
 import org.elasticsearch.index.query.ParsedQuery;
+import org.elasticsearch.search.MultiValueMode;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.TestSearchContext;
 
@@ -165,4 +179,97 @@ public class QueryPhaseTests extends ESTestCase {
         assertTrue(collected.get());
     }
 
+    public void testCanEarlyTerminate() {
+        Sort indexSort = new Sort(
+            new SortedNumericSortField("long", SortField.Type.LONG, true, SortedNumericSelector.Type.MAX),
+            new SortedSetSortField("keyword", false));
+
+        assertFalse(QueryPhase.canEarlyTerminate(null, null));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, null));
+        assertFalse(QueryPhase.canEarlyTerminate(null, new Sort(longSortField("long", true, null, MultiValueMode.MAX))));
+
+        assertTrue(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, null, MultiValueMode.MAX))));
+        assertTrue(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, "_last", MultiValueMode.MAX))));
+        assertTrue(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, null, MultiValueMode.MAX),
+            bytesSortField("keyword", false, null, MultiValueMode.MIN))));
+
+        // different order, field or type
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", false, null, MultiValueMode.MIN))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("other", true, null, MultiValueMode.MAX))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(bytesSortField("long", true, null, MultiValueMode.MAX))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(bytesSortField("keyword", false, null, MultiValueMode.MIN))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(SortField.FIELD_SCORE)));
+        // not the default missing value or mode
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, "_first", MultiValueMode.MAX))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, 42L, MultiValueMode.MAX))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, null, MultiValueMode.MIN))));
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, null, MultiValueMode.AVG))));
+        // longer than the index sort
+        assertFalse(QueryPhase.canEarlyTerminate(indexSort, new Sort(longSortField("long", true, null, MultiValueMode.MAX),
+            bytesSortField("keyword", false, null, MultiValueMode.MIN), longSortField("other", false, null, MultiValueMode.MIN))));
+    }
+
+    private static SortField longSortField(String field, boolean reverse, Object missingValue, MultiValueMode sortMode) {
+        return new SortField(field, new LongValuesComparatorSource(null, missingValue, sortMode, null), reverse);
+    }
+
+    private static SortField bytesSortField(String field, boolean reverse, Object missingValue, MultiValueMode sortMode) {
+        return new SortField(field, new BytesRefFieldComparatorSource(null, missingValue, sortMode, null), reverse);
+    }
+
+    private void sortedSegmentEarlyTerminationTestCase(boolean matchesAllDocs) throws Exception {
+        final Sort indexSort = new Sort(new SortedNumericSortField("rank", SortField.Type.LONG, true));
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig().setMergePolicy(new SortingMergePolicy(newLogMergePolicy(), indexSort));
+        IndexWriter w = new IndexWriter(dir, iwc);
+        final int numDocs = scaledRandomIntBetween(100, 200);
+        for (int i = 0; i < numDocs; ++i) {
+            Document doc = new Document();
+            doc.add(new SortedNumericDocValuesField("rank", randomIntBetween(0, 1000)));
+            if (randomBoolean()) {
+                doc.add(new StringField("foo", "bar", Store.NO));
+            }
+            w.addDocument(doc);
+            if (rarely()) {
+                w.commit();
+            }
+        }
+        if (randomBoolean()) {
+            w.forceMerge(1);
+        }
+        // one more segment that isn't sorted
+        for (int i = 0; i < 5; ++i) {
+            Document doc = new Document();
+            doc.add(new SortedNumericDocValuesField("rank", randomIntBetween(0, 1000)));
+            doc.add(new StringField("foo", "bar", Store.NO));
+            w.addDocument(doc);
+        }
+        final IndexReader reader = DirectoryReader.open(w);
+        final IndexSearcher searcher = new IndexSearcher(reader);
+        final Query query = matchesAllDocs ? new MatchAllDocsQuery() : new TermQuery(new Term("foo", "bar"));
+        final int size = randomIntBetween(1, 20);
+
+        final TopDocs expected = searcher.search(query, size, indexSort);
+        final TopFieldCollector topDocsCollector = TopFieldCollector.create(indexSort, size, null, true, false, false);
+        final SortedSegmentEarlyTerminatingCollector collector =
+            new SortedSegmentEarlyTerminatingCollector(topDocsCollector, indexSort, size, matchesAllDocs);
+        searcher.search(query, collector);
+        final TopDocs topDocs = topDocsCollector.topDocs();
+        assertEquals(expected.totalHits, topDocs.totalHits + collector.getSkippedHits());
+        assertEquals(expected.scoreDocs.length, topDocs.scoreDocs.length);
+        for (int i = 0; i < expected.scoreDocs.length; i++) {
+            assertEquals(expected.scoreDocs[i].doc, topDocs.scoreDocs[i].doc);
+        }
+        reader.close();
+        w.close();
+        dir.close();
+    }
+
+    public void testSortedSegmentEarlyTermination() throws Exception {
+        sortedSegmentEarlyTerminationTestCase(false);
+    }
+
+    public void testSortedSegmentEarlyTerminationOnMatchAll() throws Exception {
+        sortedSegmentEarlyTerminationTestCase(true);
+    }
 }
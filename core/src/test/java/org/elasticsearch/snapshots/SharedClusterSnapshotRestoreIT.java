@@ -60,8 +60,10 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.store.IndexStore;
 import org.elasticsearch.indices.InvalidIndexNameException;
+import org.elasticsearch.indices.recovery.RecoveryState;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.repositories.RepositoryException;
+import org.elasticsearch.snapshots.mockstore.MockRepository;
 
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
@@ -95,6 +97,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
@@ -1402,6 +1405,105 @@ public class SharedClusterSnapshotRestoreIT extends AbstractSnapshotIntegTestCas
         }
     }
 
+    public void testConcurrentFileCopies() throws Exception {
+        Client client = client();
+
+        logger.info("-->  creating repository");
+        int maxConcurrentSnapshotFiles = randomIntBetween(1, 5);
+        int maxConcurrentRestoreFiles = randomIntBetween(1, 5);
+        assertAcked(client.admin().cluster().preparePutRepository("test-repo")
+                .setType("fs").setSettings(Settings.builder()
+                        .put("location", randomRepoPath())
+                        .put("compress", randomBoolean())
+                        .put("chunk_size", randomIntBetween(100, 1000), ByteSizeUnit.BYTES)
+                        .put("max_concurrent_snapshot_files", maxConcurrentSnapshotFiles)
+                        .put("max_concurrent_restore_files", maxConcurrentRestoreFiles)));
+
+        assertAcked(prepareCreate("test-idx", 1, Settings.builder().put("number_of_shards", 1).put("number_of_replicas", 0)));
+        ensureGreen();
+
+        logger.info("--> indexing some data in several segments");
+        int numDocs = 0;
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 20; j++) {
+                index("test-idx", "doc", Integer.toString(numDocs++), "foo", "bar" + j);
+            }
+            flush();
+        }
+        assertThat(client.prepareSearch("test-idx").setSize(0).get().getHits().totalHits(), equalTo((long) numDocs));
+
+        logger.info("--> snapshot with [{}] concurrent file uploads", maxConcurrentSnapshotFiles);
+        CreateSnapshotResponse createSnapshotResponse = client.admin().cluster().prepareCreateSnapshot("test-repo", "test-snap").setWaitForCompletion(true).setIndices("test-idx").get();
+        assertThat(createSnapshotResponse.getSnapshotInfo().successfulShards(), equalTo(1));
+        assertThat(createSnapshotResponse.getSnapshotInfo().failedShards(), equalTo(0));
+
+        SnapshotStatus snapshotStatus = client.admin().cluster().prepareSnapshotStatus("test-repo").addSnapshots("test-snap").get().getSnapshots().get(0);
+        for (SnapshotIndexShardStatus shardStatus : snapshotStatus.getIndices().get("test-idx")) {
+            assertThat(shardStatus.getStage(), equalTo(SnapshotIndexShardStage.DONE));
+            assertThat(shardStatus.getStats().getProcessedFiles(), equalTo(shardStatus.getStats().getNumberOfFiles()));
+            assertThat(shardStatus.getActiveUploads(), equalTo(0));
+        }
+
+        logger.info("--> delete index");
+        cluster().wipeIndices("test-idx");
+
+        logger.info("--> restore index with [{}] concurrent file restores", maxConcurrentRestoreFiles);
+        RestoreSnapshotResponse restoreSnapshotResponse = client.admin().cluster().prepareRestoreSnapshot("test-repo", "test-snap").setWaitForCompletion(true).get();
+        assertThat(restoreSnapshotResponse.getRestoreInfo().failedShards(), equalTo(0));
+        ensureGreen("test-idx");
+        assertThat(client.prepareSearch("test-idx").setSize(0).get().getHits().totalHits(), equalTo((long) numDocs));
+        for (RecoveryState recoveryState : client.admin().indices().prepareRecoveries("test-idx").get().shardRecoveryStates().get("test-idx")) {
+            assertThat(recoveryState.getIndex().recoveredFileCount(), equalTo(recoveryState.getIndex().totalRecoverFiles()));
+            assertThat(recoveryState.getIndex().recoveredBytes(), equalTo(recoveryState.getIndex().totalRecoverBytes()));
+        }
+    }
+
+    public void testConcurrentFileUploadsAreBounded() throws Exception {
+        Client client = client();
+
+        logger.info("-->  creating repository");
+        int maxConcurrentSnapshotFiles = randomIntBetween(2, 5);
+        assertAcked(client.admin().cluster().preparePutRepository("test-repo")
+                .setType("mock").setSettings(Settings.builder()
+                        .put("location", randomRepoPath())
+                        .put("random", randomAsciiOfLength(10))
+                        .put("max_concurrent_snapshot_files", maxConcurrentSnapshotFiles)));
+
+        assertAcked(prepareCreate("test-idx", 1, Settings.builder().put("number_of_shards", 1).put("number_of_replicas", 0)));
+        ensureGreen();
+
+        logger.info("--> indexing some data in several segments");
+        int numDocs = 0;
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 20; j++) {
+                index("test-idx", "doc", Integer.toString(numDocs++), "foo", "bar" + j);
+            }
+            flush();
+        }
+
+        String blockedNode = blockNodeWithIndex("test-idx");
+        MockRepository repository = (MockRepository) internalCluster().getInstance(RepositoriesService.class, blockedNode)
+                .repository("test-repo");
+
+        logger.info("--> snapshot with [{}] concurrent file uploads", maxConcurrentSnapshotFiles);
+        client.admin().cluster().prepareCreateSnapshot("test-repo", "test-snap").setWaitForCompletion(false).setIndices("test-idx").get();
+
+        logger.info("--> waiting for several uploads to be held on the block");
+        waitForBlock(blockedNode, "test-repo", TimeValue.timeValueSeconds(60));
+        assertBusy(() -> assertThat(repository.getMaxConcurrentDataFileWrites(), greaterThan(1)));
+
+        logger.info("--> unblocking and waiting for the snapshot to finish");
+        unblockNode(blockedNode);
+        SnapshotInfo snapshotInfo = waitForCompletion("test-repo", "test-snap", TimeValue.timeValueSeconds(600));
+        assertThat(snapshotInfo.state(), equalTo(SnapshotState.SUCCESS));
+        assertThat(snapshotInfo.failedShards(), equalTo(0));
+
+        int peakUploads = repository.getMaxConcurrentDataFileWrites();
+        logger.info("--> peak concurrent uploads [{}]", peakUploads);
+        assertThat(peakUploads, greaterThan(1));
+        assertThat(peakUploads, lessThanOrEqualTo(maxConcurrentSnapshotFiles));
+    }
+
     public void testSnapshotStatus() throws Exception {
         Client client = client();
         Path repositoryLocation = randomRepoPath();
@@ -52,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class MockRepository extends FsRepository {
@@ -88,6 +89,18 @@ public class MockRepository extends FsRepository {
         return failureCounter.get();
     }
 
+    private final AtomicInteger activeDataFileWrites = new AtomicInteger();
+
+    private final AtomicInteger maxConcurrentDataFileWrites = new AtomicInteger();
+
+    /**
+     * Returns the highest number of data files that were written to this repository at the same time,
+     * including writes that were held on a block.
+     */
+    public int getMaxConcurrentDataFileWrites() {
+        return maxConcurrentDataFileWrites.get();
+    }
+
     private final double randomControlIOExceptionRate;
 
     private final double randomDataFileIOExceptionRate;
@@ -336,14 +349,37 @@ public class MockRepository extends FsRepository {
 
             @Override
             public void writeBlob(String blobName, BytesReference bytes) throws IOException {
-                maybeIOExceptionOrBlock(blobName);
-                super.writeBlob(blobName, bytes);
+                startWrite(blobName);
+                try {
+                    maybeIOExceptionOrBlock(blobName);
+                    super.writeBlob(blobName, bytes);
+                } finally {
+                    finishWrite(blobName);
+                }
             }
 
             @Override
             public void writeBlob(String blobName, InputStream inputStream, long blobSize) throws IOException {
-                maybeIOExceptionOrBlock(blobName);
-                super.writeBlob(blobName, inputStream, blobSize);
+                startWrite(blobName);
+                try {
+                    maybeIOExceptionOrBlock(blobName);
+                    super.writeBlob(blobName, inputStream, blobSize);
+                } finally {
+                    finishWrite(blobName);
+                }
+            }
+
+            private void startWrite(String blobName) {
+                if (blobName.startsWith("__")) {
+                    int active = activeDataFileWrites.incrementAndGet();
+                    maxConcurrentDataFileWrites.accumulateAndGet(active, Math::max);
+                }
+            }
+
+            private void finishWrite(String blobName) {
+                if (blobName.startsWith("__")) {
+                    activeDataFileWrites.decrementAndGet();
+                }
             }
         }
     }
@@ -24,6 +24,7 @@ import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.ModuleTestCase;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.transport.AssertingLocalTransport;
 import org.elasticsearch.threadpool.ThreadPool;
 
@@ -35,7 +36,7 @@ public class TransportModuleTests extends ModuleTestCase {
     static class FakeTransport extends AssertingLocalTransport {
         @Inject
         public FakeTransport(Settings settings, ThreadPool threadPool, Version version, NamedWriteableRegistry namedWriteableRegistry) {
-            super(settings, threadPool, version, namedWriteableRegistry);
+            super(settings, threadPool, version, namedWriteableRegistry, new NoneCircuitBreakerService());
         }
     }
 
@@ -34,6 +34,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.InetSocketTransportAddress;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.node.Node;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.test.ESIntegTestCase;
@@ -106,8 +107,8 @@ public class NettyTransportIT extends ESIntegTestCase {
         }
 
         @Inject
-        public ExceptionThrowingNettyTransport(Settings settings, ThreadPool threadPool, NetworkService networkService, BigArrays bigArrays, Version version, NamedWriteableRegistry namedWriteableRegistry) {
-            super(settings, threadPool, networkService, bigArrays, version, namedWriteableRegistry);
+        public ExceptionThrowingNettyTransport(Settings settings, ThreadPool threadPool, NetworkService networkService, BigArrays bigArrays, Version version, NamedWriteableRegistry namedWriteableRegistry, CircuitBreakerService circuitBreakerService) {
+            super(settings, threadPool, networkService, bigArrays, version, namedWriteableRegistry, circuitBreakerService);
         }
 
         @Override
@@ -130,7 +131,8 @@ public class NettyTransportIT extends ESIntegTestCase {
                 pipeline.replace("dispatcher", "dispatcher", new MessageChannelHandler(nettyTransport, logger, TransportSettings.DEFAULT_PROFILE) {
 
                     @Override
-                    protected String handleRequest(Channel channel, StreamInput buffer, long requestId, Version version) throws IOException {
+                    protected String handleRequest(Channel channel, StreamInput buffer, long requestId, int messageLengthBytes, Version version)
+                        throws IOException {
                         final String action = buffer.readString();
 
                         final NettyTransportChannel transportChannel = new NettyTransportChannel(transport, transportServiceAdapter, action, channel, requestId, version, name);
@@ -29,8 +29,11 @@ import org.joni.Syntax;
 import org.joni.exception.ValueException;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -52,11 +55,14 @@ final class Grok {
             ")+" +
             ")" +
             ")?" + "\\}";
+    // literals shorter than this hardly ever rule out a text, so checking for them isn't worth it
+    private static final int MIN_REQUIRED_LITERAL_LENGTH = 2;
     private static final Regex GROK_PATTERN_REGEX = new Regex(GROK_PATTERN.getBytes(StandardCharsets.UTF_8), 0, GROK_PATTERN.getBytes(StandardCharsets.UTF_8).length, Option.NONE, UTF8Encoding.INSTANCE, Syntax.DEFAULT);
     private final Map<String, String> patternBank;
     private final boolean namedCaptures;
     private final Regex compiledExpression;
     private final String expression;
+    private final List<String> requiredLiterals;
 
 
     public Grok(Map<String, String> patternBank, String grokPattern) {
@@ -71,6 +77,7 @@ final class Grok {
         this.expression = toRegex(grokPattern);
         byte[] expressionBytes = expression.getBytes(StandardCharsets.UTF_8);
         this.compiledExpression = new Regex(expressionBytes, 0, expressionBytes.length, Option.DEFAULT, UTF8Encoding.INSTANCE);
+        this.requiredLiterals = extractRequiredLiterals(expression);
     }
 
 
@@ -130,7 +137,13 @@ final class Grok {
     }
 
     public Map<String, Object> captures(String text) {
-        byte[] textAsBytes = text.getBytes(StandardCharsets.UTF_8);
+        return captures(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as {@link #captures(String)}, but for text that has already been utf-8 encoded.
+     */
+    public Map<String, Object> captures(byte[] textAsBytes) {
         Map<String, Object> fields = new HashMap<>();
         Matcher matcher = compiledExpression.matcher(textAsBytes);
         int result = matcher.search(0, textAsBytes.length, Option.DEFAULT);
@@ -154,5 +167,184 @@ final class Grok {
         }
         return null;
     }
+
+    /**
+     * Returns the literal strings that any text matched by this grok expression contains. Checking a text for these
+     * literals is much cheaper than running the regex, so texts that lack any of them can be skipped right away.
+     */
+    public List<String> getRequiredLiterals() {
+        return requiredLiterals;
+    }
+
+    /**
+     * Extracts the literal strings that every match of the given regex contains. Only literals outside of groups are
+     * considered and optional characters are left out, so this errs on the side of returning too few literals. If the
+     * regex has a top level alternation, sets options or quotes text then no literals are returned at all.
+     */
+    static List<String> extractRequiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            switch (c) {
+                case '\\':
+                    if (i + 1 == regex.length()) {
+                        return Collections.emptyList();
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    i += 2;
+                    if (Character.isLetterOrDigit(escaped)) {
+                        if (escaped == 'Q') {
+                            return Collections.emptyList();
+                        }
+                        // a character type, anchor, back reference or code point, none of which is a literal
+                        addLiteral(literals, run);
+                        i = skipEscapeArguments(regex, i);
+                        continue;
+                    }
+                    literal = escaped;
+                    break;
+                case '[':
+                    addLiteral(literals, run);
+                    i = skipCharClass(regex, i);
+                    continue;
+                case '(':
+                    if (i + 2 < regex.length() && regex.charAt(i + 1) == '?' && "imx-".indexOf(regex.charAt(i + 2)) >= 0) {
+                        // options like case insensitivity change what the literals match
+                        return Collections.emptyList();
+                    }
+                    addLiteral(literals, run);
+                    depth++;
+                    i++;
+                    continue;
+                case ')':
+                    if (depth == 0) {
+                        return Collections.emptyList();
+                    }
+                    addLiteral(literals, run);
+                    depth--;
+                    i++;
+                    continue;
+                case '|':
+                    if (depth == 0) {
+                        return Collections.emptyList();
+                    }
+                    i++;
+                    continue;
+                case '.':
+                case '^':
+                case '$':
+                case '?':
+                case '*':
+                case '+':
+                case '}':
+                    addLiteral(literals, run);
+                    i++;
+                    continue;
+                case '{':
+                    addLiteral(literals, run);
+                    i = skipInterval(regex, i);
+                    continue;
+                default:
+                    literal = c;
+                    i++;
+            }
+            if (depth > 0) {
+                continue;
+            }
+            char quantifier = i < regex.length() ? regex.charAt(i) : 0;
+            if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                // the character is optional (or repeated an unknown number of times), which ends the run without it
+                addLiteral(literals, run);
+            } else if (quantifier == '+') {
+                run.append(literal);
+                addLiteral(literals, run);
+            } else {
+                run.append(literal);
+            }
+        }
+        addLiteral(literals, run);
+        return Collections.unmodifiableList(literals);
+    }
+
+    private static void addLiteral(List<String> literals, StringBuilder run) {
+        if (run.length() >= MIN_REQUIRED_LITERAL_LENGTH) {
+            literals.add(run.toString());
+        }
+        run.setLength(0);
+    }
+
+    /**
+     * Skips the arguments of an escape like <code>\p{Alpha}</code>, <code>\k&lt;name&gt;</code> or <code>\x41</code>,
+     * starting right after the escaped character. Trailing letters and digits are skipped too, which may drop literal
+     * characters but never mistakes escape arguments for literals.
+     */
+    private static int skipEscapeArguments(String regex, int i) {
+        if (i < regex.length()) {
+            char c = regex.charAt(i);
+            int end = -1;
+            if (c == '{') {
+                end = regex.indexOf('}', i);
+            } else if (c == '<') {
+                end = regex.indexOf('>', i);
+            } else if (c == '\'') {
+                end = regex.indexOf('\'', i + 1);
+            } else if (c == '-') {
+                end = i + 1;
+            }
+            if (end >= 0) {
+                i = end + 1;
+            }
+        }
+        while (i < regex.length() && Character.isLetterOrDigit(regex.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the position right after the interval quantifier (like <code>{1,3}</code>) that starts at the given
+     * position, or the next position if there is no interval.
+     */
+    private static int skipInterval(String regex, int i) {
+        int end = i + 1;
+        while (end < regex.length() && (Character.isDigit(regex.charAt(end)) || regex.charAt(end) == ',')) {
+            end++;
+        }
+        if (end < regex.length() && regex.charAt(end) == '}') {
+            return end + 1;
+        }
+        return i + 1;
+    }
+
+    /**
+     * Returns the position right after the character class that starts at the given position, taking nested
+     * classes and escapes into account.
+     */
+    private static int skipCharClass(String regex, int i) {
+        int depth = 1;
+        i++;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length() && depth > 0) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
 }
 
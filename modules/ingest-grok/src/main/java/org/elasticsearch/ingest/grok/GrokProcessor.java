@@ -24,7 +24,10 @@ import org.elasticsearch.ingest.core.AbstractProcessorFactory;
 import org.elasticsearch.ingest.core.ConfigurationUtils;
 import org.elasticsearch.ingest.core.IngestDocument;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.elasticsearch.ingest.core.ConfigurationUtils.newConfigurationException;
@@ -34,12 +37,16 @@ public final class GrokProcessor extends AbstractProcessor {
     public static final String TYPE = "grok";
 
     private final String matchField;
-    private final Grok grok;
+    private final MultiGrok grok;
 
     public GrokProcessor(String tag, Grok grok, String matchField) {
+        this(tag, Collections.singletonList(grok), matchField);
+    }
+
+    public GrokProcessor(String tag, List<Grok> groks, String matchField) {
         super(tag);
         this.matchField = matchField;
-        this.grok = grok;
+        this.grok = new MultiGrok(groks);
     }
 
     @Override
@@ -48,8 +55,10 @@ public final class GrokProcessor extends AbstractProcessor {
         Map<String, Object> matches = grok.captures(fieldValue);
         if (matches != null) {
             matches.forEach((k, v) -> ingestDocument.setFieldValue(k, v));
-        } else {
+        } else if (grok.getGroks().size() == 1) {
             throw new IllegalArgumentException("Grok expression does not match field value: [" + fieldValue + "]");
+        } else {
+            throw new IllegalArgumentException("None of the grok expressions match field value: [" + fieldValue + "]");
         }
     }
 
@@ -63,7 +72,11 @@ public final class GrokProcessor extends AbstractProcessor {
     }
 
     Grok getGrok() {
-        return grok;
+        return grok.getGroks().get(0);
+    }
+
+    List<Grok> getGroks() {
+        return grok.getGroks();
     }
 
     public final static class Factory extends AbstractProcessorFactory<GrokProcessor> {
@@ -77,20 +90,37 @@ public final class GrokProcessor extends AbstractProcessor {
         @Override
         public GrokProcessor doCreate(String processorTag, Map<String, Object> config) throws Exception {
             String matchField = ConfigurationUtils.readStringProperty(TYPE, processorTag, config, "field");
-            String matchPattern = ConfigurationUtils.readStringProperty(TYPE, processorTag, config, "pattern");
+            String matchPattern = ConfigurationUtils.readOptionalStringProperty(TYPE, processorTag, config, "pattern");
+            List<String> matchPatterns = ConfigurationUtils.readOptionalList(TYPE, processorTag, config, "patterns");
+            final String patternProperty;
+            if (matchPattern != null && matchPatterns != null) {
+                throw newConfigurationException(TYPE, processorTag, "patterns", "either [pattern] or [patterns] can be set, not both");
+            } else if (matchPattern != null) {
+                patternProperty = "pattern";
+                matchPatterns = Collections.singletonList(matchPattern);
+            } else if (matchPatterns != null) {
+                patternProperty = "patterns";
+                if (matchPatterns.isEmpty()) {
+                    throw newConfigurationException(TYPE, processorTag, "patterns", "list of patterns must not be empty");
+                }
+            } else {
+                throw newConfigurationException(TYPE, processorTag, "pattern", "required property is missing");
+            }
             Map<String, String> customPatternBank = ConfigurationUtils.readOptionalMap(TYPE, processorTag, config, "pattern_definitions");
             Map<String, String> patternBank = new HashMap<>(builtinPatterns);
             if (customPatternBank != null) {
                 patternBank.putAll(customPatternBank);
             }
 
-            Grok grok;
-            try {
-                grok = new Grok(patternBank, matchPattern);
-            } catch (Exception e) {
-                throw newConfigurationException(TYPE, processorTag, "pattern", "Invalid regex pattern. " + e.getMessage());
+            List<Grok> groks = new ArrayList<>(matchPatterns.size());
+            for (String pattern : matchPatterns) {
+                try {
+                    groks.add(new Grok(patternBank, pattern));
+                } catch (Exception e) {
+                    throw newConfigurationException(TYPE, processorTag, patternProperty, "Invalid regex pattern. " + e.getMessage());
+                }
             }
-            return new GrokProcessor(processorTag, grok, matchField);
+            return new GrokProcessor(processorTag, groks, matchField);
         }
 
     }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.ingest.grok;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches a text against an ordered list of grok expressions, returning the captures of the first expression that
+ * matches. The literals that each expression requires are checked before its regex is run, so that expressions that
+ * can't possibly match are skipped cheaply. Literals shared by several expressions are only looked up once per text.
+ */
+final class MultiGrok {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte PRESENT = 1;
+    private static final byte ABSENT = 2;
+
+    private final List<Grok> groks;
+    private final String[] literals;
+    // for each grok expression the indices of the literals it requires
+    private final int[][] requiredLiterals;
+
+    MultiGrok(List<Grok> groks) {
+        if (groks.isEmpty()) {
+            throw new IllegalArgumentException("at least one grok expression is required");
+        }
+        this.groks = Collections.unmodifiableList(new ArrayList<>(groks));
+        Map<String, Integer> literalIndices = new HashMap<>();
+        this.requiredLiterals = new int[groks.size()][];
+        for (int i = 0; i < groks.size(); i++) {
+            List<String> required = groks.get(i).getRequiredLiterals();
+            requiredLiterals[i] = new int[required.size()];
+            for (int j = 0; j < required.size(); j++) {
+                Integer index = literalIndices.get(required.get(j));
+                if (index == null) {
+                    index = literalIndices.size();
+                    literalIndices.put(required.get(j), index);
+                }
+                requiredLiterals[i][j] = index;
+            }
+        }
+        this.literals = new String[literalIndices.size()];
+        for (Map.Entry<String, Integer> entry : literalIndices.entrySet()) {
+            literals[entry.getValue()] = entry.getKey();
+        }
+    }
+
+    List<Grok> getGroks() {
+        return groks;
+    }
+
+    /**
+     * Returns the captures of the first grok expression that matches the given text, or <code>null</code> if none
+     * of them matches.
+     */
+    Map<String, Object> captures(String text) {
+        byte[] literalStates = new byte[literals.length];
+        byte[] textAsBytes = null;
+        for (int i = 0; i < groks.size(); i++) {
+            if (containsRequiredLiterals(text, requiredLiterals[i], literalStates) == false) {
+                continue;
+            }
+            if (textAsBytes == null) {
+                textAsBytes = text.getBytes(StandardCharsets.UTF_8);
+            }
+            Map<String, Object> captures = groks.get(i).captures(textAsBytes);
+            if (captures != null) {
+                return captures;
+            }
+        }
+        return null;
+    }
+
+    private boolean containsRequiredLiterals(String text, int[] required, byte[] literalStates) {
+        for (int index : required) {
+            if (literalStates[index] == UNKNOWN) {
+                literalStates[index] = text.contains(literals[index]) ? PRESENT : ABSENT;
+            }
+            if (literalStates[index] == ABSENT) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -23,6 +23,7 @@ import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.ingest.core.AbstractProcessorFactory;
 import org.elasticsearch.test.ESTestCase;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -72,6 +73,58 @@ public class GrokProcessorFactoryTests extends ESTestCase {
 
     }
 
+    public void testBuildWithPatterns() throws Exception {
+        GrokProcessor.Factory factory = new GrokProcessor.Factory(Collections.emptyMap());
+        Map<String, Object> config = new HashMap<>();
+        config.put("field", "_field");
+        config.put("patterns", Arrays.asList("(?<foo>\\w+)", "(?<bar>\\d+)"));
+        GrokProcessor processor = factory.create(config);
+        assertThat(processor.getMatchField(), equalTo("_field"));
+        assertThat(processor.getGroks().size(), equalTo(2));
+        assertThat(processor.getGroks().get(0).match("foo"), equalTo(true));
+        assertThat(processor.getGroks().get(1).match("1"), equalTo(true));
+    }
+
+    public void testBuildWithPatternAndPatterns() throws Exception {
+        GrokProcessor.Factory factory = new GrokProcessor.Factory(Collections.emptyMap());
+        Map<String, Object> config = new HashMap<>();
+        config.put("field", "_field");
+        config.put("pattern", "(?<foo>\\w+)");
+        config.put("patterns", Collections.singletonList("(?<bar>\\d+)"));
+        try {
+            factory.create(config);
+            fail("should fail");
+        } catch (ElasticsearchParseException e) {
+            assertThat(e.getMessage(), equalTo("[patterns] either [pattern] or [patterns] can be set, not both"));
+        }
+    }
+
+    public void testBuildWithEmptyPatterns() throws Exception {
+        GrokProcessor.Factory factory = new GrokProcessor.Factory(Collections.emptyMap());
+        Map<String, Object> config = new HashMap<>();
+        config.put("field", "_field");
+        config.put("patterns", Collections.emptyList());
+        try {
+            factory.create(config);
+            fail("should fail");
+        } catch (ElasticsearchParseException e) {
+            assertThat(e.getMessage(), equalTo("[patterns] list of patterns must not be empty"));
+        }
+    }
+
+    public void testCreateWithInvalidPatterns() throws Exception {
+        GrokProcessor.Factory factory = new GrokProcessor.Factory(Collections.emptyMap());
+        Map<String, Object> config = new HashMap<>();
+        config.put("field", "_field");
+        config.put("patterns", Arrays.asList("(?<foo>\\w+)", "["));
+        try {
+            factory.create(config);
+            fail("should fail");
+        } catch (ElasticsearchParseException e) {
+            assertThat(e.getMessage(), equalTo("[patterns] Invalid regex pattern. premature end of char-class"));
+        }
+    }
+
     public void testCreateWithCustomPatterns() throws Exception {
         GrokProcessor.Factory factory = new GrokProcessor.Factory(Collections.emptyMap());
 
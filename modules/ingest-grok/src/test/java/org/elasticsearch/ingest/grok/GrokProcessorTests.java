@@ -25,8 +25,11 @@ import org.elasticsearch.ingest.grok.Grok;
 import org.elasticsearch.ingest.grok.GrokProcessor;
 import org.elasticsearch.test.ESTestCase;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.equalTo;
 
@@ -57,6 +60,47 @@ public class GrokProcessorTests extends ESTestCase {
         }
     }
 
+    public void testMultiplePatterns() throws Exception {
+        Map<String, String> patternBank = new HashMap<>();
+        patternBank.put("ONE", "1");
+        patternBank.put("TWO", "2");
+        List<Grok> groks = Arrays.asList(new Grok(patternBank, "first %{ONE:one}"), new Grok(patternBank, "second %{TWO:two}"),
+            new Grok(patternBank, "%{TWO:other}"));
+        GrokProcessor processor = new GrokProcessor(randomAsciiOfLength(10), groks, "field");
+
+        IngestDocument doc = RandomDocumentPicks.randomIngestDocument(random(), new HashMap<>());
+        doc.setFieldValue("field", "second 2");
+        processor.execute(doc);
+        assertThat(doc.getFieldValue("two", String.class), equalTo("2"));
+        assertThat(doc.hasField("one"), equalTo(false));
+        assertThat(doc.hasField("other"), equalTo(false));
+
+        doc = RandomDocumentPicks.randomIngestDocument(random(), new HashMap<>());
+        doc.setFieldValue("field", "first 1");
+        processor.execute(doc);
+        assertThat(doc.getFieldValue("one", String.class), equalTo("1"));
+        assertThat(doc.hasField("two"), equalTo(false));
+
+        doc = RandomDocumentPicks.randomIngestDocument(random(), new HashMap<>());
+        doc.setFieldValue("field", "third 2");
+        processor.execute(doc);
+        assertThat(doc.getFieldValue("other", String.class), equalTo("2"));
+    }
+
+    public void testNoneOfMultiplePatternsMatch() {
+        Grok one = new Grok(Collections.singletonMap("ONE", "1"), "%{ONE:one}");
+        Grok two = new Grok(Collections.singletonMap("TWO", "2"), "%{TWO:two}");
+        GrokProcessor processor = new GrokProcessor(randomAsciiOfLength(10), Arrays.asList(one, two), "field");
+        IngestDocument doc = RandomDocumentPicks.randomIngestDocument(random(), new HashMap<>());
+        doc.setFieldValue("field", "3");
+        try {
+            processor.execute(doc);
+            fail();
+        } catch (Exception e) {
+            assertThat(e.getMessage(), equalTo("None of the grok expressions match field value: [3]"));
+        }
+    }
+
     public void testMatchWithoutCaptures() throws Exception {
         String fieldName = "value";
         IngestDocument originalDoc = new IngestDocument(new HashMap<>(), new HashMap<>());
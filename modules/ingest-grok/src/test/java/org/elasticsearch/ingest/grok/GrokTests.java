@@ -24,6 +24,7 @@ import org.junit.Before;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -230,6 +231,40 @@ public class GrokTests extends ESTestCase {
         assertEquals("\"Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/30.0.1599.12785 YaBrowser/13.12.1599.12785 Safari/537.36\"", matches.get("agent"));
     }
 
+    public void testApacheLogRequiredLiterals() {
+        String logLine = "31.184.238.164 - - [24/Jul/2014:05:35:37 +0530] \"GET /logs/access.log HTTP/1.0\" 200 69849 \"http://8rursodiol.enjin.com\" \"Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/30.0.1599.12785 YaBrowser/13.12.1599.12785 Safari/537.36\" \"www.dlwindianrailways.com\"";
+        Grok grok = new Grok(basePatterns, "%{COMBINEDAPACHELOG}");
+        assertThat(grok.getRequiredLiterals().isEmpty(), is(false));
+        for (String literal : grok.getRequiredLiterals()) {
+            assertThat(literal, logLine.contains(literal), is(true));
+        }
+    }
+
+    public void testExtractRequiredLiterals() {
+        assertThat(Grok.extractRequiredLiterals("foo bar"), equalTo(Arrays.asList("foo bar")));
+        assertThat(Grok.extractRequiredLiterals("(?<verb>\\w+) /(?<path>\\S+) HTTP/"), equalTo(Arrays.asList(" /", " HTTP/")));
+        assertThat(Grok.extractRequiredLiterals("a\\[bc\\]de"), equalTo(Arrays.asList("a[bc]de")));
+        // optional characters end a literal, repeated ones are still required
+        assertThat(Grok.extractRequiredLiterals("abc?de"), equalTo(Arrays.asList("ab", "de")));
+        assertThat(Grok.extractRequiredLiterals("abc*de"), equalTo(Arrays.asList("ab", "de")));
+        assertThat(Grok.extractRequiredLiterals("abc{0,2}de"), equalTo(Arrays.asList("ab", "de")));
+        assertThat(Grok.extractRequiredLiterals("abc+de"), equalTo(Arrays.asList("abc", "de")));
+        // character classes, character types and arguments of escapes aren't literals
+        assertThat(Grok.extractRequiredLiterals("ab[cd]ef"), equalTo(Arrays.asList("ab", "ef")));
+        assertThat(Grok.extractRequiredLiterals("ab[^\\]x]ef"), equalTo(Arrays.asList("ab", "ef")));
+        assertThat(Grok.extractRequiredLiterals("ab\\p{Alpha} ef"), equalTo(Arrays.asList("ab", " ef")));
+        assertThat(Grok.extractRequiredLiterals("ab\\k<name> ef"), equalTo(Arrays.asList("ab", " ef")));
+        // literals in groups may be part of an alternation or be optional
+        assertThat(Grok.extractRequiredLiterals("ab(cd|ef)gh"), equalTo(Arrays.asList("ab", "gh")));
+        assertThat(Grok.extractRequiredLiterals("ab(?:cd)?"), equalTo(Arrays.asList("ab")));
+        // single characters are not worth checking for
+        assertThat(Grok.extractRequiredLiterals("a.b"), equalTo(Collections.emptyList()));
+        // a top level alternation, options or quoting disable literal extraction altogether
+        assertThat(Grok.extractRequiredLiterals("abc|def"), equalTo(Collections.emptyList()));
+        assertThat(Grok.extractRequiredLiterals("(?i)abc"), equalTo(Collections.emptyList()));
+        assertThat(Grok.extractRequiredLiterals("\\Qabc\\E"), equalTo(Collections.emptyList()));
+    }
+
     public void testComplete() {
         Map<String, String> bank = new HashMap<>();
         bank.put("MONTHDAY", "(?:(?:0[1-9])|(?:[12][0-9])|(?:3[01])|[1-9])");
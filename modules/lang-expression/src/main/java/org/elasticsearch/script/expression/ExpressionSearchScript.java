@@ -124,6 +124,20 @@ class ExpressionSearchScript implements SearchScript {
                     }
                 }
             }
+
+            @Override
+            public void setNextAggregationValue(long value) {
+                if (specialValue != null) {
+                    specialValue.setValue(value);
+                }
+            }
+
+            @Override
+            public void setNextAggregationValue(double value) {
+                if (specialValue != null) {
+                    specialValue.setValue(value);
+                }
+            }
         };
     }
 
@@ -335,7 +335,7 @@ class AnalyzerStatement {
 
         final ExpressionContext exprctx = AnalyzerUtility.updateExpressionTree(ctx.expression());
         final ExpressionMetadata expremd = metadata.createExpressionMetadata(exprctx);
-        expremd.to = definition.objectType;
+        expremd.to = metadata.returnType;
         analyzer.visit(exprctx);
         caster.markCast(expremd);
 
@@ -418,7 +418,7 @@ class AnalyzerStatement {
         exprsmd.methodEscape = rtn;
         exprsmd.loopEscape = rtn;
         exprsmd.allLast = rtn;
-        expremd.to = rtn ? definition.objectType : expremd.from;
+        expremd.to = rtn ? metadata.returnType : expremd.from;
         caster.markCast(expremd);
 
         exprsmd.count = 1;
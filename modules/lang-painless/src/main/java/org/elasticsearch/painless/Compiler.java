@@ -23,6 +23,7 @@ import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.elasticsearch.bootstrap.BootstrapInfo;
+import org.elasticsearch.painless.Definition.Type;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -34,7 +35,8 @@ import java.security.cert.Certificate;
  * The Compiler is the entry point for generating a Painless script.  The compiler will generate an ANTLR
  * parse tree based on the source code that is passed in.  Two passes will then be run over the parse tree,
  * one for analysis using the {@link Analyzer} and another to generate the actual byte code using ASM in
- * the {@link Writer}.
+ * the {@link Writer}.  The analysis is repeated for the methods that return the result of the script as a
+ * primitive double or long without boxing it.
  */
 final class Compiler {
     /**
@@ -105,14 +107,40 @@ final class Compiler {
 
         final Definition definition = custom != null ? new Definition(custom) : DEFAULT_DEFINITION;
         final ParserRuleContext root = createParseTree(source);
-        final Metadata metadata = new Metadata(definition, source, root, settings);
+        final Metadata metadata = new Metadata(definition, source, root, settings, definition.objectType);
         Analyzer.analyze(metadata);
-        final byte[] bytes = Writer.write(metadata);
+        final Metadata asDouble = analyzeUnboxed(definition, source, settings, definition.doubleType);
+        final Metadata asLong = analyzeUnboxed(definition, source, settings, definition.longType);
+        final byte[] bytes = Writer.write(metadata, asDouble, asLong);
         final Executable executable = createExecutable(loader, definition, name, source, bytes);
 
         return executable;
     }
 
+    /**
+     * Analyzes a script that already passed analysis again, this time casting its return values to a primitive
+     * type so that the result of the script does not need to be boxed.
+     * @param definition The Painless API.
+     * @param source The source code for the script.
+     * @param settings The CompilerSettings to be used during the compilation.
+     * @param returnType The primitive type to return.
+     * @return The analyzed script, or null if some of its return values can't be implicitly cast to the primitive
+     * type or if it doesn't return a value on all paths, in which case the boxed result has to be used.
+     */
+    private static Metadata analyzeUnboxed(final Definition definition, final String source,
+                                           final CompilerSettings settings, final Type returnType) {
+        // analysis updates the parse tree, so each analysis needs its own
+        final Metadata metadata = new Metadata(definition, source, createParseTree(source), settings, returnType);
+
+        try {
+            Analyzer.analyze(metadata);
+        } catch (final ClassCastException | IllegalArgumentException exception) {
+            return null;
+        }
+
+        return metadata.getStatementMetadata(metadata.root).methodEscape ? metadata : null;
+    }
+
     /**
      * Generates the ANTLR tree from the given source code.  Several methods below, are used
      * to ensure that the first error generated by ANTLR will cause the compilation to fail rather than
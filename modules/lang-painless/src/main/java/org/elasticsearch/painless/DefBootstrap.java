@@ -0,0 +1,413 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.painless;
+
+import org.elasticsearch.painless.Definition.Field;
+import org.elasticsearch.painless.Definition.Method;
+import org.elasticsearch.painless.Definition.Transform;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Painless invokedynamic bootstrap for dynamic (<code>def</code>) method calls, field loads/stores and array loads/stores.
+ * <p>
+ * Each call site keeps a polymorphic inline cache: a chain of guards on the classes of the receiver and of the
+ * arguments that need a runtime conversion, each leading to a method handle resolved once from the {@link Definition}.
+ * Once a call site has seen more than {@link #MAX_DEPTH} different combinations of classes it is considered megamorphic
+ * and falls back to the generic lookups in {@link Def}.
+ */
+public final class DefBootstrap {
+
+    private DefBootstrap() {} // no instance!
+
+    /** maximum number of cached targets per call site before it is considered megamorphic */
+    static final int MAX_DEPTH = 5;
+
+    /** Dynamic method call: (receiver, definition, args...) */
+    static final int METHOD_CALL = 0;
+    /** Dynamic field load (getter or map/list shortcut): (receiver, definition) */
+    static final int LOAD = 1;
+    /** Dynamic field store (setter or map/list shortcut): (receiver, value, definition) */
+    static final int STORE = 2;
+    /** Dynamic array, list or map load: (receiver, index, definition) */
+    static final int ARRAY_LOAD = 3;
+    /** Dynamic array, list or map store: (receiver, index, value, definition) */
+    static final int ARRAY_STORE = 4;
+
+    /**
+     * Call site with a polymorphic inline cache. The <code>untyped</code> bitmask marks the arguments (excluding
+     * the receiver and the definition) whose static type was <code>def</code>, so that a conversion depending on
+     * their runtime class may be required. The definition is passed as an {@link Object} since {@link Definition}
+     * is not accessible from the package of the compiled scripts.
+     */
+    static final class PIC extends MutableCallSite {
+        private final String name;
+        private final int flavor;
+        private final int untyped;
+        private final int definitionIndex;
+        private int depth;
+        /** positions of the arguments whose class the target being resolved depends on */
+        private int guards;
+
+        PIC(String name, MethodType type, int flavor, int untyped) {
+            super(type);
+            this.name = name;
+            this.flavor = flavor;
+            this.untyped = untyped;
+            this.definitionIndex = flavor == METHOD_CALL ? 1 : type.parameterCount() - 1;
+            setTarget(MethodHandles.insertArguments(FALLBACK, 0, this)
+                .asCollector(Object[].class, type.parameterCount())
+                .asType(type));
+        }
+
+        /** Returns the number of targets in the inline cache, for testing. */
+        synchronized int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Called on a cache miss: resolves the target for the classes of the given arguments, installs it in front
+         * of the current chain of guards and invokes it.
+         */
+        Object fallback(Object[] args) throws Throwable {
+            final MethodType type = type();
+            final Definition definition = (Definition) args[definitionIndex];
+            final MethodHandle target;
+
+            synchronized (this) {
+                if (depth >= MAX_DEPTH) {
+                    target = generic();
+                    setTarget(target);
+                } else {
+                    guards = 1; // the receiver
+                    target = lookup(args, definition).asType(type);
+                    setTarget(MethodHandles.guardWithTest(test(args), target, getTarget()));
+                    ++depth;
+                }
+            }
+
+            return target.invokeWithArguments(args);
+        }
+
+        /** Returns whether the argument at the given index (of the call site type) needs a runtime conversion. */
+        private boolean isUntyped(int index) {
+            final int argument = flavor == METHOD_CALL ? index - 2 : index - 1;
+            return argument >= 0 && (untyped & (1 << argument)) != 0;
+        }
+
+        /** Builds a test that checks the classes of the receiver and of the guarded arguments against the given ones. */
+        private MethodHandle test(Object[] args) {
+            final MethodType type = type().changeReturnType(boolean.class);
+            MethodHandle test = null;
+
+            for (int index = type.parameterCount() - 1; index >= 0; --index) {
+                if ((guards & (1 << index)) != 0) {
+                    MethodHandle check = CHECK_CLASS.bindTo(args[index] == null ? null : args[index].getClass());
+                    check = MethodHandles.dropArguments(check, 0, type.parameterList().subList(0, index));
+                    check = MethodHandles.dropArguments(check, index + 1, type.parameterList().subList(index + 1, type.parameterCount()));
+                    check = check.asType(type);
+                    test = test == null ? check : MethodHandles.guardWithTest(check, test, MethodHandles.dropArguments(
+                        MethodHandles.constant(boolean.class, false), 0, type.parameterList()));
+                }
+            }
+
+            return test;
+        }
+
+        /** Resolves the target for the classes of the given arguments, the definition argument is dropped by the caller. */
+        private MethodHandle lookup(Object[] args, Definition definition) throws Throwable {
+            switch (flavor) {
+                case METHOD_CALL:
+                    return lookupMethod(args, definition);
+                case LOAD:
+                    return MethodHandles.dropArguments(lookupGetter(args[0], definition), 1, Object.class);
+                case STORE:
+                    return MethodHandles.dropArguments(lookupSetter(args, definition), 2, Object.class);
+                case ARRAY_LOAD:
+                    return MethodHandles.dropArguments(lookupArrayLoad(args, definition), 2, Object.class);
+                case ARRAY_STORE:
+                    return MethodHandles.dropArguments(lookupArrayStore(args, definition), 3, Object.class);
+                default:
+                    throw new IllegalStateException("Unknown dynamic call flavor [" + flavor + "].");
+            }
+        }
+
+        private MethodHandle lookupMethod(Object[] args, Definition definition) {
+            final Object owner = args[0];
+            final Method method = Def.getMethod(owner, name, definition);
+
+            if (method == null) {
+                throw new IllegalArgumentException("Unable to find dynamic method [" + name + "] " +
+                    "for class [" + owner.getClass().getCanonicalName() + "].");
+            }
+
+            final int arity = args.length - 2;
+
+            if (method.arguments.size() != arity) {
+                throw new IllegalArgumentException("When dynamically calling [" + name + "] from class " +
+                    "[" + owner.getClass() + "] expected [" + method.arguments.size() + "] arguments," +
+                    " but found [" + arity + "].");
+            }
+
+            MethodHandle handle = method.handle;
+
+            for (int argument = 0; argument < arity; ++argument) {
+                if (isUntyped(argument + 2)) {
+                    handle = convert(handle, argument + 1, args, argument + 2, method.arguments.get(argument).clazz, definition);
+                }
+            }
+
+            return MethodHandles.dropArguments(handle, 1, Object.class);
+        }
+
+        private MethodHandle lookupGetter(Object owner, Definition definition) {
+            if (owner.getClass().isArray() && "length".equals(name)) {
+                return ARRAY_LENGTH;
+            }
+
+            final Field field = Def.getField(owner, name, definition);
+
+            if (field != null) {
+                if (field.getter == null) {
+                    throw new IllegalArgumentException(
+                        "Unable to read from field [" + name + "] with owner class [" + owner.getClass() + "].");
+                }
+
+                return field.getter;
+            }
+
+            final Method method = Def.getMethod(owner, "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1), definition);
+
+            if (method != null) {
+                return method.handle;
+            } else if (owner instanceof Map) {
+                return MethodHandles.insertArguments(MAP_GET, 1, name);
+            } else if (owner instanceof List) {
+                return MethodHandles.insertArguments(LIST_GET, 1, listIndex());
+            }
+
+            throw new IllegalArgumentException("Unable to find dynamic field [" + name + "] " +
+                "for class [" + owner.getClass().getCanonicalName() + "].");
+        }
+
+        private MethodHandle lookupSetter(Object[] args, Definition definition) {
+            final Object owner = args[0];
+            final Field field = Def.getField(owner, name, definition);
+            MethodHandle handle = null;
+
+            if (field == null) {
+                final Method method = Def.getMethod(owner, "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), definition);
+
+                if (method != null) {
+                    handle = method.handle;
+                }
+            } else {
+                handle = field.setter;
+            }
+
+            if (handle != null) {
+                if (isUntyped(1)) {
+                    handle = convert(handle, 1, args, 1, handle.type().parameterType(1), definition);
+                }
+
+                return handle.asType(handle.type().changeReturnType(void.class));
+            } else if (owner instanceof Map) {
+                handle = MethodHandles.insertArguments(MAP_PUT, 1, name);
+            } else if (owner instanceof List) {
+                handle = MethodHandles.insertArguments(LIST_SET, 1, listIndex());
+            } else {
+                throw new IllegalArgumentException("Unable to find dynamic field [" + name + "] " +
+                    "for class [" + owner.getClass().getCanonicalName() + "].");
+            }
+
+            return handle.asType(handle.type().changeReturnType(void.class));
+        }
+
+        private MethodHandle lookupArrayLoad(Object[] args, Definition definition) {
+            final Object array = args[0];
+
+            if (array instanceof Map) {
+                return MAP_GET;
+            }
+
+            final MethodHandle handle;
+
+            if (array.getClass().isArray()) {
+                handle = MethodHandles.arrayElementGetter(array.getClass());
+            } else if (array instanceof List) {
+                handle = LIST_GET;
+            } else {
+                throw new IllegalArgumentException("Attempting to address a non-array type " +
+                    "[" + array.getClass().getCanonicalName() + "] as an array.");
+            }
+
+            return isUntyped(1) ? convert(handle, 1, args, 1, Integer.class, definition) : handle;
+        }
+
+        private MethodHandle lookupArrayStore(Object[] args, Definition definition) {
+            final Object array = args[0];
+
+            if (array instanceof Map) {
+                return MAP_PUT.asType(MAP_PUT.type().changeReturnType(void.class));
+            }
+
+            MethodHandle handle;
+
+            if (array.getClass().isArray()) {
+                handle = MethodHandles.arrayElementSetter(array.getClass());
+
+                if (isUntyped(2)) {
+                    handle = convert(handle, 2, args, 2, array.getClass().getComponentType(), definition);
+                }
+            } else if (array instanceof List) {
+                handle = LIST_SET.asType(LIST_SET.type().changeReturnType(void.class));
+            } else {
+                throw new IllegalArgumentException("Attempting to address a non-array type " +
+                    "[" + array.getClass().getCanonicalName() + "] as an array.");
+            }
+
+            return isUntyped(1) ? convert(handle, 1, args, 1, Integer.class, definition) : handle;
+        }
+
+        /**
+         * Filters the parameter at the given position of the handle through the transform from the class of the
+         * argument at the given index to the given class, if the {@link Definition} has one. The class of that
+         * argument becomes part of the guard of the resolved target.
+         */
+        private MethodHandle convert(MethodHandle handle, int position, Object[] args, int index, Class<?> to, Definition definition) {
+            guards |= 1 << index;
+            final Transform transform = Def.getTransform(args[index].getClass(), to, definition);
+
+            if (transform == null) {
+                return handle;
+            }
+
+            final MethodHandle filter = transform.method.handle;
+            return MethodHandles.filterArguments(handle, position,
+                filter.asType(MethodType.methodType(handle.type().parameterType(position), filter.type().parameterType(0))));
+        }
+
+        private int listIndex() {
+            try {
+                return Integer.parseInt(name);
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("Illegal list shortcut value [" + name + "].");
+            }
+        }
+
+        /** Returns the megamorphic target which resolves everything through {@link Def} on each invocation. */
+        private MethodHandle generic() {
+            MethodHandle handle;
+
+            switch (flavor) {
+                case METHOD_CALL:
+                    final int arity = type().parameterCount() - 2;
+                    final boolean[] typesafe = new boolean[arity];
+
+                    for (int argument = 0; argument < arity; ++argument) {
+                        typesafe[argument] = isUntyped(argument + 2) == false;
+                    }
+
+                    handle = MethodHandles.insertArguments(DEF_METHOD_CALL, 4, typesafe);
+                    return MethodHandles.insertArguments(handle, 1, name).asCollector(Object[].class, arity).asType(type());
+                case LOAD:
+                    handle = MethodHandles.insertArguments(DEF_FIELD_LOAD, 1, name);
+                    break;
+                case STORE:
+                    handle = MethodHandles.insertArguments(DEF_FIELD_STORE, 4, isUntyped(1) == false);
+                    handle = MethodHandles.insertArguments(handle, 2, name);
+                    break;
+                case ARRAY_LOAD:
+                    handle = MethodHandles.insertArguments(DEF_ARRAY_LOAD, 3, isUntyped(1) == false);
+                    break;
+                case ARRAY_STORE:
+                    handle = MethodHandles.insertArguments(DEF_ARRAY_STORE, 4, isUntyped(1) == false, isUntyped(2) == false);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown dynamic call flavor [" + flavor + "].");
+            }
+
+            return handle.asType(type());
+        }
+    }
+
+    /** Guard used by the inline cache. */
+    static boolean checkClass(Class<?> clazz, Object value) {
+        return value != null && value.getClass() == clazz;
+    }
+
+    private static final MethodHandle FALLBACK;
+    private static final MethodHandle CHECK_CLASS;
+    private static final MethodHandle ARRAY_LENGTH;
+    private static final MethodHandle MAP_GET;
+    private static final MethodHandle MAP_PUT;
+    private static final MethodHandle LIST_GET;
+    private static final MethodHandle LIST_SET;
+    private static final MethodHandle DEF_METHOD_CALL;
+    private static final MethodHandle DEF_FIELD_LOAD;
+    private static final MethodHandle DEF_FIELD_STORE;
+    private static final MethodHandle DEF_ARRAY_LOAD;
+    private static final MethodHandle DEF_ARRAY_STORE;
+
+    static {
+        final Lookup lookup = MethodHandles.lookup();
+
+        try {
+            FALLBACK = lookup.findVirtual(PIC.class, "fallback", MethodType.methodType(Object.class, Object[].class));
+            CHECK_CLASS = lookup.findStatic(DefBootstrap.class, "checkClass",
+                MethodType.methodType(boolean.class, Class.class, Object.class));
+            ARRAY_LENGTH = lookup.findStatic(Array.class, "getLength", MethodType.methodType(int.class, Object.class));
+            MAP_GET = lookup.findVirtual(Map.class, "get", MethodType.methodType(Object.class, Object.class));
+            MAP_PUT = lookup.findVirtual(Map.class, "put", MethodType.methodType(Object.class, Object.class, Object.class));
+            LIST_GET = lookup.findVirtual(List.class, "get", MethodType.methodType(Object.class, int.class));
+            LIST_SET = lookup.findVirtual(List.class, "set", MethodType.methodType(Object.class, int.class, Object.class));
+            DEF_METHOD_CALL = lookup.findStatic(Def.class, "methodCall", MethodType.methodType(Object.class,
+                Object.class, String.class, Definition.class, Object[].class, boolean[].class));
+            DEF_FIELD_LOAD = lookup.findStatic(Def.class, "fieldLoad", MethodType.methodType(Object.class,
+                Object.class, String.class, Definition.class));
+            DEF_FIELD_STORE = lookup.findStatic(Def.class, "fieldStore", MethodType.methodType(void.class,
+                Object.class, Object.class, String.class, Definition.class, boolean.class));
+            DEF_ARRAY_LOAD = lookup.findStatic(Def.class, "arrayLoad", MethodType.methodType(Object.class,
+                Object.class, Object.class, Definition.class, boolean.class));
+            DEF_ARRAY_STORE = lookup.findStatic(Def.class, "arrayStore", MethodType.methodType(void.class,
+                Object.class, Object.class, Object.class, Definition.class, boolean.class, boolean.class));
+        } catch (final ReflectiveOperationException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    /**
+     * invokedynamic bootstrap method for all dynamic call sites.
+     * @param name the method or field name, unused for array accesses
+     * @param flavor one of {@link #METHOD_CALL}, {@link #LOAD}, {@link #STORE}, {@link #ARRAY_LOAD} or {@link #ARRAY_STORE}
+     * @param untyped bitmask of the arguments whose static type is <code>def</code>
+     */
+    public static CallSite bootstrap(Lookup lookup, String name, MethodType type, int flavor, int untyped) {
+        return new PIC(name, type, flavor, untyped);
+    }
+}
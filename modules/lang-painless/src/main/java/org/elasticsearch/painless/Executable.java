@@ -47,4 +47,20 @@ public abstract class Executable {
     }
 
     public abstract Object execute(Map<String, Object> input);
+
+    /**
+     * Runs the script and returns its result as a double.  Compiled scripts override this
+     * if all of their return values can be cast to a double, so the result is not boxed.
+     */
+    public double executeAsDouble(Map<String, Object> input) {
+        return ((Number)execute(input)).doubleValue();
+    }
+
+    /**
+     * Runs the script and returns its result as a long.  Compiled scripts override this
+     * if all of their return values can be cast to a long, so the result is not boxed.
+     */
+    public long executeAsLong(Map<String, Object> input) {
+        return ((Number)execute(input)).longValue();
+    }
 }
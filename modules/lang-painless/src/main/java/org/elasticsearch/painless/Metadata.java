@@ -404,6 +404,12 @@ class Metadata {
      */
     final CompilerSettings settings;
 
+    /**
+     * The type that the return values of the script are cast to.  This is Object for the execute method, and
+     * double or long for the methods that return the result of the script without boxing it.
+     */
+    final Type returnType;
+
     /**
      * Used to determine what slot the input variable is stored in.  This is used in the {@link Writer} whenever
      * the input variable is accessed.
@@ -454,12 +460,15 @@ class Metadata {
      * @param source The source text for the script.
      * @param root The root ANTLR node.
      * @param settings The compile-time settings.
+     * @param returnType The type that the return values of the script are cast to.
      */
-    Metadata(final Definition definition, final String source, final ParserRuleContext root, final CompilerSettings settings) {
+    Metadata(final Definition definition, final String source, final ParserRuleContext root, final CompilerSettings settings,
+             final Type returnType) {
         this.definition = definition;
         this.source = source;
         this.root = root;
         this.settings = settings;
+        this.returnType = returnType;
     }
 
     /**
@@ -93,7 +93,7 @@ final class ScriptImpl implements ExecutableScript, LeafSearchScript {
      */
     @Override
     public double runAsDouble() {
-        return ((Number)run()).doubleValue();
+        return executable.executeAsDouble(variables);
     }
 
     /**
@@ -111,7 +111,7 @@ final class ScriptImpl implements ExecutableScript, LeafSearchScript {
      */
     @Override
     public long runAsLong() {
-        return ((Number)run()).longValue();
+        return executable.executeAsLong(variables);
     }
 
     /**
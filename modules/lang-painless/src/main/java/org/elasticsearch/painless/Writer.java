@@ -76,48 +76,67 @@ import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
 
 import static org.elasticsearch.painless.WriterConstants.BASE_CLASS_TYPE;
 import static org.elasticsearch.painless.WriterConstants.CLASS_TYPE;
 import static org.elasticsearch.painless.WriterConstants.CONSTRUCTOR;
 import static org.elasticsearch.painless.WriterConstants.EXECUTE;
+import static org.elasticsearch.painless.WriterConstants.EXECUTE_AS_DOUBLE;
+import static org.elasticsearch.painless.WriterConstants.EXECUTE_AS_LONG;
 import static org.elasticsearch.painless.WriterConstants.MAP_GET;
 import static org.elasticsearch.painless.WriterConstants.MAP_TYPE;
 import static org.elasticsearch.painless.WriterConstants.SCORE_ACCESSOR_FLOAT;
 import static org.elasticsearch.painless.WriterConstants.SCORE_ACCESSOR_TYPE;
 import static org.elasticsearch.painless.WriterConstants.SIGNATURE;
+import static org.elasticsearch.painless.WriterConstants.SIGNATURE_AS_DOUBLE;
+import static org.elasticsearch.painless.WriterConstants.SIGNATURE_AS_LONG;
 
 class Writer extends PainlessParserBaseVisitor<Void> {
-    static byte[] write(Metadata metadata) {
-        final Writer writer = new Writer(metadata);
+    /**
+     * Generates the class of a script.
+     * @param metadata The analyzed script for the execute method.
+     * @param asDouble The analyzed script for the executeAsDouble method, or null to keep the boxing default.
+     * @param asLong The analyzed script for the executeAsLong method, or null to keep the boxing default.
+     * @return The byte code of the class.
+     */
+    static byte[] write(final Metadata metadata, final Metadata asDouble, final Metadata asLong) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+
+        writeBegin(writer, metadata.source);
+        writeConstructor(writer);
+
+        new Writer(metadata, writer, EXECUTE, SIGNATURE);
+
+        if (asDouble != null) {
+            new Writer(asDouble, writer, EXECUTE_AS_DOUBLE, SIGNATURE_AS_DOUBLE);
+        }
+
+        if (asLong != null) {
+            new Writer(asLong, writer, EXECUTE_AS_LONG, SIGNATURE_AS_LONG);
+        }
 
-        return writer.getBytes();
+        writer.visitEnd();
+
+        return writer.toByteArray();
     }
 
     private final Metadata metadata;
     private final ParseTree root;
-    private final String source;
     private final CompilerSettings settings;
 
-    private final ClassWriter writer;
     private final GeneratorAdapter execute;
 
     private final WriterStatement statement;
     private final WriterExpression expression;
     private final WriterExternal external;
 
-    private Writer(final Metadata metadata) {
+    private Writer(final Metadata metadata, final ClassWriter writer, final Method method, final String signature) {
         this.metadata = metadata;
         root = metadata.root;
-        source = metadata.source;
         settings = metadata.settings;
 
-        writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
-
-        writeBegin();
-        writeConstructor();
-
-        execute = new GeneratorAdapter(Opcodes.ACC_PUBLIC, EXECUTE, SIGNATURE, null, writer);
+        execute = new GeneratorAdapter(Opcodes.ACC_PUBLIC, method, signature, null, writer);
 
         final WriterUtility utility = new WriterUtility(metadata, execute);
         final WriterCaster caster = new WriterCaster(execute);
@@ -127,10 +146,9 @@ class Writer extends PainlessParserBaseVisitor<Void> {
         external = new WriterExternal(metadata, execute, this, utility, caster);
 
         writeExecute();
-        writeEnd();
     }
 
-    private void writeBegin() {
+    private static void writeBegin(final ClassWriter writer, final String source) {
         final int version = Opcodes.V1_7;
         final int access = Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER | Opcodes.ACC_FINAL;
         final String base = BASE_CLASS_TYPE.getInternalName();
@@ -140,7 +158,7 @@ class Writer extends PainlessParserBaseVisitor<Void> {
         writer.visitSource(source, null);
     }
 
-    private void writeConstructor() {
+    private static void writeConstructor(final ClassWriter writer) {
         final GeneratorAdapter constructor = new GeneratorAdapter(Opcodes.ACC_PUBLIC, CONSTRUCTOR, null, null, writer);
         constructor.loadThis();
         constructor.loadArgs();
@@ -176,14 +194,6 @@ class Writer extends PainlessParserBaseVisitor<Void> {
         execute.endMethod();
     }
 
-    private void writeEnd() {
-        writer.visitEnd();
-    }
-
-    private byte[] getBytes() {
-        return writer.toByteArray();
-    }
-
     @Override
     public Void visitSource(final SourceContext ctx) {
         statement.processSource(ctx);
@@ -20,9 +20,13 @@
 package org.elasticsearch.painless;
 
 import org.elasticsearch.script.ScoreAccessor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.util.Map;
 
@@ -36,6 +40,11 @@ class WriterConstants {
     final static Method EXECUTE     = getAsmMethod(Object.class, "execute", Map.class);
     final static String SIGNATURE   = "(Ljava/util/Map<Ljava/lang/String;Ljava/lang/Object;>;)Ljava/lang/Object;";
 
+    final static Method EXECUTE_AS_DOUBLE   = getAsmMethod(double.class, "executeAsDouble", Map.class);
+    final static String SIGNATURE_AS_DOUBLE = "(Ljava/util/Map<Ljava/lang/String;Ljava/lang/Object;>;)D";
+    final static Method EXECUTE_AS_LONG     = getAsmMethod(long.class, "executeAsLong", Map.class);
+    final static String SIGNATURE_AS_LONG   = "(Ljava/util/Map<Ljava/lang/String;Ljava/lang/Object;>;)J";
+
     final static Type PAINLESS_ERROR_TYPE = Type.getType(PainlessError.class);
 
     final static Type DEFINITION_TYPE = Type.getType(Definition.class);
@@ -46,16 +55,18 @@ class WriterConstants {
     final static Type SCORE_ACCESSOR_TYPE    = Type.getType(ScoreAccessor.class);
     final static Method SCORE_ACCESSOR_FLOAT = getAsmMethod(float.class, "floatValue");
 
-    final static Method DEF_METHOD_CALL = getAsmMethod(
-        Object.class, "methodCall", Object.class, String.class, Definition.class, Object[].class, boolean[].class);
-    final static Method DEF_ARRAY_STORE = getAsmMethod(
-        void.class, "arrayStore", Object.class, Object.class, Object.class, Definition.class, boolean.class, boolean.class);
-    final static Method DEF_ARRAY_LOAD = getAsmMethod(
-        Object.class, "arrayLoad", Object.class, Object.class, Definition.class, boolean.class);
-    final static Method DEF_FIELD_STORE = getAsmMethod(
-        void.class, "fieldStore", Object.class, Object.class, String.class, Definition.class, boolean.class);
-    final static Method DEF_FIELD_LOAD = getAsmMethod(
-        Object.class, "fieldLoad", Object.class, String.class, Definition.class);
+    /** invokedynamic bootstrap for dynamic method calls, field and array accesses, see {@link DefBootstrap} */
+    final static Handle DEF_BOOTSTRAP_HANDLE = new Handle(Opcodes.H_INVOKESTATIC, Type.getInternalName(DefBootstrap.class),
+        "bootstrap", MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class,
+            int.class, int.class).toMethodDescriptorString());
+    final static String DEF_FIELD_LOAD_DESC   = MethodType.methodType(Object.class, Object.class, Object.class)
+        .toMethodDescriptorString();
+    final static String DEF_FIELD_STORE_DESC  = MethodType.methodType(void.class, Object.class, Object.class, Object.class)
+        .toMethodDescriptorString();
+    final static String DEF_ARRAY_LOAD_DESC   = MethodType.methodType(Object.class, Object.class, Object.class, Object.class)
+        .toMethodDescriptorString();
+    final static String DEF_ARRAY_STORE_DESC  = MethodType.methodType(void.class, Object.class, Object.class, Object.class,
+        Object.class).toMethodDescriptorString();
 
     final static Method DEF_NOT_CALL = getAsmMethod(Object.class, "not", Object.class);
     final static Method DEF_NEG_CALL = getAsmMethod(Object.class, "neg", Object.class);
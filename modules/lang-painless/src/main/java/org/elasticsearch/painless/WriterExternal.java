@@ -51,11 +51,11 @@ import static org.elasticsearch.painless.PainlessParser.REM;
 import static org.elasticsearch.painless.PainlessParser.SUB;
 import static org.elasticsearch.painless.WriterConstants.CLASS_TYPE;
 import static org.elasticsearch.painless.WriterConstants.DEFINITION_TYPE;
-import static org.elasticsearch.painless.WriterConstants.DEF_ARRAY_LOAD;
-import static org.elasticsearch.painless.WriterConstants.DEF_ARRAY_STORE;
-import static org.elasticsearch.painless.WriterConstants.DEF_FIELD_LOAD;
-import static org.elasticsearch.painless.WriterConstants.DEF_FIELD_STORE;
-import static org.elasticsearch.painless.WriterConstants.DEF_METHOD_CALL;
+import static org.elasticsearch.painless.WriterConstants.DEF_ARRAY_LOAD_DESC;
+import static org.elasticsearch.painless.WriterConstants.DEF_ARRAY_STORE_DESC;
+import static org.elasticsearch.painless.WriterConstants.DEF_BOOTSTRAP_HANDLE;
+import static org.elasticsearch.painless.WriterConstants.DEF_FIELD_LOAD_DESC;
+import static org.elasticsearch.painless.WriterConstants.DEF_FIELD_STORE_DESC;
 import static org.elasticsearch.painless.WriterConstants.TOBYTEEXACT_INT;
 import static org.elasticsearch.painless.WriterConstants.TOBYTEEXACT_LONG;
 import static org.elasticsearch.painless.WriterConstants.TOBYTEWOOVERFLOW_DOUBLE;
@@ -477,16 +477,15 @@ class WriterExternal {
             final ExternalMetadata parentemd = metadata.getExternalMetadata(sourceemd.parent);
             final ExpressionMetadata expremd = metadata.getExpressionMetadata(parentemd.storeExpr);
 
-            execute.push(name);
+            final int untyped = parentemd.token == 0 && expremd.typesafe ? 0 : 1;
+
             execute.loadThis();
             execute.getField(CLASS_TYPE, "definition", DEFINITION_TYPE);
-            execute.push(parentemd.token == 0 && expremd.typesafe);
-            execute.invokeStatic(definition.defobjType.type, DEF_FIELD_STORE);
+            execute.invokeDynamic(name, DEF_FIELD_STORE_DESC, DEF_BOOTSTRAP_HANDLE, DefBootstrap.STORE, untyped);
         } else {
-            execute.push(name);
             execute.loadThis();
             execute.getField(CLASS_TYPE, "definition", DEFINITION_TYPE);
-            execute.invokeStatic(definition.defobjType.type, DEF_FIELD_LOAD);
+            execute.invokeDynamic(name, DEF_FIELD_LOAD_DESC, DEF_BOOTSTRAP_HANDLE, DefBootstrap.LOAD, 0);
         }
     }
 
@@ -504,16 +503,16 @@ class WriterExternal {
                 final ExternalMetadata parentemd = metadata.getExternalMetadata(braceenmd.parent);
                 final ExpressionMetadata expremd1 = metadata.getExpressionMetadata(parentemd.storeExpr);
 
+                final int untyped = (expremd0.typesafe ? 0 : 1) | (parentemd.token == 0 && expremd1.typesafe ? 0 : 2);
+
                 execute.loadThis();
                 execute.getField(CLASS_TYPE, "definition", DEFINITION_TYPE);
-                execute.push(expremd0.typesafe);
-                execute.push(parentemd.token == 0 && expremd1.typesafe);
-                execute.invokeStatic(definition.defobjType.type, DEF_ARRAY_STORE);
+                execute.invokeDynamic("arrayStore", DEF_ARRAY_STORE_DESC, DEF_BOOTSTRAP_HANDLE, DefBootstrap.ARRAY_STORE, untyped);
             } else {
                 execute.loadThis();
                 execute.getField(CLASS_TYPE, "definition", DEFINITION_TYPE);
-                execute.push(expremd0.typesafe);
-                execute.invokeStatic(definition.defobjType.type, DEF_ARRAY_LOAD);
+                execute.invokeDynamic("arrayLoad", DEF_ARRAY_LOAD_DESC, DEF_BOOTSTRAP_HANDLE,
+                    DefBootstrap.ARRAY_LOAD, expremd0.typesafe ? 0 : 1);
             }
         } else {
             if (store) {
@@ -729,31 +728,30 @@ class WriterExternal {
                 execute.checkCast(target.rtn.type);
             }
         } else {
-            execute.push((String)sourceenmd.target);
+            if (arguments.size() > 31) {
+                throw new IllegalArgumentException(WriterUtility.error(source) +
+                    "Cannot call a dynamic method with more than 31 arguments.");
+            }
+
+            final org.objectweb.asm.Type[] types = new org.objectweb.asm.Type[arguments.size() + 2];
+            int untyped = 0;
+
+            types[0] = definition.defType.type;
+            types[1] = definition.defType.type; // the definition, not accessible from the script's package
             execute.loadThis();
             execute.getField(CLASS_TYPE, "definition", DEFINITION_TYPE);
 
-            execute.push(arguments.size());
-            execute.newArray(definition.defType.type);
-
             for (int argument = 0; argument < arguments.size(); ++argument) {
-                execute.dup();
-                execute.push(argument);
+                types[argument + 2] = definition.defType.type;
                 writer.visit(arguments.get(argument));
-                execute.arrayStore(definition.defType.type);
-            }
-
-            execute.push(arguments.size());
-            execute.newArray(definition.booleanType.type);
 
-            for (int argument = 0; argument < arguments.size(); ++argument) {
-                execute.dup();
-                execute.push(argument);
-                execute.push(metadata.getExpressionMetadata(arguments.get(argument)).typesafe);
-                execute.arrayStore(definition.booleanType.type);
+                if (!metadata.getExpressionMetadata(arguments.get(argument)).typesafe) {
+                    untyped |= 1 << argument;
+                }
             }
 
-            execute.invokeStatic(definition.defobjType.type, DEF_METHOD_CALL);
+            final String descriptor = org.objectweb.asm.Type.getMethodDescriptor(definition.defType.type, types);
+            execute.invokeDynamic((String)sourceenmd.target, descriptor, DEF_BOOTSTRAP_HANDLE, DefBootstrap.METHOD_CALL, untyped);
         }
     }
 }
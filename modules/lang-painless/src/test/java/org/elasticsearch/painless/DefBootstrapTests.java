@@ -0,0 +1,125 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.painless;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class DefBootstrapTests extends ESTestCase {
+    private final Definition definition = new Definition(new Definition());
+
+    /** calls toString() on integers, twice */
+    public void testOneType() throws Throwable {
+        CallSite site = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "toString",
+            MethodType.methodType(Object.class, Object.class, Object.class), DefBootstrap.METHOD_CALL, 0);
+        MethodHandle handle = site.dynamicInvoker();
+        assertDepthEquals(site, 0);
+
+        // invoke with integer, needs lookup
+        assertEquals("5", (Object) handle.invokeExact((Object) 5, (Object) definition));
+        assertDepthEquals(site, 1);
+
+        // invoked with integer again: should be cached
+        assertEquals("6", (Object) handle.invokeExact((Object) 6, (Object) definition));
+        assertDepthEquals(site, 1);
+    }
+
+    public void testTwoTypes() throws Throwable {
+        CallSite site = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "toString",
+            MethodType.methodType(Object.class, Object.class, Object.class), DefBootstrap.METHOD_CALL, 0);
+        MethodHandle handle = site.dynamicInvoker();
+
+        assertEquals("5", (Object) handle.invokeExact((Object) 5, (Object) definition));
+        assertDepthEquals(site, 1);
+        assertEquals("1.5", (Object) handle.invokeExact((Object) 1.5f, (Object) definition));
+        assertDepthEquals(site, 2);
+
+        // both these should be cached
+        assertEquals("6", (Object) handle.invokeExact((Object) 6, (Object) definition));
+        assertDepthEquals(site, 2);
+        assertEquals("2.5", (Object) handle.invokeExact((Object) 2.5f, (Object) definition));
+        assertDepthEquals(site, 2);
+    }
+
+    public void testMegamorphic() throws Throwable {
+        CallSite site = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "size",
+            MethodType.methodType(Object.class, Object.class, Object.class), DefBootstrap.METHOD_CALL, 0);
+        MethodHandle handle = site.dynamicInvoker();
+
+        // the same method is resolved for many different receiver classes
+        List<Collection<Integer>> receivers = Arrays.asList(new ArrayList<>(Arrays.asList(1)), Arrays.asList(1, 2),
+            new LinkedList<>(), new HashSet<>(Arrays.asList(1, 2, 3)), new TreeSet<>(), new ArrayDeque<>(Arrays.asList(1)));
+        for (int i = 0; i < 2; i++) {
+            for (Collection<Integer> receiver : receivers) {
+                assertEquals(receiver.size(), (Object) handle.invokeExact((Object) receiver, (Object) definition));
+            }
+        }
+        assertDepthEquals(site, DefBootstrap.MAX_DEPTH);
+    }
+
+    public void testFieldLoadShortcuts() throws Throwable {
+        CallSite site = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "0",
+            MethodType.methodType(Object.class, Object.class, Object.class), DefBootstrap.LOAD, 0);
+        MethodHandle handle = site.dynamicInvoker();
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("0", "map");
+        assertEquals("map", (Object) handle.invokeExact((Object) map, (Object) definition));
+        assertEquals("list", (Object) handle.invokeExact((Object) Arrays.asList("list"), (Object) definition));
+        assertDepthEquals(site, 2);
+    }
+
+    public void testArrayStoreAndLoad() throws Throwable {
+        MethodHandle store = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "arrayStore",
+            MethodType.methodType(void.class, Object.class, Object.class, Object.class, Object.class), DefBootstrap.ARRAY_STORE, 0)
+            .dynamicInvoker();
+        MethodHandle load = DefBootstrap.bootstrap(MethodHandles.publicLookup(), "arrayLoad",
+            MethodType.methodType(Object.class, Object.class, Object.class, Object.class), DefBootstrap.ARRAY_LOAD, 0)
+            .dynamicInvoker();
+
+        int[] array = new int[2];
+        store.invokeExact((Object) array, (Object) 1, (Object) 5, (Object) definition);
+        assertEquals(5, array[1]);
+        assertEquals(5, (Object) load.invokeExact((Object) array, (Object) 1, (Object) definition));
+
+        List<Object> list = new ArrayList<>(Arrays.asList("a", "b"));
+        store.invokeExact((Object) list, (Object) 0, (Object) "c", (Object) definition);
+        assertEquals("c", (Object) load.invokeExact((Object) list, (Object) 0, (Object) definition));
+    }
+
+    static void assertDepthEquals(CallSite site, int expected) {
+        DefBootstrap.PIC dsite = (DefBootstrap.PIC) site;
+        assertEquals(expected, dsite.getDepth());
+    }
+}
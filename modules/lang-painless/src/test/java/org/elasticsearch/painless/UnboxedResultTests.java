@@ -0,0 +1,91 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.painless;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Tests that the result of a script is returned without boxing when it is run as a double or a long.
+ */
+public class UnboxedResultTests extends ScriptTestCase {
+
+    private Executable compile(String script) {
+        return (Executable)scriptEngine.compile(script, Collections.emptyMap());
+    }
+
+    private static boolean isUnboxed(Executable executable, String method) throws NoSuchMethodException {
+        return executable.getClass().getMethod(method, Map.class).getDeclaringClass() != Executable.class;
+    }
+
+    public void testNumericResult() throws Exception {
+        Executable executable = compile("int x = 3; return x * 2;");
+        assertTrue(isUnboxed(executable, "executeAsDouble"));
+        assertTrue(isUnboxed(executable, "executeAsLong"));
+        assertEquals(6D, executable.executeAsDouble(Collections.emptyMap()), 0D);
+        assertEquals(6L, executable.executeAsLong(Collections.emptyMap()));
+        assertEquals(6, executable.execute(Collections.emptyMap()));
+    }
+
+    public void testLastStatementResult() throws Exception {
+        Executable executable = compile("long x = 5; x + 1");
+        assertTrue(isUnboxed(executable, "executeAsDouble"));
+        assertTrue(isUnboxed(executable, "executeAsLong"));
+        assertEquals(6D, executable.executeAsDouble(Collections.emptyMap()), 0D);
+        assertEquals(6L, executable.executeAsLong(Collections.emptyMap()));
+    }
+
+    public void testDefResult() throws Exception {
+        Executable executable = compile("return input.x;");
+        assertTrue(isUnboxed(executable, "executeAsDouble"));
+        assertTrue(isUnboxed(executable, "executeAsLong"));
+        assertEquals(4D, executable.executeAsDouble(Collections.singletonMap("x", 4)), 0D);
+        assertEquals(2.5D, executable.executeAsDouble(Collections.singletonMap("x", 2.5)), 0D);
+        // same as Number#longValue
+        assertEquals(2L, executable.executeAsLong(Collections.singletonMap("x", 2.5)));
+    }
+
+    public void testDoubleResultIsNotNarrowedImplicitly() throws Exception {
+        Executable executable = compile("double x = 2.5; return x;");
+        assertTrue(isUnboxed(executable, "executeAsDouble"));
+        assertFalse(isUnboxed(executable, "executeAsLong"));
+        assertEquals(2.5D, executable.executeAsDouble(Collections.emptyMap()), 0D);
+        assertEquals(2L, executable.executeAsLong(Collections.emptyMap()));
+    }
+
+    public void testBoxedFallback() throws Exception {
+        for (String script : new String[] {
+                "Object x = 4; return x;",
+                "return null;",
+                "if (input.x == 1) { return 1; }",
+                "return \"a\";"}) {
+            Executable executable = compile(script);
+            assertFalse(script, isUnboxed(executable, "executeAsDouble"));
+            assertFalse(script, isUnboxed(executable, "executeAsLong"));
+        }
+        assertEquals(4D, compile("Object x = 4; return x;").executeAsDouble(Collections.emptyMap()), 0D);
+    }
+
+    public void testRunAsDouble() {
+        ScriptImpl script = new ScriptImpl(compile("return input.x * 2;"), Collections.singletonMap("x", 3), null);
+        assertEquals(6D, script.runAsDouble(), 0D);
+        assertEquals(6L, script.runAsLong());
+        assertEquals(6, script.run());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.ingest.geoip;
+
+import com.maxmind.geoip2.DatabaseReader;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+
+import java.net.InetAddress;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache of geoip lookup results, shared by all geoip processors on a node. Documents
+ * ingested in bulk tend to carry the same ip addresses over and over again, so remembering the response
+ * for an (ip, database) pair saves walking the database tree and deserializing the response each time.
+ * Lookups for addresses that are not present in the database are cached as well.
+ */
+public final class GeoIpCache {
+
+    public static final Setting<Integer> CACHE_SIZE_SETTING =
+        Setting.intSetting("ingest.geoip.cache_size", 1000, 0, Property.NodeScope);
+
+    private static final Object NOT_FOUND = new Object();
+
+    private final Cache<CacheKey, Object> cache;
+
+    GeoIpCache(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("geoip cache size must be 0 or greater");
+        }
+        this.cache = maxSize == 0 ? null : CacheBuilder.<CacheKey, Object>builder().setMaximumWeight(maxSize).build();
+    }
+
+    /**
+     * Returns the cached response for the given ip address and database, or invokes the given lookup function
+     * and caches its result. The lookup function returns <code>null</code> if the address isn't in the database,
+     * in which case this method returns <code>null</code> too.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T putIfAbsent(InetAddress ip, DatabaseReader databaseReader, Function<InetAddress, T> lookup) {
+        if (cache == null) {
+            return lookup.apply(ip);
+        }
+        Object response;
+        try {
+            response = cache.computeIfAbsent(new CacheKey(ip, databaseReader), key -> {
+                T result = lookup.apply(key.ip);
+                return result == null ? NOT_FOUND : result;
+            });
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+        if (response == null) {
+            // a concurrent load of the same key failed, don't piggy back on its failure
+            return lookup.apply(ip);
+        }
+        return response == NOT_FOUND ? null : (T) response;
+    }
+
+    int count() {
+        return cache == null ? 0 : cache.count();
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of this cache.
+     */
+    Cache.CacheStats getCacheStats() {
+        return cache == null ? new Cache.CacheStats(0, 0, 0) : cache.stats();
+    }
+
+    /**
+     * The key includes the database reader, so the same address can be resolved against several databases
+     * (a city and a country database for example) without the responses clashing.
+     */
+    private static final class CacheKey {
+
+        private final InetAddress ip;
+        private final DatabaseReader databaseReader;
+
+        private CacheKey(InetAddress ip, DatabaseReader databaseReader) {
+            this.ip = ip;
+            this.databaseReader = databaseReader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return ip.equals(other.ip) && databaseReader == other.databaseReader;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ip, System.identityHashCode(databaseReader));
+        }
+    }
+}
@@ -63,13 +63,16 @@ public final class GeoIpProcessor extends AbstractProcessor {
     private final String targetField;
     private final DatabaseReader dbReader;
     private final Set<Field> fields;
+    private final GeoIpCache cache;
 
-    GeoIpProcessor(String tag, String sourceField, DatabaseReader dbReader, String targetField, Set<Field> fields) throws IOException {
+    GeoIpProcessor(String tag, String sourceField, DatabaseReader dbReader, String targetField, Set<Field> fields,
+                   GeoIpCache cache) throws IOException {
         super(tag);
         this.sourceField = sourceField;
         this.targetField = targetField;
         this.dbReader = dbReader;
         this.fields = fields;
+        this.cache = cache;
     }
 
     @Override
@@ -80,18 +83,10 @@ public final class GeoIpProcessor extends AbstractProcessor {
         Map<String, Object> geoData;
         switch (dbReader.getMetadata().getDatabaseType()) {
             case "GeoLite2-City":
-                try {
-                    geoData = retrieveCityGeoData(ipAddress);
-                } catch (AddressNotFoundRuntimeException e) {
-                    geoData = Collections.emptyMap();
-                }
+                geoData = retrieveCityGeoData(ipAddress);
                 break;
             case "GeoLite2-Country":
-                try {
-                    geoData = retrieveCountryGeoData(ipAddress);
-                } catch (AddressNotFoundRuntimeException e) {
-                    geoData = Collections.emptyMap();
-                }
+                geoData = retrieveCountryGeoData(ipAddress);
                 break;
             default:
                 throw new ElasticsearchParseException("Unsupported database type [" + dbReader.getMetadata().getDatabaseType() + "]", new IllegalStateException());
@@ -120,20 +115,29 @@ public final class GeoIpProcessor extends AbstractProcessor {
         return fields;
     }
 
+    GeoIpCache getCache() {
+        return cache;
+    }
+
     private Map<String, Object> retrieveCityGeoData(InetAddress ipAddress) {
         SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(new SpecialPermission());
         }
-        CityResponse response = AccessController.doPrivileged((PrivilegedAction<CityResponse>) () -> {
-            try {
-                return dbReader.city(ipAddress);
-            } catch (AddressNotFoundException e) {
-                throw new AddressNotFoundRuntimeException(e);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        CityResponse response = cache.putIfAbsent(ipAddress, dbReader, ip ->
+            AccessController.doPrivileged((PrivilegedAction<CityResponse>) () -> {
+                try {
+                    return dbReader.city(ip);
+                } catch (AddressNotFoundException e) {
+                    return null;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            })
+        );
+        if (response == null) {
+            return Collections.emptyMap();
+        }
 
         Country country = response.getCountry();
         City city = response.getCity();
@@ -181,15 +185,20 @@ public final class GeoIpProcessor extends AbstractProcessor {
         if (sm != null) {
             sm.checkPermission(new SpecialPermission());
         }
-        CountryResponse response = AccessController.doPrivileged((PrivilegedAction<CountryResponse>) () -> {
-            try {
-                return dbReader.country(ipAddress);
-            } catch (AddressNotFoundException e) {
-                throw new AddressNotFoundRuntimeException(e);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        CountryResponse response = cache.putIfAbsent(ipAddress, dbReader, ip ->
+            AccessController.doPrivileged((PrivilegedAction<CountryResponse>) () -> {
+                try {
+                    return dbReader.country(ip);
+                } catch (AddressNotFoundException e) {
+                    return null;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            })
+        );
+        if (response == null) {
+            return Collections.emptyMap();
+        }
 
         Country country = response.getCountry();
         Continent continent = response.getContinent();
@@ -221,9 +230,11 @@ public final class GeoIpProcessor extends AbstractProcessor {
         );
 
         private final Map<String, DatabaseReader> databaseReaders;
+        private final GeoIpCache cache;
 
-        public Factory(Map<String, DatabaseReader> databaseReaders) {
+        public Factory(Map<String, DatabaseReader> databaseReaders, GeoIpCache cache) {
             this.databaseReaders = databaseReaders;
+            this.cache = cache;
         }
 
         @Override
@@ -251,7 +262,7 @@ public final class GeoIpProcessor extends AbstractProcessor {
             if (databaseReader == null) {
                 throw newConfigurationException(TYPE, processorTag, "database_file", "database file [" + databaseFile + "] doesn't exist");
             }
-            return new GeoIpProcessor(processorTag, ipField, databaseReader, targetField, fields);
+            return new GeoIpProcessor(processorTag, ipField, databaseReader, targetField, fields, cache);
         }
 
         @Override
@@ -260,16 +271,6 @@ public final class GeoIpProcessor extends AbstractProcessor {
         }
     }
 
-    // Geoip2's AddressNotFoundException is checked and due to the fact that we need run their code
-    // inside a PrivilegedAction code block, we are forced to catch any checked exception and rethrow
-    // it with an unchecked exception.
-    private final static class AddressNotFoundRuntimeException extends RuntimeException {
-
-        public AddressNotFoundRuntimeException(Throwable cause) {
-            super(cause);
-        }
-    }
-
     public enum Field {
 
         IP,
@@ -19,16 +19,16 @@
 
 package org.elasticsearch.ingest.geoip;
 
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
+import org.elasticsearch.common.settings.SettingsModule;
 import org.elasticsearch.node.NodeModule;
 import org.elasticsearch.plugins.Plugin;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -47,10 +47,15 @@ public class IngestGeoIpPlugin extends Plugin {
         return "Ingest processor that adds information about the geographical location of ip addresses";
     }
 
+    public void onModule(SettingsModule settingsModule) {
+        settingsModule.registerSetting(GeoIpCache.CACHE_SIZE_SETTING);
+    }
+
     public void onModule(NodeModule nodeModule) throws IOException {
         Path geoIpConfigDirectory = nodeModule.getNode().getEnvironment().configFile().resolve("ingest-geoip");
         Map<String, DatabaseReader> databaseReaders = loadDatabaseReaders(geoIpConfigDirectory);
-        nodeModule.registerProcessor(GeoIpProcessor.TYPE, (templateService, registry) -> new GeoIpProcessor.Factory(databaseReaders));
+        GeoIpCache cache = new GeoIpCache(GeoIpCache.CACHE_SIZE_SETTING.get(nodeModule.getNode().settings()));
+        nodeModule.registerProcessor(GeoIpProcessor.TYPE, (templateService, registry) -> new GeoIpProcessor.Factory(databaseReaders, cache));
     }
 
     public static Map<String, DatabaseReader> loadDatabaseReaders(Path geoIpConfigDirectory) throws IOException {
@@ -66,9 +71,12 @@ public class IngestGeoIpPlugin extends Plugin {
             while (iterator.hasNext()) {
                 Path databasePath = iterator.next();
                 if (Files.isRegularFile(databasePath) && pathMatcher.matches(databasePath)) {
-                    try (InputStream inputStream = Files.newInputStream(databasePath, StandardOpenOption.READ)) {
-                        databaseReaders.put(databasePath.getFileName().toString(), new DatabaseReader.Builder(inputStream).build());
-                    }
+                    // memory map the database instead of copying it onto the heap, the os page cache keeps the
+                    // hot parts of the database resident and it is shared by all readers of the same file
+                    DatabaseReader databaseReader = new DatabaseReader.Builder(databasePath.toFile())
+                        .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                        .build();
+                    databaseReaders.put(databasePath.getFileName().toString(), databaseReader);
                 }
             }
         }
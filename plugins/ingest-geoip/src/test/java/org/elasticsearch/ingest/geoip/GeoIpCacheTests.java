@@ -0,0 +1,105 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.ingest.geoip;
+
+import com.maxmind.geoip2.DatabaseReader;
+import org.elasticsearch.common.network.InetAddresses;
+import org.elasticsearch.test.ESTestCase;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class GeoIpCacheTests extends ESTestCase {
+
+    public void testCachesResponses() throws Exception {
+        GeoIpCache cache = new GeoIpCache(1);
+        DatabaseReader reader = new DatabaseReader.Builder(GeoIpProcessor.class.getResourceAsStream("/GeoLite2-Country.mmdb")).build();
+        InetAddress ip1 = InetAddresses.forString("1.2.3.4");
+        InetAddress ip2 = InetAddresses.forString("5.6.7.8");
+        AtomicInteger lookups = new AtomicInteger();
+        Object response1 = new Object();
+        Object response2 = new Object();
+
+        assertThat(cache.putIfAbsent(ip1, reader, ip -> { lookups.incrementAndGet(); return response1; }), sameInstance(response1));
+        assertThat(cache.putIfAbsent(ip1, reader, ip -> { lookups.incrementAndGet(); return response2; }), sameInstance(response1));
+        assertThat(lookups.get(), equalTo(1));
+
+        // evicts ip1, the cache only holds a single entry
+        assertThat(cache.putIfAbsent(ip2, reader, ip -> { lookups.incrementAndGet(); return response2; }), sameInstance(response2));
+        assertThat(cache.putIfAbsent(ip1, reader, ip -> { lookups.incrementAndGet(); return response2; }), sameInstance(response2));
+        assertThat(lookups.get(), equalTo(3));
+        assertThat(cache.count(), equalTo(1));
+        assertThat(cache.getCacheStats().getHits(), equalTo(1L));
+        assertThat(cache.getCacheStats().getMisses(), equalTo(3L));
+        assertThat(cache.getCacheStats().getEvictions(), equalTo(2L));
+        reader.close();
+    }
+
+    public void testCachesMissingAddresses() throws Exception {
+        GeoIpCache cache = new GeoIpCache(randomIntBetween(1, 100));
+        DatabaseReader reader = new DatabaseReader.Builder(GeoIpProcessor.class.getResourceAsStream("/GeoLite2-Country.mmdb")).build();
+        InetAddress ip = InetAddresses.forString("202.45.11.11");
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.putIfAbsent(ip, reader, address -> { lookups.incrementAndGet(); return null; }), nullValue());
+        }
+        assertThat(lookups.get(), equalTo(1));
+        reader.close();
+    }
+
+    public void testKeyedByDatabase() throws Exception {
+        GeoIpCache cache = new GeoIpCache(randomIntBetween(2, 100));
+        DatabaseReader cityReader = new DatabaseReader.Builder(GeoIpProcessor.class.getResourceAsStream("/GeoLite2-City.mmdb")).build();
+        DatabaseReader countryReader = new DatabaseReader.Builder(GeoIpProcessor.class.getResourceAsStream("/GeoLite2-Country.mmdb")).build();
+        InetAddress ip = InetAddresses.forString("82.170.213.79");
+        Object cityResponse = new Object();
+        Object countryResponse = new Object();
+
+        assertThat(cache.putIfAbsent(ip, cityReader, address -> cityResponse), sameInstance(cityResponse));
+        assertThat(cache.putIfAbsent(ip, countryReader, address -> countryResponse), sameInstance(countryResponse));
+        assertThat(cache.count(), equalTo(2));
+        cityReader.close();
+        countryReader.close();
+    }
+
+    public void testDisabled() throws Exception {
+        GeoIpCache cache = new GeoIpCache(0);
+        InetAddress ip = InetAddresses.forString("1.2.3.4");
+        AtomicInteger lookups = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.putIfAbsent(ip, null, address -> lookups.incrementAndGet());
+        }
+        assertThat(lookups.get(), equalTo(3));
+        assertThat(cache.count(), equalTo(0));
+    }
+
+    public void testLoaderFailuresAreNotCached() throws Exception {
+        GeoIpCache cache = new GeoIpCache(randomIntBetween(1, 100));
+        InetAddress ip = InetAddresses.forString("1.2.3.4");
+        IllegalStateException e = expectThrows(IllegalStateException.class,
+            () -> cache.putIfAbsent(ip, null, address -> { throw new IllegalStateException("boom"); }));
+        assertThat(e.getMessage(), equalTo("boom"));
+        assertThat(cache.putIfAbsent(ip, null, address -> "ok"), equalTo("ok"));
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.cloud.aws;
 
+import org.elasticsearch.cloud.aws.blobstore.S3UploadLimiter;
 import org.elasticsearch.common.inject.AbstractModule;
 
 public class S3Module extends AbstractModule {
@@ -34,5 +35,6 @@ public class S3Module extends AbstractModule {
     @Override
     protected void configure() {
         bind(AwsS3Service.class).to(s3ServiceImpl).asEagerSingleton();
+        bind(S3UploadLimiter.class).asEagerSingleton();
     }
 }
@@ -31,19 +31,30 @@ import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.amazonaws.services.s3.model.UploadPartResult;
 import com.amazonaws.util.Base64;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasablePagedBytesReference;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.lease.Releasables;
 import org.elasticsearch.common.logging.ESLogger;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.BigArrays;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * DefaultS3OutputStream uploads data to the AWS S3 service using 2 modes: single and multi part.
@@ -58,6 +69,10 @@ import java.util.List;
  * Part numbers:                        1 to 10,000 (inclusive)
  * Part size:                           5 MB to 5 GB, last part can be &lt; 5 MB
  * <p>
+ * Parts are uploaded on the given executor while the next part is being buffered. At most max_concurrent_part_uploads
+ * parts of a stream are in flight at the same time, and the {@link S3UploadLimiter} bounds the bytes in flight across the
+ * whole node. Each part is retried on its own.
+ * <p>
  * See http://docs.aws.amazon.com/AmazonS3/latest/dev/qfacts.html
  * See http://docs.aws.amazon.com/AmazonS3/latest/dev/uploadobjusingmpu.html
  */
@@ -72,31 +87,53 @@ public class DefaultS3OutputStream extends S3OutputStream {
     private int multipartChunks;
     private List<PartETag> multiparts;
 
-    public DefaultS3OutputStream(S3BlobStore blobStore, String bucketName, String blobName, int bufferSizeInBytes, int numberOfRetries, boolean serverSideEncryption) {
-        super(blobStore, bucketName, blobName, bufferSizeInBytes, numberOfRetries, serverSideEncryption);
+    private final Executor executor;
+    private final int maxConcurrentPartUploads;
+    private final S3UploadLimiter uploadLimiter;
+    /**
+     * Parts that have been handed to the executor but whose result hasn't been collected yet, in part number order
+     */
+    private final Deque<Future<PartETag>> inFlightParts = new ArrayDeque<>();
+
+    public DefaultS3OutputStream(S3BlobStore blobStore, String bucketName, String blobName, int bufferSizeInBytes, int numberOfRetries,
+                                 boolean serverSideEncryption, BigArrays bigArrays, Executor executor, int maxConcurrentPartUploads,
+                                 S3UploadLimiter uploadLimiter) {
+        super(blobStore, bucketName, blobName, bufferSizeInBytes, numberOfRetries, serverSideEncryption, bigArrays);
+        if (maxConcurrentPartUploads < 1) {
+            throw new IllegalArgumentException("max concurrent part uploads must be at least 1");
+        }
+        this.executor = executor;
+        this.maxConcurrentPartUploads = maxConcurrentPartUploads;
+        this.uploadLimiter = uploadLimiter;
     }
 
     @Override
-    public void flush(byte[] bytes, int off, int len, boolean closing) throws IOException {
-        if (len > MULTIPART_MAX_SIZE.getBytes()) {
+    public void flush(ReleasablePagedBytesReference bytes, boolean closing) throws IOException {
+        if (bytes.length() > MULTIPART_MAX_SIZE.getBytes()) {
+            Releasables.close(bytes);
             throw new IOException("Unable to upload files larger than " + MULTIPART_MAX_SIZE + " to Amazon S3");
         }
 
         if (!closing) {
-            if (len < getBufferSize()) {
-                upload(bytes, off, len);
+            if (bytes.length() < getBufferSize()) {
+                upload(bytes);
             } else {
                 if (getFlushCount() == 0) {
-                    initializeMultipart();
+                    try {
+                        initializeMultipart();
+                    } catch (AmazonClientException e) {
+                        Releasables.close(bytes);
+                        throw e;
+                    }
                 }
-                uploadMultipart(bytes, off, len, false);
+                uploadMultipart(bytes, false);
             }
         } else {
             if (multipartId != null) {
-                uploadMultipart(bytes, off, len, true);
+                uploadMultipart(bytes, true);
                 completeMultipart();
             } else {
-                upload(bytes, off, len);
+                upload(bytes);
             }
         }
     }
@@ -104,25 +141,30 @@ public class DefaultS3OutputStream extends S3OutputStream {
     /**
      * Upload data using a single request.
      */
-    private void upload(byte[] bytes, int off, int len) throws IOException {
-        try (ByteArrayInputStream is = new ByteArrayInputStream(bytes, off, len)) {
+    private void upload(ReleasablePagedBytesReference bytes) throws IOException {
+        try {
             int retry = 0;
             while (retry <= getNumberOfRetries()) {
-                try {
-                    doUpload(getBlobStore(), getBucketName(), getBlobName(), is, len, isServerSideEncryption());
+                try (StreamInput is = bytes.streamInput()) {
+                    doUpload(getBlobStore(), getBucketName(), getBlobName(), is, bytes.length(), isServerSideEncryption());
                     break;
                 } catch (AmazonClientException e) {
-                    if (getBlobStore().shouldRetry(e) && retry < getNumberOfRetries()) {
-                        is.reset();
+                    if (shouldRetry(e) && retry < getNumberOfRetries()) {
                         retry++;
                     } else {
                         throw new IOException("Unable to upload object " + getBlobName(), e);
                     }
                 }
             }
+        } finally {
+            Releasables.close(bytes);
         }
     }
 
+    protected boolean shouldRetry(AmazonClientException e) {
+        return getBlobStore().shouldRetry(e);
+    }
+
     protected void doUpload(S3BlobStore blobStore, String bucketName, String blobName, InputStream is, int length,
             boolean serverSideEncryption) throws AmazonS3Exception {
         ObjectMetadata md = new ObjectMetadata();
@@ -168,7 +210,7 @@ public class DefaultS3OutputStream extends S3OutputStream {
                     multiparts = new ArrayList<>();
                 }
             } catch (AmazonClientException e) {
-                if (getBlobStore().shouldRetry(e) && retry < getNumberOfRetries()) {
+                if (shouldRetry(e) && retry < getNumberOfRetries()) {
                     retry++;
                 } else {
                     throw e;
@@ -191,35 +233,98 @@ public class DefaultS3OutputStream extends S3OutputStream {
         return blobStore.client().initiateMultipartUpload(request).getUploadId();
     }
 
-    private void uploadMultipart(byte[] bytes, int off, int len, boolean lastPart) throws IOException {
-        try (ByteArrayInputStream is = new ByteArrayInputStream(bytes, off, len)) {
-            int retry = 0;
-            while (retry <= getNumberOfRetries()) {
+    /**
+     * Hands the part over to the executor, once fewer than max_concurrent_part_uploads parts of this stream and few enough
+     * bytes across the node are in flight. The part's bytes are released once it has been uploaded.
+     */
+    private void uploadMultipart(ReleasablePagedBytesReference bytes, boolean lastPart) throws IOException {
+        final String uploadId = multipartId;
+        final int partNumber = multipartChunks++;
+        int permits = 0;
+        boolean submitted = false;
+        try {
+            while (inFlightParts.size() >= maxConcurrentPartUploads) {
+                collectOldestPart();
+            }
+            try {
+                permits = uploadLimiter.acquire(bytes.length());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abortMultipart();
+                throw new InterruptedIOException("interrupted while waiting to upload part [" + partNumber + "] of " + getBlobName());
+            }
+            final int acquiredPermits = permits;
+            FutureTask<PartETag> part = new FutureTask<>(() -> {
                 try {
-                    PartETag partETag = doUploadMultipart(getBlobStore(), getBucketName(), getBlobName(), multipartId, is, len, lastPart);
-                    multiparts.add(partETag);
-                    multipartChunks++;
-                    return;
-                } catch (AmazonClientException e) {
-                    if (getBlobStore().shouldRetry(e) && retry < getNumberOfRetries()) {
-                        is.reset();
-                        retry++;
-                    } else {
-                        abortMultipart();
-                        throw e;
-                    }
+                    return uploadPart(uploadId, partNumber, bytes, lastPart);
+                } finally {
+                    Releasables.close(bytes);
+                    uploadLimiter.release(acquiredPermits);
+                }
+            });
+            try {
+                executor.execute(part);
+            } catch (RuntimeException e) {
+                abortMultipart();
+                throw e;
+            }
+            inFlightParts.add(part);
+            submitted = true;
+        } finally {
+            if (submitted == false) {
+                Releasables.close(bytes);
+                uploadLimiter.release(permits);
+            }
+        }
+    }
+
+    private PartETag uploadPart(String uploadId, int partNumber, BytesReference bytes, boolean lastPart) throws IOException {
+        int retry = 0;
+        while (true) {
+            try (StreamInput is = bytes.streamInput()) {
+                return doUploadMultipart(getBlobStore(), getBucketName(), getBlobName(), uploadId, is, bytes.length(), partNumber, lastPart);
+            } catch (AmazonClientException e) {
+                if (shouldRetry(e) && retry < getNumberOfRetries()) {
+                    retry++;
+                } else {
+                    throw e;
                 }
             }
         }
     }
 
+    /**
+     * Waits for the oldest part in flight to be uploaded. If it failed the multipart upload is aborted.
+     */
+    private void collectOldestPart() throws IOException {
+        Future<PartETag> part = inFlightParts.poll();
+        try {
+            multiparts.add(part.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipart();
+            throw new InterruptedIOException("interrupted while uploading " + getBlobName());
+        } catch (ExecutionException e) {
+            abortMultipart();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Unable to upload object " + getBlobName(), cause);
+        }
+    }
+
     protected PartETag doUploadMultipart(S3BlobStore blobStore, String bucketName, String blobName, String uploadId, InputStream is,
-            int length, boolean lastPart) throws AmazonS3Exception {
+            int length, int partNumber, boolean lastPart) throws AmazonS3Exception {
         UploadPartRequest request = new UploadPartRequest()
         .withBucketName(bucketName)
         .withKey(blobName)
         .withUploadId(uploadId)
-        .withPartNumber(multipartChunks)
+        .withPartNumber(partNumber)
         .withInputStream(is)
         .withPartSize(length)
         .withLastPart(lastPart);
@@ -229,7 +334,10 @@ public class DefaultS3OutputStream extends S3OutputStream {
 
     }
 
-    private void completeMultipart() {
+    private void completeMultipart() throws IOException {
+        while (inFlightParts.isEmpty() == false) {
+            collectOldestPart();
+        }
         int retry = 0;
         while (retry <= getNumberOfRetries()) {
             try {
@@ -237,7 +345,7 @@ public class DefaultS3OutputStream extends S3OutputStream {
                 multipartId = null;
                 return;
             } catch (AmazonClientException e) {
-                if (getBlobStore().shouldRetry(e) && retry < getNumberOfRetries()) {
+                if (shouldRetry(e) && retry < getNumberOfRetries()) {
                     retry++;
                 } else {
                     abortMultipart();
@@ -254,6 +362,23 @@ public class DefaultS3OutputStream extends S3OutputStream {
     }
 
     private void abortMultipart() {
+        // wait for the parts in flight so that none of them gets uploaded after the upload was aborted, their
+        // failures don't matter anymore
+        boolean interrupted = false;
+        for (Future<PartETag> part : inFlightParts) {
+            try {
+                part.get();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                break;
+            } catch (ExecutionException e) {
+                // ignore, the upload is aborted anyway
+            }
+        }
+        inFlightParts.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
         if (multipartId != null) {
             try {
                 doAbortMultipart(getBlobStore(), getBucketName(), getBlobName(), multipartId);
@@ -122,7 +122,8 @@ public class S3BlobContainer extends AbstractBlobContainer {
     private OutputStream createOutput(final String blobName) throws IOException {
         // UploadS3OutputStream does buffering & retry logic internally
         return new DefaultS3OutputStream(blobStore, blobStore.bucket(), buildKey(blobName),
-                blobStore.bufferSizeInBytes(), blobStore.numberOfRetries(), blobStore.serverSideEncryption());
+                blobStore.bufferSizeInBytes(), blobStore.numberOfRetries(), blobStore.serverSideEncryption(), blobStore.bigArrays(),
+                blobStore.uploadExecutor(), blobStore.maxConcurrentPartUploads(), blobStore.uploadLimiter());
     }
 
     @Override
@@ -37,9 +37,11 @@ import org.elasticsearch.common.blobstore.BlobStoreException;
 import org.elasticsearch.common.component.AbstractComponent;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.BigArrays;
 
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -62,9 +64,22 @@ public class S3BlobStore extends AbstractComponent implements BlobStore {
 
     private final StorageClass storageClass;
 
+    private final BigArrays bigArrays;
+
+    private final Executor uploadExecutor;
+
+    private final int maxConcurrentPartUploads;
+
+    private final S3UploadLimiter uploadLimiter;
+
     public S3BlobStore(Settings settings, AmazonS3 client, String bucket, @Nullable String region, boolean serverSideEncryption,
-                       ByteSizeValue bufferSize, int maxRetries, String cannedACL, String storageClass) {
+                       ByteSizeValue bufferSize, int maxRetries, String cannedACL, String storageClass, BigArrays bigArrays,
+                       Executor uploadExecutor, int maxConcurrentPartUploads, S3UploadLimiter uploadLimiter) {
         super(settings);
+        this.bigArrays = bigArrays;
+        this.uploadExecutor = uploadExecutor;
+        this.maxConcurrentPartUploads = maxConcurrentPartUploads;
+        this.uploadLimiter = uploadLimiter;
         this.client = client;
         this.bucket = bucket;
         this.region = region;
@@ -127,6 +142,25 @@ public class S3BlobStore extends AbstractComponent implements BlobStore {
         return numberOfRetries;
     }
 
+    public BigArrays bigArrays() {
+        return bigArrays;
+    }
+
+    /**
+     * The executor that the parts of multipart uploads are uploaded on.
+     */
+    public Executor uploadExecutor() {
+        return uploadExecutor;
+    }
+
+    public int maxConcurrentPartUploads() {
+        return maxConcurrentPartUploads;
+    }
+
+    public S3UploadLimiter uploadLimiter() {
+        return uploadLimiter;
+    }
+
     @Override
     public BlobContainer blobContainer(BlobPath path) {
         return new S3BlobContainer(path, this);
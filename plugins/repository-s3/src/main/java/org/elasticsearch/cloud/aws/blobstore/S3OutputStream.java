@@ -19,14 +19,22 @@
 
 package org.elasticsearch.cloud.aws.blobstore;
 
+import org.elasticsearch.common.bytes.ReleasablePagedBytesReference;
+import org.elasticsearch.common.io.stream.ReleasableBytesStreamOutput;
+import org.elasticsearch.common.lease.Releasables;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.BigArrays;
 
 import java.io.IOException;
 import java.io.OutputStream;
 
 /**
  * S3OutputStream buffers data before flushing it to an underlying S3OutputStream.
+ * <p>
+ * Buffers are backed by {@link BigArrays} pages, so that they are recycled rather than allocated for each stream. Each
+ * buffer is handed over to {@link #flush(ReleasablePagedBytesReference, boolean)} once it is full, which allows the
+ * upload of a buffer to happen while the next one is being filled.
  */
 public abstract class S3OutputStream extends OutputStream {
 
@@ -42,18 +50,22 @@ public abstract class S3OutputStream extends OutputStream {
     private int numberOfRetries;
     private boolean serverSideEncryption;
 
-    private byte[] buffer;
-    private int count;
+    private final BigArrays bigArrays;
+    private final int bufferSize;
+    private ReleasableBytesStreamOutput buffer;
     private long length;
+    private boolean failed = false;
 
     private int flushCount = 0;
 
-    public S3OutputStream(S3BlobStore blobStore, String bucketName, String blobName, int bufferSizeInBytes, int numberOfRetries, boolean serverSideEncryption) {
+    public S3OutputStream(S3BlobStore blobStore, String bucketName, String blobName, int bufferSizeInBytes, int numberOfRetries,
+                          boolean serverSideEncryption, BigArrays bigArrays) {
         this.blobStore = blobStore;
         this.bucketName = bucketName;
         this.blobName = blobName;
         this.numberOfRetries = numberOfRetries;
         this.serverSideEncryption = serverSideEncryption;
+        this.bigArrays = bigArrays;
 
         if (bufferSizeInBytes < MULTIPART_MIN_SIZE.getBytes()) {
             throw new IllegalArgumentException("Buffer size can't be smaller than " + MULTIPART_MIN_SIZE);
@@ -62,32 +74,74 @@ public abstract class S3OutputStream extends OutputStream {
             throw new IllegalArgumentException("Buffer size can't be larger than " + MULTIPART_MAX_SIZE);
         }
 
-        this.buffer = new byte[bufferSizeInBytes];
+        this.bufferSize = bufferSizeInBytes;
     }
 
-    public abstract void flush(byte[] bytes, int off, int len, boolean closing) throws IOException;
+    /**
+     * Uploads the given bytes. Implementations take ownership of the bytes and must release them once they are done with
+     * them, whether the upload succeeded or not.
+     */
+    public abstract void flush(ReleasablePagedBytesReference bytes, boolean closing) throws IOException;
 
     private void flushBuffer(boolean closing) throws IOException {
-        flush(buffer, 0, count, closing);
+        ReleasableBytesStreamOutput toFlush = buffer;
+        buffer = null;
+        try {
+            flush(toFlush.bytes(), closing);
+        } catch (IOException | RuntimeException e) {
+            // don't try to upload whatever is left once the stream gets closed
+            failed = true;
+            throw e;
+        }
         flushCount++;
-        count = 0;
+    }
+
+    private ReleasableBytesStreamOutput buffer() {
+        if (buffer == null) {
+            // the buffer grows page by page, small blobs don't take up a whole buffer_size
+            buffer = new ReleasableBytesStreamOutput(bigArrays);
+        }
+        return buffer;
+    }
+
+    private boolean isBufferFull() {
+        return buffer != null && buffer.size() >= bufferSize;
     }
 
     @Override
     public void write(int b) throws IOException {
-        if (count >= buffer.length) {
+        if (isBufferFull()) {
             flushBuffer(false);
         }
 
-        buffer[count++] = (byte) b;
+        buffer().writeByte((byte) b);
         length++;
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (isBufferFull()) {
+                flushBuffer(false);
+            }
+            ReleasableBytesStreamOutput buffer = buffer();
+            int toWrite = Math.min(len, bufferSize - buffer.size());
+            buffer.writeBytes(b, off, toWrite);
+            off += toWrite;
+            len -= toWrite;
+            length += toWrite;
+        }
+    }
+
     @Override
     public void close() throws IOException {
-        if (count > 0) {
-            flushBuffer(true);
-            count = 0;
+        if (buffer != null) {
+            if (buffer.size() > 0 && failed == false) {
+                flushBuffer(true);
+            } else {
+                Releasables.close(buffer.bytes());
+                buffer = null;
+            }
         }
     }
 
@@ -104,7 +158,7 @@ public abstract class S3OutputStream extends OutputStream {
     }
 
     public int getBufferSize() {
-        return buffer.length;
+        return bufferSize;
     }
 
     public int getNumberOfRetries() {
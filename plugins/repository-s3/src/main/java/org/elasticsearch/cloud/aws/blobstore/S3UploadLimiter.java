@@ -0,0 +1,71 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.cloud.aws.blobstore;
+
+import org.elasticsearch.common.component.AbstractComponent;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.repositories.s3.S3Repository;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of bytes of multipart upload parts that are being uploaded at the same time by all S3 repositories
+ * of a node, so that concurrent part uploads can't exhaust the heap.
+ */
+public class S3UploadLimiter extends AbstractComponent {
+
+    private final int maxInFlightBytes;
+    private final Semaphore inFlightBytes;
+
+    @Inject
+    public S3UploadLimiter(Settings settings) {
+        this(settings, S3Repository.Repositories.MAX_IN_FLIGHT_UPLOAD_BYTES_SETTING.get(settings));
+    }
+
+    public S3UploadLimiter(Settings settings, ByteSizeValue maxInFlightBytes) {
+        super(settings);
+        // a part is never larger than 5gb, but the semaphore only supports int permits
+        this.maxInFlightBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxInFlightBytes.getBytes()));
+        this.inFlightBytes = new Semaphore(this.maxInFlightBytes, true);
+    }
+
+    /**
+     * Blocks until a part of the given length may be uploaded. Parts larger than the limit are admitted once nothing else is
+     * in flight. Returns the number of permits that were acquired, which have to be given back with {@link #release(int)}
+     * once the part has been uploaded.
+     */
+    public int acquire(int length) throws InterruptedException {
+        int permits = Math.min(length, maxInFlightBytes);
+        inFlightBytes.acquire(permits);
+        return permits;
+    }
+
+    public void release(int permits) {
+        inFlightBytes.release(permits);
+    }
+
+    /**
+     * Returns the number of bytes that are currently in flight.
+     */
+    public long getInFlightBytes() {
+        return maxInFlightBytes - inFlightBytes.availablePermits();
+    }
+}
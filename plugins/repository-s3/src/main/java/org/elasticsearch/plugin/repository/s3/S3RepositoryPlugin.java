@@ -123,6 +123,8 @@ public class S3RepositoryPlugin extends Plugin {
         settingsModule.registerSetting(S3Repository.Repositories.SERVER_SIDE_ENCRYPTION_SETTING);
         settingsModule.registerSetting(S3Repository.Repositories.BUFFER_SIZE_SETTING);
         settingsModule.registerSetting(S3Repository.Repositories.MAX_RETRIES_SETTING);
+        settingsModule.registerSetting(S3Repository.Repositories.MAX_CONCURRENT_PART_UPLOADS_SETTING);
+        settingsModule.registerSetting(S3Repository.Repositories.MAX_IN_FLIGHT_UPLOAD_BYTES_SETTING);
         settingsModule.registerSetting(S3Repository.Repositories.CHUNK_SIZE_SETTING);
         settingsModule.registerSetting(S3Repository.Repositories.COMPRESS_SETTING);
         settingsModule.registerSetting(S3Repository.Repositories.STORAGE_CLASS_SETTING);
@@ -139,6 +141,7 @@ public class S3RepositoryPlugin extends Plugin {
         settingsModule.registerSetting(S3Repository.Repository.SERVER_SIDE_ENCRYPTION_SETTING);
         settingsModule.registerSetting(S3Repository.Repository.BUFFER_SIZE_SETTING);
         settingsModule.registerSetting(S3Repository.Repository.MAX_RETRIES_SETTING);
+        settingsModule.registerSetting(S3Repository.Repository.MAX_CONCURRENT_PART_UPLOADS_SETTING);
         settingsModule.registerSetting(S3Repository.Repository.CHUNK_SIZE_SETTING);
         settingsModule.registerSetting(S3Repository.Repository.COMPRESS_SETTING);
         settingsModule.registerSetting(S3Repository.Repository.STORAGE_CLASS_SETTING);
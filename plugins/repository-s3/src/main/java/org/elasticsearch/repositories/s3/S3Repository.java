@@ -23,6 +23,7 @@ import com.amazonaws.Protocol;
 import org.elasticsearch.cloud.aws.AwsS3Service;
 import org.elasticsearch.cloud.aws.AwsS3Service.CLOUD_S3;
 import org.elasticsearch.cloud.aws.blobstore.S3BlobStore;
+import org.elasticsearch.cloud.aws.blobstore.S3UploadLimiter;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStore;
@@ -31,11 +32,13 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.index.snapshots.IndexShardRepository;
 import org.elasticsearch.repositories.RepositoryException;
 import org.elasticsearch.repositories.RepositoryName;
 import org.elasticsearch.repositories.RepositorySettings;
 import org.elasticsearch.repositories.blobstore.BlobStoreRepository;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.Locale;
@@ -115,6 +118,18 @@ public class S3Repository extends BlobStoreRepository {
          * repositories.s3.max_retries: Number of retries in case of S3 errors. Defaults to 3.
          */
         Setting<Integer> MAX_RETRIES_SETTING = Setting.intSetting("repositories.s3.max_retries", 3, Property.NodeScope);
+        /**
+         * repositories.s3.max_concurrent_part_uploads: Number of parts of a multipart upload that may be uploaded concurrently.
+         * Each of these parts is buffered in memory until it has been uploaded. Defaults to 4.
+         */
+        Setting<Integer> MAX_CONCURRENT_PART_UPLOADS_SETTING =
+            Setting.intSetting("repositories.s3.max_concurrent_part_uploads", 4, 1, Property.NodeScope);
+        /**
+         * repositories.s3.max_in_flight_upload_bytes: Maximum number of bytes of multipart upload parts that are being uploaded at
+         * the same time by all S3 repositories of a node. Defaults to 10% of the heap.
+         */
+        Setting<ByteSizeValue> MAX_IN_FLIGHT_UPLOAD_BYTES_SETTING =
+            Setting.byteSizeSetting("repositories.s3.max_in_flight_upload_bytes", "10%", Property.NodeScope);
         /**
          * repositories.s3.chunk_size: Big files can be broken down into chunks during snapshotting if needed. Defaults to 1g.
          */
@@ -196,6 +211,11 @@ public class S3Repository extends BlobStoreRepository {
          * @see  Repositories#MAX_RETRIES_SETTING
          */
         Setting<Integer> MAX_RETRIES_SETTING = Setting.intSetting("max_retries", 3, Property.NodeScope);
+        /**
+         * max_concurrent_part_uploads
+         * @see  Repositories#MAX_CONCURRENT_PART_UPLOADS_SETTING
+         */
+        Setting<Integer> MAX_CONCURRENT_PART_UPLOADS_SETTING = Setting.intSetting("max_concurrent_part_uploads", 4, 1, Property.NodeScope);
         /**
          * chunk_size
          * @see  Repositories#CHUNK_SIZE_SETTING
@@ -242,7 +262,8 @@ public class S3Repository extends BlobStoreRepository {
      * @param s3Service            S3 service
      */
     @Inject
-    public S3Repository(RepositoryName name, RepositorySettings repositorySettings, IndexShardRepository indexShardRepository, AwsS3Service s3Service) throws IOException {
+    public S3Repository(RepositoryName name, RepositorySettings repositorySettings, IndexShardRepository indexShardRepository,
+                        AwsS3Service s3Service, S3UploadLimiter uploadLimiter, BigArrays bigArrays, ThreadPool threadPool) throws IOException {
         super(name.getName(), repositorySettings, indexShardRepository);
 
         String bucket = getValue(repositorySettings, Repository.BUCKET_SETTING, Repositories.BUCKET_SETTING);
@@ -262,6 +283,8 @@ public class S3Repository extends BlobStoreRepository {
         boolean serverSideEncryption = getValue(repositorySettings, Repository.SERVER_SIDE_ENCRYPTION_SETTING, Repositories.SERVER_SIDE_ENCRYPTION_SETTING);
         ByteSizeValue bufferSize = getValue(repositorySettings, Repository.BUFFER_SIZE_SETTING, Repositories.BUFFER_SIZE_SETTING);
         Integer maxRetries = getValue(repositorySettings, Repository.MAX_RETRIES_SETTING, Repositories.MAX_RETRIES_SETTING);
+        Integer maxConcurrentPartUploads = getValue(repositorySettings, Repository.MAX_CONCURRENT_PART_UPLOADS_SETTING,
+            Repositories.MAX_CONCURRENT_PART_UPLOADS_SETTING);
         this.chunkSize = getValue(repositorySettings, Repository.CHUNK_SIZE_SETTING, Repositories.CHUNK_SIZE_SETTING);
         this.compress = getValue(repositorySettings, Repository.COMPRESS_SETTING, Repositories.COMPRESS_SETTING);
 
@@ -275,14 +298,15 @@ public class S3Repository extends BlobStoreRepository {
         String storageClass = getValue(repositorySettings, Repository.STORAGE_CLASS_SETTING, Repositories.STORAGE_CLASS_SETTING);
         String cannedACL = getValue(repositorySettings, Repository.CANNED_ACL_SETTING, Repositories.CANNED_ACL_SETTING);
 
-        logger.debug("using bucket [{}], region [{}], endpoint [{}], protocol [{}], chunk_size [{}], server_side_encryption [{}], buffer_size [{}], max_retries [{}], cannedACL [{}], storageClass [{}]",
-                bucket, region, endpoint, protocol, chunkSize, serverSideEncryption, bufferSize, maxRetries, cannedACL, storageClass);
+        logger.debug("using bucket [{}], region [{}], endpoint [{}], protocol [{}], chunk_size [{}], server_side_encryption [{}], buffer_size [{}], max_retries [{}], max_concurrent_part_uploads [{}], cannedACL [{}], storageClass [{}]",
+                bucket, region, endpoint, protocol, chunkSize, serverSideEncryption, bufferSize, maxRetries, maxConcurrentPartUploads, cannedACL, storageClass);
 
         String key = getValue(repositorySettings, Repository.KEY_SETTING, Repositories.KEY_SETTING);
         String secret = getValue(repositorySettings, Repository.SECRET_SETTING, Repositories.SECRET_SETTING);
 
         blobStore = new S3BlobStore(settings, s3Service.client(endpoint, protocol, region, key, secret, maxRetries),
-                bucket, region, serverSideEncryption, bufferSize, maxRetries, cannedACL, storageClass);
+                bucket, region, serverSideEncryption, bufferSize, maxRetries, cannedACL, storageClass,
+                bigArrays, threadPool.executor(ThreadPool.Names.GENERIC), maxConcurrentPartUploads, uploadLimiter);
 
         String basePath = getValue(repositorySettings, Repository.BASE_PATH_SETTING, Repositories.BASE_PATH_SETTING);
         if (Strings.hasLength(basePath)) {
@@ -19,28 +19,52 @@
 
 package org.elasticsearch.cloud.aws.blobstore;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.PartETag;
 import com.carrotsearch.randomizedtesting.RandomizedTest;
 import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MockDefaultS3OutputStream extends DefaultS3OutputStream {
 
-    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Map<Integer, byte[]> parts = ConcurrentCollections.newConcurrentMap();
 
-    private boolean initialized = false;
-    private boolean completed = false;
-    private boolean aborted = false;
+    private volatile boolean initialized = false;
+    private volatile boolean completed = false;
+    private volatile boolean aborted = false;
+    private volatile List<PartETag> completedParts;
 
-    private int numberOfUploadRequests = 0;
+    private final AtomicInteger numberOfUploadRequests = new AtomicInteger();
+    private final AtomicInteger inFlightPartUploads = new AtomicInteger();
+    private final AtomicInteger maxInFlightPartUploads = new AtomicInteger();
 
-    public MockDefaultS3OutputStream(int bufferSizeInBytes) {
-        super(null, "test-bucket", "test-blobname", bufferSizeInBytes, 3, false);
+    /**
+     * Part number to the number of times the upload of that part fails with a retryable exception
+     */
+    private final Map<Integer, AtomicInteger> partFailures = ConcurrentCollections.newConcurrentMap();
+
+    public MockDefaultS3OutputStream(int bufferSizeInBytes, BigArrays bigArrays, Executor executor, int maxConcurrentPartUploads,
+                                     S3UploadLimiter uploadLimiter) {
+        super(null, "test-bucket", "test-blobname", bufferSizeInBytes, 3, false, bigArrays, executor, maxConcurrentPartUploads,
+            uploadLimiter);
+    }
+
+    @Override
+    protected boolean shouldRetry(AmazonClientException e) {
+        return e.isRetryable();
     }
 
     @Override
@@ -50,7 +74,7 @@ public class MockDefaultS3OutputStream extends DefaultS3OutputStream {
             if (copied != length) {
                 throw new AmazonS3Exception("Not all the bytes were copied");
             }
-            numberOfUploadRequests++;
+            numberOfUploadRequests.incrementAndGet();
         } catch (IOException e) {
             throw new AmazonS3Exception(e.getMessage());
         }
@@ -63,20 +87,36 @@ public class MockDefaultS3OutputStream extends DefaultS3OutputStream {
     }
 
     @Override
-    protected PartETag doUploadMultipart(S3BlobStore blobStore, String bucketName, String blobName, String uploadId, InputStream is, int length, boolean lastPart) throws AmazonS3Exception {
+    protected PartETag doUploadMultipart(S3BlobStore blobStore, String bucketName, String blobName, String uploadId, InputStream is, int length, int partNumber, boolean lastPart) throws AmazonS3Exception {
+        int inFlight = inFlightPartUploads.incrementAndGet();
         try {
-            long copied = Streams.copy(is, out);
+            maxInFlightPartUploads.accumulateAndGet(inFlight, Math::max);
+            AtomicInteger failures = partFailures.get(partNumber);
+            if (failures != null && failures.getAndDecrement() > 0) {
+                // consume part of the stream to make sure that retries start from the beginning of the part again
+                is.read(new byte[RandomizedTest.randomIntBetween(0, length)]);
+                throw new AmazonClientException("simulated failure of part [" + partNumber + "]");
+            }
+            ByteArrayOutputStream part = new ByteArrayOutputStream(length);
+            long copied = Streams.copy(is, part);
             if (copied != length) {
                 throw new AmazonS3Exception("Not all the bytes were copied");
             }
-            return new PartETag(numberOfUploadRequests++, RandomizedTest.randomAsciiOfLength(50));
+            if (parts.put(partNumber, part.toByteArray()) != null) {
+                throw new AmazonS3Exception("Part [" + partNumber + "] was uploaded twice");
+            }
+            numberOfUploadRequests.incrementAndGet();
+            return new PartETag(partNumber, RandomizedTest.randomAsciiOfLength(50));
         } catch (IOException e) {
             throw new AmazonS3Exception(e.getMessage());
+        } finally {
+            inFlightPartUploads.decrementAndGet();
         }
     }
 
     @Override
     protected void doCompleteMultipart(S3BlobStore blobStore, String bucketName, String blobName, String uploadId, List<PartETag> parts) throws AmazonS3Exception {
+        completedParts = new ArrayList<>(parts);
         completed = true;
     }
 
@@ -85,15 +125,40 @@ public class MockDefaultS3OutputStream extends DefaultS3OutputStream {
         aborted = true;
     }
 
+    /**
+     * Makes the upload of the given part fail the given number of times with a retryable exception.
+     */
+    public void failPartUpload(int partNumber, int times) {
+        partFailures.put(partNumber, new AtomicInteger(times));
+    }
+
     public int getNumberOfUploadRequests() {
-        return numberOfUploadRequests;
+        return numberOfUploadRequests.get();
+    }
+
+    public int getMaxInFlightPartUploads() {
+        return maxInFlightPartUploads.get();
+    }
+
+    public List<PartETag> getCompletedParts() {
+        return completedParts;
     }
 
     public boolean isMultipart() {
-        return (numberOfUploadRequests > 1) && initialized && completed && !aborted;
+        return (numberOfUploadRequests.get() > 1) && initialized && completed && !aborted;
+    }
+
+    public boolean isAborted() {
+        return aborted;
     }
 
     public byte[] toByteArray() {
-        return out.toByteArray();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] singleUpload = out.toByteArray();
+        content.write(singleUpload, 0, singleUpload.length);
+        for (byte[] part : new TreeMap<>(parts).values()) {
+            content.write(part, 0, part.length);
+        }
+        return content.toByteArray();
     }
 }
@@ -19,17 +19,26 @@
 
 package org.elasticsearch.cloud.aws.blobstore;
 
+import com.amazonaws.AmazonClientException;
+import org.elasticsearch.cache.recycler.MockPageCacheRecycler;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import static org.elasticsearch.common.io.Streams.copy;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 /**
  * Unit test for {@link S3OutputStream}.
@@ -37,6 +46,24 @@ import static org.hamcrest.Matchers.is;
 public class S3OutputStreamTests extends ESTestCase {
     private static final int BUFFER_SIZE = new ByteSizeValue(5, ByteSizeUnit.MB).bytesAsInt();
 
+    private ThreadPool threadPool;
+    private MockBigArrays bigArrays;
+    private S3UploadLimiter uploadLimiter;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new ThreadPool("test");
+        bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY, threadPool), new NoneCircuitBreakerService());
+        uploadLimiter = new S3UploadLimiter(Settings.EMPTY, new ByteSizeValue(randomIntBetween(1, 4) * BUFFER_SIZE));
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
     public void testWriteLessDataThanBufferSize() throws IOException {
         MockDefaultS3OutputStream out = newS3OutputStream(BUFFER_SIZE);
         byte[] content = randomUnicodeOfLengthBetween(1, 512).getBytes("UTF-8");
@@ -126,6 +153,87 @@ public class S3OutputStreamTests extends ESTestCase {
         }
     }
 
+    public void testConcurrentPartUploads() throws IOException {
+        int maxConcurrentPartUploads = randomIntBetween(1, 4);
+        MockDefaultS3OutputStream out = newS3OutputStream(BUFFER_SIZE, maxConcurrentPartUploads);
+
+        int length = randomIntBetween(4 * BUFFER_SIZE, 8 * BUFFER_SIZE);
+        byte[] content = randomBytes(length);
+        // write in chunks of random sizes, some of them crossing buffer boundaries
+        int offset = 0;
+        while (offset < length) {
+            int chunk = Math.min(length - offset, randomIntBetween(1, BUFFER_SIZE * 2));
+            out.write(content, offset, chunk);
+            offset += chunk;
+        }
+        out.close();
+
+        assertThat(out.getLength(), equalTo((long) length));
+        assertThat(Arrays.equals(content, out.toByteArray()), equalTo(true));
+        assertTrue(out.isMultipart());
+        int parts = (int) Math.ceil((double) length / BUFFER_SIZE);
+        assertThat(out.getNumberOfUploadRequests(), equalTo(parts));
+        assertThat(out.getMaxInFlightPartUploads(), lessThanOrEqualTo(maxConcurrentPartUploads));
+        // parts must be completed in ascending order of their part numbers
+        for (int i = 0; i < parts; i++) {
+            assertThat(out.getCompletedParts().get(i).getPartNumber(), equalTo(i + 1));
+        }
+        assertThat(uploadLimiter.getInFlightBytes(), equalTo(0L));
+    }
+
+    public void testPartUploadsAreRetriedIndividually() throws IOException {
+        MockDefaultS3OutputStream out = newS3OutputStream(BUFFER_SIZE, randomIntBetween(1, 4));
+        int parts = randomIntBetween(2, 4);
+        int failingPart = randomIntBetween(1, parts);
+        // the stream retries 3 times
+        out.failPartUpload(failingPart, randomIntBetween(1, 3));
+
+        byte[] content = randomBytes(parts * BUFFER_SIZE);
+        copy(content, out);
+
+        assertThat(Arrays.equals(content, out.toByteArray()), equalTo(true));
+        assertTrue(out.isMultipart());
+        assertThat(out.getNumberOfUploadRequests(), equalTo(parts));
+    }
+
+    public void testFailedPartUploadAbortsUpload() throws IOException {
+        MockDefaultS3OutputStream out = newS3OutputStream(BUFFER_SIZE, randomIntBetween(1, 4));
+        int parts = randomIntBetween(2, 4);
+        out.failPartUpload(randomIntBetween(1, parts), 4);
+
+        byte[] content = randomBytes(parts * BUFFER_SIZE);
+        try {
+            copy(content, out);
+            fail("expected the upload to fail");
+        } catch (AmazonClientException e) {
+            assertThat(e.getMessage(), containsString("simulated failure"));
+        }
+        assertTrue(out.isAborted());
+        assertFalse(out.isMultipart());
+        assertThat(uploadLimiter.getInFlightBytes(), equalTo(0L));
+    }
+
+    public void testUploadLimiter() throws Exception {
+        S3UploadLimiter limiter = new S3UploadLimiter(Settings.EMPTY, new ByteSizeValue(100));
+        assertThat(limiter.acquire(60), equalTo(60));
+        assertThat(limiter.getInFlightBytes(), equalTo(60L));
+        // parts that are larger than the limit only get to go once nothing else is in flight
+        Thread thread = new Thread(() -> {
+            try {
+                int permits = limiter.acquire(1000);
+                assertThat(permits, equalTo(100));
+                limiter.release(permits);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        thread.start();
+        assertFalse(awaitBusy(() -> thread.isAlive() == false, 100, TimeUnit.MILLISECONDS));
+        limiter.release(60);
+        thread.join();
+        assertThat(limiter.getInFlightBytes(), equalTo(0L));
+    }
+
     public void testWrongBufferSize() throws IOException {
         Integer randomBufferSize = randomIntBetween(1, 4 * 1024 * 1024);
         try {
@@ -137,7 +245,18 @@ public class S3OutputStreamTests extends ESTestCase {
     }
 
     private MockDefaultS3OutputStream newS3OutputStream(int bufferSizeInBytes) {
-        return new MockDefaultS3OutputStream(bufferSizeInBytes);
+        return newS3OutputStream(bufferSizeInBytes, randomIntBetween(1, 4));
+    }
+
+    private MockDefaultS3OutputStream newS3OutputStream(int bufferSizeInBytes, int maxConcurrentPartUploads) {
+        return new MockDefaultS3OutputStream(bufferSizeInBytes, bigArrays, threadPool.executor(ThreadPool.Names.GENERIC),
+            maxConcurrentPartUploads, uploadLimiter);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random().nextBytes(bytes);
+        return bytes;
     }
 
 }
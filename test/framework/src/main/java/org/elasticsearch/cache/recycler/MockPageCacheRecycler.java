@@ -27,6 +27,7 @@ import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -91,6 +92,8 @@ public class MockPageCacheRecycler extends PageCacheRecycler {
                     Arrays.fill((double[])ref, 0, Array.getLength(ref), random.nextDouble() - 0.5);
                 } else if (ref instanceof float[]) {
                     Arrays.fill((float[])ref, 0, Array.getLength(ref), random.nextFloat() - 0.5f);
+                } else if (ref instanceof ByteBuffer) {
+                    fill((ByteBuffer) ref, (byte) random.nextInt(256));
                 } else {
                     for (int i = 0; i < Array.getLength(ref); ++i) {
                             Array.set(ref, i, (byte) random.nextInt(256));
@@ -144,4 +147,19 @@ public class MockPageCacheRecycler extends PageCacheRecycler {
         return wrap(super.objectPage());
     }
 
+    @Override
+    public V<ByteBuffer> directPage(boolean clear) {
+        final V<ByteBuffer> page = super.directPage(clear);
+        if (!clear) {
+            fill(page.v(), (byte) random.nextInt(1<<8));
+        }
+        return wrap(page);
+    }
+
+    private static void fill(ByteBuffer page, byte value) {
+        for (int i = 0; i < page.capacity(); ++i) {
+            page.put(i, value);
+        }
+    }
+
 }